@@ -0,0 +1,163 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.smallrye.openapi.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import org.jboss.jandex.AnnotationTarget;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.FieldInfo;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.Indexer;
+import org.jboss.jandex.MethodInfo;
+import org.jboss.jandex.MethodParameterInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.smallrye.openapi.api.OpenApiConstants;
+import io.smallrye.openapi.runtime.util.AnnotationPresenceIndex;
+import io.smallrye.openapi.runtime.util.AnnotationPresenceIndex.Family;
+import io.smallrye.openapi.runtime.util.TypeUtil;
+
+/**
+ * Compares annotation lookups using {@link TypeUtil} with those of an
+ * {@link AnnotationPresenceIndex}. Every class, field, method and method parameter of a
+ * large index (the smallrye-open-api, MicroProfile OpenAPI and Jackson jars) is checked
+ * for the annotations the scanner looks for on each of them, including the JAX-RS HTTP
+ * methods. {@code presenceIndexCold} includes the cost of indexing each target once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnnotationLookupBenchmark {
+
+    static final List<DotName> NAMES = Arrays.asList(OpenApiConstants.DOTNAME_SCHEMA,
+            OpenApiConstants.DOTNAME_PARAMETER,
+            OpenApiConstants.DOTNAME_OPERATION,
+            OpenApiConstants.DOTNAME_API_RESPONSE,
+            OpenApiConstants.DOTNAME_JACKSON_IGNORE,
+            OpenApiConstants.DOTNAME_JSONB_PROPERTY);
+
+    List<AnnotationTarget> targets;
+    AnnotationPresenceIndex presenceIndex;
+
+    @Setup
+    public void setup() throws IOException {
+        Indexer indexer = new Indexer();
+        index(indexer, AnnotationPresenceIndex.class);
+        index(indexer, org.eclipse.microprofile.openapi.annotations.media.Schema.class);
+        index(indexer, ObjectMapper.class);
+        Index index = indexer.complete();
+
+        targets = new ArrayList<>();
+        for (ClassInfo klass : index.getKnownClasses()) {
+            targets.add(klass);
+            for (FieldInfo field : klass.fields()) {
+                targets.add(field);
+            }
+            for (MethodInfo method : klass.methods()) {
+                targets.add(method);
+                for (short i = 0; i < method.parameters().size(); i++) {
+                    targets.add(MethodParameterInfo.create(method, i));
+                }
+            }
+        }
+
+        presenceIndex = new AnnotationPresenceIndex();
+        presenceIndexLookups(presenceIndex);
+    }
+
+    @Benchmark
+    public int typeUtil() {
+        int found = 0;
+        for (AnnotationTarget target : targets) {
+            for (DotName name : NAMES) {
+                if (TypeUtil.hasAnnotation(target, name)) {
+                    found++;
+                }
+            }
+            found += OpenApiConstants.DOTNAME_JAXRS_HTTP_METHODS.stream()
+                    .filter(name -> TypeUtil.hasAnnotation(target, name))
+                    .count();
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int presenceIndex() {
+        return presenceIndexLookups(presenceIndex);
+    }
+
+    @Benchmark
+    public int presenceIndexCold() {
+        return presenceIndexLookups(new AnnotationPresenceIndex());
+    }
+
+    int presenceIndexLookups(AnnotationPresenceIndex annotations) {
+        int found = 0;
+        for (AnnotationTarget target : targets) {
+            for (DotName name : NAMES) {
+                if (annotations.hasAnnotation(target, name)) {
+                    found++;
+                }
+            }
+            if (annotations.hasAnnotation(target, Family.JAXRS)) {
+                found += OpenApiConstants.DOTNAME_JAXRS_HTTP_METHODS.stream()
+                        .filter(name -> annotations.hasAnnotation(target, name))
+                        .count();
+            }
+        }
+        return found;
+    }
+
+    static void index(Indexer indexer, Class<?> member) throws IOException {
+        String path = member.getProtectionDomain().getCodeSource().getLocation().getPath();
+
+        try (JarFile jar = new JarFile(path)) {
+            Enumeration<JarEntry> entries = jar.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                if (entry.getName().endsWith(".class")) {
+                    try (InputStream stream = jar.getInputStream(entry)) {
+                        indexer.index(stream);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.smallrye.openapi.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.Indexer;
+import org.jboss.jandex.ParameterizedType;
+import org.jboss.jandex.Type;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.smallrye.openapi.api.models.media.SchemaImpl;
+import io.smallrye.openapi.runtime.scanner.dataobject.AugmentedIndexView;
+import io.smallrye.openapi.runtime.scanner.dataobject.DataObjectDeque;
+import io.smallrye.openapi.runtime.scanner.dataobject.DataObjectDeque.PathEntry;
+
+/**
+ * Cycle detection of {@link DataObjectDeque} at the end of a deep path of data objects.
+ * The path is a chain of distinct classes (half of them with type arguments) taken from
+ * a large index; each invocation pushes the children of the deepest entry, none of which
+ * is a cycle, so every ancestor must be ruled out. The cost per invocation should not
+ * grow with {@code depth}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataObjectDequeBenchmark {
+
+    static final int CHILDREN = 100;
+
+    @Param({ "10", "40", "200", "1000" })
+    int depth;
+
+    DataObjectDeque deque;
+    PathEntry deepest;
+    List<Type> children;
+
+    @Setup
+    public void setup() throws IOException {
+        Indexer indexer = new Indexer();
+        AnnotationLookupBenchmark.index(indexer, ObjectMapper.class);
+        Index index = indexer.complete();
+
+        List<Type> types = new ArrayList<>();
+        Type argument = null;
+        for (ClassInfo klass : index.getKnownClasses()) {
+            if (argument == null) {
+                argument = Type.create(klass.name(), Type.Kind.CLASS);
+            } else if (types.size() % 2 == 0) {
+                types.add(ParameterizedType.create(klass.name(), new Type[] { argument }, null));
+            } else {
+                types.add(Type.create(klass.name(), Type.Kind.CLASS));
+            }
+            if (types.size() == depth + CHILDREN) {
+                break;
+            }
+        }
+
+        deque = new DataObjectDeque(new AugmentedIndexView(index));
+        deepest = deque.rootNode(null, null, types.get(0), new SchemaImpl());
+        for (Type type : types.subList(1, depth)) {
+            deepest = deque.leafNode(deepest, null, type, new SchemaImpl());
+        }
+        children = types.subList(depth, types.size());
+    }
+
+    @Benchmark
+    public int pushChildren() {
+        for (Type child : children) {
+            deque.push(null, deepest, child, new SchemaImpl());
+        }
+
+        int pushed = 0;
+        while (!deque.isEmpty()) {
+            deque.pop();
+            pushed++;
+        }
+        return pushed;
+    }
+}
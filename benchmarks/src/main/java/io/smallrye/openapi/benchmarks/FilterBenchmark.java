@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.smallrye.openapi.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.openapi.OASFilter;
+import org.eclipse.microprofile.openapi.models.OpenAPI;
+import org.eclipse.microprofile.openapi.models.Operation;
+import org.eclipse.microprofile.openapi.models.media.Schema;
+import org.eclipse.microprofile.openapi.models.media.Schema.SchemaType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.openapi.api.models.OpenAPIImpl;
+import io.smallrye.openapi.api.models.media.SchemaImpl;
+import io.smallrye.openapi.api.util.FilterUtil;
+import io.smallrye.openapi.api.util.ThreadSafeFilter;
+
+/**
+ * Filters a generated document using {@link FilterUtil}, with a filter that only overrides
+ * {@link OASFilter#filterOperation(Operation)}, and with filters that override
+ * {@link OASFilter#filterSchema(Schema)}, serially and in parallel. In {@code filterSharedSchemas}
+ * the responses of all the operations share the same schema. The document is generated by each
+ * invocation: subtract the score of {@code generate} to obtain the cost of the filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterBenchmark {
+
+    static final OASFilter OPERATION_FILTER = new OASFilter() {
+        @Override
+        public Operation filterOperation(Operation operation) {
+            return operation.description(operation.getSummary());
+        }
+    };
+
+    static final OASFilter SCHEMA_FILTER = new OASFilter() {
+        @Override
+        public Schema filterSchema(Schema schema) {
+            return schema.getMaxLength() != null ? null : schema;
+        }
+    };
+
+    static final OASFilter THREAD_SAFE_SCHEMA_FILTER = new ThreadSafeFilter() {
+        @Override
+        public Schema filterSchema(Schema schema) {
+            return schema.getMaxLength() != null ? null : schema;
+        }
+    };
+
+    @Param({ "100", "2000" })
+    int paths;
+
+    @Benchmark
+    public OpenAPIImpl generate() {
+        return OpenApiParserBenchmark.generate(paths);
+    }
+
+    @Benchmark
+    public OpenAPI filterOperations() {
+        return FilterUtil.applyFilter(OPERATION_FILTER, OpenApiParserBenchmark.generate(paths));
+    }
+
+    @Benchmark
+    public OpenAPI filterSchemas() {
+        return FilterUtil.applyFilter(SCHEMA_FILTER, OpenApiParserBenchmark.generate(paths));
+    }
+
+    @Benchmark
+    public OpenAPI filterSharedSchemas() {
+        OpenAPIImpl model = OpenApiParserBenchmark.generate(paths);
+        Schema shared = new SchemaImpl().type(SchemaType.OBJECT);
+        for (int i = 0; i < 50; i++) {
+            shared.addProperty("property" + i, new SchemaImpl().type(SchemaType.STRING));
+        }
+        model.getPaths().values().forEach(pathItem -> pathItem.getGET().getResponses().getAPIResponse("200")
+                .getContent().getMediaType("application/json").setSchema(shared));
+        return FilterUtil.applyFilter(SCHEMA_FILTER, model);
+    }
+
+    @Benchmark
+    public OpenAPI filterSchemasInParallel() {
+        return FilterUtil.applyFilter(THREAD_SAFE_SCHEMA_FILTER, OpenApiParserBenchmark.generate(paths));
+    }
+}
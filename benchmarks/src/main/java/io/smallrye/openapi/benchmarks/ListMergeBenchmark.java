@@ -0,0 +1,105 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.smallrye.openapi.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.openapi.models.security.SecurityRequirement;
+import org.eclipse.microprofile.openapi.models.servers.Server;
+import org.eclipse.microprofile.openapi.models.tags.Tag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.openapi.api.models.OpenAPIImpl;
+import io.smallrye.openapi.api.models.security.SecurityRequirementImpl;
+import io.smallrye.openapi.api.models.servers.ServerImpl;
+import io.smallrye.openapi.api.models.tags.TagImpl;
+import io.smallrye.openapi.api.util.MergeUtil;
+import io.smallrye.openapi.runtime.util.ModelUtil;
+
+/**
+ * Merges documents with long lists of tags, servers and security requirements using
+ * {@link MergeUtil}, half of the elements of the second document matching elements of the
+ * first one, and adds the tags of the second document one by one using
+ * {@link ModelUtil.TagIndex}, or {@link ModelUtil#addTag} for comparison. The cost per element
+ * should not grow with {@code size}, except for {@code addTagsWithoutIndex}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListMergeBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    int size;
+
+    OpenAPIImpl source;
+
+    @Setup
+    public void setup() {
+        source = generate(size / 2);
+    }
+
+    OpenAPIImpl generate(int offset) {
+        List<Tag> tags = new ArrayList<>();
+        List<Server> servers = new ArrayList<>();
+        List<SecurityRequirement> requirements = new ArrayList<>();
+        for (int i = offset; i < offset + size; i++) {
+            tags.add(new TagImpl().name("tag" + i).description("Tag " + i));
+            servers.add(new ServerImpl().url("http://server" + i).description("Server " + i));
+            requirements.add(new SecurityRequirementImpl().addScheme("scheme" + i));
+        }
+
+        OpenAPIImpl openApi = new OpenAPIImpl();
+        openApi.setTags(tags);
+        openApi.setServers(servers);
+        openApi.setSecurity(requirements);
+        return openApi;
+    }
+
+    @Benchmark
+    public OpenAPIImpl merge() {
+        return MergeUtil.merge(generate(0), source);
+    }
+
+    @Benchmark
+    public OpenAPIImpl addTags() {
+        OpenAPIImpl openApi = generate(0);
+        ModelUtil.TagIndex index = new ModelUtil.TagIndex(openApi);
+        source.getTags().forEach(index::addTag);
+        return openApi;
+    }
+
+    @Benchmark
+    public OpenAPIImpl addTagsWithoutIndex() {
+        OpenAPIImpl openApi = generate(0);
+        source.getTags().forEach(tag -> ModelUtil.addTag(openApi, tag));
+        return openApi;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.smallrye.openapi.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.openapi.api.models.OpenAPIImpl;
+import io.smallrye.openapi.api.util.MergeUtil;
+
+/**
+ * Merges two documents with the same paths using {@link MergeUtil}, so that every path
+ * item, operation, parameter, response and schema of the documents is merged. The merge
+ * modifies the first document, which is generated by each invocation: subtract the score
+ * of {@code generate} from that of {@code merge} to obtain the cost of the merge.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MergeBenchmark {
+
+    @Param({ "100", "2000" })
+    int paths;
+
+    OpenAPIImpl source;
+
+    @Setup
+    public void setup() {
+        source = OpenApiParserBenchmark.generate(paths);
+    }
+
+    @Benchmark
+    public OpenAPIImpl generate() {
+        return OpenApiParserBenchmark.generate(paths);
+    }
+
+    @Benchmark
+    public OpenAPIImpl merge() {
+        return MergeUtil.merge(OpenApiParserBenchmark.generate(paths), source);
+    }
+}
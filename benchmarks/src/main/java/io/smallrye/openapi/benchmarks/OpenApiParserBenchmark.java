@@ -0,0 +1,131 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.smallrye.openapi.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.openapi.models.media.Schema;
+import org.eclipse.microprofile.openapi.models.media.Schema.SchemaType;
+import org.eclipse.microprofile.openapi.models.parameters.Parameter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import io.smallrye.openapi.api.models.OpenAPIImpl;
+import io.smallrye.openapi.api.models.OperationImpl;
+import io.smallrye.openapi.api.models.PathItemImpl;
+import io.smallrye.openapi.api.models.PathsImpl;
+import io.smallrye.openapi.api.models.info.InfoImpl;
+import io.smallrye.openapi.api.models.media.ContentImpl;
+import io.smallrye.openapi.api.models.media.MediaTypeImpl;
+import io.smallrye.openapi.api.models.media.SchemaImpl;
+import io.smallrye.openapi.api.models.parameters.ParameterImpl;
+import io.smallrye.openapi.api.models.responses.APIResponseImpl;
+import io.smallrye.openapi.api.models.responses.APIResponsesImpl;
+import io.smallrye.openapi.runtime.io.OpenApiParser;
+import io.smallrye.openapi.runtime.io.OpenApiSerializer;
+import io.smallrye.openapi.runtime.io.OpenApiSerializer.Format;
+import io.smallrye.openapi.runtime.io.OpenApiStreamingParser;
+
+/**
+ * Compares reading a generated static file into a {@code JsonNode} tree and parsing the tree
+ * with {@link OpenApiParser} against parsing the file directly with the
+ * {@link OpenApiStreamingParser}. Run with the GC profiler ({@code -prof gc}) to compare the
+ * memory allocated per parse ({@code gc.alloc.rate.norm}): the tree parser allocates the
+ * complete {@code JsonNode} tree of the document in addition to the model.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OpenApiParserBenchmark {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final ObjectMapper YAML = new ObjectMapper(new YAMLFactory());
+
+    @Param({ "100", "2000" })
+    int paths;
+
+    @Param({ "JSON", "YAML" })
+    Format format;
+
+    byte[] document;
+
+    @Setup
+    public void setup() throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        OpenApiSerializer.serialize(generate(paths), format, stream);
+        document = stream.toByteArray();
+    }
+
+    @Benchmark
+    public OpenAPIImpl treeParser() throws IOException {
+        ObjectMapper mapper = format == Format.JSON ? JSON : YAML;
+        return new OpenApiParser(mapper.readTree(document)).parse();
+    }
+
+    @Benchmark
+    public OpenAPIImpl streamingParser() throws IOException {
+        return OpenApiStreamingParser.parse(new ByteArrayInputStream(document), format);
+    }
+
+    static OpenAPIImpl generate(int pathCount) {
+        OpenAPIImpl model = new OpenAPIImpl();
+        model.setOpenapi("3.0.1");
+        model.setInfo(new InfoImpl().title("Generated API").version("1.0"));
+        PathsImpl paths = new PathsImpl();
+
+        for (int i = 0; i < pathCount; i++) {
+            Schema schema = new SchemaImpl().type(SchemaType.OBJECT);
+            schema.addProperty("id", new SchemaImpl().type(SchemaType.INTEGER).format("int64"));
+            schema.addProperty("name", new SchemaImpl().type(SchemaType.STRING).maxLength(64));
+            schema.addProperty("tags", new SchemaImpl().type(SchemaType.ARRAY)
+                    .items(new SchemaImpl().type(SchemaType.STRING)));
+
+            OperationImpl get = new OperationImpl();
+            get.setOperationId("getResource" + i);
+            get.setSummary("Retrieves resource number " + i);
+            get.addParameter(new ParameterImpl().name("id").in(Parameter.In.PATH).required(true)
+                    .schema(new SchemaImpl().type(SchemaType.STRING)));
+            get.setResponses(new APIResponsesImpl()
+                    .addAPIResponse("200", new APIResponseImpl().description("OK")
+                            .content(new ContentImpl().addMediaType("application/json",
+                                    new MediaTypeImpl().schema(schema))))
+                    .addAPIResponse("404", new APIResponseImpl().description("Not Found")));
+
+            paths.addPathItem("/resources" + i + "/{id}", new PathItemImpl().GET(get));
+        }
+
+        model.setPaths(paths);
+        return model;
+    }
+}
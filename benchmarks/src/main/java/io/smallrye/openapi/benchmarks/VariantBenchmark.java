@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.smallrye.openapi.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.openapi.OASFilter;
+import org.eclipse.microprofile.openapi.models.OpenAPI;
+import org.eclipse.microprofile.openapi.models.PathItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.smallrye.openapi.api.util.FilterUtil;
+import io.smallrye.openapi.runtime.io.OpenApiParser;
+import io.smallrye.openapi.runtime.io.OpenApiSerializer;
+import io.smallrye.openapi.runtime.io.OpenApiSerializer.Format;
+
+/**
+ * Produces a variant of a generated document hiding half of its paths, by filtering a copy of
+ * the document made by {@link FilterUtil#applyFilterToCopy(OASFilter, OpenAPI)}, and by filtering
+ * a complete copy of the document parsed from its serialized form.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VariantBenchmark {
+
+    static final OASFilter PATH_ITEM_FILTER = new OASFilter() {
+        @Override
+        public PathItem filterPathItem(PathItem pathItem) {
+            return pathItem.getGET().getOperationId().hashCode() % 2 == 0 ? null : pathItem;
+        }
+    };
+
+    @Param({ "100", "2000" })
+    int paths;
+
+    OpenAPI model;
+    byte[] serialized;
+
+    @Setup
+    public void setup() throws IOException {
+        model = OpenApiParserBenchmark.generate(paths);
+        serialized = OpenApiSerializer.serialize(model, Format.JSON).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public OpenAPI filterCopy() {
+        return FilterUtil.applyFilterToCopy(PATH_ITEM_FILTER, model);
+    }
+
+    @Benchmark
+    public OpenAPI filterParsedCopy() throws IOException {
+        OpenAPI copy = OpenApiParser.parse(new ByteArrayInputStream(serialized), Format.JSON);
+        return FilterUtil.applyFilter(PATH_ITEM_FILTER, copy);
+    }
+}
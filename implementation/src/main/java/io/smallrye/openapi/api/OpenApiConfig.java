@@ -52,8 +52,30 @@ public interface OpenApiConfig {
 
     public Set<String> scanDependenciesJars();
 
+    public boolean scanDependenciesSkipUnannotated();
+
     public boolean schemaReferencesEnable();
 
     public String customSchemaRegistryClass();
 
+    public boolean scanParallelEnable();
+
+    public String scanCacheDirectory();
+
+    public int schemaMaxDepth();
+
+    public int schemaMaxProperties();
+
+    public int schemaMaxNodes();
+
+    public int variantsCacheSize();
+
+    public String initializationMode();
+
+    public String indexCacheDirectory();
+
+    public long indexCacheMaxSize();
+
+    public long indexCacheMaxAge();
+
 }
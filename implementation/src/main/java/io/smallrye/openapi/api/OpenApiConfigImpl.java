@@ -32,18 +32,30 @@ public class OpenApiConfigImpl implements OpenApiConfig {
 
     private Config config;
 
-    private String modelReader;
-    private String filter;
-    private Boolean scanDisable;
-    private Set<String> scanPackages;
-    private Set<String> scanClasses;
-    private Set<String> scanExcludePackages;
-    private Set<String> scanExcludeClasses;
-    private Set<String> servers;
-    private Boolean scanDependenciesDisable;
-    private Set<String> scanDependenciesJars;
-    private Boolean schemaReferencesEnable;
-    private String customSchemaRegistryClass;
+    // Values read lazily, volatile since a configuration may be shared by the documents of several deployments
+    private volatile String modelReader;
+    private volatile String filter;
+    private volatile Boolean scanDisable;
+    private volatile Set<String> scanPackages;
+    private volatile Set<String> scanClasses;
+    private volatile Set<String> scanExcludePackages;
+    private volatile Set<String> scanExcludeClasses;
+    private volatile Set<String> servers;
+    private volatile Boolean scanDependenciesDisable;
+    private volatile Set<String> scanDependenciesJars;
+    private volatile Boolean scanDependenciesSkipUnannotated;
+    private volatile Boolean schemaReferencesEnable;
+    private volatile String customSchemaRegistryClass;
+    private volatile Boolean scanParallelEnable;
+    private volatile String scanCacheDirectory;
+    private volatile Integer schemaMaxDepth;
+    private volatile Integer schemaMaxProperties;
+    private volatile Integer schemaMaxNodes;
+    private volatile Integer variantsCacheSize;
+    private volatile String initializationMode;
+    private volatile String indexCacheDirectory;
+    private volatile Long indexCacheMaxSize;
+    private volatile Long indexCacheMaxAge;
 
     /**
      * Constructor.
@@ -200,6 +212,15 @@ public class OpenApiConfigImpl implements OpenApiConfig {
         return scanDependenciesJars;
     }
 
+    @Override
+    public boolean scanDependenciesSkipUnannotated() {
+        if (scanDependenciesSkipUnannotated == null) {
+            scanDependenciesSkipUnannotated = getConfig()
+                    .getOptionalValue(OpenApiConstants.SCAN_DEPENDENCIES_SKIP_UNANNOTATED, Boolean.class).orElse(false);
+        }
+        return scanDependenciesSkipUnannotated;
+    }
+
     @Override
     public boolean schemaReferencesEnable() {
         if (schemaReferencesEnable == null) {
@@ -218,6 +239,96 @@ public class OpenApiConfigImpl implements OpenApiConfig {
         return customSchemaRegistryClass;
     }
 
+    @Override
+    public boolean scanParallelEnable() {
+        if (scanParallelEnable == null) {
+            scanParallelEnable = getConfig().getOptionalValue(OpenApiConstants.SCAN_PARALLEL_ENABLE, Boolean.class)
+                    .orElse(false);
+        }
+        return scanParallelEnable;
+    }
+
+    @Override
+    public String scanCacheDirectory() {
+        if (scanCacheDirectory == null) {
+            scanCacheDirectory = getConfig().getOptionalValue(OpenApiConstants.SCAN_CACHE_DIRECTORY, String.class)
+                    .orElse(null);
+        }
+        return scanCacheDirectory;
+    }
+
+    @Override
+    public int schemaMaxDepth() {
+        if (schemaMaxDepth == null) {
+            schemaMaxDepth = getConfig().getOptionalValue(OpenApiConstants.SCHEMA_MAX_DEPTH, Integer.class)
+                    .orElse(Integer.MAX_VALUE);
+        }
+        return schemaMaxDepth;
+    }
+
+    @Override
+    public int schemaMaxProperties() {
+        if (schemaMaxProperties == null) {
+            schemaMaxProperties = getConfig().getOptionalValue(OpenApiConstants.SCHEMA_MAX_PROPERTIES, Integer.class)
+                    .orElse(Integer.MAX_VALUE);
+        }
+        return schemaMaxProperties;
+    }
+
+    @Override
+    public int schemaMaxNodes() {
+        if (schemaMaxNodes == null) {
+            schemaMaxNodes = getConfig().getOptionalValue(OpenApiConstants.SCHEMA_MAX_NODES, Integer.class)
+                    .orElse(Integer.MAX_VALUE);
+        }
+        return schemaMaxNodes;
+    }
+
+    @Override
+    public int variantsCacheSize() {
+        if (variantsCacheSize == null) {
+            variantsCacheSize = getConfig().getOptionalValue(OpenApiConstants.VARIANTS_CACHE_SIZE, Integer.class)
+                    .orElse(OpenApiConstants.DEFAULT_VARIANTS_CACHE_SIZE);
+        }
+        return variantsCacheSize;
+    }
+
+    @Override
+    public String initializationMode() {
+        if (initializationMode == null) {
+            initializationMode = getConfig().getOptionalValue(OpenApiConstants.INITIALIZATION_MODE, String.class)
+                    .orElse(OpenApiConstants.INITIALIZATION_MODE_STARTUP);
+        }
+        return initializationMode;
+    }
+
+    @Override
+    public String indexCacheDirectory() {
+        if (indexCacheDirectory == null) {
+            indexCacheDirectory = getConfig().getOptionalValue(OpenApiConstants.INDEX_CACHE_DIRECTORY, String.class)
+                    .orElse(null);
+        }
+        return indexCacheDirectory;
+    }
+
+    @Override
+    public long indexCacheMaxSize() {
+        if (indexCacheMaxSize == null) {
+            indexCacheMaxSize = getConfig().getOptionalValue(OpenApiConstants.INDEX_CACHE_MAX_SIZE, Long.class)
+                    .orElse(OpenApiConstants.DEFAULT_INDEX_CACHE_MAX_SIZE);
+        }
+        return indexCacheMaxSize;
+    }
+
+    @Override
+    public long indexCacheMaxAge() {
+        if (indexCacheMaxAge == null) {
+            indexCacheMaxAge = getConfig().getOptionalValue(OpenApiConstants.INDEX_CACHE_MAX_AGE, Long.class)
+                    .orElse(OpenApiConstants.DEFAULT_INDEX_CACHE_MAX_AGE);
+        }
+        return indexCacheMaxAge;
+    }
+
     private static Set<String> asCsvSet(String items) {
         Set<String> rval = new HashSet<>();
         if (items != null) {
@@ -77,8 +77,27 @@ public final class OpenApiConstants {
 
     public static final String SCAN_DEPENDENCIES_DISABLE = "mp.openapi.extensions.scan-dependencies.disable";
     public static final String SCAN_DEPENDENCIES_JARS = "mp.openapi.extensions.scan-dependencies.jars";
+    public static final String SCAN_DEPENDENCIES_SKIP_UNANNOTATED = "mp.openapi.extensions.scan-dependencies.skip-unannotated";
     public static final String SCHEMA_REFERENCES_ENABLE = "mp.openapi.extensions.schema-references.enable";
     public static final String CUSTOM_SCHEMA_REGISTRY_CLASS = "mp.openapi.extensions.custom-schema-registry.class";
+    public static final String SCAN_PARALLEL_ENABLE = "mp.openapi.extensions.scan-parallel.enable";
+    public static final String SCAN_CACHE_DIRECTORY = "mp.openapi.extensions.scan-cache.directory";
+    public static final String SCHEMA_MAX_DEPTH = "mp.openapi.extensions.schema-limits.max-depth";
+    public static final String SCHEMA_MAX_PROPERTIES = "mp.openapi.extensions.schema-limits.max-properties";
+    public static final String SCHEMA_MAX_NODES = "mp.openapi.extensions.schema-limits.max-nodes";
+    public static final String VARIANTS_CACHE_SIZE = "mp.openapi.extensions.variants.cache-size";
+    public static final String INITIALIZATION_MODE = "mp.openapi.extensions.initialization.mode";
+    public static final String INDEX_CACHE_DIRECTORY = "mp.openapi.extensions.index-cache.directory";
+    public static final String INDEX_CACHE_MAX_SIZE = "mp.openapi.extensions.index-cache.max-size";
+    public static final String INDEX_CACHE_MAX_AGE = "mp.openapi.extensions.index-cache.max-age";
+
+    public static final int DEFAULT_VARIANTS_CACHE_SIZE = 16;
+    public static final long DEFAULT_INDEX_CACHE_MAX_SIZE = 64L * 1024 * 1024;
+    public static final long DEFAULT_INDEX_CACHE_MAX_AGE = 30L * 24 * 60 * 60;
+
+    public static final String INITIALIZATION_MODE_STARTUP = "startup";
+    public static final String INITIALIZATION_MODE_BACKGROUND = "background";
+    public static final String INITIALIZATION_MODE_FIRST_ACCESS = "first-access";
 
     /**
      * Set of classes which should never be scanned, regardless of user configuration.
@@ -95,9 +114,23 @@ public final class OpenApiConstants {
     public static final String CLASS_SUFFIX = ".class";
     public static final String JAR_SUFFIX = ".jar";
     public static final String WEB_ARCHIVE_CLASS_PREFIX = "/WEB-INF/classes/";
+    public static final String JANDEX_INDEX = "META-INF/jandex.idx";
+
+    /**
+     * Locations of the final document written at build time, see {@code OpenApiProcessor#generatedFile}.
+     */
+    public static final String GENERATED_DOCUMENT_JSON = "META-INF/openapi-generated.json";
+    public static final String GENERATED_DOCUMENT_YAML = "META-INF/openapi-generated.yaml";
 
     public static final String EXTENSION_PROPERTY_PREFIX = "x-";
 
+    /**
+     * Extension added to the schemas of data objects that were not fully scanned because
+     * one of the limits configured with the {@code schema-limits} properties was reached.
+     * Its value is the name of that limit, e.g. {@code max-depth}.
+     */
+    public static final String EXTENSION_SCHEMA_TRUNCATED = "x-smallrye-truncated";
+
     private static final String MIME_ANY = "*/*";
     public static final Supplier<String[]> DEFAULT_MEDIA_TYPES = () -> new String[] { MIME_ANY };
 
@@ -15,15 +15,35 @@
  */
 package io.smallrye.openapi.api;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
 import org.eclipse.microprofile.openapi.OASFilter;
 import org.eclipse.microprofile.openapi.models.OpenAPI;
+import org.jboss.jandex.IndexView;
+import org.jboss.logging.Logger;
 
 import io.smallrye.openapi.api.models.OpenAPIImpl;
 import io.smallrye.openapi.api.models.PathsImpl;
 import io.smallrye.openapi.api.models.info.InfoImpl;
 import io.smallrye.openapi.api.util.FilterUtil;
-import io.smallrye.openapi.api.util.MergeUtil;
+import io.smallrye.openapi.api.util.FreezeUtil;
 import io.smallrye.openapi.api.util.ServersUtil;
+import io.smallrye.openapi.runtime.OpenApiProcessor;
+import io.smallrye.openapi.runtime.io.OpenApiSerializer.Format;
 
 /**
  * Holds the final OpenAPI document produced during the startup of the app.
@@ -31,48 +51,195 @@ import io.smallrye.openapi.api.util.ServersUtil;
  * <p>
  * Note that the model must be initialized first!
  * </p>
+ * <p>
+ * {@link #INSTANCE} holds the document of a single app. Runtimes hosting several deployments
+ * keep one document per deployment in an {@link OpenApiDocumentRegistry}; each document is
+ * initialized independently, under its own lock.
+ * </p>
+ * <p>
+ * The final model is produced by an {@link OpenApiPipeline}: the models of the reader, of the
+ * static file and of the annotations may be given as suppliers, which are then produced
+ * concurrently, and hosts may add their own sources and stages.
+ * </p>
+ * <p>
+ * The model may be produced off the startup path of the app, on a background thread or when
+ * first requested, depending on {@link OpenApiConfig#initializationMode()}. The methods reading
+ * the model then wait for it to be produced.
+ * </p>
  *
  * @author Martin Kouba
  */
 public class OpenApiDocument {
 
+    private static final Logger LOG = Logger.getLogger(OpenApiDocument.class);
+
     public static final OpenApiDocument INSTANCE = new OpenApiDocument();
 
     // These are used during init only
     private transient OpenApiConfig config;
-    private transient OpenAPI annotationsModel;
-    private transient OpenAPI readerModel;
-    private transient OpenAPI staticFileModel;
+    private transient Supplier<? extends OpenAPI> annotationsModel;
+    private transient IndexView index;
+    private transient Supplier<? extends OpenAPI> readerModel;
+    private transient Supplier<? extends OpenAPI> staticFileModel;
+    private transient OpenAPI generatedModel;
     private transient OASFilter filter;
     private transient String archiveName;
+    private final transient Map<String, Supplier<? extends OpenAPI>> sources = new LinkedHashMap<>();
+    private final transient Map<String, UnaryOperator<OpenAPI>> stages = new LinkedHashMap<>();
+    private transient Executor executor;
+    private transient OpenApiPipeline pipeline;
+
+    // The final model, published at once with its pre-rendered forms
+    private transient volatile Snapshot snapshot;
+    // The initialization producing the final model, until it is published
+    private transient volatile Initialization initialization;
 
-    private transient OpenAPI model;
+    // Filters of the variants of the model, whose renderings are cached by the snapshot
+    private final transient Map<String, OASFilter> variantFilters = new HashMap<>();
+    private transient int variantsCacheSize = OpenApiConstants.DEFAULT_VARIANTS_CACHE_SIZE;
 
-    private OpenApiDocument() {
+    OpenApiDocument() {
     }
 
     /**
+     * Returns a read-only view of the final model, which can be read by any number of threads
+     * without locking. Use {@link #getMutableCopy()} to obtain a model that can be modified.
+     * Waits for the final model if it is being initialized off the startup path. The view, and
+     * each element reached from it, is the same object on every call until the final model is
+     * set again; it is only equal to other views, never to a model element.
      *
      * @return the final OpenAPI document produced during the startup of the app
      * @throws IllegalStateException If the final model is not initialized yet
+     * @see FreezeUtil
      */
     public OpenAPI get() {
-        synchronized (INSTANCE) {
-            if (model == null) {
-                throw new IllegalStateException("Model not initialized yet");
+        return snapshot().frozen;
+    }
+
+    /**
+     * Returns a copy of the final model, which can be modified without affecting the final
+     * document.
+     *
+     * @return a copy of the final OpenAPI document
+     * @throws IllegalStateException If the final model is not initialized yet
+     */
+    public OpenAPI getMutableCopy() {
+        return FreezeUtil.mutableCopy(snapshot().model);
+    }
+
+    /**
+     * Returns the final OpenAPI document pre-rendered in the requested format. The
+     * content is rendered once when the model is initialized (or set), so repeated
+     * calls do not walk the model again.
+     *
+     * @param format the serialization format
+     * @return the serialized document, including its entity tag
+     * @throws IllegalStateException If the final model is not initialized yet
+     */
+    public SerializedDocument getSerialized(Format format) {
+        return snapshot().serialized.get(format);
+    }
+
+    /**
+     * Returns a variant of the final OpenAPI document pre-rendered in the requested format. The
+     * variant is produced by applying the filter registered for it with
+     * {@link #variant(String, OASFilter)} to a copy of the final model, sharing the parts of the
+     * model the filter does not modify. It is rendered in every format when first requested, and
+     * kept until more than {@link OpenApiConfig#variantsCacheSize()} other variants are requested.
+     *
+     * @param format the serialization format
+     * @param variant the key of the variant, or null for the final document itself
+     * @return the serialized variant, including its entity tag
+     * @throws IllegalStateException If the final model is not initialized yet
+     * @throws IllegalArgumentException If no filter is registered for the variant
+     */
+    public SerializedDocument getSerialized(Format format, String variant) {
+        if (variant == null) {
+            return getSerialized(format);
+        }
+
+        CompletableFuture<Map<Format, SerializedDocument>> documents;
+        OASFilter variantFilter = null;
+        OpenAPI base = null;
+
+        // Waits for the final model outside of the lock, which publishes it
+        Snapshot current = snapshot();
+        VariantsCache variants = current.variants;
+        synchronized (this) {
+            documents = variants.get(variant);
+            if (documents == null) {
+                variantFilter = variantFilters.get(variant);
+                if (variantFilter == null) {
+                    throw new IllegalArgumentException("Unknown document variant: " + variant);
+                }
+                documents = new CompletableFuture<>();
+                variants.put(variant, documents);
+                base = current.model;
+            }
+        }
+
+        if (variantFilter != null) {
+            // Rendered outside of the lock, concurrent requests of the variant wait for the result
+            try {
+                documents.complete(serialize(FilterUtil.applyFilterToCopy(variantFilter, base)));
+            } catch (RuntimeException | Error e) {
+                documents.completeExceptionally(e);
+                synchronized (this) {
+                    variants.remove(variant, documents);
+                }
+                throw e;
+            }
+        }
+
+        try {
+            return documents.join().get(format);
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Register the filter producing a variant of the final document, such as the view of the
+     * document for a role or a tenant. The filter is applied to a copy of the final model, which
+     * is left unchanged, when the variant is first requested. Registering another filter for the
+     * same variant discards the variant rendered with the previous filter.
+     *
+     * @param variant the key of the variant
+     * @param filter the filter producing the variant, or null to remove the variant
+     */
+    public void variant(String variant, OASFilter filter) {
+        Objects.requireNonNull(variant, "variant");
+        synchronized (this) {
+            if (filter != null) {
+                variantFilters.put(variant, filter);
+            } else {
+                variantFilters.remove(variant);
+            }
+            Snapshot current = snapshot;
+            if (current == null && initialization != null) {
+                // Built, but possibly not published yet
+                current = initialization.result.getNow(null);
+            }
+            if (current != null) {
+                current.variants.remove(variant);
             }
-            return model;
         }
     }
 
     /**
-     * Set the final OpenAPI document. This method should only be used for testing.
+     * Set the final OpenAPI document. This method should only be used for testing. The model is
+     * copied, and may be modified afterwards without affecting the final document.
      *
-     * @param model OpenAPI model instance
+     * @param model OpenAPI model instance, or a read-only view of it
      */
     public void set(OpenAPI model) {
-        synchronized (INSTANCE) {
-            this.model = model;
+        synchronized (this) {
+            this.initialization = null;
+            if (model == null) {
+                this.snapshot = null;
+            } else {
+                this.snapshot = new Snapshot(FreezeUtil.mutableCopy(model), Collections.emptyMap(), variantsCacheSize);
+            }
         }
     }
 
@@ -80,19 +247,22 @@ public class OpenApiDocument {
      * Reset the holder.
      */
     public void reset() {
-        synchronized (INSTANCE) {
-            model = null;
+        synchronized (this) {
+            snapshot = null;
+            initialization = null;
+            variantFilters.clear();
+            variantsCacheSize = OpenApiConstants.DEFAULT_VARIANTS_CACHE_SIZE;
             clear();
         }
     }
 
     /**
-     * @return {@code true} if model initialized
+     * @return {@code true} if model initialized, or being initialized off the startup path. A
+     *         failed initialization off the startup path is rethrown to the threads waiting for
+     *         it, and the model is then not set, so that it may be initialized again.
      */
     public boolean isSet() {
-        synchronized (INSTANCE) {
-            return model != null;
-        }
+        return snapshot != null || initialization != null;
     }
 
     public synchronized void config(OpenApiConfig config) {
@@ -100,17 +270,123 @@ public class OpenApiDocument {
     }
 
     public void modelFromAnnotations(OpenAPI model) {
-        set(() -> this.annotationsModel = model);
+        modelFromAnnotations(() -> model);
+    }
+
+    /**
+     * Set the supplier of the model scanned from the annotations, produced during the
+     * initialization concurrently with the other sources, with the context class loader of the
+     * initializing thread.
+     *
+     * @param model supplier of the model
+     */
+    public void modelFromAnnotations(Supplier<? extends OpenAPI> model) {
+        set(() -> {
+            this.annotationsModel = model;
+            this.index = null;
+        });
+    }
+
+    /**
+     * Set the index of the app, whose annotations are scanned during the initialization instead
+     * of beforehand, possibly off the startup path. Replaces the model from the annotations.
+     *
+     * @param index index of the classes of the app
+     */
+    public void index(IndexView index) {
+        set(() -> {
+            this.annotationsModel = null;
+            this.index = index;
+        });
     }
 
     public void modelFromReader(OpenAPI model) {
+        modelFromReader(() -> model);
+    }
+
+    /**
+     * Set the supplier of the model built by the {@link org.eclipse.microprofile.openapi.OASModelReader}.
+     *
+     * @param model supplier of the model
+     * @see #modelFromAnnotations(Supplier)
+     */
+    public void modelFromReader(Supplier<? extends OpenAPI> model) {
         set(() -> this.readerModel = model);
     }
 
     public void modelFromStaticFile(OpenAPI model) {
+        modelFromStaticFile(() -> model);
+    }
+
+    /**
+     * Set the supplier of the model parsed from the static file.
+     *
+     * @param model supplier of the model
+     * @see #modelFromAnnotations(Supplier)
+     */
+    public void modelFromStaticFile(Supplier<? extends OpenAPI> model) {
         set(() -> this.staticFileModel = model);
     }
 
+    /**
+     * Add a source of the model provided by the host, merged after the models of the reader, of
+     * the static file and of the annotations.
+     *
+     * @param name the name of the source, used by the timings
+     * @param model supplier of the model
+     * @see #modelFromAnnotations(Supplier)
+     */
+    public void source(String name, Supplier<? extends OpenAPI> model) {
+        set(() -> this.sources.put(name, model));
+    }
+
+    /**
+     * Add a stage provided by the host, transforming the model after the filter and before the
+     * missing required elements are provided.
+     *
+     * @param name the name of the stage, used by the timings
+     * @param stage returns the transformed model
+     */
+    public void stage(String name, UnaryOperator<OpenAPI> stage) {
+        set(() -> this.stages.put(name, stage));
+    }
+
+    /**
+     * Set the executor producing the sources of the model, and initializing the model in the
+     * background. By default, the sources are produced by the common pool when it uses several
+     * threads, and by the initializing thread otherwise, and the model is initialized in the
+     * background by a daemon thread. The initialization waits for the sources, so the executor
+     * should not be limited to a single thread.
+     *
+     * @param executor the executor
+     */
+    public void executor(Executor executor) {
+        set(() -> this.executor = executor);
+    }
+
+    /**
+     * Set the pipeline producing the model, typically a pipeline kept by the host from a previous
+     * initialization to reuse the results it cached. The sources and stages set on this document
+     * replace those of the pipeline; the other sources of the pipeline are kept.
+     *
+     * @param pipeline the pipeline
+     * @see OpenApiPipeline#cache(String)
+     */
+    public void pipeline(OpenApiPipeline pipeline) {
+        set(() -> this.pipeline = pipeline);
+    }
+
+    /**
+     * Set the final document generated at build time. When present, the reader, static file and
+     * annotations models and the filter are ignored, since they were applied when the document
+     * was generated.
+     *
+     * @param model OpenAPI model parsed from the generated document
+     */
+    public void modelFromGeneratedFile(OpenAPI model) {
+        set(() -> this.generatedModel = model);
+    }
+
     public void filter(OASFilter filter) {
         set(() -> this.filter = filter);
     }
@@ -119,72 +395,234 @@ public class OpenApiDocument {
         set(() -> this.archiveName = archiveName);
     }
 
+    /**
+     * Initialize the final model, in the mode given by {@link OpenApiConfig#initializationMode()}:
+     * right away by default, or off the startup path.
+     */
     public void initialize() {
-        synchronized (INSTANCE) {
-            if (model != null) {
+        initialize(null);
+    }
+
+    /**
+     * Start initializing the final model on a background thread, and return. The methods reading
+     * the model wait for the initialization to complete. The model is initialized by the
+     * {@link #executor(Executor) executor} when set, with the context class loader of the calling
+     * thread.
+     */
+    public void initializeInBackground() {
+        initialize(OpenApiConstants.INITIALIZATION_MODE_BACKGROUND);
+    }
+
+    /**
+     * Initialize the final model when it is first read, by the thread reading it. The other
+     * threads reading the model meanwhile wait for the initialization to complete.
+     */
+    public void initializeOnFirstAccess() {
+        initialize(OpenApiConstants.INITIALIZATION_MODE_FIRST_ACCESS);
+    }
+
+    private void initialize(String requestedMode) {
+        Initialization pending;
+        Executor background;
+
+        synchronized (this) {
+            if (isSet()) {
                 modelAlreadyInitialized();
             }
             // Check all the required parts are set
             if (config == null) {
                 throw new IllegalStateException("OpenApiConfig must be set before init");
             }
+            String mode = requestedMode != null ? requestedMode : config.initializationMode();
+            if (!OpenApiConstants.INITIALIZATION_MODE_STARTUP.equals(mode)
+                    && !OpenApiConstants.INITIALIZATION_MODE_BACKGROUND.equals(mode)
+                    && !OpenApiConstants.INITIALIZATION_MODE_FIRST_ACCESS.equals(mode)) {
+                throw new IllegalArgumentException("Unknown initialization mode: " + mode);
+            }
 
-            // Phase 1: Use OASModelReader
-            OpenAPI merged = readerModel;
+            Supplier<Snapshot> build = prepare();
 
-            // Phase 2: Merge any static OpenAPI file packaged in the app
-            merged = MergeUtil.mergeObjects(merged, staticFileModel);
+            if (OpenApiConstants.INITIALIZATION_MODE_STARTUP.equals(mode)) {
+                publish(build.get());
+                clear();
+                return;
+            }
+            pending = new Initialization(build, OpenApiConstants.INITIALIZATION_MODE_FIRST_ACCESS.equals(mode));
+            initialization = pending;
+            background = executor;
+            clear();
+            if (pending.onFirstAccess) {
+                return;
+            }
+        }
 
-            // Phase 3: Merge annotations
-            merged = MergeUtil.mergeObjects(merged, annotationsModel);
+        pending.result.whenComplete((built, e) -> {
+            if (e != null) {
+                LOG.error("Failed to initialize the OpenAPI document", e);
+            }
+        });
+        if (background != null) {
+            ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            try {
+                background.execute(() -> pending.run(loader));
+                return;
+            } catch (RejectedExecutionException e) {
+                LOG.debug("Executor rejected the initialization of the OpenAPI document, using a thread", e);
+            }
+        }
+        // Inherits the context class loader of the app
+        Thread thread = new Thread(pending::run, "openapi-initialization");
+        thread.setDaemon(true);
+        thread.start();
+    }
 
-            // Phase 4: Filter model via OASFilter
-            merged = filterModel(merged);
+    /**
+     * Configure the pipeline with the inputs of the document, which may be cleared afterwards.
+     *
+     * @return produces the final model
+     */
+    private Supplier<Snapshot> prepare() {
+        OpenApiPipeline pipeline;
 
-            // Phase 5: Default empty document if model == null
-            if (merged == null) {
-                merged = new OpenAPIImpl();
-                merged.setOpenapi(OpenApiConstants.OPEN_API_VERSION);
-            }
+        if (generatedModel != null) {
+            // Phases 1 to 4 were applied when the document was generated at build time
+            OpenAPI generated = generatedModel;
+            pipeline = new OpenApiPipeline().source(OpenApiPipeline.GENERATED, () -> generated);
+        } else {
+            pipeline = this.pipeline != null ? this.pipeline : new OpenApiPipeline();
 
-            // Phase 6: Provide missing required elements
-            if (merged.getPaths() == null) {
-                merged.setPaths(new PathsImpl());
+            // Phases 1 to 3: Use OASModelReader, merge any static OpenAPI file packaged in the app
+            // and the annotations. The sources are produced concurrently, and merged in that order.
+            if (readerModel != null) {
+                pipeline.source(OpenApiPipeline.READER, readerModel);
             }
-            if (merged.getInfo() == null) {
-                merged.setInfo(new InfoImpl());
+            if (staticFileModel != null) {
+                pipeline.source(OpenApiPipeline.STATIC_FILE, staticFileModel);
             }
-            if (merged.getInfo().getTitle() == null) {
-                merged.getInfo().setTitle((archiveName == null ? "Generated" : archiveName) + " API");
+            if (annotationsModel != null) {
+                pipeline.source(OpenApiPipeline.ANNOTATIONS, annotationsModel);
+            } else if (index != null) {
+                OpenApiConfig config = this.config;
+                IndexView index = this.index;
+                pipeline.source(OpenApiPipeline.ANNOTATIONS, () -> OpenApiProcessor.modelFromAnnotations(config, index));
             }
-            if (merged.getInfo().getVersion() == null) {
-                merged.getInfo().setVersion("1.0");
+            sources.forEach(pipeline::source);
+
+            // Phase 4: Filter model via OASFilter
+            if (filter != null) {
+                OASFilter filter = this.filter;
+                pipeline.stage(OpenApiPipeline.FILTER, model -> filterModel(filter, model));
+            } else {
+                pipeline.remove(OpenApiPipeline.FILTER);
             }
+        }
+        stages.forEach(pipeline::stage);
 
-            // Phase 7: Use Config values to add Servers (global, pathItem, operation)
-            ServersUtil.configureServers(config, merged);
+        // Phases 5 and 6: Default empty document if model == null, and provide missing required elements
+        String archiveName = this.archiveName;
+        pipeline.stage(OpenApiPipeline.DEFAULTS, model -> provideDefaults(model, archiveName));
 
-            model = merged;
-            clear();
-        }
+        // Phase 7: Use Config values to add Servers (global, pathItem, operation)
+        OpenApiConfig config = this.config;
+        pipeline.stage(OpenApiPipeline.SERVERS, model -> {
+            ServersUtil.configureServers(config, model);
+            return model;
+        });
+
+        Executor executor = this.executor;
+        int cacheSize = config.variantsCacheSize();
+        return () -> {
+            OpenAPI merged = executor != null ? pipeline.run(executor) : pipeline.run();
+            return new Snapshot(merged, pipeline.getTimings(), cacheSize);
+        };
+    }
+
+    private void publish(Snapshot built) {
+        snapshot = built;
+        variantsCacheSize = built.variants.maxSize;
     }
 
     /**
-     * Filter the final model using a {@link OASFilter} configured by the app. If no filter has been configured, this will
-     * simply return the model unchanged.
+     * @return the time taken by each source and stage of the pipeline during the initialization,
+     *         empty if the model is not initialized yet
+     * @see OpenApiPipeline#getTimings()
+     */
+    public Map<String, Duration> getTimings() {
+        Snapshot current = snapshot;
+        return current != null ? current.timings : Collections.emptyMap();
+    }
+
+    /**
+     * Filter the final model using a {@link OASFilter} configured by the app.
      *
-     * @param model
+     * @param filter the filter
+     * @param model the merged model
      */
-    private OpenAPI filterModel(OpenAPI model) {
-        if (model == null || filter == null) {
+    private static OpenAPI filterModel(OASFilter filter, OpenAPI model) {
+        if (model == null) {
             return model;
         }
         return FilterUtil.applyFilter(filter, model);
     }
 
+    /**
+     * Provide a default empty document if there is no model, and the missing required elements.
+     *
+     * @param merged the merged and filtered model
+     * @param archiveName the name of the archive of the app
+     */
+    private static OpenAPI provideDefaults(OpenAPI merged, String archiveName) {
+        if (merged == null) {
+            merged = new OpenAPIImpl();
+            merged.setOpenapi(OpenApiConstants.OPEN_API_VERSION);
+        }
+        if (merged.getPaths() == null) {
+            merged.setPaths(new PathsImpl());
+        }
+        if (merged.getInfo() == null) {
+            merged.setInfo(new InfoImpl());
+        }
+        if (merged.getInfo().getTitle() == null) {
+            merged.getInfo().setTitle((archiveName == null ? "Generated" : archiveName) + " API");
+        }
+        if (merged.getInfo().getVersion() == null) {
+            merged.getInfo().setVersion("1.0");
+        }
+        return merged;
+    }
+
+    /**
+     * Render the model once in each supported format.
+     *
+     * @param model the final model
+     */
+    private static Map<Format, SerializedDocument> serialize(OpenAPI model) {
+        Map<Format, SerializedDocument> documents = new EnumMap<>(Format.class);
+        try {
+            for (Format format : Format.values()) {
+                documents.put(format, SerializedDocument.of(model, format));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return Collections.unmodifiableMap(documents);
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            Initialization pending = initialization;
+            if (pending != null) {
+                return pending.await();
+            }
+            throw new IllegalStateException("Model not initialized yet");
+        }
+        return current;
+    }
+
     private void set(Runnable action) {
-        synchronized (INSTANCE) {
-            if (model != null) {
+        synchronized (this) {
+            if (isSet()) {
                 modelAlreadyInitialized();
             }
             action.run();
@@ -198,10 +636,125 @@ public class OpenApiDocument {
     private void clear() {
         config = null;
         annotationsModel = null;
+        index = null;
         readerModel = null;
         staticFileModel = null;
+        generatedModel = null;
         filter = null;
         archiveName = null;
+        sources.clear();
+        stages.clear();
+        executor = null;
+        pipeline = null;
+    }
+
+    /**
+     * The final model, its read-only view and its pre-rendered forms. The snapshot owns the model,
+     * either produced by the pipeline (which copies a single source) or copied by
+     * {@link OpenApiDocument#set(OpenAPI)}, so it is never modified once published, nor exposed
+     * other than through the view. The variants of the model are cached along with it, under the
+     * lock of the document.
+     */
+    private static final class Snapshot {
+        final OpenAPI model;
+        final OpenAPI frozen;
+        final Map<Format, SerializedDocument> serialized;
+        final Map<String, Duration> timings;
+        final VariantsCache variants;
+
+        Snapshot(OpenAPI model, Map<String, Duration> timings, int variantsCacheSize) {
+            this.model = model;
+            this.frozen = FreezeUtil.freeze(model);
+            this.serialized = serialize(model);
+            this.timings = timings;
+            this.variants = new VariantsCache(variantsCacheSize);
+        }
+    }
+
+    /**
+     * The initialization of the final model off the startup path, run once in the background or
+     * by the first thread reading the model.
+     */
+    private final class Initialization {
+        final Supplier<Snapshot> build;
+        final boolean onFirstAccess;
+        final AtomicBoolean started = new AtomicBoolean();
+        final CompletableFuture<Snapshot> result = new CompletableFuture<>();
+
+        Initialization(Supplier<Snapshot> build, boolean onFirstAccess) {
+            this.build = build;
+            this.onFirstAccess = onFirstAccess;
+        }
+
+        void run() {
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+            Snapshot built;
+            try {
+                built = build.get();
+            } catch (RuntimeException | Error e) {
+                result.completeExceptionally(e);
+                synchronized (OpenApiDocument.this) {
+                    // May be initialized again, unless the document was reset meanwhile
+                    if (initialization == this) {
+                        initialization = null;
+                    }
+                }
+                return;
+            }
+            // Completed before taking the lock, which a reader waiting for the model may hold
+            result.complete(built);
+            synchronized (OpenApiDocument.this) {
+                // Unless the document was reset meanwhile
+                if (initialization == this) {
+                    publish(built);
+                    initialization = null;
+                }
+            }
+        }
+
+        void run(ClassLoader loader) {
+            Thread thread = Thread.currentThread();
+            ClassLoader previous = thread.getContextClassLoader();
+            thread.setContextClassLoader(loader);
+            try {
+                run();
+            } finally {
+                thread.setContextClassLoader(previous);
+            }
+        }
+
+        Snapshot await() {
+            if (onFirstAccess) {
+                run();
+            }
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+    }
+
+    /**
+     * The variants of the final document rendered most recently, evicting the least recently
+     * requested variant when full.
+     */
+    private static final class VariantsCache extends LinkedHashMap<String, CompletableFuture<Map<Format, SerializedDocument>>> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+
+        VariantsCache(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<Map<Format, SerializedDocument>>> eldest) {
+            return size() > maxSize;
+        }
     }
 
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.smallrye.openapi.api;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.microprofile.config.Config;
+
+/**
+ * Holds the OpenAPI documents of the deployments of a runtime, by deployment name. Each document
+ * has its own lifecycle: documents are initialized, reset and removed independently, and may be
+ * initialized concurrently by different threads.
+ *
+ * <p>
+ * The parts of the processing that do not depend on a deployment are shared by the documents: the
+ * index of the JDK classes is kept once per runtime by the scanner, and {@link #config(Config)}
+ * returns the same {@link OpenApiConfig} for deployments sharing a MicroProfile Config.
+ * </p>
+ */
+public class OpenApiDocumentRegistry {
+
+    private final ConcurrentMap<String, OpenApiDocument> documents = new ConcurrentHashMap<>();
+    // Weak values too, since a configuration references its Config
+    private final Map<Config, Reference<OpenApiConfig>> configs = new WeakHashMap<>();
+
+    /**
+     * Returns the document of the given deployment, creating an empty document if the deployment
+     * has none yet. The document must then be initialized like {@link OpenApiDocument#INSTANCE}.
+     *
+     * @param deployment the name of the deployment
+     * @return the document of the deployment
+     */
+    public OpenApiDocument document(String deployment) {
+        return documents.computeIfAbsent(deployment, name -> new OpenApiDocument());
+    }
+
+    /**
+     * @param deployment the name of the deployment
+     * @return the document of the deployment, or null if the deployment has no document
+     */
+    public OpenApiDocument find(String deployment) {
+        return documents.get(deployment);
+    }
+
+    /**
+     * Removes and resets the document of the given deployment, typically when it is undeployed.
+     *
+     * @param deployment the name of the deployment
+     * @return true if the deployment had a document
+     */
+    public boolean remove(String deployment) {
+        OpenApiDocument document = documents.remove(deployment);
+        if (document != null) {
+            document.reset();
+        }
+        return document != null;
+    }
+
+    /**
+     * @return the names of the deployments having a document
+     */
+    public Set<String> deployments() {
+        return Collections.unmodifiableSet(documents.keySet());
+    }
+
+    /**
+     * Returns the OpenAPI configuration read from the given MicroProfile Config. The same instance
+     * is returned for the same Config as long as it is in use, so the values read once are shared
+     * by the deployments.
+     *
+     * @param config MicroProfile Config instance
+     * @return the OpenAPI configuration
+     */
+    public OpenApiConfig config(Config config) {
+        synchronized (configs) {
+            Reference<OpenApiConfig> reference = configs.get(config);
+            OpenApiConfig shared = reference != null ? reference.get() : null;
+            if (shared == null) {
+                shared = new OpenApiConfigImpl(config);
+                configs.put(config, new WeakReference<>(shared));
+            }
+            return shared;
+        }
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.smallrye.openapi.api;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.eclipse.microprofile.openapi.models.OpenAPI;
+import org.jboss.logging.Logger;
+
+import io.smallrye.openapi.api.util.FreezeUtil;
+import io.smallrye.openapi.api.util.MergeUtil;
+
+/**
+ * The stages producing an OpenAPI model: the sources of the model, produced concurrently and
+ * merged in a fixed order once ready, followed by the stages transforming the merged model one
+ * after the other. {@link OpenApiDocument#initialize()} produces the final model with a pipeline
+ * made of the sources and stages named by the constants of this class, and hosts may add their
+ * own.
+ *
+ * <p>
+ * Each stage is timed. The result of a stage marked with {@link #cache(String)} is kept by the
+ * pipeline and reused by later runs (the stage is not run again) until the stage, or a stage it
+ * depends on, is replaced or {@link #invalidate(String) invalidated}. Cached results are copied,
+ * so that the stages modifying the model do not modify them. The model of a single source is
+ * copied as well, since merging it alone returns the source itself.
+ * </p>
+ */
+public class OpenApiPipeline {
+
+    private static final Logger LOG = Logger.getLogger(OpenApiPipeline.class);
+
+    /**
+     * The source of the model built by the {@link org.eclipse.microprofile.openapi.OASModelReader}.
+     */
+    public static final String READER = "reader";
+    /**
+     * The source of the model parsed from the static file of the app.
+     */
+    public static final String STATIC_FILE = "static-file";
+    /**
+     * The source of the model produced by scanning the annotations of the app.
+     */
+    public static final String ANNOTATIONS = "annotations";
+    /**
+     * The source of the document generated at build time, used instead of the other sources.
+     */
+    public static final String GENERATED = "generated";
+    /**
+     * The merge of the sources, in the order of the constants above and then in the order the
+     * other sources were added.
+     */
+    public static final String MERGE = "merge";
+    /**
+     * The stage applying the {@link org.eclipse.microprofile.openapi.OASFilter} of the app, run
+     * before the other stages.
+     */
+    public static final String FILTER = "filter";
+    /**
+     * The stage providing the missing required elements, run after the stages added by hosts.
+     */
+    public static final String DEFAULTS = "defaults";
+    /**
+     * The stage adding the servers of the configuration, run last.
+     */
+    public static final String SERVERS = "servers";
+
+    private static final List<String> FIRST_SOURCES = Arrays.asList(READER, STATIC_FILE, ANNOTATIONS);
+    private static final List<String> LAST_STAGES = Arrays.asList(DEFAULTS, SERVERS);
+
+    private final Map<String, Supplier<? extends OpenAPI>> sources = new LinkedHashMap<>();
+    private final Map<String, UnaryOperator<OpenAPI>> stages = new LinkedHashMap<>();
+    private final Set<String> cached = new HashSet<>();
+    private final Map<String, OpenAPI> results = new HashMap<>();
+    private Map<String, Duration> timings = Collections.emptyMap();
+
+    /**
+     * Adds a source of the model, or replaces the source with the same name.
+     *
+     * @param name the name of the source
+     * @param source produces the model, or null if the source contributes nothing
+     * @return this pipeline
+     */
+    public synchronized OpenApiPipeline source(String name, Supplier<? extends OpenAPI> source) {
+        sources.put(name, source);
+        invalidate(name);
+        return this;
+    }
+
+    /**
+     * Adds a stage transforming the merged model, or replaces the stage with the same name. The
+     * stages added by hosts run after {@link #FILTER}, in the order they were added, and before
+     * {@link #DEFAULTS}.
+     *
+     * @param name the name of the stage
+     * @param stage returns the transformed model, which may be the given model, modified
+     * @return this pipeline
+     */
+    public synchronized OpenApiPipeline stage(String name, UnaryOperator<OpenAPI> stage) {
+        stages.put(name, stage);
+        invalidate(name);
+        return this;
+    }
+
+    /**
+     * Removes a source or stage.
+     *
+     * @param name the name of the source or stage
+     * @return this pipeline
+     */
+    public synchronized OpenApiPipeline remove(String name) {
+        invalidate(name);
+        sources.remove(name);
+        stages.remove(name);
+        cached.remove(name);
+        return this;
+    }
+
+    /**
+     * Keeps the result of a source or stage for the later runs of the pipeline.
+     *
+     * @param name the name of the source or stage
+     * @return this pipeline
+     */
+    public synchronized OpenApiPipeline cache(String name) {
+        cached.add(name);
+        return this;
+    }
+
+    /**
+     * Discards the cached results of a source or stage and of the stages depending on it, so
+     * that they run again during the next run of the pipeline.
+     *
+     * @param name the name of the source or stage
+     * @return this pipeline
+     */
+    public synchronized OpenApiPipeline invalidate(String name) {
+        List<String> order = stageOrder();
+        int index = order.indexOf(name);
+        if (index < 0 && (sources.containsKey(name) || MERGE.equals(name))) {
+            // A source: the merge and all the stages depend on it
+            results.remove(name);
+            index = 0;
+        }
+        if (index >= 0) {
+            results.remove(MERGE);
+            order.subList(index, order.size()).forEach(results::remove);
+        }
+        return this;
+    }
+
+    /**
+     * Produces the model. The sources are produced concurrently when the common pool uses
+     * several threads.
+     *
+     * @return the model, or null if no source contributed a model and no stage created one
+     */
+    public OpenAPI run() {
+        return run(ForkJoinPool.getCommonPoolParallelism() > 1 ? ForkJoinPool.commonPool() : Runnable::run);
+    }
+
+    /**
+     * Produces the model, the sources being produced by tasks submitted to the given executor.
+     * The tasks run with the context class loader of the calling thread.
+     *
+     * @param executor the executor producing the sources
+     * @return the model, or null if no source contributed a model and no stage created one
+     */
+    public synchronized OpenAPI run(Executor executor) {
+        Map<String, Duration> timings = Collections.synchronizedMap(new LinkedHashMap<>());
+        List<String> order = stageOrder();
+
+        // Resume after the last stage with a cached result
+        int first = order.size();
+        while (first > 0 && !results.containsKey(order.get(first - 1))) {
+            first--;
+        }
+        OpenAPI model;
+        if (first > 0) {
+            model = reuse(order.get(first - 1));
+        } else if (results.containsKey(MERGE)) {
+            model = reuse(MERGE);
+        } else {
+            model = merge(executor, timings);
+        }
+
+        for (String name : order.subList(first, order.size())) {
+            UnaryOperator<OpenAPI> stage = stages.get(name);
+            OpenAPI input = model;
+            model = timed(name, () -> stage.apply(input), timings);
+        }
+
+        this.timings = timings;
+        return model;
+    }
+
+    /**
+     * @return the time taken by each source and stage during the last run, in the order they
+     *         completed. The sources and stages whose cached results were reused are missing.
+     */
+    public synchronized Map<String, Duration> getTimings() {
+        return timings;
+    }
+
+    private OpenAPI merge(Executor executor, Map<String, Duration> timings) {
+        // The sources may load classes of the app, like when run by the calling thread
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        List<CompletableFuture<OpenAPI>> produced = new ArrayList<>();
+        List<Boolean> copied = new ArrayList<>();
+        for (String name : sourceOrder()) {
+            copied.add(results.containsKey(name));
+            if (results.containsKey(name)) {
+                produced.add(CompletableFuture.completedFuture(reuse(name)));
+            } else {
+                Supplier<? extends OpenAPI> source = sources.get(name);
+                produced.add(CompletableFuture.supplyAsync(() -> withLoader(loader, () -> timed(name, source, timings)),
+                        executor));
+            }
+        }
+
+        // Merged in order, each source as soon as it and the sources before it are ready
+        OpenAPI merged = null;
+        OpenAPI single = null;
+        int merges = 0;
+        long start = System.nanoTime();
+        long waiting = 0;
+        for (int i = 0; i < produced.size(); i++) {
+            long wait = System.nanoTime();
+            OpenAPI model = join(produced.get(i));
+            waiting += System.nanoTime() - wait;
+            if (model != null) {
+                single = copied.get(i) ? null : model;
+                merges++;
+            }
+            merged = MergeUtil.mergeObjects(merged, model);
+        }
+        if (merges == 1 && single != null) {
+            // The merge of a single source is the source itself, which its producer may keep
+            merged = FreezeUtil.mutableCopy(single);
+        }
+        record(MERGE, merged, Duration.ofNanos(System.nanoTime() - start - waiting), timings);
+        return merged;
+    }
+
+    private OpenAPI timed(String name, Supplier<? extends OpenAPI> stage, Map<String, Duration> timings) {
+        long start = System.nanoTime();
+        OpenAPI model = stage.get();
+        record(name, model, Duration.ofNanos(System.nanoTime() - start), timings);
+        return model;
+    }
+
+    private void record(String name, OpenAPI model, Duration duration, Map<String, Duration> timings) {
+        timings.put(name, duration);
+        LOG.debugf("OpenAPI stage %s completed in %d ms", name, duration.toMillis());
+        if (cached.contains(name)) {
+            // Copied before the next stages modify the model
+            OpenAPI copy = model != null ? FreezeUtil.mutableCopy(model) : null;
+            synchronized (results) {
+                results.put(name, copy);
+            }
+        }
+    }
+
+    private OpenAPI reuse(String name) {
+        OpenAPI model = results.get(name);
+        return model != null ? FreezeUtil.mutableCopy(model) : null;
+    }
+
+    private List<String> sourceOrder() {
+        List<String> order = new ArrayList<>();
+        FIRST_SOURCES.stream().filter(sources::containsKey).forEach(order::add);
+        sources.keySet().stream().filter(name -> !FIRST_SOURCES.contains(name)).forEach(order::add);
+        return order;
+    }
+
+    private List<String> stageOrder() {
+        List<String> order = new ArrayList<>();
+        if (stages.containsKey(FILTER)) {
+            order.add(FILTER);
+        }
+        stages.keySet().stream().filter(name -> !FILTER.equals(name) && !LAST_STAGES.contains(name))
+                .forEach(order::add);
+        LAST_STAGES.stream().filter(stages::containsKey).forEach(order::add);
+        return order;
+    }
+
+    private static OpenAPI withLoader(ClassLoader loader, Supplier<OpenAPI> task) {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        if (previous == loader) {
+            return task.get();
+        }
+        thread.setContextClassLoader(loader);
+        try {
+            return task.get();
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    private static OpenAPI join(CompletableFuture<OpenAPI> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.smallrye.openapi.api;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+
+import org.eclipse.microprofile.openapi.models.OpenAPI;
+
+import io.smallrye.openapi.runtime.io.OpenApiSerializer;
+import io.smallrye.openapi.runtime.io.OpenApiSerializer.Format;
+
+/**
+ * An immutable, pre-rendered representation of an OpenAPI document in a single
+ * {@link Format}. The content is rendered once and may then be written to any
+ * number of clients without walking the model again. A strong entity tag derived
+ * from a SHA-256 hash of the content is computed along with it.
+ */
+public final class SerializedDocument {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final Format format;
+    private final byte[] content;
+    private final String entityTag;
+
+    private SerializedDocument(Format format, byte[] content) {
+        this.format = format;
+        this.content = content;
+        this.entityTag = entityTag(content);
+    }
+
+    /**
+     * Render the given model in the requested format.
+     *
+     * @param model the OpenAPI model to render
+     * @param format the serialization format
+     * @return the rendered document
+     * @throws IOException Errors in processing the JSON/YAML
+     */
+    public static SerializedDocument of(OpenAPI model, Format format) throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        OpenApiSerializer.serialize(model, format, stream);
+        return new SerializedDocument(format, stream.toByteArray());
+    }
+
+    /**
+     * @return the format of the content
+     */
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * @return the MIME type of the content, suitable for a Content-Type header
+     */
+    public String getMimeType() {
+        return format.getMimeType();
+    }
+
+    /**
+     * @return the length of the UTF-8 encoded content in bytes
+     */
+    public int getLength() {
+        return content.length;
+    }
+
+    /**
+     * Returns the strong entity tag of the content, including the surrounding
+     * double quotes required by the ETag header.
+     *
+     * @return the quoted entity tag
+     */
+    public String getEntityTag() {
+        return entityTag;
+    }
+
+    /**
+     * Determine whether the value of an If-None-Match header matches this
+     * document's entity tag. The weak comparison required for If-None-Match
+     * is used (RFC 7232, section 3.2): the tags weakened by a {@code W/}
+     * prefix, such as by compressing proxies, match as well.
+     *
+     * @param ifNoneMatch value of the If-None-Match request header, may be null
+     * @return true if the client's cached copy is current
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if ("*".equals(tag) || entityTag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Write the content to the given stream. The stream is neither flushed nor closed.
+     *
+     * @param stream target stream
+     * @throws IOException Errors writing to the stream
+     */
+    public void writeTo(OutputStream stream) throws IOException {
+        stream.write(content);
+    }
+
+    /**
+     * @return a copy of the UTF-8 encoded content
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(content, content.length);
+    }
+
+    /**
+     * @return the content as a String
+     */
+    @Override
+    public String toString() {
+        return new String(content, StandardCharsets.UTF_8);
+    }
+
+    private static String entityTag(byte[] content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            byte[] hash = digest.digest(content);
+            return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
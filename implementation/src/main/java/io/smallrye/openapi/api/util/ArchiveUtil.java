@@ -17,29 +17,43 @@
 package io.smallrye.openapi.api.util;
 
 import java.io.File;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import org.eclipse.microprofile.config.ConfigProvider;
+import org.jboss.jandex.CompositeIndex;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
 import org.jboss.jandex.IndexView;
 import org.jboss.jandex.Indexer;
+import org.jboss.jandex.UnsupportedVersion;
 import org.jboss.logging.Logger;
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.ArchivePath;
 import org.jboss.shrinkwrap.api.Node;
-import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.Asset;
 import org.jboss.shrinkwrap.api.classloader.ShrinkWrapClassLoader;
-import org.jboss.shrinkwrap.api.importer.ZipImporter;
-import org.jboss.shrinkwrap.api.spec.JavaArchive;
 
 import io.smallrye.openapi.api.OpenApiConfig;
 import io.smallrye.openapi.api.OpenApiConfigImpl;
 import io.smallrye.openapi.api.OpenApiConstants;
 import io.smallrye.openapi.runtime.OpenApiStaticFile;
 import io.smallrye.openapi.runtime.io.OpenApiSerializer.Format;
+import io.smallrye.openapi.runtime.scanner.FilteredIndexView;
 import io.smallrye.openapi.runtime.scanner.OpenApiAnnotationScanner;
 
 /**
@@ -115,13 +129,73 @@ public class ArchiveUtil {
     }
 
     /**
-     * Index the ShrinkWrap archive to produce a jandex index.
+     * Finds the final OpenAPI document generated at build time in the deployment and, if it
+     * exists, returns it as an {@link OpenApiStaticFile}. If not found, returns null. The
+     * caller is responsible for closing the stream of the returned file.
+     * 
+     * @param archive Shrinkwrap Archive instance
+     * @return OpenApiStaticFile
+     */
+    public static OpenApiStaticFile archiveToGeneratedFile(Archive<?> archive) {
+        Format format = Format.JSON;
+        Node node = archive.get("/" + OpenApiConstants.GENERATED_DOCUMENT_JSON);
+        if (node == null) {
+            node = archive.get(OpenApiConstants.WEB_ARCHIVE_CLASS_PREFIX + OpenApiConstants.GENERATED_DOCUMENT_JSON);
+        }
+        if (node == null) {
+            format = Format.YAML;
+            node = archive.get("/" + OpenApiConstants.GENERATED_DOCUMENT_YAML);
+        }
+        if (node == null) {
+            node = archive.get(OpenApiConstants.WEB_ARCHIVE_CLASS_PREFIX + OpenApiConstants.GENERATED_DOCUMENT_YAML);
+        }
+
+        if (node == null) {
+            return null;
+        }
+
+        return new OpenApiStaticFile(node.getAsset().openStream(), format);
+    }
+
+    /**
+     * Index the ShrinkWrap archive to produce a jandex index. The nested JAR archives are indexed
+     * in parallel using the {@link ForkJoinPool#commonPool() common pool} when it uses several
+     * threads.
      * 
      * @param config OpenApiConfig
      * @param archive Shrinkwrap Archive
      * @return indexed classes in Archive
      */
     public static IndexView archiveToIndex(OpenApiConfig config, Archive<?> archive) {
+        return archiveToIndex(config, archive, ForkJoinPool.getCommonPoolParallelism() > 1 ? ForkJoinPool.commonPool() : null);
+    }
+
+    /**
+     * Index the ShrinkWrap archive to produce a jandex index. Each nested JAR archive is read as
+     * a stream of entries and indexed on its own, the classes rejected by the configuration being
+     * skipped before they are read. The indexes of the JAR archives are combined with the index
+     * of the classes of the archive itself.
+     * 
+     * The archives packaging a jandex index ({@value OpenApiConstants#JANDEX_INDEX}) are not
+     * indexed again: their index is read instead, and filtered by the configuration. Their classes
+     * are indexed when the version of their index is not supported.
+     * 
+     * When <code>mp.openapi.extensions.index-cache.directory</code> is configured, the indexes of
+     * the nested JAR archives are kept in that directory, and the JAR archives found unchanged by
+     * a later call are not indexed again.
+     * 
+     * When <code>mp.openapi.extensions.scan-dependencies.skip-unannotated</code> is enabled, the
+     * nested JAR archives of which no class refers to a JAX-RS or OpenAPI type, nor is referred to
+     * by the classes of the archive itself or of the nested JAR archives indexed, are not indexed.
+     * They are then indexed once the classes of the archive itself are indexed.
+     * 
+     * @param config OpenApiConfig
+     * @param archive Shrinkwrap Archive
+     * @param executor executor indexing the nested JAR archives concurrently, or null to index
+     *        them on the calling thread
+     * @return indexed classes in Archive
+     */
+    public static IndexView archiveToIndex(OpenApiConfig config, Archive<?> archive, Executor executor) {
         if (archive == null) {
             throw new RuntimeException("Archive was null!");
         }
@@ -129,11 +203,61 @@ public class ArchiveUtil {
         Indexer indexer = new Indexer();
         index(indexer, "io/smallrye/openapi/runtime/scanner/CollectionStandin.class");
         index(indexer, "io/smallrye/openapi/runtime/scanner/MapStandin.class");
-        indexArchive(config, indexer, archive);
-        return indexer.complete();
+        String indexedClasses = null;
+        IndexView prebuilt = null;
+        Node node = archive.get(OpenApiConstants.WEB_ARCHIVE_CLASS_PREFIX + OpenApiConstants.JANDEX_INDEX);
+        if (node != null) {
+            indexedClasses = OpenApiConstants.WEB_ARCHIVE_CLASS_PREFIX;
+        } else {
+            node = archive.get("/" + OpenApiConstants.JANDEX_INDEX);
+            indexedClasses = "/";
+        }
+        if (node != null) {
+            try (InputStream contentStream = node.getAsset().openStream()) {
+                prebuilt = readIndex(contentStream, archive.getName());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        IndexCache cache = IndexCache.open(config);
+        DependencySniffer sniffer = DependencySniffer.open(config);
+        List<CompletableFuture<IndexView>> jars = new ArrayList<>();
+        // Until the types the classes of the archive refer to are known to the sniffer
+        List<Supplier<IndexView>> sniffed = new ArrayList<>();
+        indexArchive(config, indexer, archive, prebuilt != null ? indexedClasses : null, cache, sniffer,
+                sniffer != null ? sniffed::add : task -> jars.add(submit(task, executor)));
+
+        List<IndexView> indexes = new ArrayList<>(jars.size() + sniffed.size() + 2);
+        indexes.add(indexer.complete());
+        if (prebuilt != null) {
+            indexes.add(new FilteredIndexView(prebuilt, config));
+        }
+        if (sniffer != null) {
+            sniffer.referencedBy(indexes.size() == 1 ? indexes.get(0) : CompositeIndex.create(indexes));
+            sniffed.forEach(task -> jars.add(submit(task, executor)));
+        }
+        int archiveClasses = indexes.size();
+        for (CompletableFuture<IndexView> jar : jars) {
+            try {
+                indexes.add(jar.join());
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        if (sniffer != null) {
+            indexes.addAll(sniffer.indexReferenced(new ArrayList<>(indexes.subList(archiveClasses, indexes.size()))));
+        }
+        if (cache != null) {
+            cache.evict();
+        }
+        if (sniffer != null) {
+            sniffer.report();
+        }
+        return indexes.size() == 1 ? indexes.get(0) : CompositeIndex.create(indexes);
     }
 
-    private static void index(Indexer indexer, String resName) {
+    static void index(Indexer indexer, String resName) {
         ClassLoader cl = OpenApiAnnotationScanner.class.getClassLoader();
         try (InputStream klazzStream = cl.getResourceAsStream(resName)) {
             indexer.index(klazzStream);
@@ -143,18 +267,43 @@ public class ArchiveUtil {
     }
 
     /**
-     * Indexes the given archive.
+     * Reads a jandex index packaged in an archive.
+     * 
+     * @param stream
+     * @param archiveName
+     * @return the index, or null if its version is not supported
+     */
+    static Index readIndex(InputStream stream, String archiveName) throws IOException {
+        try {
+            Index index = new IndexReader(stream).read();
+            LOG.debugv("Using the jandex index of archive: {0}", archiveName);
+            return index;
+        } catch (UnsupportedVersion | IllegalArgumentException e) {
+            LOG.debugv("Indexing the classes of archive: {0}, its jandex index is not supported: {1}", archiveName,
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Indexes the classes of the given archive, and starts indexing its JAR archives.
      * 
      * @param config
      * @param indexer
      * @param archive
+     * @param indexedClasses the path under which the classes are already indexed, or null
+     * @param cache the cache of the indexes of the JAR archives, or null
+     * @param sniffer skips the JAR archives not contributing to the document, or null
+     * @param jarFound receives the tasks indexing the JAR archives
      */
-    private static void indexArchive(OpenApiConfig config, Indexer indexer, Archive<?> archive) {
+    private static void indexArchive(OpenApiConfig config, Indexer indexer, Archive<?> archive, String indexedClasses,
+            IndexCache cache, DependencySniffer sniffer, Consumer<Supplier<IndexView>> jarFound) {
         Map<ArchivePath, Node> c = archive.getContent();
         try {
             for (Map.Entry<ArchivePath, Node> each : c.entrySet()) {
                 ArchivePath archivePath = each.getKey();
                 if (archivePath.get().endsWith(OpenApiConstants.CLASS_SUFFIX)
+                        && !isIndexed(indexedClasses, archivePath.get())
                         && acceptClassForScanning(config, archivePath.get())) {
                     try (InputStream contentStream = each.getValue().getAsset().openStream()) {
                         LOG.debugv("Indexing asset: {0} from archive: {1}", archivePath.get(), archive.getName());
@@ -164,11 +313,11 @@ public class ArchiveUtil {
                 }
                 if (archivePath.get().endsWith(OpenApiConstants.JAR_SUFFIX)
                         && acceptJarForScanning(config, archivePath.get())) {
-                    try (InputStream contentStream = each.getValue().getAsset().openStream()) {
-                        JavaArchive jarArchive = ShrinkWrap.create(JavaArchive.class, archivePath.get())
-                                .as(ZipImporter.class).importFrom(contentStream).as(JavaArchive.class);
-                        indexArchive(config, indexer, jarArchive);
-                    }
+                    Asset jar = each.getValue().getAsset();
+                    String jarName = archivePath.get();
+                    Supplier<IndexView> indexed = () -> indexJar(config, jarName, jar);
+                    Supplier<IndexView> sniffed = sniffer != null ? () -> sniffer.index(jarName, jar, indexed) : indexed;
+                    jarFound.accept(cache != null ? () -> cache.index(jarName, jar, sniffed) : sniffed);
                     continue;
                 }
             }
@@ -177,6 +326,79 @@ public class ArchiveUtil {
         }
     }
 
+    /**
+     * @return the result of the task, run by the executor, or by the calling thread when null
+     */
+    static CompletableFuture<IndexView> submit(Supplier<IndexView> task, Executor executor) {
+        return executor != null ? CompletableFuture.supplyAsync(task, executor)
+                : CompletableFuture.completedFuture(task.get());
+    }
+
+    static boolean isIndexed(String indexedClasses, String archivePath) {
+        if (indexedClasses == null) {
+            return false;
+        }
+        if ("/".equals(indexedClasses)) {
+            return !archivePath.startsWith("/WEB-INF/");
+        }
+        return archivePath.startsWith(indexedClasses);
+    }
+
+    /**
+     * Indexes the given JAR archive, including the JAR archives it contains.
+     * 
+     * @param config
+     * @param jarName
+     * @param jar
+     */
+    private static IndexView indexJar(OpenApiConfig config, String jarName, Asset jar) {
+        try (ZipInputStream entries = new ZipInputStream(jar.openStream())) {
+            return indexJar(config, jarName, entries);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static IndexView indexJar(OpenApiConfig config, String jarName, ZipInputStream entries) throws IOException {
+        Indexer indexer = new Indexer();
+        Index prebuilt = null;
+        List<IndexView> indexes = new ArrayList<>();
+
+        for (ZipEntry entry = entries.getNextEntry(); entry != null; entry = entries.getNextEntry()) {
+            String name = entry.getName();
+            if (entry.isDirectory()) {
+                continue;
+            }
+            if (name.endsWith(OpenApiConstants.CLASS_SUFFIX)) {
+                if (prebuilt == null && acceptClassForScanning(config, name)) {
+                    LOG.debugv("Indexing asset: {0} from archive: {1}", name, jarName);
+                    indexer.index(entries);
+                }
+            } else if (OpenApiConstants.JANDEX_INDEX.equals(name)) {
+                // The classes indexed before the index of the archive was found are discarded
+                prebuilt = readIndex(unclosable(entries), jarName);
+            } else if (name.endsWith(OpenApiConstants.JAR_SUFFIX) && acceptJarForScanning(config, name)) {
+                try (ZipInputStream nested = new ZipInputStream(unclosable(entries))) {
+                    indexes.add(indexJar(config, name, nested));
+                }
+            }
+        }
+
+        indexes.add(0, prebuilt != null ? new FilteredIndexView(prebuilt, config) : indexer.complete());
+        return indexes.size() == 1 ? indexes.get(0) : CompositeIndex.create(indexes);
+    }
+
+    /**
+     * @return the given stream of an entry of an archive, which closing does not close the archive
+     */
+    static InputStream unclosable(InputStream stream) {
+        return new FilterInputStream(stream) {
+            @Override
+            public void close() {
+            }
+        };
+    }
+
     /**
      * Returns true if the given JAR archive (dependency) should be cracked open and indexed
      * along with the rest of the deployment's classes.
@@ -184,7 +406,7 @@ public class ArchiveUtil {
      * @param config
      * @param jarName
      */
-    private static boolean acceptJarForScanning(OpenApiConfig config, String jarName) {
+    static boolean acceptJarForScanning(OpenApiConfig config, String jarName) {
         if (config.scanDependenciesDisable()) {
             return false;
         }
@@ -203,7 +425,7 @@ public class ArchiveUtil {
      * @param config
      * @param archivePath
      */
-    private static boolean acceptClassForScanning(OpenApiConfig config, String archivePath) {
+    static boolean acceptClassForScanning(OpenApiConfig config, String archivePath) {
         if (archivePath == null) {
             return false;
         }
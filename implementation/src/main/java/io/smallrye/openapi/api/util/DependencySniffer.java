@@ -0,0 +1,443 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.smallrye.openapi.api.util;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.AnnotationValue;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.CompositeIndex;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.FieldInfo;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.MethodInfo;
+import org.jboss.jandex.Type;
+import org.jboss.logging.Logger;
+import org.jboss.shrinkwrap.api.asset.Asset;
+
+import io.smallrye.openapi.api.OpenApiConfig;
+import io.smallrye.openapi.api.OpenApiConstants;
+
+/**
+ * Skips the indexing of the dependency JAR archives that cannot contribute to the OpenAPI
+ * document, enabled by <code>mp.openapi.extensions.scan-dependencies.skip-unannotated</code>.
+ * Before a JAR archive is indexed, the constant pools of its classes are read, and the archive is
+ * indexed only if one of its classes refers to a JAX-RS, RESTEasy or MicroProfile OpenAPI type:
+ * an annotation, a model or a filter. Reading the constant pools is much cheaper than indexing
+ * the classes, and stops at the first class referring to one of these types.
+ *
+ * The archives declaring a type the classes of the application refer to, such as the model
+ * types returned by its resources, are indexed too, so that their schemas are introspected. The
+ * types referred to are those of the fields, methods, parameters, super types and annotation
+ * values of the classes of the application, given by {@link #referencedBy(IndexView)}. Once the
+ * archives kept are indexed, {@link #indexReferenced(Collection)} indexes the skipped archives
+ * declaring a type their classes refer to, and so on until no more archive is referred to.
+ */
+class DependencySniffer {
+
+    private static final Logger LOG = Logger.getLogger(DependencySniffer.class);
+
+    /**
+     * The packages of the types of which the classes contributing to the document refer to at
+     * least one, as found in the constant pool.
+     */
+    private static final byte[][] PACKAGES = {
+            "javax/ws/rs/".getBytes(StandardCharsets.UTF_8),
+            "org/eclipse/microprofile/openapi/".getBytes(StandardCharsets.UTF_8),
+            "org/jboss/resteasy/annotations/".getBytes(StandardCharsets.UTF_8)
+    };
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    // Internal names of the types the classes of the application refer to
+    private volatile Set<String> referencedTypes = Collections.emptySet();
+
+    private final List<Skipped> skipped = new ArrayList<>();
+    private long skippedClasses;
+    private long sniffingNanos;
+    private long indexedClasses;
+    private long indexingNanos;
+
+    /**
+     * Create a sniffer, if enabled by
+     * <code>mp.openapi.extensions.scan-dependencies.skip-unannotated</code>.
+     *
+     * @param config current configuration
+     * @return the sniffer, or null when not enabled
+     */
+    static DependencySniffer open(OpenApiConfig config) {
+        return config.scanDependenciesSkipUnannotated() ? new DependencySniffer() : null;
+    }
+
+    /**
+     * Records the types the given classes of the application refer to, so that the archives
+     * declaring them are indexed. Must be called before the archives are indexed.
+     *
+     * @param index the classes of the application
+     */
+    void referencedBy(IndexView index) {
+        Set<String> types = new HashSet<>(referencedTypes);
+        for (ClassInfo klass : index.getKnownClasses()) {
+            addType(types, klass.superClassType());
+            klass.interfaceTypes().forEach(type -> addType(types, type));
+            for (FieldInfo field : klass.fields()) {
+                addType(types, field.type());
+            }
+            for (MethodInfo method : klass.methods()) {
+                addType(types, method.returnType());
+                method.parameters().forEach(type -> addType(types, type));
+            }
+            for (List<AnnotationInstance> annotations : klass.annotations().values()) {
+                for (AnnotationInstance annotation : annotations) {
+                    annotation.values().forEach(value -> addTypes(types, value));
+                }
+            }
+        }
+        referencedTypes = types;
+    }
+
+    /**
+     * Indexes the skipped archives declaring a type the classes of the given indexes refer to,
+     * then those declaring a type the classes of these archives refer to, until no skipped archive
+     * is referred to. Must be called once the archives kept are indexed.
+     *
+     * @param indexed the indexes of the archives kept
+     * @return the indexes of the archives no longer skipped
+     */
+    List<IndexView> indexReferenced(Collection<IndexView> indexed) {
+        List<IndexView> indexes = new ArrayList<>();
+        IndexView added = CompositeIndex.create(indexed);
+        while (true) {
+            referencedBy(added);
+            List<Skipped> referenced = referencedSkipped();
+            if (referenced.isEmpty()) {
+                return indexes;
+            }
+            List<IndexView> round = new ArrayList<>(referenced.size());
+            for (Skipped archive : referenced) {
+                LOG.debugv("Indexing archive: {0}, declaring a type the indexed archives refer to", archive.name);
+                long start = System.nanoTime();
+                IndexView index = archive.indexer.get();
+                unskipped(archive, index.getKnownClasses().size(), System.nanoTime() - start);
+                round.add(index);
+            }
+            indexes.addAll(round);
+            added = CompositeIndex.create(round);
+        }
+    }
+
+    /**
+     * Indexes the given archive, if one of its classes, or of the classes of the archives it
+     * contains, refers to a type contributing to the document or is referred to by the classes of
+     * the application, or if it packages a jandex index. Failures to read the archive are logged
+     * and the archive indexed.
+     *
+     * @param archiveName the name of the archive
+     * @param archive the content of the archive
+     * @param indexer indexes the archive
+     * @return the index of the archive, empty when the archive is skipped
+     */
+    IndexView index(String archiveName, Asset archive, Supplier<IndexView> indexer) {
+        long start = System.nanoTime();
+        Set<String> declared = new HashSet<>();
+        int classes;
+        try (ZipInputStream entries = new ZipInputStream(archive.openStream())) {
+            classes = sniff(entries, declared);
+        } catch (IOException | RuntimeException e) {
+            LOG.debugv(e, "Unable to read the classes of archive {0}", archiveName);
+            classes = -1;
+        }
+        long sniffed = System.nanoTime() - start;
+
+        if (classes >= 0) {
+            LOG.debugv("Skipping archive: {0}, none of its {1} classes refers to JAX-RS or OpenAPI types, "
+                    + "or is referred to by the application", archiveName, classes);
+            skipped(new Skipped(archiveName, classes, declared, indexer), sniffed);
+            // Not an Index, which the cache would keep although the next application may refer to the archive
+            return CompositeIndex.create();
+        }
+
+        start = System.nanoTime();
+        IndexView index = indexer.get();
+        indexed(index.getKnownClasses().size(), sniffed, System.nanoTime() - start);
+        return index;
+    }
+
+    /**
+     * @return the names of the archives skipped
+     */
+    synchronized List<String> getSkipped() {
+        List<String> names = new ArrayList<>(skipped.size());
+        skipped.forEach(archive -> names.add(archive.name));
+        return names;
+    }
+
+    /**
+     * Logs the archives skipped, the time taken to check all the archives, and the time indexing
+     * the skipped archives would have taken, estimated from the time taken to index the classes
+     * of the other archives.
+     */
+    synchronized void report() {
+        if (skipped.isEmpty()) {
+            return;
+        }
+        String skippedIndexing = "unknown";
+        if (indexedClasses > 0) {
+            skippedIndexing = TimeUnit.NANOSECONDS.toMillis(skippedClasses * indexingNanos / indexedClasses) + " ms";
+        }
+        LOG.infof("Skipped indexing %d dependency archives (%d classes) not referring to JAX-RS or OpenAPI types: %s. "
+                + "Checking the archives took %d ms, indexing the skipped archives would have taken about %s",
+                skipped.size(), skippedClasses, getSkipped(), TimeUnit.NANOSECONDS.toMillis(sniffingNanos),
+                skippedIndexing);
+    }
+
+    private synchronized void skipped(Skipped archive, long sniffed) {
+        skipped.add(archive);
+        skippedClasses += archive.classes;
+        sniffingNanos += sniffed;
+    }
+
+    /**
+     * @return the skipped archives declaring a type referred to, no longer skipped
+     */
+    private synchronized List<Skipped> referencedSkipped() {
+        List<Skipped> referenced = new ArrayList<>();
+        for (Iterator<Skipped> archives = skipped.iterator(); archives.hasNext();) {
+            Skipped archive = archives.next();
+            if (archive.declared.stream().anyMatch(referencedTypes::contains)) {
+                archives.remove();
+                referenced.add(archive);
+            }
+        }
+        return referenced;
+    }
+
+    private synchronized void unskipped(Skipped archive, int classes, long indexed) {
+        skippedClasses -= archive.classes;
+        indexedClasses += classes;
+        indexingNanos += indexed;
+    }
+
+    private synchronized void indexed(int classes, long sniffed, long indexed) {
+        indexedClasses += classes;
+        sniffingNanos += sniffed;
+        indexingNanos += indexed;
+    }
+
+    /**
+     * @param declared receives the internal names of the classes of the archive
+     * @return the number of classes of the archive, or -1 as soon as a class refers to a type
+     *         contributing to the document, a class is referred to by the application, or a jandex
+     *         index is found
+     */
+    private int sniff(ZipInputStream entries, Set<String> declared) throws IOException {
+        Set<String> referencedTypes = this.referencedTypes;
+        int classes = 0;
+        for (ZipEntry entry = entries.getNextEntry(); entry != null; entry = entries.getNextEntry()) {
+            String name = entry.getName();
+            if (entry.isDirectory()) {
+                continue;
+            }
+            if (name.endsWith(OpenApiConstants.CLASS_SUFFIX)) {
+                String type = name.substring(0, name.length() - OpenApiConstants.CLASS_SUFFIX.length());
+                if (referencedTypes.contains(type) || refersToContributingType(entries)) {
+                    return -1;
+                }
+                declared.add(type);
+                classes++;
+            } else if (OpenApiConstants.JANDEX_INDEX.equals(name)) {
+                // Reading the index is cheaper than sniffing the classes
+                return -1;
+            } else if (name.endsWith(OpenApiConstants.JAR_SUFFIX)) {
+                int nestedClasses = sniff(new ZipInputStream(ArchiveUtil.unclosable(entries)), declared);
+                if (nestedClasses < 0) {
+                    return -1;
+                }
+                classes += nestedClasses;
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * Reads the constant pool of a class file, looking for the names of the packages of the types
+     * contributing to the document in its UTF-8 entries, where the names of the classes, and the
+     * descriptors of the annotations, fields and methods of the class are found.
+     *
+     * @param stream the content of the class file, only read up to the end of its constant pool
+     * @return true if the class refers to a type contributing to the document, or cannot be read
+     */
+    private static boolean refersToContributingType(InputStream stream) throws IOException {
+        DataInputStream data = new DataInputStream(stream);
+        if (data.readInt() != MAGIC) {
+            return true;
+        }
+        // Minor and major versions
+        data.readInt();
+        int count = data.readUnsignedShort();
+        byte[] utf8 = new byte[256];
+        byte[] ignored = new byte[8];
+        for (int i = 1; i < count; i++) {
+            int tag = data.readUnsignedByte();
+            switch (tag) {
+                case 1: // Utf8
+                    int length = data.readUnsignedShort();
+                    if (length > utf8.length) {
+                        utf8 = new byte[length];
+                    }
+                    data.readFully(utf8, 0, length);
+                    if (containsPackage(utf8, length)) {
+                        return true;
+                    }
+                    break;
+                case 7: // Class
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    data.readFully(ignored, 0, 2);
+                    break;
+                case 15: // MethodHandle
+                    data.readFully(ignored, 0, 3);
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    data.readFully(ignored, 0, 4);
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    data.readFully(ignored, 0, 8);
+                    // Takes two entries
+                    i++;
+                    break;
+                default:
+                    // Unknown constant: the class may contribute
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addTypes(Set<String> types, AnnotationValue value) {
+        switch (value.kind()) {
+            case CLASS:
+                addType(types, value.asClass());
+                break;
+            case NESTED:
+                value.asNested().values().forEach(nested -> addTypes(types, nested));
+                break;
+            case ARRAY:
+                if (value.componentKind() == AnnotationValue.Kind.CLASS) {
+                    for (Type type : value.asClassArray()) {
+                        addType(types, type);
+                    }
+                } else if (value.componentKind() == AnnotationValue.Kind.NESTED) {
+                    for (AnnotationInstance nested : value.asNestedArray()) {
+                        nested.values().forEach(nestedValue -> addTypes(types, nestedValue));
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static void addType(Set<String> types, Type type) {
+        if (type == null) {
+            return;
+        }
+        switch (type.kind()) {
+            case CLASS:
+                types.add(internalName(type.name()));
+                break;
+            case ARRAY:
+                addType(types, type.asArrayType().component());
+                break;
+            case PARAMETERIZED_TYPE:
+                types.add(internalName(type.name()));
+                type.asParameterizedType().arguments().forEach(argument -> addType(types, argument));
+                break;
+            case WILDCARD_TYPE:
+                addType(types, type.asWildcardType().extendsBound());
+                addType(types, type.asWildcardType().superBound());
+                break;
+            case TYPE_VARIABLE:
+                // The erasures of the bounds only, which may refer to the variable
+                type.asTypeVariable().bounds().forEach(bound -> types.add(internalName(bound.name())));
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static String internalName(DotName name) {
+        return name.toString().replace('.', '/');
+    }
+
+    private static boolean containsPackage(byte[] utf8, int length) {
+        for (byte[] pkg : PACKAGES) {
+            for (int start = 0; start <= length - pkg.length; start++) {
+                int i = 0;
+                while (i < pkg.length && utf8[start + i] == pkg[i]) {
+                    i++;
+                }
+                if (i == pkg.length) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * An archive skipped, which is indexed if a type it declares is referred to by the archives
+     * indexed.
+     */
+    private static final class Skipped {
+        final String name;
+        final int classes;
+        final Set<String> declared;
+        final Supplier<IndexView> indexer;
+
+        Skipped(String name, int classes, Set<String> declared, Supplier<IndexView> indexer) {
+            this.name = name;
+            this.classes = classes;
+            this.declared = declared;
+            this.indexer = indexer;
+        }
+    }
+}
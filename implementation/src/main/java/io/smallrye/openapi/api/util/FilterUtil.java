@@ -18,9 +18,17 @@ package io.smallrye.openapi.api.util;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 
 import org.eclipse.microprofile.openapi.OASFilter;
 import org.eclipse.microprofile.openapi.models.Components;
@@ -45,6 +53,7 @@ import org.eclipse.microprofile.openapi.models.media.XML;
 import org.eclipse.microprofile.openapi.models.parameters.Parameter;
 import org.eclipse.microprofile.openapi.models.parameters.RequestBody;
 import org.eclipse.microprofile.openapi.models.responses.APIResponse;
+import org.eclipse.microprofile.openapi.models.responses.APIResponses;
 import org.eclipse.microprofile.openapi.models.security.OAuthFlow;
 import org.eclipse.microprofile.openapi.models.security.OAuthFlows;
 import org.eclipse.microprofile.openapi.models.security.Scopes;
@@ -67,13 +76,73 @@ public class FilterUtil {
     }
 
     /**
-     * Apply the given filter to the given model.
+     * Apply the given filter to the given model. The entries of the paths and components
+     * of the model are filtered in parallel using the {@link ForkJoinPool#commonPool() common pool}
+     * when the filter is a {@link ThreadSafeFilter} (and the common pool uses several threads).
      * 
      * @param filter OASFilter
      * @param model OpenAPI model
      * @return Filtered OpenAPI model
      */
     public static final OpenAPI applyFilter(OASFilter filter, OpenAPI model) {
+        boolean parallel = filter instanceof ThreadSafeFilter && ForkJoinPool.getCommonPoolParallelism() > 1;
+        return applyFilter(filter, model, parallel ? ForkJoinPool.commonPool() : null);
+    }
+
+    /**
+     * Apply the given filter to the given model.
+     * 
+     * Only the parts of the model that may contain elements passed to the methods overridden
+     * by the filter are visited. Each schema containing other schemas is filtered once, even
+     * when it is found at several locations of the model: the result of the filter is reused
+     * for the other locations.
+     * 
+     * When an executor is given, the entries of the paths and of each map of the components
+     * are filtered concurrently by tasks submitted to it, and the methods of the filter may
+     * be called by several threads at once. Every model element (not only schemas) is then
+     * filtered once, by a single thread. An element reached while another thread is filtering
+     * it is kept at that location, like an element containing itself, rather than waited for:
+     * the filter removing or replacing it only applies to the locations where it was filtered.
+     * The filtered entries are removed in the same order used by a serial filtering.
+     * 
+     * @param filter OASFilter
+     * @param model OpenAPI model
+     * @param executor executor used to filter the entries of paths and components, or null to
+     *        filter them on the calling thread
+     * @return Filtered OpenAPI model
+     */
+    public static final OpenAPI applyFilter(OASFilter filter, OpenAPI model, Executor executor) {
+        applyFilter(new Filter(filter, executor), model);
+
+        filter.filterOpenAPI(model);
+        return model;
+    }
+
+    /**
+     * Apply the given filter to a copy of the given model, which is left unchanged. Only the
+     * parts of the model the filter may modify are copied: the elements passed to the methods
+     * overridden by the filter are copied with all the elements they contain, and the elements
+     * containing them are copied without the elements they share with the model. The other
+     * elements of the model are shared by the copy. The whole model is copied when the filter
+     * overrides {@link OASFilter#filterOpenAPI(OpenAPI)}.
+     * 
+     * @param filter OASFilter
+     * @param model OpenAPI model, not modified
+     * @return Filtered copy of the model
+     */
+    public static final OpenAPI applyFilterToCopy(OASFilter filter, OpenAPI model) {
+        Filter state = new Filter(filter, null);
+        boolean all = Filter.overrides(filter, "filterOpenAPI", OpenAPI.class);
+        OpenAPI copy = (OpenAPI) new ModelCopier(element -> all || state.isFiltered(element), state::isTraversed)
+                .copy(model, false);
+
+        applyFilter(state, copy);
+
+        filter.filterOpenAPI(copy);
+        return copy;
+    }
+
+    private static void applyFilter(Filter filter, OpenAPI model) {
         filterComponents(filter, model.getComponents());
         filterExtensions(filter, model.getExtensions());
         filterExternalDocs(filter, model.getExternalDocs());
@@ -82,9 +151,6 @@ public class FilterUtil {
         filterSecurity(filter, model.getSecurity());
         filterServers(filter, model.getServers());
         filterTags(filter, model.getTags());
-
-        filter.filterOpenAPI(model);
-        return model;
     }
 
     /**
@@ -93,20 +159,20 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterComponents(OASFilter filter, Components model) {
+    private static void filterComponents(Filter filter, Components model) {
         if (model == null) {
             return;
         }
-        filterCallbacks(filter, model.getCallbacks());
+        filterCallbacks(filter, model.getCallbacks(), filter.executor);
         filterExamples(filter, model.getExamples());
         filterExtensions(filter, model.getExtensions());
-        filterHeaders(filter, model.getHeaders());
-        filterLinks(filter, model.getLinks());
-        filterParameters(filter, model.getParameters());
-        filterRequestBodies(filter, model.getRequestBodies());
-        filterAPIResponses(filter, model.getResponses());
-        filterSchemas(filter, model.getSchemas());
-        filterSecuritySchemes(filter, model.getSecuritySchemes());
+        filterHeaders(filter, model.getHeaders(), filter.executor);
+        filterLinks(filter, model.getLinks(), filter.executor);
+        filterParameters(filter, model.getParameters(), filter.executor);
+        filterRequestBodies(filter, model.getRequestBodies(), filter.executor);
+        filterAPIResponses(filter, model.getResponses(), filter.executor);
+        filterSchemas(filter, model.getSchemas(), filter.executor);
+        filterSecuritySchemes(filter, model.getSecuritySchemes(), filter.executor);
     }
 
     /**
@@ -114,20 +180,13 @@ public class FilterUtil {
      * 
      * @param filter
      * @param models
+     * @param executor
      */
-    private static void filterCallbacks(OASFilter filter, Map<String, Callback> models) {
-        if (models == null) {
+    private static void filterCallbacks(Filter filter, Map<String, Callback> models, Executor executor) {
+        if (models == null || !filter.paths) {
             return;
         }
-        Collection<String> keys = new ArrayList<>(models.keySet());
-        for (String key : keys) {
-            Callback model = models.get(key);
-            filterCallback(filter, model);
-
-            if (filter.filterCallback(model) == null) {
-                models.remove(key);
-            }
-        }
+        filterEntries(filter, models, FilterUtil::filterCallback, Filter::filterCallback, executor);
     }
 
     /**
@@ -136,19 +195,11 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterCallback(OASFilter filter, Callback model) {
+    private static void filterCallback(Filter filter, Callback model) {
         if (model == null) {
             return;
         }
-        Collection<String> keys = new ArrayList<>(model.keySet());
-        for (String key : keys) {
-            PathItem childModel = model.getPathItem(key);
-            filterPathItem(filter, childModel);
-
-            if (filter.filterPathItem(childModel) == null) {
-                model.removePathItem(key);
-            }
-        }
+        filterEntries(filter, model, FilterUtil::filterPathItem, Filter::filterPathItem, null);
         filterExtensions(filter, model.getExtensions());
     }
 
@@ -158,42 +209,34 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterPathItem(OASFilter filter, PathItem model) {
+    private static void filterPathItem(Filter filter, PathItem model) {
         if (model == null) {
             return;
         }
         filterParameterList(filter, model.getParameters());
-        filterOperation(filter, model.getDELETE());
         if (model.getDELETE() != null) {
-            model.setDELETE(filter.filterOperation(model.getDELETE()));
+            model.setDELETE(filter.filter(model.getDELETE(), FilterUtil::filterOperation, Filter::filterOperation));
         }
-        filterOperation(filter, model.getGET());
         if (model.getGET() != null) {
-            model.setGET(filter.filterOperation(model.getGET()));
+            model.setGET(filter.filter(model.getGET(), FilterUtil::filterOperation, Filter::filterOperation));
         }
-        filterOperation(filter, model.getHEAD());
         if (model.getHEAD() != null) {
-            model.setHEAD(filter.filterOperation(model.getHEAD()));
+            model.setHEAD(filter.filter(model.getHEAD(), FilterUtil::filterOperation, Filter::filterOperation));
         }
-        filterOperation(filter, model.getOPTIONS());
         if (model.getOPTIONS() != null) {
-            model.setOPTIONS(filter.filterOperation(model.getOPTIONS()));
+            model.setOPTIONS(filter.filter(model.getOPTIONS(), FilterUtil::filterOperation, Filter::filterOperation));
         }
-        filterOperation(filter, model.getPATCH());
         if (model.getPATCH() != null) {
-            model.setPATCH(filter.filterOperation(model.getPATCH()));
+            model.setPATCH(filter.filter(model.getPATCH(), FilterUtil::filterOperation, Filter::filterOperation));
         }
-        filterOperation(filter, model.getPOST());
         if (model.getPOST() != null) {
-            model.setPOST(filter.filterOperation(model.getPOST()));
+            model.setPOST(filter.filter(model.getPOST(), FilterUtil::filterOperation, Filter::filterOperation));
         }
-        filterOperation(filter, model.getPUT());
         if (model.getPUT() != null) {
-            model.setPUT(filter.filterOperation(model.getPUT()));
+            model.setPUT(filter.filter(model.getPUT(), FilterUtil::filterOperation, Filter::filterOperation));
         }
-        filterOperation(filter, model.getTRACE());
         if (model.getTRACE() != null) {
-            model.setTRACE(filter.filterOperation(model.getTRACE()));
+            model.setTRACE(filter.filter(model.getTRACE(), FilterUtil::filterOperation, Filter::filterOperation));
         }
         filterServers(filter, model.getServers());
         filterExtensions(filter, model.getExtensions());
@@ -205,16 +248,13 @@ public class FilterUtil {
      * @param filter
      * @param models
      */
-    private static void filterParameterList(OASFilter filter, List<Parameter> models) {
-        if (models == null) {
+    private static void filterParameterList(Filter filter, List<Parameter> models) {
+        if (models == null || !filter.parameters) {
             return;
         }
         ListIterator<Parameter> iterator = models.listIterator();
         while (iterator.hasNext()) {
-            Parameter model = iterator.next();
-            filterParameter(filter, model);
-
-            if (filter.filterParameter(model) == null) {
+            if (filter.filter(iterator.next(), FilterUtil::filterParameter, Filter::filterParameter) == null) {
                 iterator.remove();
             }
         }
@@ -226,19 +266,19 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterOperation(OASFilter filter, Operation model) {
+    private static void filterOperation(Filter filter, Operation model) {
         if (model == null) {
             return;
         }
-        filterCallbacks(filter, model.getCallbacks());
+        filterCallbacks(filter, model.getCallbacks(), null);
         filterExtensions(filter, model.getExtensions());
         filterExternalDocs(filter, model.getExternalDocs());
         filterParameterList(filter, model.getParameters());
-        filterRequestBody(filter, model.getRequestBody());
-        if (model.getRequestBody() != null && filter.filterRequestBody(model.getRequestBody()) == null) {
+        if (filter.requestBodies && model.getRequestBody() != null
+                && filter.filter(model.getRequestBody(), FilterUtil::filterRequestBody, Filter::filterRequestBody) == null) {
             model.setRequestBody(null);
         }
-        filterAPIResponses(filter, model.getResponses());
+        filterAPIResponses(filter, model.getResponses(), null);
         filterSecurity(filter, model.getSecurity());
         filterServers(filter, model.getServers());
     }
@@ -249,7 +289,7 @@ public class FilterUtil {
      * @param filter
      * @param models
      */
-    private static void filterExamples(OASFilter filter, Map<String, Example> models) {
+    private static void filterExamples(Filter filter, Map<String, Example> models) {
         if (models == null) {
             return;
         }
@@ -266,7 +306,7 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterExample(OASFilter filter, Example model) {
+    private static void filterExample(Filter filter, Example model) {
         if (model == null) {
             return;
         }
@@ -278,20 +318,13 @@ public class FilterUtil {
      * 
      * @param filter
      * @param models
+     * @param executor
      */
-    private static void filterHeaders(OASFilter filter, Map<String, Header> models) {
-        if (models == null) {
+    private static void filterHeaders(Filter filter, Map<String, Header> models, Executor executor) {
+        if (models == null || !filter.content) {
             return;
         }
-        Collection<String> keys = new ArrayList<>(models.keySet());
-        for (String key : keys) {
-            Header model = models.get(key);
-            filterHeader(filter, model);
-
-            if (filter.filterHeader(model) == null) {
-                models.remove(key);
-            }
-        }
+        filterEntries(filter, models, FilterUtil::filterHeader, Filter::filterHeader, executor);
     }
 
     /**
@@ -300,15 +333,15 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterHeader(OASFilter filter, Header model) {
+    private static void filterHeader(Filter filter, Header model) {
         if (model == null) {
             return;
         }
         filterContent(filter, model.getContent());
         filterExamples(filter, model.getExamples());
         filterExtensions(filter, model.getExtensions());
-        filterSchema(filter, model.getSchema());
-        if (model.getSchema() != null && filter.filterSchema(model.getSchema()) == null) {
+        if (filter.schemas && model.getSchema() != null
+                && filter.filter(model.getSchema(), FilterUtil::filterSchema, Filter::filterSchema) == null) {
             model.setSchema(null);
         }
     }
@@ -319,8 +352,8 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterContent(OASFilter filter, Content model) {
-        if (model == null) {
+    private static void filterContent(Filter filter, Content model) {
+        if (model == null || !filter.content) {
             return;
         }
         Collection<String> keys = new ArrayList<>(model.keySet());
@@ -336,15 +369,15 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterMediaType(OASFilter filter, MediaType model) {
+    private static void filterMediaType(Filter filter, MediaType model) {
         if (model == null) {
             return;
         }
         filterEncoding(filter, model.getEncoding());
         filterExamples(filter, model.getExamples());
         filterExtensions(filter, model.getExtensions());
-        filterSchema(filter, model.getSchema());
-        if (model.getSchema() != null && filter.filterSchema(model.getSchema()) == null) {
+        if (filter.schemas && model.getSchema() != null
+                && filter.filter(model.getSchema(), FilterUtil::filterSchema, Filter::filterSchema) == null) {
             model.setSchema(null);
         }
     }
@@ -355,8 +388,8 @@ public class FilterUtil {
      * @param filter
      * @param models
      */
-    private static void filterEncoding(OASFilter filter, Map<String, Encoding> models) {
-        if (models == null) {
+    private static void filterEncoding(Filter filter, Map<String, Encoding> models) {
+        if (models == null || !filter.content) {
             return;
         }
         Collection<String> keys = new ArrayList<>(models.keySet());
@@ -372,12 +405,12 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterEncoding(OASFilter filter, Encoding model) {
+    private static void filterEncoding(Filter filter, Encoding model) {
         if (model == null) {
             return;
         }
         filterExtensions(filter, model.getExtensions());
-        filterHeaders(filter, model.getHeaders());
+        filterHeaders(filter, model.getHeaders(), null);
     }
 
     /**
@@ -385,20 +418,13 @@ public class FilterUtil {
      * 
      * @param filter
      * @param models
+     * @param executor
      */
-    private static void filterLinks(OASFilter filter, Map<String, Link> models) {
-        if (models == null) {
+    private static void filterLinks(Filter filter, Map<String, Link> models, Executor executor) {
+        if (models == null || !filter.links) {
             return;
         }
-        Collection<String> keys = new ArrayList<>(models.keySet());
-        for (String key : keys) {
-            Link model = models.get(key);
-            filterLink(filter, model);
-
-            if (filter.filterLink(model) == null) {
-                models.remove(key);
-            }
-        }
+        filterEntries(filter, models, FilterUtil::filterLink, Filter::filterLink, executor);
     }
 
     /**
@@ -407,13 +433,13 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterLink(OASFilter filter, Link model) {
+    private static void filterLink(Filter filter, Link model) {
         if (model == null) {
             return;
         }
         filterExtensions(filter, model.getExtensions());
-        filterServer(filter, model.getServer());
-        if (model.getServer() != null && filter.filterServer(model.getServer()) == null) {
+        if (filter.servers && model.getServer() != null
+                && filter.filter(model.getServer(), FilterUtil::filterServer, Filter::filterServer) == null) {
             model.setServer(null);
         }
     }
@@ -423,20 +449,13 @@ public class FilterUtil {
      * 
      * @param filter
      * @param models
+     * @param executor
      */
-    private static void filterParameters(OASFilter filter, Map<String, Parameter> models) {
-        if (models == null) {
+    private static void filterParameters(Filter filter, Map<String, Parameter> models, Executor executor) {
+        if (models == null || !filter.parameters) {
             return;
         }
-        Collection<String> keys = new ArrayList<>(models.keySet());
-        for (String key : keys) {
-            Parameter model = models.get(key);
-            filterParameter(filter, model);
-
-            if (filter.filterParameter(model) == null) {
-                models.remove(key);
-            }
-        }
+        filterEntries(filter, models, FilterUtil::filterParameter, Filter::filterParameter, executor);
     }
 
     /**
@@ -445,15 +464,15 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterParameter(OASFilter filter, Parameter model) {
+    private static void filterParameter(Filter filter, Parameter model) {
         if (model == null) {
             return;
         }
         filterContent(filter, model.getContent());
         filterExamples(filter, model.getExamples());
         filterExtensions(filter, model.getExtensions());
-        filterSchema(filter, model.getSchema());
-        if (model.getSchema() != null && filter.filterSchema(model.getSchema()) == null) {
+        if (filter.schemas && model.getSchema() != null
+                && filter.filter(model.getSchema(), FilterUtil::filterSchema, Filter::filterSchema) == null) {
             model.setSchema(null);
         }
     }
@@ -463,20 +482,13 @@ public class FilterUtil {
      * 
      * @param filter
      * @param models
+     * @param executor
      */
-    private static void filterRequestBodies(OASFilter filter, Map<String, RequestBody> models) {
-        if (models == null) {
+    private static void filterRequestBodies(Filter filter, Map<String, RequestBody> models, Executor executor) {
+        if (models == null || !filter.requestBodies) {
             return;
         }
-        Collection<String> keys = new ArrayList<>(models.keySet());
-        for (String key : keys) {
-            RequestBody model = models.get(key);
-            filterRequestBody(filter, model);
-
-            if (filter.filterRequestBody(model) == null) {
-                models.remove(key);
-            }
-        }
+        filterEntries(filter, models, FilterUtil::filterRequestBody, Filter::filterRequestBody, executor);
     }
 
     /**
@@ -485,7 +497,7 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterRequestBody(OASFilter filter, RequestBody model) {
+    private static void filterRequestBody(Filter filter, RequestBody model) {
         if (model == null) {
             return;
         }
@@ -498,20 +510,13 @@ public class FilterUtil {
      * 
      * @param filter
      * @param models
+     * @param executor
      */
-    private static void filterAPIResponses(OASFilter filter, Map<String, APIResponse> models) {
-        if (models == null) {
+    private static void filterAPIResponses(Filter filter, Map<String, APIResponse> models, Executor executor) {
+        if (models == null || !filter.responses) {
             return;
         }
-        Collection<String> keys = new ArrayList<>(models.keySet());
-        for (String key : keys) {
-            APIResponse model = models.get(key);
-            filterAPIResponse(filter, model);
-
-            if (filter.filterAPIResponse(model) == null) {
-                models.remove(key);
-            }
-        }
+        filterEntries(filter, models, FilterUtil::filterAPIResponse, Filter::filterAPIResponse, executor);
     }
 
     /**
@@ -520,14 +525,14 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterAPIResponse(OASFilter filter, APIResponse model) {
+    private static void filterAPIResponse(Filter filter, APIResponse model) {
         if (model == null) {
             return;
         }
         filterContent(filter, model.getContent());
         filterExtensions(filter, model.getExtensions());
-        filterHeaders(filter, model.getHeaders());
-        filterLinks(filter, model.getLinks());
+        filterHeaders(filter, model.getHeaders(), null);
+        filterLinks(filter, model.getLinks(), null);
     }
 
     /**
@@ -535,20 +540,13 @@ public class FilterUtil {
      * 
      * @param filter
      * @param models
+     * @param executor
      */
-    private static void filterSchemas(OASFilter filter, Map<String, Schema> models) {
-        if (models == null) {
+    private static void filterSchemas(Filter filter, Map<String, Schema> models, Executor executor) {
+        if (models == null || !filter.schemas) {
             return;
         }
-        Collection<String> keys = new ArrayList<>(models.keySet());
-        for (String key : keys) {
-            Schema model = models.get(key);
-            filterSchema(filter, model);
-
-            if (filter.filterSchema(model) == null) {
-                models.remove(key);
-            }
-        }
+        filterEntries(filter, models, FilterUtil::filterSchema, Filter::filterSchema, executor);
     }
 
     /**
@@ -557,31 +555,28 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterSchema(OASFilter filter, Schema model) {
+    private static void filterSchema(Filter filter, Schema model) {
         if (model == null) {
             return;
         }
         Schema ap = model.getAdditionalPropertiesSchema();
-        if (ap != null) {
-            filterSchema(filter, (Schema) ap);
-            if (filter.filterSchema((Schema) ap) == null) {
-                model.setAdditionalPropertiesSchema((Schema) null);
-            }
+        if (ap != null && filter.filter(ap, FilterUtil::filterSchema, Filter::filterSchema) == null) {
+            model.setAdditionalPropertiesSchema((Schema) null);
         }
         filterSchemaList(filter, model.getAllOf());
         filterSchemaList(filter, model.getAnyOf());
         filterDiscriminator(filter, model.getDiscriminator());
         filterExtensions(filter, model.getExtensions());
         filterExternalDocs(filter, model.getExternalDocs());
-        filterSchema(filter, model.getItems());
-        if (model.getItems() != null && filter.filterSchema(model.getItems()) == null) {
+        if (model.getItems() != null
+                && filter.filter(model.getItems(), FilterUtil::filterSchema, Filter::filterSchema) == null) {
             model.setItems(null);
         }
-        filterSchema(filter, model.getNot());
-        if (model.getNot() != null && filter.filterSchema(model.getNot()) == null) {
+        if (model.getNot() != null
+                && filter.filter(model.getNot(), FilterUtil::filterSchema, Filter::filterSchema) == null) {
             model.setNot(null);
         }
-        filterSchemas(filter, model.getProperties());
+        filterSchemas(filter, model.getProperties(), null);
         filterXML(filter, model.getXml());
     }
 
@@ -591,16 +586,13 @@ public class FilterUtil {
      * @param filter
      * @param models
      */
-    private static void filterSchemaList(OASFilter filter, List<Schema> models) {
-        if (models == null) {
+    private static void filterSchemaList(Filter filter, List<Schema> models) {
+        if (models == null || !filter.schemas) {
             return;
         }
         ListIterator<Schema> iterator = models.listIterator();
         while (iterator.hasNext()) {
-            Schema model = iterator.next();
-            filterSchema(filter, model);
-
-            if (filter.filterSchema(model) == null) {
+            if (filter.filter(iterator.next(), FilterUtil::filterSchema, Filter::filterSchema) == null) {
                 iterator.remove();
             }
         }
@@ -612,7 +604,7 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterDiscriminator(OASFilter filter, Discriminator model) {
+    private static void filterDiscriminator(Filter filter, Discriminator model) {
         if (model == null) {
             return;
         }
@@ -624,7 +616,7 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterXML(OASFilter filter, XML model) {
+    private static void filterXML(Filter filter, XML model) {
         if (model == null) {
             return;
         }
@@ -636,20 +628,13 @@ public class FilterUtil {
      * 
      * @param filter
      * @param models
+     * @param executor
      */
-    private static void filterSecuritySchemes(OASFilter filter, Map<String, SecurityScheme> models) {
-        if (models == null) {
+    private static void filterSecuritySchemes(Filter filter, Map<String, SecurityScheme> models, Executor executor) {
+        if (models == null || !filter.securitySchemes) {
             return;
         }
-        Collection<String> keys = new ArrayList<>(models.keySet());
-        for (String key : keys) {
-            SecurityScheme model = models.get(key);
-            filterSecurityScheme(filter, model);
-
-            if (filter.filterSecurityScheme(model) == null) {
-                models.remove(key);
-            }
-        }
+        filterEntries(filter, models, FilterUtil::filterSecurityScheme, Filter::filterSecurityScheme, executor);
     }
 
     /**
@@ -658,7 +643,7 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterSecurityScheme(OASFilter filter, SecurityScheme model) {
+    private static void filterSecurityScheme(Filter filter, SecurityScheme model) {
         if (model == null) {
             return;
         }
@@ -672,7 +657,7 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterOAuthFlows(OASFilter filter, OAuthFlows model) {
+    private static void filterOAuthFlows(Filter filter, OAuthFlows model) {
         if (model == null) {
             return;
         }
@@ -689,7 +674,7 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterOAuthFlow(OASFilter filter, OAuthFlow model) {
+    private static void filterOAuthFlow(Filter filter, OAuthFlow model) {
         if (model == null) {
             return;
         }
@@ -703,7 +688,7 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterScopes(OASFilter filter, Scopes model) {
+    private static void filterScopes(Filter filter, Scopes model) {
         if (model == null) {
             return;
         }
@@ -716,7 +701,7 @@ public class FilterUtil {
      * @param filter
      * @param models
      */
-    private static void filterExtensions(OASFilter filter, Map<String, Object> models) {
+    private static void filterExtensions(Filter filter, Map<String, Object> models) {
         if (models == null) {
             return;
         }
@@ -728,7 +713,7 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterExternalDocs(OASFilter filter, ExternalDocumentation model) {
+    private static void filterExternalDocs(Filter filter, ExternalDocumentation model) {
         if (model == null) {
             return;
         }
@@ -741,7 +726,7 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterInfo(OASFilter filter, Info model) {
+    private static void filterInfo(Filter filter, Info model) {
         if (model == null) {
             return;
         }
@@ -756,7 +741,7 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterContact(OASFilter filter, Contact model) {
+    private static void filterContact(Filter filter, Contact model) {
         if (model == null) {
             return;
         }
@@ -767,7 +752,7 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterLicense(OASFilter filter, License model) {
+    private static void filterLicense(Filter filter, License model) {
         if (model == null) {
             return;
         }
@@ -780,19 +765,11 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterPaths(OASFilter filter, Paths model) {
-        if (model == null) {
+    private static void filterPaths(Filter filter, Paths model) {
+        if (model == null || !filter.paths) {
             return;
         }
-        Collection<String> keys = new ArrayList<>(model.keySet());
-        for (String key : keys) {
-            PathItem childModel = model.getPathItem(key);
-            filterPathItem(filter, childModel);
-
-            if (filter.filterPathItem(childModel) == null) {
-                model.removePathItem(key);
-            }
-        }
+        filterEntries(filter, model, FilterUtil::filterPathItem, Filter::filterPathItem, filter.executor);
         filterExtensions(filter, model.getExtensions());
     }
 
@@ -802,7 +779,7 @@ public class FilterUtil {
      * @param filter
      * @param models
      */
-    private static void filterSecurity(OASFilter filter, List<SecurityRequirement> models) {
+    private static void filterSecurity(Filter filter, List<SecurityRequirement> models) {
         if (models == null) {
             return;
         }
@@ -820,7 +797,7 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterSecurityRequirement(OASFilter filter, SecurityRequirement model) {
+    private static void filterSecurityRequirement(Filter filter, SecurityRequirement model) {
         if (model == null) {
             return;
         }
@@ -832,16 +809,13 @@ public class FilterUtil {
      * @param filter
      * @param models
      */
-    private static void filterServers(OASFilter filter, List<Server> models) {
-        if (models == null) {
+    private static void filterServers(Filter filter, List<Server> models) {
+        if (models == null || !filter.servers) {
             return;
         }
         ListIterator<Server> iterator = models.listIterator();
         while (iterator.hasNext()) {
-            Server model = iterator.next();
-            filterServer(filter, model);
-
-            if (filter.filterServer(model) == null) {
+            if (filter.filter(iterator.next(), FilterUtil::filterServer, Filter::filterServer) == null) {
                 iterator.remove();
             }
         }
@@ -853,7 +827,7 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterServer(OASFilter filter, Server model) {
+    private static void filterServer(Filter filter, Server model) {
         if (model == null) {
             return;
         }
@@ -867,7 +841,7 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterServerVariables(OASFilter filter, ServerVariables model) {
+    private static void filterServerVariables(Filter filter, ServerVariables model) {
         if (model == null) {
             return;
         }
@@ -885,7 +859,7 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterServerVariable(OASFilter filter, ServerVariable model) {
+    private static void filterServerVariable(Filter filter, ServerVariable model) {
         if (model == null) {
             return;
         }
@@ -898,17 +872,13 @@ public class FilterUtil {
      * @param filter
      * @param models
      */
-    private static void filterTags(OASFilter filter, List<Tag> models) {
-        if (models == null) {
+    private static void filterTags(Filter filter, List<Tag> models) {
+        if (models == null || !filter.tags) {
             return;
         }
         ListIterator<Tag> iterator = models.listIterator();
         while (iterator.hasNext()) {
-            Tag model = iterator.next();
-            filterTag(filter, model);
-
-            model = filter.filterTag(model);
-            if (model == null) {
+            if (filter.filter(iterator.next(), FilterUtil::filterTag, Filter::filterTag) == null) {
                 iterator.remove();
             }
         }
@@ -920,7 +890,7 @@ public class FilterUtil {
      * @param filter
      * @param model
      */
-    private static void filterTag(OASFilter filter, Tag model) {
+    private static void filterTag(Filter filter, Tag model) {
         if (model == null) {
             return;
         }
@@ -928,4 +898,294 @@ public class FilterUtil {
         filterExternalDocs(filter, model.getExternalDocs());
     }
 
+    /**
+     * Filters the entries of the given map, removing those for which the filter returns null.
+     * 
+     * @param filter
+     * @param models
+     * @param children filters the model elements found in an entry
+     * @param callback calls the method of the filter for an entry
+     * @param executor executor used to filter the entries concurrently, or null
+     */
+    private static <T> void filterEntries(Filter filter, Map<String, T> models, BiConsumer<Filter, T> children,
+            BiFunction<Filter, T, T> callback, Executor executor) {
+        List<String> keys = new ArrayList<>(models.keySet());
+
+        if (executor == null || keys.size() < 2) {
+            for (String key : keys) {
+                if (filter.filter(models.get(key), children, callback) == null) {
+                    models.remove(key);
+                }
+            }
+            return;
+        }
+
+        // Entries are filtered in batches, a few per available processor
+        int batches = Math.min(keys.size(), 4 * Runtime.getRuntime().availableProcessors());
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(batches);
+        Object[] results = new Object[keys.size()];
+
+        for (int b = 0; b < batches; b++) {
+            int first = b * keys.size() / batches;
+            int last = (b + 1) * keys.size() / batches;
+            tasks.add(CompletableFuture.runAsync(() -> {
+                for (int i = first; i < last; i++) {
+                    results[i] = filter.filter(models.get(keys.get(i)), children, callback);
+                }
+            }, executor));
+        }
+
+        try {
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            throw Filter.unwrap(e);
+        }
+
+        for (int i = 0; i < keys.size(); i++) {
+            if (results[i] == null) {
+                models.remove(keys.get(i));
+            }
+        }
+    }
+
+    /**
+     * The state of the filtering of a model: the filter, which of its methods are overridden
+     * and the results of the elements already filtered.
+     */
+    private static final class Filter {
+        private static final Object IN_PROGRESS = new Object();
+        private static final Object REMOVED = new Object();
+
+        final OASFilter delegate;
+        final Executor executor;
+
+        // The methods of OASFilter overridden by the filter
+        private final boolean callback;
+        private final boolean pathItem;
+        private final boolean operation;
+        private final boolean parameter;
+        private final boolean header;
+        private final boolean requestBody;
+        private final boolean apiResponse;
+        private final boolean link;
+        private final boolean schema;
+        private final boolean securityScheme;
+        private final boolean server;
+        private final boolean tag;
+
+        // The parts of the model that may contain elements passed to the overridden methods
+        final boolean schemas;
+        final boolean content;
+        final boolean servers;
+        final boolean links;
+        final boolean parameters;
+        final boolean requestBodies;
+        final boolean responses;
+        final boolean paths;
+        final boolean securitySchemes;
+        final boolean tags;
+
+        /**
+         * Results of the model elements filtered so far, by identity. When an executor is used,
+         * the map is shared by the threads filtering the model.
+         */
+        private final Map<Object, Object> results;
+
+        Filter(OASFilter delegate, Executor executor) {
+            this.delegate = delegate;
+            this.executor = executor;
+
+            callback = overrides(delegate, "filterCallback", Callback.class);
+            pathItem = overrides(delegate, "filterPathItem", PathItem.class);
+            operation = overrides(delegate, "filterOperation", Operation.class);
+            parameter = overrides(delegate, "filterParameter", Parameter.class);
+            header = overrides(delegate, "filterHeader", Header.class);
+            requestBody = overrides(delegate, "filterRequestBody", RequestBody.class);
+            apiResponse = overrides(delegate, "filterAPIResponse", APIResponse.class);
+            link = overrides(delegate, "filterLink", Link.class);
+            schema = overrides(delegate, "filterSchema", Schema.class);
+            securityScheme = overrides(delegate, "filterSecurityScheme", SecurityScheme.class);
+            server = overrides(delegate, "filterServer", Server.class);
+            tag = overrides(delegate, "filterTag", Tag.class);
+
+            schemas = schema;
+            // Media types contain schemas, and the headers of their encodings
+            content = schemas || header;
+            servers = server;
+            links = link || servers;
+            parameters = parameter || content;
+            requestBodies = requestBody || content;
+            responses = apiResponse || content || links;
+            // Path items contain operations, which contain callbacks with more path items
+            paths = callback || pathItem || operation || parameters || requestBodies || responses || servers;
+            securitySchemes = securityScheme;
+            tags = tag;
+
+            Map<Object, Object> results = new IdentityHashMap<>();
+            this.results = executor != null ? Collections.synchronizedMap(results) : results;
+        }
+
+        /**
+         * @return false if the filter inherits the given method from OASFilter
+         */
+        private static boolean overrides(OASFilter filter, String name, Class<?> parameterType) {
+            try {
+                return filter.getClass().getMethod(name, parameterType).getDeclaringClass() != OASFilter.class;
+            } catch (NoSuchMethodException | SecurityException e) {
+                return true;
+            }
+        }
+
+        /**
+         * Filters a model element and the elements it contains, unless it has already been
+         * filtered, and returns the result of the filter for the element. Only schemas containing
+         * other schemas are looked up when filtering on a single thread; when an executor is
+         * used, every element is looked up, so that no element is filtered by two threads at once.
+         * An element being filtered, by this thread when it contains itself or by another thread,
+         * is kept rather than waited for.
+         * 
+         * @param model the model element
+         * @param children filters the model elements contained by the element
+         * @param callback calls the method of the filter for the element
+         * @return the result of the filter, null if the element must be removed
+         */
+        <T> T filter(T model, BiConsumer<Filter, T> children, BiFunction<Filter, T, T> callback) {
+            if (executor == null && !(model instanceof Schema && hasChildren((Schema) model))) {
+                // Only schemas are commonly shared, and filtering a leaf again costs less than the lookup
+                children.accept(this, model);
+                return callback.apply(this, model);
+            }
+
+            Object previous = results.putIfAbsent(model, IN_PROGRESS);
+
+            if (previous == IN_PROGRESS) {
+                // The element contains itself, or another thread is filtering it: keep it
+                return model;
+            }
+            if (previous != null) {
+                @SuppressWarnings("unchecked")
+                T filtered = previous != REMOVED ? (T) previous : null;
+                return filtered;
+            }
+
+            children.accept(this, model);
+            T filtered = callback.apply(this, model);
+            results.put(model, filtered != null ? filtered : REMOVED);
+            return filtered;
+        }
+
+        private static boolean hasChildren(Schema model) {
+            return model.getProperties() != null || model.getItems() != null || model.getAllOf() != null
+                    || model.getAnyOf() != null || model.getNot() != null || model.getAdditionalPropertiesSchema() != null;
+        }
+
+        static RuntimeException unwrap(CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            return cause instanceof RuntimeException ? (RuntimeException) cause : e;
+        }
+
+        /**
+         * @return true if the element is passed to a method overridden by the filter, which may
+         *         modify any of the elements it contains
+         */
+        boolean isFiltered(Object model) {
+            return (model instanceof Callback && callback)
+                    || (model instanceof PathItem && pathItem)
+                    || (model instanceof Operation && operation)
+                    || (model instanceof Parameter && parameter)
+                    || (model instanceof Header && header)
+                    || (model instanceof RequestBody && requestBody)
+                    || (model instanceof APIResponse && apiResponse)
+                    || (model instanceof Link && link)
+                    || (model instanceof Schema && schema)
+                    || (model instanceof SecurityScheme && securityScheme)
+                    || (model instanceof Server && server)
+                    || (model instanceof Tag && tag);
+        }
+
+        /**
+         * @return true if the element is visited when the model is filtered, which may remove
+         *         or replace the elements it contains
+         */
+        boolean isTraversed(Object model) {
+            if (model instanceof OpenAPI || model instanceof Components) {
+                return true;
+            }
+            if (model instanceof Paths || model instanceof PathItem || model instanceof Operation
+                    || model instanceof Callback) {
+                return paths;
+            }
+            if (model instanceof Content || model instanceof MediaType || model instanceof Encoding
+                    || model instanceof Header) {
+                return content;
+            }
+            if (model instanceof Parameter) {
+                return parameters;
+            }
+            if (model instanceof RequestBody) {
+                return requestBodies;
+            }
+            if (model instanceof APIResponses || model instanceof APIResponse) {
+                return responses;
+            }
+            if (model instanceof Link) {
+                return links;
+            }
+            if (model instanceof Server) {
+                return servers;
+            }
+            return false;
+        }
+
+        Callback filterCallback(Callback model) {
+            return callback ? delegate.filterCallback(model) : model;
+        }
+
+        PathItem filterPathItem(PathItem model) {
+            return pathItem ? delegate.filterPathItem(model) : model;
+        }
+
+        Operation filterOperation(Operation model) {
+            return operation ? delegate.filterOperation(model) : model;
+        }
+
+        Parameter filterParameter(Parameter model) {
+            return parameter ? delegate.filterParameter(model) : model;
+        }
+
+        Header filterHeader(Header model) {
+            return header ? delegate.filterHeader(model) : model;
+        }
+
+        RequestBody filterRequestBody(RequestBody model) {
+            return requestBody ? delegate.filterRequestBody(model) : model;
+        }
+
+        APIResponse filterAPIResponse(APIResponse model) {
+            return apiResponse ? delegate.filterAPIResponse(model) : model;
+        }
+
+        Link filterLink(Link model) {
+            return link ? delegate.filterLink(model) : model;
+        }
+
+        Schema filterSchema(Schema model) {
+            return schema ? delegate.filterSchema(model) : model;
+        }
+
+        SecurityScheme filterSecurityScheme(SecurityScheme model) {
+            return securityScheme ? delegate.filterSecurityScheme(model) : model;
+        }
+
+        Server filterServer(Server model) {
+            return server ? delegate.filterServer(model) : model;
+        }
+
+        Tag filterTag(Tag model) {
+            return tag ? delegate.filterTag(model) : model;
+        }
+    }
 }
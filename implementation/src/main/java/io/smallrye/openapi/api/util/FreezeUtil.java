@@ -0,0 +1,355 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.smallrye.openapi.api.util;
+
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.AbstractCollection;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+
+import io.smallrye.openapi.api.models.ModelImpl;
+
+/**
+ * Provides read-only views of models, which can be shared by any number of threads as long as
+ * the viewed model is no longer modified. The elements and the collections reached from a view
+ * are views too, and the methods modifying them throw {@link UnsupportedOperationException}.
+ * Views are created lazily, when the elements are reached, so freezing a model costs nothing.
+ * Each element or collection reached from a view has a single view, returned whenever it is
+ * reached again. A view is only equal to a view of an equal element, never to a model element.
+ */
+public class FreezeUtil {
+
+    // Constructors of the proxy classes of the model classes
+    private static final ConcurrentMap<Class<?>, Constructor<?>> PROXIES = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     */
+    private FreezeUtil() {
+    }
+
+    /**
+     * Returns a read-only view of the given value: a view of a model element, of a map or list
+     * containing model elements, or the value itself for the other values (strings, numbers...).
+     *
+     * @param value the value, possibly already frozen
+     * @param <T> the type of the value
+     * @return the read-only view of the value
+     */
+    public static <T> T freeze(T value) {
+        return new Views().freeze(value);
+    }
+
+    /**
+     * @param value a value
+     * @return true if the value is a read-only view returned by {@link #freeze(Object)}
+     */
+    public static boolean isFrozen(Object value) {
+        return (value instanceof Proxy && Proxy.getInvocationHandler(value) instanceof FrozenModel)
+                || value instanceof FrozenMap || value instanceof FrozenList || value instanceof FrozenSet
+                || value instanceof FrozenCollection;
+    }
+
+    /**
+     * Returns a copy of the given model element and of all the elements it contains, which may
+     * be modified without affecting the element. When the element is a read-only view, the
+     * viewed element is copied.
+     *
+     * @param model the model element, or a view of it
+     * @param <T> the type of the element
+     * @return the copy
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T mutableCopy(T model) {
+        return ModelCopier.deepCopy((T) unwrap(model));
+    }
+
+    private static Object unwrap(Object value) {
+        if (value instanceof Proxy && Proxy.getInvocationHandler(value) instanceof FrozenModel) {
+            return ((FrozenModel) Proxy.getInvocationHandler(value)).model;
+        }
+        if (value instanceof FrozenMap) {
+            return ((FrozenMap<?, ?>) value).map;
+        }
+        if (value instanceof FrozenList) {
+            return ((FrozenList<?>) value).list;
+        }
+        return value;
+    }
+
+    private static Constructor<?> getProxyConstructor(Class<?> type) {
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (Class<?> i : c.getInterfaces()) {
+                if (i != ModelImpl.class && i != Serializable.class && i != Cloneable.class) {
+                    interfaces.add(i);
+                }
+            }
+        }
+        try {
+            return Proxy.getProxyClass(type.getClassLoader(), interfaces.toArray(new Class<?>[0]))
+                    .getConstructor(InvocationHandler.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return true if the method may modify the element it is called on: the methods of the
+     *         models taking parameters are setters or builders, except the lookups by key
+     */
+    private static boolean isModifying(Method method) {
+        String name = method.getName();
+        if (method.getParameterCount() == 0) {
+            return "clear".equals(name);
+        }
+        return !(name.startsWith("get") || name.startsWith("has") || name.startsWith("is") || name.startsWith("contains")
+                || "equals".equals(name) || "forEach".equals(name));
+    }
+
+    /**
+     * The views of the values reached from a view returned by {@link #freeze(Object)}, by identity
+     * of the viewed values, so that each value reached again has the same view.
+     */
+    private static final class Views {
+        private final ConcurrentMap<Viewed, Object> views = new ConcurrentHashMap<>();
+
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        <T> T freeze(T value) {
+            if (value == null || isFrozen(value)) {
+                return value;
+            }
+            if (value instanceof Map.Entry && !(value instanceof ModelImpl)) {
+                Map.Entry entry = (Map.Entry) value;
+                return (T) new AbstractMap.SimpleImmutableEntry(entry.getKey(), freeze(entry.getValue()));
+            }
+            if (!(value instanceof ModelImpl || value instanceof Map || value instanceof Collection)) {
+                return value;
+            }
+            Viewed viewed = new Viewed(value);
+            Object view = views.get(viewed);
+            if (view == null) {
+                view = views.computeIfAbsent(viewed, this::view);
+            }
+            return (T) view;
+        }
+
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        private Object view(Viewed viewed) {
+            Object value = viewed.value;
+            if (value instanceof ModelImpl) {
+                try {
+                    Constructor<?> constructor = PROXIES.computeIfAbsent(value.getClass(), FreezeUtil::getProxyConstructor);
+                    return constructor.newInstance(new FrozenModel(value, this));
+                } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            if (value instanceof Map) {
+                return new FrozenMap((Map) value, this);
+            }
+            if (value instanceof List) {
+                return new FrozenList((List) value, this);
+            }
+            if (value instanceof Set) {
+                return new FrozenSet((Set) value, this);
+            }
+            return new FrozenCollection((Collection) value, this);
+        }
+    }
+
+    /**
+     * Key of a viewed value, compared by identity.
+     */
+    private static final class Viewed {
+        final Object value;
+
+        Viewed(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(value);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Viewed && ((Viewed) obj).value == value;
+        }
+    }
+
+    /**
+     * Calls the methods of the models on the viewed model, freezing their results.
+     */
+    private static final class FrozenModel implements InvocationHandler {
+        final Object model;
+        final Views views;
+
+        FrozenModel(Object model, Views views) {
+            this.model = model;
+            this.views = views;
+        }
+
+        @Override
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isModifying(method)) {
+                throw new UnsupportedOperationException("Model is read-only: " + method.getName());
+            }
+            String name = method.getName();
+            if ("equals".equals(name) && args.length == 1) {
+                // Symmetric, a model element not being equal to a view
+                return isFrozen(args[0]) && model.equals(unwrap(args[0]));
+            }
+            if ("forEach".equals(name) && model instanceof Map) {
+                new FrozenMap((Map) model, views).forEach((BiConsumer) args[0]);
+                return null;
+            }
+            try {
+                return views.freeze(method.invoke(model, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static final class FrozenMap<K, V> extends AbstractMap<K, V> {
+        final Map<K, V> map;
+        final Views views;
+
+        FrozenMap(Map<K, V> map, Views views) {
+            this.map = map;
+            this.views = views;
+        }
+
+        @Override
+        public V get(Object key) {
+            return views.freeze(map.get(key));
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return map.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public Set<Map.Entry<K, V>> entrySet() {
+            return new FrozenSet<>(map.entrySet(), views);
+        }
+    }
+
+    private static final class FrozenList<E> extends AbstractList<E> {
+        final List<E> list;
+        final Views views;
+
+        FrozenList(List<E> list, Views views) {
+            this.list = list;
+            this.views = views;
+        }
+
+        @Override
+        public E get(int index) {
+            return views.freeze(list.get(index));
+        }
+
+        @Override
+        public int size() {
+            return list.size();
+        }
+    }
+
+    private static final class FrozenSet<E> extends AbstractSet<E> {
+        final Set<E> set;
+        final Views views;
+
+        FrozenSet(Set<E> set, Views views) {
+            this.set = set;
+            this.views = views;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new FrozenIterator<>(set.iterator(), views);
+        }
+
+        @Override
+        public int size() {
+            return set.size();
+        }
+    }
+
+    private static final class FrozenCollection<E> extends AbstractCollection<E> {
+        final Collection<E> collection;
+        final Views views;
+
+        FrozenCollection(Collection<E> collection, Views views) {
+            this.collection = collection;
+            this.views = views;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new FrozenIterator<>(collection.iterator(), views);
+        }
+
+        @Override
+        public int size() {
+            return collection.size();
+        }
+    }
+
+    private static final class FrozenIterator<E> implements Iterator<E> {
+        final Iterator<E> iterator;
+        final Views views;
+
+        FrozenIterator(Iterator<E> iterator, Views views) {
+            this.iterator = iterator;
+            this.views = views;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public E next() {
+            return views.freeze(iterator.next());
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.smallrye.openapi.api.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.IndexWriter;
+import org.jboss.logging.Logger;
+import org.jboss.shrinkwrap.api.asset.Asset;
+
+import io.smallrye.openapi.api.OpenApiConfig;
+
+/**
+ * A cache, kept in a local directory, of the jandex indexes of the JAR archives indexed by
+ * {@link ArchiveUtil}. Each index is stored in a file named after a digest of the content of
+ * the archive and of the configuration selecting the classes to index, so that the archives
+ * found unchanged by a later startup are not indexed again.
+ *
+ * The time a cached index was last used is recorded as the modification time of its file.
+ * The indexes unused for longer than <code>mp.openapi.extensions.index-cache.max-age</code>
+ * seconds are removed, as are the least recently used indexes once the cached indexes exceed
+ * <code>mp.openapi.extensions.index-cache.max-size</code> bytes.
+ */
+class IndexCache {
+
+    private static final Logger LOG = Logger.getLogger(IndexCache.class);
+
+    /**
+     * Version of the format of the entries, changed whenever entries written by earlier
+     * versions may no longer be used.
+     */
+    private static final String FORMAT_VERSION = "1";
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final String SUFFIX = ".idx";
+
+    private final Path directory;
+    private final String context;
+    private final long maxSize;
+    private final long maxAge;
+
+    /**
+     * Create a cache of the indexes of archives indexed with the given configuration.
+     *
+     * @param directory the directory holding the entries
+     * @param config current configuration
+     */
+    IndexCache(Path directory, OpenApiConfig config) {
+        this.directory = directory;
+        this.context = FORMAT_VERSION
+                + " classes:" + new TreeSet<>(config.scanClasses())
+                + " packages:" + new TreeSet<>(config.scanPackages())
+                + " exclude-classes:" + new TreeSet<>(config.scanExcludeClasses())
+                + " exclude-packages:" + new TreeSet<>(config.scanExcludePackages())
+                + " dependencies:" + (config.scanDependenciesDisable() ? "-" : new TreeSet<>(config.scanDependenciesJars()))
+                + " skip-unannotated:" + config.scanDependenciesSkipUnannotated();
+        this.maxSize = config.indexCacheMaxSize();
+        this.maxAge = config.indexCacheMaxAge();
+    }
+
+    /**
+     * Create a cache of the indexes of archives, if a directory is configured by
+     * <code>mp.openapi.extensions.index-cache.directory</code>.
+     *
+     * @param config current configuration
+     * @return the cache, or null when no directory is configured
+     */
+    static IndexCache open(OpenApiConfig config) {
+        String cacheDirectory = config.indexCacheDirectory();
+        return cacheDirectory != null ? new IndexCache(Paths.get(cacheDirectory), config) : null;
+    }
+
+    /**
+     * Returns the cached index of the given archive, or indexes the archive and stores its index.
+     * Failures to use the cache are logged and otherwise ignored. Only the indexes built from
+     * the classes of a single archive are stored: the indexes read from the archive itself, or
+     * combined with the indexes of nested archives, are not.
+     *
+     * @param archiveName the name of the archive
+     * @param archive the content of the archive
+     * @param indexer indexes the archive
+     * @return the index of the archive
+     */
+    IndexView index(String archiveName, Asset archive, Supplier<IndexView> indexer) {
+        Path file;
+        try {
+            file = directory.resolve(key(archive) + SUFFIX);
+        } catch (IOException | UncheckedIOException e) {
+            LOG.debugv(e, "Unable to compute the digest of archive {0}", archiveName);
+            return indexer.get();
+        }
+
+        Index cached = read(file, archiveName);
+        if (cached != null) {
+            return cached;
+        }
+
+        IndexView index = indexer.get();
+        if (index instanceof Index) {
+            write(file, (Index) index, archiveName);
+        }
+        return index;
+    }
+
+    private Index read(Path file, String archiveName) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (InputStream stream = new BufferedInputStream(Files.newInputStream(file))) {
+            Index index = new IndexReader(stream).read();
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            LOG.debugv("Using the cached index of archive: {0}", archiveName);
+            return index;
+        } catch (IOException | RuntimeException e) {
+            LOG.debugv(e, "Unable to read the cached index of archive {0}", archiveName);
+            return null;
+        }
+    }
+
+    private void write(Path file, Index index, String archiveName) {
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+
+            try {
+                try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                    new IndexWriter(stream).write(index);
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.debugv(e, "Unable to cache the index of archive {0}", archiveName);
+        }
+    }
+
+    /**
+     * Remove the indexes unused for too long, and the least recently used indexes beyond the
+     * maximum size of the cache.
+     */
+    void evict() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<Map.Entry<Path, BasicFileAttributes>> files = new ArrayList<>();
+
+        try (Stream<Path> entries = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) entries::iterator) {
+                if (file.getFileName().toString().endsWith(SUFFIX)) {
+                    files.add(new SimpleEntry<>(file, Files.readAttributes(file, BasicFileAttributes.class)));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.debugv(e, "Unable to list the cached indexes of directory {0}", directory);
+            return;
+        }
+
+        // Most recently used first
+        files.sort(Comparator.comparing((Map.Entry<Path, BasicFileAttributes> file) -> file.getValue().lastModifiedTime())
+                .reversed());
+
+        long oldest = System.currentTimeMillis() - maxAge * 1000;
+        long size = 0;
+        for (Map.Entry<Path, BasicFileAttributes> file : files) {
+            size += file.getValue().size();
+            if (file.getValue().lastModifiedTime().toMillis() < oldest || size > maxSize) {
+                try {
+                    Files.deleteIfExists(file.getKey());
+                    LOG.debugv("Removed cached index {0}", file.getKey());
+                } catch (IOException e) {
+                    LOG.debugv(e, "Unable to remove cached index {0}", file.getKey());
+                }
+            }
+        }
+    }
+
+    private String key(Asset archive) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            digest.update(context.getBytes(StandardCharsets.UTF_8));
+            byte[] buffer = new byte[8192];
+            try (InputStream stream = archive.openStream()) {
+                for (int read = stream.read(buffer); read != -1; read = stream.read(buffer)) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
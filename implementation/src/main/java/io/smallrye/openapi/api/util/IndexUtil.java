@@ -0,0 +1,327 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.smallrye.openapi.api.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipInputStream;
+
+import org.jboss.jandex.CompositeIndex;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.Indexer;
+import org.jboss.logging.Logger;
+import org.jboss.shrinkwrap.api.asset.Asset;
+
+import io.smallrye.openapi.api.OpenApiConfig;
+import io.smallrye.openapi.api.OpenApiConstants;
+import io.smallrye.openapi.runtime.scanner.FilteredIndexView;
+
+/**
+ * Some useful methods for creating jandex indexes from the directories and JAR archives of the
+ * file system, such as exploded or fat JAR deployments and the class path, without building a
+ * ShrinkWrap archive first. The indexes are built like those of {@link ArchiveUtil}: the scan
+ * configuration selects the classes indexed, the jandex indexes packaged in the deployment are
+ * reused, the indexes of JAR archives are cached when
+ * <code>mp.openapi.extensions.index-cache.directory</code> is configured, and the dependency JAR
+ * archives not referring to JAX-RS or OpenAPI types, nor declaring a type the classes of the
+ * application refer to, are skipped when <code>mp.openapi.extensions.scan-dependencies.skip-unannotated</code>
+ * is enabled.
+ */
+public class IndexUtil {
+
+    private static final Logger LOG = Logger.getLogger(IndexUtil.class);
+
+    private static final String WEB_ARCHIVE_CLASSES = OpenApiConstants.WEB_ARCHIVE_CLASS_PREFIX.substring(1);
+
+    /**
+     * Constructor.
+     */
+    private IndexUtil() {
+    }
+
+    /**
+     * Index the entries of the class path of the JVM ({@code java.class.path}). Its directories are
+     * indexed as the application, and its JAR archives as dependencies, unless rejected by the
+     * configuration. A class path made of a single JAR archive, such as the one of an application
+     * launched with {@code java -jar}, is indexed as the application.
+     *
+     * @param config OpenApiConfig
+     * @return indexed classes of the class path
+     */
+    public static IndexView classpathToIndex(OpenApiConfig config) {
+        String classpath = System.getProperty("java.class.path", "");
+        List<Path> entries = Stream.of(classpath.split(File.pathSeparator))
+                .filter(entry -> !entry.isEmpty())
+                .map(Paths::get)
+                .collect(Collectors.toList());
+        List<Path> application = new ArrayList<>();
+        List<Path> dependencies = new ArrayList<>();
+        for (Path entry : entries) {
+            if (Files.isDirectory(entry) || (entries.size() == 1 && Files.isRegularFile(entry))) {
+                application.add(entry);
+            } else if (Files.isRegularFile(entry) && ArchiveUtil.acceptJarForScanning(config, entry.toString())) {
+                dependencies.add(entry);
+            }
+        }
+        return pathsToIndex(config, application, dependencies, defaultExecutor());
+    }
+
+    /**
+     * Index the given directories and JAR archives to produce a jandex index. They are indexed
+     * in parallel using the {@link ForkJoinPool#commonPool() common pool} when it uses several
+     * threads.
+     *
+     * @param config OpenApiConfig
+     * @param paths directories and JAR archives
+     * @return indexed classes of the paths
+     */
+    public static IndexView pathsToIndex(OpenApiConfig config, Collection<Path> paths) {
+        return pathsToIndex(config, paths, defaultExecutor());
+    }
+
+    /**
+     * Index the given directories and JAR archives to produce a jandex index. The directories
+     * are indexed as the application, and the JAR archives as its dependencies.
+     *
+     * @param config OpenApiConfig
+     * @param paths directories and JAR archives
+     * @param executor executor indexing the paths concurrently, or null to index them on the
+     *        calling thread
+     * @return indexed classes of the paths
+     * @see #pathsToIndex(OpenApiConfig, Collection, Collection, Executor)
+     */
+    public static IndexView pathsToIndex(OpenApiConfig config, Collection<Path> paths, Executor executor) {
+        Map<Boolean, List<Path>> directories = paths.stream().collect(Collectors.partitioningBy(Files::isDirectory));
+        return pathsToIndex(config, directories.get(true), directories.get(false), executor);
+    }
+
+    /**
+     * Index the directories and JAR archives of an application and the JAR archives of its
+     * dependencies to produce a jandex index. The directories are walked, and the JAR archives
+     * read through a zip {@link FileSystem}. The JAR archives found in the directories (such as
+     * the libraries of an exploded WAR) and in the JAR archives (such as the libraries of a fat
+     * JAR) are indexed too, unless rejected by the configuration. Each directory and JAR archive
+     * is indexed on its own, concurrently.
+     *
+     * Only the classes accepted by the configuration are indexed, but the jandex indexes
+     * packaged in the paths ({@value OpenApiConstants#JANDEX_INDEX}) are reused as they are,
+     * filtered by a {@link FilteredIndexView}. The returned index is meant to be filtered too.
+     *
+     * When <code>mp.openapi.extensions.scan-dependencies.skip-unannotated</code> is enabled, the
+     * dependencies and the JAR archives found in the directories are indexed once the application
+     * is, the classes of the application selecting the JAR archives indexed along with those
+     * referring to JAX-RS or OpenAPI types. The application itself is always indexed.
+     *
+     * @param config OpenApiConfig
+     * @param application directories and JAR archives of the application
+     * @param dependencies JAR archives of the dependencies
+     * @param executor executor indexing the paths concurrently, or null to index them on the
+     *        calling thread
+     * @return indexed classes of the paths
+     */
+    public static IndexView pathsToIndex(OpenApiConfig config, Collection<Path> application, Collection<Path> dependencies,
+            Executor executor) {
+        Indexer indexer = new Indexer();
+        ArchiveUtil.index(indexer, "io/smallrye/openapi/runtime/scanner/CollectionStandin.class");
+        ArchiveUtil.index(indexer, "io/smallrye/openapi/runtime/scanner/MapStandin.class");
+
+        IndexCache cache = IndexCache.open(config);
+        DependencySniffer sniffer = DependencySniffer.open(config);
+        List<CompletableFuture<IndexView>> applicationIndexes = new ArrayList<>();
+        // Added to by the tasks indexing the directories
+        List<CompletableFuture<IndexView>> jars = Collections.synchronizedList(new ArrayList<>());
+        // Until the types the classes of the application refer to are known to the sniffer
+        List<Path> sniffed = Collections.synchronizedList(new ArrayList<>());
+        Consumer<Path> jarFound = sniffer != null ? sniffed::add
+                : jar -> jars.add(ArchiveUtil.submit(() -> indexJar(config, jar, cache, null), executor));
+
+        for (Path path : application) {
+            if (Files.isDirectory(path)) {
+                applicationIndexes.add(ArchiveUtil.submit(() -> indexTree(config, path.toString(), path, jarFound),
+                        executor));
+            } else if (Files.isRegularFile(path)) {
+                applicationIndexes.add(ArchiveUtil.submit(() -> indexJar(config, path, cache, null), executor));
+            } else {
+                LOG.debugv("Skipping missing path: {0}", path);
+            }
+        }
+        for (Path path : dependencies) {
+            if (Files.isRegularFile(path)) {
+                jarFound.accept(path);
+            } else {
+                LOG.debugv("Skipping missing path: {0}", path);
+            }
+        }
+
+        List<IndexView> indexes = new ArrayList<>();
+        indexes.add(indexer.complete());
+        join(applicationIndexes, indexes);
+        if (sniffer != null) {
+            sniffer.referencedBy(CompositeIndex.create(indexes));
+            for (Path jar : sniffed) {
+                jars.add(ArchiveUtil.submit(() -> indexJar(config, jar, cache, sniffer), executor));
+            }
+        }
+        // Complete now that the application is indexed
+        int applicationClasses = indexes.size();
+        join(jars, indexes);
+        if (sniffer != null) {
+            indexes.addAll(sniffer.indexReferenced(new ArrayList<>(indexes.subList(applicationClasses, indexes.size()))));
+        }
+        if (cache != null) {
+            cache.evict();
+        }
+        if (sniffer != null) {
+            sniffer.report();
+        }
+        return indexes.size() == 1 ? indexes.get(0) : CompositeIndex.create(indexes);
+    }
+
+    /**
+     * Indexes the given JAR archive, including the JAR archives it contains, or reads its index
+     * from the cache.
+     *
+     * @param config
+     * @param jar
+     * @param cache the cache of the indexes of the JAR archives, or null
+     * @param sniffer skips the JAR archives not contributing to the document, or null
+     */
+    private static IndexView indexJar(OpenApiConfig config, Path jar, IndexCache cache, DependencySniffer sniffer) {
+        String jarName = jar.toString();
+        Asset content = () -> {
+            try {
+                return Files.newInputStream(jar);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        Supplier<IndexView> indexed = () -> indexJar(config, jarName, jar);
+        Supplier<IndexView> sniffed = sniffer != null ? () -> sniffer.index(jarName, content, indexed) : indexed;
+        return cache != null ? cache.index(jarName, content, sniffed) : sniffed.get();
+    }
+
+    private static IndexView indexJar(OpenApiConfig config, String jarName, Path jar) {
+        try (FileSystem zip = FileSystems.newFileSystem(jar, (ClassLoader) null)) {
+            List<IndexView> indexes = new ArrayList<>();
+            indexes.add(indexTree(config, jarName, zip.getPath("/"), nested -> {
+                // Read as a stream, the zip file system not opening nested archives
+                try (InputStream stream = Files.newInputStream(nested);
+                        ZipInputStream entries = new ZipInputStream(stream)) {
+                    indexes.add(ArchiveUtil.indexJar(config, nested.toString(), entries));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+            return indexes.size() == 1 ? indexes.get(0) : CompositeIndex.create(indexes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Indexes the classes of the given directory, or root of a JAR archive, and reports the JAR
+     * archives it contains.
+     *
+     * @param config
+     * @param name the name of the directory or JAR archive
+     * @param root
+     * @param jarFound receives the JAR archives accepted by the configuration
+     */
+    private static IndexView indexTree(OpenApiConfig config, String name, Path root, Consumer<Path> jarFound) {
+        String indexedClasses = OpenApiConstants.WEB_ARCHIVE_CLASS_PREFIX;
+        Path indexFile = root.resolve(WEB_ARCHIVE_CLASSES + OpenApiConstants.JANDEX_INDEX);
+        if (!Files.isRegularFile(indexFile)) {
+            indexedClasses = "/";
+            indexFile = root.resolve(OpenApiConstants.JANDEX_INDEX);
+        }
+
+        try {
+            Index prebuilt = null;
+            if (Files.isRegularFile(indexFile)) {
+                try (InputStream stream = Files.newInputStream(indexFile)) {
+                    prebuilt = ArchiveUtil.readIndex(stream, name);
+                }
+            }
+
+            Indexer indexer = new Indexer();
+            try (Stream<Path> files = Files.walk(root)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    String entry = root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+                    if (entry.endsWith(OpenApiConstants.CLASS_SUFFIX)) {
+                        if ((prebuilt == null || !ArchiveUtil.isIndexed(indexedClasses, "/" + entry))
+                                && ArchiveUtil.acceptClassForScanning(config, className(entry))) {
+                            try (InputStream stream = Files.newInputStream(file)) {
+                                LOG.debugv("Indexing asset: {0} from archive: {1}", entry, name);
+                                indexer.index(stream);
+                            }
+                        }
+                    } else if (entry.endsWith(OpenApiConstants.JAR_SUFFIX)
+                            && ArchiveUtil.acceptJarForScanning(config, entry)
+                            && Files.isRegularFile(file)) {
+                        jarFound.accept(file);
+                    }
+                }
+            }
+
+            Index classes = indexer.complete();
+            return prebuilt != null ? CompositeIndex.create(classes, new FilteredIndexView(prebuilt, config)) : classes;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return the path of the class file relative to the root of the class path
+     */
+    private static String className(String entry) {
+        return entry.startsWith(WEB_ARCHIVE_CLASSES) ? entry.substring(WEB_ARCHIVE_CLASSES.length()) : entry;
+    }
+
+    private static Executor defaultExecutor() {
+        return ForkJoinPool.getCommonPoolParallelism() > 1 ? ForkJoinPool.commonPool() : null;
+    }
+
+    private static void join(List<CompletableFuture<IndexView>> futures, List<IndexView> indexes) {
+        for (CompletableFuture<IndexView> future : futures) {
+            try {
+                indexes.add(future.join());
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+    }
+}
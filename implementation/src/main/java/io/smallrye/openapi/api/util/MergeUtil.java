@@ -21,12 +21,17 @@ import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 import org.eclipse.microprofile.openapi.models.Constructible;
 import org.eclipse.microprofile.openapi.models.Extensible;
@@ -57,6 +62,17 @@ public class MergeUtil {
         EXCLUDED_PROPERTIES.add("class");
     }
 
+    /**
+     * Properties of the classes merged or copied by introspection.
+     */
+    private static final ConcurrentMap<Class<?>, PropertyDescriptor[]> DESCRIPTORS = new ConcurrentHashMap<>();
+
+    /**
+     * Combined size of two lists from which the first one is indexed to find the elements
+     * matching those of the second one, searching it being cheaper for shorter lists.
+     */
+    static final int LIST_INDEX_THRESHOLD = 32;
+
     /**
      * Constructor.
      */
@@ -75,14 +91,15 @@ public class MergeUtil {
     }
 
     /**
-     * Generic merge of two objects of the same type.
+     * Generic merge of two objects of the same type. The model classes of
+     * {@link io.smallrye.openapi.api.models} are merged by the mergers of {@link ModelMergers},
+     * objects of any other class by introspection of their bean properties.
      * 
      * @param object1 First object
      * @param object2 Second object
      * @param <T> Type parameter
      * @return Merged object
      */
-    @SuppressWarnings({ "rawtypes" })
     public static <T> T mergeObjects(T object1, T object2) {
         if (object1 == null && object2 != null) {
             return object2;
@@ -100,13 +117,21 @@ public class MergeUtil {
             return object2;
         }
 
-        PropertyDescriptor[] descriptors = new PropertyDescriptor[0];
-        try {
-            descriptors = Introspector.getBeanInfo(object1.getClass()).getPropertyDescriptors();
-        } catch (IntrospectionException e) {
-            LOG.error("Failed to introspect BeanInfo for: " + object1.getClass(), e);
+        ModelMergers.Merger<T> merger = ModelMergers.get(object1.getClass());
+
+        if (merger != null) {
+            merger.merge(object1, object2);
+        } else {
+            mergeProperties(object1, object2);
         }
 
+        return object1;
+    }
+
+    @SuppressWarnings({ "rawtypes" })
+    private static void mergeProperties(Object object1, Object object2) {
+        PropertyDescriptor[] descriptors = getCachedPropertyDescriptors(object1.getClass());
+
         for (PropertyDescriptor descriptor : descriptors) {
             if (EXCLUDED_PROPERTIES.contains(descriptor.getName())) {
                 continue;
@@ -155,7 +180,25 @@ public class MergeUtil {
                 }
             }
         }
-        return object1;
+    }
+
+    /**
+     * Returns the bean properties of the given class, introspected once per class.
+     * 
+     * @param type the class
+     * @return the properties of the class
+     */
+    static PropertyDescriptor[] getCachedPropertyDescriptors(Class<?> type) {
+        return DESCRIPTORS.computeIfAbsent(type, MergeUtil::getPropertyDescriptors);
+    }
+
+    private static PropertyDescriptor[] getPropertyDescriptors(Class<?> type) {
+        try {
+            return Introspector.getBeanInfo(type).getPropertyDescriptors();
+        } catch (IntrospectionException e) {
+            LOG.error("Failed to introspect BeanInfo for: " + type, e);
+            return new PropertyDescriptor[0];
+        }
     }
 
     /**
@@ -227,7 +270,7 @@ public class MergeUtil {
      * @param values2
      */
     @SuppressWarnings({ "rawtypes", "unchecked" })
-    private static List mergeLists(List values1, List values2) {
+    static List mergeLists(List values1, List values2) {
         if (values1 == null && values2 == null) {
             return null;
         }
@@ -286,21 +329,7 @@ public class MergeUtil {
      * @param values2
      */
     private static List<Tag> mergeTagLists(List<Tag> values1, List<Tag> values2) {
-        for (Tag value2 : values2) {
-            Tag match = null;
-            for (Tag value1 : values1) {
-                if (value1.getName() != null && value1.getName().equals(value2.getName())) {
-                    match = value1;
-                    break;
-                }
-            }
-            if (match == null) {
-                values1.add(value2);
-            } else {
-                mergeObjects(match, value2);
-            }
-        }
-        return values1;
+        return mergeKeyedLists(values1, values2, Tag::getName);
     }
 
     /**
@@ -311,26 +340,13 @@ public class MergeUtil {
      * @param values2
      */
     private static List<Server> mergeServerLists(List<Server> values1, List<Server> values2) {
-        for (Server value2 : values2) {
-            Server match = null;
-            for (Server value1 : values1) {
-                if (value1.getUrl() != null && value1.getUrl().equals(value2.getUrl())) {
-                    match = value1;
-                    break;
-                }
-            }
-            if (match == null) {
-                values1.add(value2);
-            } else {
-                mergeObjects(match, value2);
-            }
-        }
-        return values1;
+        return mergeKeyedLists(values1, values2, Server::getUrl);
     }
 
     /**
      * Merge two lists of Security Requirements. Security Requirement lists are are a
-     * special case because
+     * special case because duplicate requirements are dropped rather than merged: any
+     * requirement from values2 not equal to one already in values1 is appended to
      * values1.
      * 
      * @param values1
@@ -338,11 +354,20 @@ public class MergeUtil {
      */
     private static List<SecurityRequirement> mergeSecurityRequirementLists(List<SecurityRequirement> values1,
             List<SecurityRequirement> values2) {
+        if (values1.size() + values2.size() < LIST_INDEX_THRESHOLD) {
+            for (SecurityRequirement value2 : values2) {
+                if (!values1.contains(value2)) {
+                    values1.add(value2);
+                }
+            }
+            return values1;
+        }
+
+        Set<SecurityRequirement> present = new HashSet<>(values1);
         for (SecurityRequirement value2 : values2) {
-            if (values1.contains(value2)) {
-                continue;
+            if (present.add(value2)) {
+                values1.add(value2);
             }
-            values1.add(value2);
         }
         return values1;
     }
@@ -355,18 +380,58 @@ public class MergeUtil {
      * @param values2
      */
     private static List<Parameter> mergeParameterLists(List<Parameter> values1, List<Parameter> values2) {
-        for (Parameter value2 : values2) {
-            Parameter match = null;
-            for (Parameter value1 : values1) {
-                if (value1.getName() == null || !value1.getName().equals(value2.getName())) {
-                    continue;
-                }
-                if (value1.getIn() == null || !value1.getIn().equals(value2.getIn())) {
-                    continue;
-                }
+        return mergeKeyedLists(values1, values2, parameter -> {
+            if (parameter.getName() == null || parameter.getIn() == null) {
+                return null;
+            }
+            return new AbstractMap.SimpleImmutableEntry<>(parameter.getName(), parameter.getIn());
+        });
+    }
+
+    /**
+     * Merge two lists of values that are unique by a key. Each value of values2 is merged
+     * into the first value of values1 with the same key, or appended to values1 when there
+     * is none (values appended earlier included). Values without a key (null) never match.
+     * Unless both lists are short, the values of values1 are indexed by key once, rather
+     * than searched for each value of values2.
+     * 
+     * @param values1
+     * @param values2
+     * @param key function providing the key of a value, or null
+     */
+    private static <T> List<T> mergeKeyedLists(List<T> values1, List<T> values2, Function<T, Object> key) {
+        if (values1.size() + values2.size() < LIST_INDEX_THRESHOLD) {
+            return searchKeyedLists(values1, values2, key);
+        }
 
-                match = value1;
-                break;
+        Map<Object, T> index = new HashMap<>();
+        for (T value1 : values1) {
+            index(index, key.apply(value1), value1);
+        }
+        for (T value2 : values2) {
+            Object key2 = key.apply(value2);
+            T match = key2 != null ? index.get(key2) : null;
+            if (match == null) {
+                values1.add(value2);
+                index(index, key2, value2);
+            } else {
+                mergeObjects(match, value2);
+            }
+        }
+        return values1;
+    }
+
+    private static <T> List<T> searchKeyedLists(List<T> values1, List<T> values2, Function<T, Object> key) {
+        for (T value2 : values2) {
+            Object key2 = key.apply(value2);
+            T match = null;
+            if (key2 != null) {
+                for (T value1 : values1) {
+                    if (key2.equals(key.apply(value1))) {
+                        match = value1;
+                        break;
+                    }
+                }
             }
             if (match == null) {
                 values1.add(value2);
@@ -376,4 +441,10 @@ public class MergeUtil {
         }
         return values1;
     }
+
+    private static <T> void index(Map<Object, T> index, Object key, T value) {
+        if (key != null) {
+            index.putIfAbsent(key, value);
+        }
+    }
 }
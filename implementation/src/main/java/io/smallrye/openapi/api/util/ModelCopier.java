@@ -0,0 +1,171 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.smallrye.openapi.api.util;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+import io.smallrye.openapi.api.models.ModelImpl;
+
+/**
+ * Copies the elements of a model, or only some of them. The copies are made by introspection of
+ * the model elements, each element being copied once even when it is found at several locations
+ * of the model.
+ */
+final class ModelCopier {
+    private static final ConcurrentMap<Class<?>, CopiedProperty[]> PROPERTIES = new ConcurrentHashMap<>();
+
+    private final Predicate<Object> copiedWithContents;
+    private final Predicate<Object> copied;
+    // Copies of elements with the elements they contain, and copies sharing them, by identity
+    private final Map<Object, Object> deepCopies = new IdentityHashMap<>();
+    private final Map<Object, Object> shallowCopies = new IdentityHashMap<>();
+
+    /**
+     * @param copiedWithContents selects the elements copied with all the elements they contain
+     * @param copied selects the other elements copied, which share the elements they contain
+     *        with the model unless they are also copied
+     */
+    ModelCopier(Predicate<Object> copiedWithContents, Predicate<Object> copied) {
+        this.copiedWithContents = copiedWithContents;
+        this.copied = copied;
+    }
+
+    /**
+     * Returns a copy of the given model element and of all the elements it contains.
+     *
+     * @param model the model element
+     * @param <T> the type of the element
+     * @return the copy
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T deepCopy(T model) {
+        return (T) new ModelCopier(element -> true, element -> true).copy(model, true);
+    }
+
+    /**
+     * Returns the copy of a value, or the value itself when it is shared with the copy.
+     *
+     * @param value the value
+     * @param deep true to copy all the elements contained by the value
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    Object copy(Object value, boolean deep) {
+        if (value instanceof ModelImpl) {
+            return copyModel(value, deep || copiedWithContents.test(value));
+        }
+        if (value instanceof Map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            ((Map<Object, Object>) value).forEach((k, v) -> copy.put(k, copy(v, deep)));
+            return copy;
+        }
+        if (value instanceof List) {
+            List copy = new ArrayList<>(((List) value).size());
+            for (Object item : (List) value) {
+                copy.add(copy(item, deep));
+            }
+            return copy;
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object copyModel(Object model, boolean deep) {
+        if (!deep && !copied.test(model)) {
+            return model;
+        }
+        Map<Object, Object> copies = deep ? deepCopies : shallowCopies;
+        Object copy = copies.get(model);
+        if (copy != null) {
+            return copy;
+        }
+        try {
+            copy = model.getClass().newInstance();
+            // Registered first, for the elements containing themselves
+            copies.put(model, copy);
+
+            if (model instanceof Map) {
+                for (Map.Entry<Object, Object> entry : ((Map<Object, Object>) model).entrySet()) {
+                    ((Map<Object, Object>) copy).put(entry.getKey(), copy(entry.getValue(), deep));
+                }
+            }
+            for (CopiedProperty property : PROPERTIES.computeIfAbsent(model.getClass(), ModelCopier::getCopiedProperties)) {
+                Object value = property.readMethod.invoke(model);
+                if (value != null) {
+                    property.writeMethod.invoke(copy, copy(value, deep));
+                } else if (property.hasDefault) {
+                    property.writeMethod.invoke(copy, (Object) null);
+                }
+            }
+            return copy;
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Returns the properties copied for the given class of model elements: the properties
+     * with both a read and a write method, except the views of the entries of the elements
+     * that are maps.
+     */
+    private static CopiedProperty[] getCopiedProperties(Class<?> type) {
+        try {
+            Object instance = type.newInstance();
+            List<CopiedProperty> properties = new ArrayList<>();
+            for (PropertyDescriptor descriptor : MergeUtil.getCachedPropertyDescriptors(type)) {
+                Method readMethod = descriptor.getReadMethod();
+                Method writeMethod = descriptor.getWriteMethod();
+                if (readMethod == null || writeMethod == null) {
+                    continue;
+                }
+                if (instance instanceof Map && Map.class.isAssignableFrom(descriptor.getPropertyType())
+                        && !"extensions".equals(descriptor.getName())) {
+                    continue;
+                }
+                properties.add(new CopiedProperty(readMethod, writeMethod, readMethod.invoke(instance) != null));
+            }
+            return properties.toArray(new CopiedProperty[0]);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * A copied property. Unset properties are only written when they have a default value,
+     * since some setters also clear other properties.
+     */
+    private static final class CopiedProperty {
+        final Method readMethod;
+        final Method writeMethod;
+        final boolean hasDefault;
+
+        CopiedProperty(Method readMethod, Method writeMethod, boolean hasDefault) {
+            this.readMethod = readMethod;
+            this.writeMethod = writeMethod;
+            this.hasDefault = hasDefault;
+        }
+    }
+}
@@ -0,0 +1,677 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.smallrye.openapi.api.util;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.smallrye.openapi.api.models.ComponentsImpl;
+import io.smallrye.openapi.api.models.ExternalDocumentationImpl;
+import io.smallrye.openapi.api.models.OpenAPIImpl;
+import io.smallrye.openapi.api.models.OperationImpl;
+import io.smallrye.openapi.api.models.PathItemImpl;
+import io.smallrye.openapi.api.models.PathsImpl;
+import io.smallrye.openapi.api.models.callbacks.CallbackImpl;
+import io.smallrye.openapi.api.models.examples.ExampleImpl;
+import io.smallrye.openapi.api.models.headers.HeaderImpl;
+import io.smallrye.openapi.api.models.info.ContactImpl;
+import io.smallrye.openapi.api.models.info.InfoImpl;
+import io.smallrye.openapi.api.models.info.LicenseImpl;
+import io.smallrye.openapi.api.models.links.LinkImpl;
+import io.smallrye.openapi.api.models.media.ContentImpl;
+import io.smallrye.openapi.api.models.media.DiscriminatorImpl;
+import io.smallrye.openapi.api.models.media.EncodingImpl;
+import io.smallrye.openapi.api.models.media.MediaTypeImpl;
+import io.smallrye.openapi.api.models.media.SchemaImpl;
+import io.smallrye.openapi.api.models.media.XMLImpl;
+import io.smallrye.openapi.api.models.parameters.ParameterImpl;
+import io.smallrye.openapi.api.models.parameters.RequestBodyImpl;
+import io.smallrye.openapi.api.models.responses.APIResponseImpl;
+import io.smallrye.openapi.api.models.responses.APIResponsesImpl;
+import io.smallrye.openapi.api.models.security.OAuthFlowImpl;
+import io.smallrye.openapi.api.models.security.OAuthFlowsImpl;
+import io.smallrye.openapi.api.models.security.ScopesImpl;
+import io.smallrye.openapi.api.models.security.SecurityRequirementImpl;
+import io.smallrye.openapi.api.models.security.SecuritySchemeImpl;
+import io.smallrye.openapi.api.models.servers.ServerImpl;
+import io.smallrye.openapi.api.models.servers.ServerVariableImpl;
+import io.smallrye.openapi.api.models.servers.ServerVariablesImpl;
+import io.smallrye.openapi.api.models.tags.TagImpl;
+
+/**
+ * Merge logic for each of the model classes of {@link io.smallrye.openapi.api.models},
+ * used by {@link MergeUtil#mergeObjects(Object, Object)} in place of bean introspection.
+ * <p>
+ * Each merger handles the same bean properties as the introspection-based merge, in the
+ * same (alphabetical) order, and treats them according to their declared type:
+ * <ul>
+ * <li>maps and lists are merged with {@link MergeUtil#mergeMaps(Map, Map)} and
+ * {@link MergeUtil#mergeLists(List, List)} and always set</li>
+ * <li>other model objects are merged recursively and set unless both are null</li>
+ * <li>any other value of the source is set unless it is null</li>
+ * </ul>
+ * Read-only properties are skipped. A property added to a model class must be added to its
+ * merger here, or it will not be merged.
+ */
+final class ModelMergers {
+
+    @FunctionalInterface
+    interface Merger<T> {
+        /**
+         * Merges the properties of the source into the target.
+         *
+         * @param target object receiving the merged values
+         * @param source object providing the values, of the same class as the target
+         */
+        void merge(T target, T source);
+    }
+
+    private static final Map<Class<?>, Merger<?>> MERGERS = new IdentityHashMap<>();
+
+    static {
+        register(ComponentsImpl.class, (target, source) -> {
+            target.setCallbacks(mergeMaps(target.getCallbacks(), source.getCallbacks()));
+            target.setExamples(mergeMaps(target.getExamples(), source.getExamples()));
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+            target.setHeaders(mergeMaps(target.getHeaders(), source.getHeaders()));
+            target.setLinks(mergeMaps(target.getLinks(), source.getLinks()));
+            target.setParameters(mergeMaps(target.getParameters(), source.getParameters()));
+            target.setRequestBodies(mergeMaps(target.getRequestBodies(), source.getRequestBodies()));
+            target.setResponses(mergeMaps(target.getResponses(), source.getResponses()));
+            target.setSchemas(mergeMaps(target.getSchemas(), source.getSchemas()));
+            target.setSecuritySchemes(mergeMaps(target.getSecuritySchemes(), source.getSecuritySchemes()));
+        });
+        register(ExternalDocumentationImpl.class, (target, source) -> {
+            if (source.getDescription() != null) {
+                target.setDescription(source.getDescription());
+            }
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+            if (source.getUrl() != null) {
+                target.setUrl(source.getUrl());
+            }
+        });
+        register(OpenAPIImpl.class, (target, source) -> {
+            if (target.getComponents() != null || source.getComponents() != null) {
+                target.setComponents(MergeUtil.mergeObjects(target.getComponents(), source.getComponents()));
+            }
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+            if (target.getExternalDocs() != null || source.getExternalDocs() != null) {
+                target.setExternalDocs(MergeUtil.mergeObjects(target.getExternalDocs(), source.getExternalDocs()));
+            }
+            if (target.getInfo() != null || source.getInfo() != null) {
+                target.setInfo(MergeUtil.mergeObjects(target.getInfo(), source.getInfo()));
+            }
+            if (source.getOpenapi() != null) {
+                target.setOpenapi(source.getOpenapi());
+            }
+            target.setPaths(mergeMaps(target.getPaths(), source.getPaths()));
+            target.setSecurity(mergeLists(target.getSecurity(), source.getSecurity()));
+            target.setServers(mergeLists(target.getServers(), source.getServers()));
+            target.setTags(mergeLists(target.getTags(), source.getTags()));
+        });
+        register(OperationImpl.class, (target, source) -> {
+            target.setCallbacks(mergeMaps(target.getCallbacks(), source.getCallbacks()));
+            if (source.getDeprecated() != null) {
+                target.setDeprecated(source.getDeprecated());
+            }
+            if (source.getDescription() != null) {
+                target.setDescription(source.getDescription());
+            }
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+            if (target.getExternalDocs() != null || source.getExternalDocs() != null) {
+                target.setExternalDocs(MergeUtil.mergeObjects(target.getExternalDocs(), source.getExternalDocs()));
+            }
+            if (source.getOperationId() != null) {
+                target.setOperationId(source.getOperationId());
+            }
+            target.setParameters(mergeLists(target.getParameters(), source.getParameters()));
+            if (target.getRequestBody() != null || source.getRequestBody() != null) {
+                target.setRequestBody(MergeUtil.mergeObjects(target.getRequestBody(), source.getRequestBody()));
+            }
+            target.setResponses(mergeMaps(target.getResponses(), source.getResponses()));
+            target.setSecurity(mergeLists(target.getSecurity(), source.getSecurity()));
+            target.setServers(mergeLists(target.getServers(), source.getServers()));
+            if (source.getSummary() != null) {
+                target.setSummary(source.getSummary());
+            }
+            target.setTags(mergeLists(target.getTags(), source.getTags()));
+        });
+        register(PathItemImpl.class, (target, source) -> {
+            if (target.getDELETE() != null || source.getDELETE() != null) {
+                target.setDELETE(MergeUtil.mergeObjects(target.getDELETE(), source.getDELETE()));
+            }
+            if (target.getGET() != null || source.getGET() != null) {
+                target.setGET(MergeUtil.mergeObjects(target.getGET(), source.getGET()));
+            }
+            if (target.getHEAD() != null || source.getHEAD() != null) {
+                target.setHEAD(MergeUtil.mergeObjects(target.getHEAD(), source.getHEAD()));
+            }
+            if (target.getOPTIONS() != null || source.getOPTIONS() != null) {
+                target.setOPTIONS(MergeUtil.mergeObjects(target.getOPTIONS(), source.getOPTIONS()));
+            }
+            if (target.getPATCH() != null || source.getPATCH() != null) {
+                target.setPATCH(MergeUtil.mergeObjects(target.getPATCH(), source.getPATCH()));
+            }
+            if (target.getPOST() != null || source.getPOST() != null) {
+                target.setPOST(MergeUtil.mergeObjects(target.getPOST(), source.getPOST()));
+            }
+            if (target.getPUT() != null || source.getPUT() != null) {
+                target.setPUT(MergeUtil.mergeObjects(target.getPUT(), source.getPUT()));
+            }
+            if (target.getTRACE() != null || source.getTRACE() != null) {
+                target.setTRACE(MergeUtil.mergeObjects(target.getTRACE(), source.getTRACE()));
+            }
+            if (source.getDescription() != null) {
+                target.setDescription(source.getDescription());
+            }
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+            target.setParameters(mergeLists(target.getParameters(), source.getParameters()));
+            if (source.getRef() != null) {
+                target.setRef(source.getRef());
+            }
+            target.setServers(mergeLists(target.getServers(), source.getServers()));
+            if (source.getSummary() != null) {
+                target.setSummary(source.getSummary());
+            }
+        });
+        register(PathsImpl.class, (target, source) -> {
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+            target.setPathItems(mergeMaps(target.getPathItems(), source.getPathItems()));
+        });
+        register(CallbackImpl.class, (target, source) -> {
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+            target.setPathItems(mergeMaps(target.getPathItems(), source.getPathItems()));
+            if (source.getRef() != null) {
+                target.setRef(source.getRef());
+            }
+        });
+        register(ExampleImpl.class, (target, source) -> {
+            if (source.getDescription() != null) {
+                target.setDescription(source.getDescription());
+            }
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+            if (source.getExternalValue() != null) {
+                target.setExternalValue(source.getExternalValue());
+            }
+            if (source.getRef() != null) {
+                target.setRef(source.getRef());
+            }
+            if (source.getSummary() != null) {
+                target.setSummary(source.getSummary());
+            }
+            if (source.getValue() != null) {
+                target.setValue(source.getValue());
+            }
+        });
+        register(HeaderImpl.class, (target, source) -> {
+            if (source.getAllowEmptyValue() != null) {
+                target.setAllowEmptyValue(source.getAllowEmptyValue());
+            }
+            target.setContent(mergeMaps(target.getContent(), source.getContent()));
+            if (source.getDeprecated() != null) {
+                target.setDeprecated(source.getDeprecated());
+            }
+            if (source.getDescription() != null) {
+                target.setDescription(source.getDescription());
+            }
+            if (source.getExample() != null) {
+                target.setExample(source.getExample());
+            }
+            target.setExamples(mergeMaps(target.getExamples(), source.getExamples()));
+            if (source.getExplode() != null) {
+                target.setExplode(source.getExplode());
+            }
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+            if (source.getRef() != null) {
+                target.setRef(source.getRef());
+            }
+            if (source.getRequired() != null) {
+                target.setRequired(source.getRequired());
+            }
+            if (target.getSchema() != null || source.getSchema() != null) {
+                target.setSchema(MergeUtil.mergeObjects(target.getSchema(), source.getSchema()));
+            }
+            if (source.getStyle() != null) {
+                target.setStyle(source.getStyle());
+            }
+        });
+        register(ContactImpl.class, (target, source) -> {
+            if (source.getEmail() != null) {
+                target.setEmail(source.getEmail());
+            }
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+            if (source.getName() != null) {
+                target.setName(source.getName());
+            }
+            if (source.getUrl() != null) {
+                target.setUrl(source.getUrl());
+            }
+        });
+        register(InfoImpl.class, (target, source) -> {
+            if (target.getContact() != null || source.getContact() != null) {
+                target.setContact(MergeUtil.mergeObjects(target.getContact(), source.getContact()));
+            }
+            if (source.getDescription() != null) {
+                target.setDescription(source.getDescription());
+            }
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+            if (target.getLicense() != null || source.getLicense() != null) {
+                target.setLicense(MergeUtil.mergeObjects(target.getLicense(), source.getLicense()));
+            }
+            if (source.getTermsOfService() != null) {
+                target.setTermsOfService(source.getTermsOfService());
+            }
+            if (source.getTitle() != null) {
+                target.setTitle(source.getTitle());
+            }
+            if (source.getVersion() != null) {
+                target.setVersion(source.getVersion());
+            }
+        });
+        register(LicenseImpl.class, (target, source) -> {
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+            if (source.getName() != null) {
+                target.setName(source.getName());
+            }
+            if (source.getUrl() != null) {
+                target.setUrl(source.getUrl());
+            }
+        });
+        register(LinkImpl.class, (target, source) -> {
+            if (source.getDescription() != null) {
+                target.setDescription(source.getDescription());
+            }
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+            if (source.getOperationId() != null) {
+                target.setOperationId(source.getOperationId());
+            }
+            if (source.getOperationRef() != null) {
+                target.setOperationRef(source.getOperationRef());
+            }
+            target.setParameters(mergeMaps(target.getParameters(), source.getParameters()));
+            if (source.getRef() != null) {
+                target.setRef(source.getRef());
+            }
+            if (source.getRequestBody() != null) {
+                target.setRequestBody(source.getRequestBody());
+            }
+            if (target.getServer() != null || source.getServer() != null) {
+                target.setServer(MergeUtil.mergeObjects(target.getServer(), source.getServer()));
+            }
+        });
+        register(ContentImpl.class, (target, source) -> {
+            target.setMediaTypes(mergeMaps(target.getMediaTypes(), source.getMediaTypes()));
+        });
+        register(DiscriminatorImpl.class, (target, source) -> {
+            target.setMapping(mergeMaps(target.getMapping(), source.getMapping()));
+            if (source.getPropertyName() != null) {
+                target.setPropertyName(source.getPropertyName());
+            }
+        });
+        register(EncodingImpl.class, (target, source) -> {
+            if (source.getAllowReserved() != null) {
+                target.setAllowReserved(source.getAllowReserved());
+            }
+            if (source.getContentType() != null) {
+                target.setContentType(source.getContentType());
+            }
+            if (source.getExplode() != null) {
+                target.setExplode(source.getExplode());
+            }
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+            target.setHeaders(mergeMaps(target.getHeaders(), source.getHeaders()));
+            if (source.getStyle() != null) {
+                target.setStyle(source.getStyle());
+            }
+        });
+        register(MediaTypeImpl.class, (target, source) -> {
+            target.setEncoding(mergeMaps(target.getEncoding(), source.getEncoding()));
+            if (source.getExample() != null) {
+                target.setExample(source.getExample());
+            }
+            target.setExamples(mergeMaps(target.getExamples(), source.getExamples()));
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+            if (target.getSchema() != null || source.getSchema() != null) {
+                target.setSchema(MergeUtil.mergeObjects(target.getSchema(), source.getSchema()));
+            }
+        });
+        register(SchemaImpl.class, (target, source) -> {
+            if (source.getAdditionalPropertiesBoolean() != null) {
+                target.setAdditionalPropertiesBoolean(source.getAdditionalPropertiesBoolean());
+            }
+            if (target.getAdditionalPropertiesSchema() != null || source.getAdditionalPropertiesSchema() != null) {
+                target.setAdditionalPropertiesSchema(MergeUtil.mergeObjects(target.getAdditionalPropertiesSchema(), source.getAdditionalPropertiesSchema()));
+            }
+            target.setAllOf(mergeLists(target.getAllOf(), source.getAllOf()));
+            target.setAnyOf(mergeLists(target.getAnyOf(), source.getAnyOf()));
+            if (source.getDefaultValue() != null) {
+                target.setDefaultValue(source.getDefaultValue());
+            }
+            if (source.getDeprecated() != null) {
+                target.setDeprecated(source.getDeprecated());
+            }
+            if (source.getDescription() != null) {
+                target.setDescription(source.getDescription());
+            }
+            if (target.getDiscriminator() != null || source.getDiscriminator() != null) {
+                target.setDiscriminator(MergeUtil.mergeObjects(target.getDiscriminator(), source.getDiscriminator()));
+            }
+            target.setEnumeration(mergeLists(target.getEnumeration(), source.getEnumeration()));
+            if (source.getExample() != null) {
+                target.setExample(source.getExample());
+            }
+            if (source.getExclusiveMaximum() != null) {
+                target.setExclusiveMaximum(source.getExclusiveMaximum());
+            }
+            if (source.getExclusiveMinimum() != null) {
+                target.setExclusiveMinimum(source.getExclusiveMinimum());
+            }
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+            if (target.getExternalDocs() != null || source.getExternalDocs() != null) {
+                target.setExternalDocs(MergeUtil.mergeObjects(target.getExternalDocs(), source.getExternalDocs()));
+            }
+            if (source.getFormat() != null) {
+                target.setFormat(source.getFormat());
+            }
+            if (target.getItems() != null || source.getItems() != null) {
+                target.setItems(MergeUtil.mergeObjects(target.getItems(), source.getItems()));
+            }
+            if (source.getMaxItems() != null) {
+                target.setMaxItems(source.getMaxItems());
+            }
+            if (source.getMaxLength() != null) {
+                target.setMaxLength(source.getMaxLength());
+            }
+            if (source.getMaxProperties() != null) {
+                target.setMaxProperties(source.getMaxProperties());
+            }
+            if (source.getMaximum() != null) {
+                target.setMaximum(source.getMaximum());
+            }
+            if (source.getMinItems() != null) {
+                target.setMinItems(source.getMinItems());
+            }
+            if (source.getMinLength() != null) {
+                target.setMinLength(source.getMinLength());
+            }
+            if (source.getMinProperties() != null) {
+                target.setMinProperties(source.getMinProperties());
+            }
+            if (source.getMinimum() != null) {
+                target.setMinimum(source.getMinimum());
+            }
+            if (source.getMultipleOf() != null) {
+                target.setMultipleOf(source.getMultipleOf());
+            }
+            if (source.getName() != null) {
+                target.setName(source.getName());
+            }
+            if (target.getNot() != null || source.getNot() != null) {
+                target.setNot(MergeUtil.mergeObjects(target.getNot(), source.getNot()));
+            }
+            if (source.getNullable() != null) {
+                target.setNullable(source.getNullable());
+            }
+            target.setOneOf(mergeLists(target.getOneOf(), source.getOneOf()));
+            if (source.getPattern() != null) {
+                target.setPattern(source.getPattern());
+            }
+            target.setProperties(mergeMaps(target.getProperties(), source.getProperties()));
+            if (source.getReadOnly() != null) {
+                target.setReadOnly(source.getReadOnly());
+            }
+            if (source.getRef() != null) {
+                target.setRef(source.getRef());
+            }
+            target.setRequired(mergeLists(target.getRequired(), source.getRequired()));
+            if (source.getTitle() != null) {
+                target.setTitle(source.getTitle());
+            }
+            if (source.getType() != null) {
+                target.setType(source.getType());
+            }
+            if (source.getUniqueItems() != null) {
+                target.setUniqueItems(source.getUniqueItems());
+            }
+            if (source.getWriteOnly() != null) {
+                target.setWriteOnly(source.getWriteOnly());
+            }
+            if (target.getXml() != null || source.getXml() != null) {
+                target.setXml(MergeUtil.mergeObjects(target.getXml(), source.getXml()));
+            }
+        });
+        register(XMLImpl.class, (target, source) -> {
+            if (source.getAttribute() != null) {
+                target.setAttribute(source.getAttribute());
+            }
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+            if (source.getName() != null) {
+                target.setName(source.getName());
+            }
+            if (source.getNamespace() != null) {
+                target.setNamespace(source.getNamespace());
+            }
+            if (source.getPrefix() != null) {
+                target.setPrefix(source.getPrefix());
+            }
+            if (source.getWrapped() != null) {
+                target.setWrapped(source.getWrapped());
+            }
+        });
+        register(ParameterImpl.class, (target, source) -> {
+            if (source.getAllowEmptyValue() != null) {
+                target.setAllowEmptyValue(source.getAllowEmptyValue());
+            }
+            if (source.getAllowReserved() != null) {
+                target.setAllowReserved(source.getAllowReserved());
+            }
+            target.setContent(mergeMaps(target.getContent(), source.getContent()));
+            if (source.getDeprecated() != null) {
+                target.setDeprecated(source.getDeprecated());
+            }
+            if (source.getDescription() != null) {
+                target.setDescription(source.getDescription());
+            }
+            if (source.getExample() != null) {
+                target.setExample(source.getExample());
+            }
+            target.setExamples(mergeMaps(target.getExamples(), source.getExamples()));
+            if (source.getExplode() != null) {
+                target.setExplode(source.getExplode());
+            }
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+            target.setHidden(source.isHidden());
+            if (source.getIn() != null) {
+                target.setIn(source.getIn());
+            }
+            if (source.getName() != null) {
+                target.setName(source.getName());
+            }
+            if (source.getRef() != null) {
+                target.setRef(source.getRef());
+            }
+            if (source.getRequired() != null) {
+                target.setRequired(source.getRequired());
+            }
+            if (target.getSchema() != null || source.getSchema() != null) {
+                target.setSchema(MergeUtil.mergeObjects(target.getSchema(), source.getSchema()));
+            }
+            if (source.getStyle() != null) {
+                target.setStyle(source.getStyle());
+            }
+        });
+        register(RequestBodyImpl.class, (target, source) -> {
+            target.setContent(mergeMaps(target.getContent(), source.getContent()));
+            if (source.getDescription() != null) {
+                target.setDescription(source.getDescription());
+            }
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+            if (source.getRef() != null) {
+                target.setRef(source.getRef());
+            }
+            if (source.getRequired() != null) {
+                target.setRequired(source.getRequired());
+            }
+        });
+        register(APIResponseImpl.class, (target, source) -> {
+            target.setContent(mergeMaps(target.getContent(), source.getContent()));
+            if (source.getDescription() != null) {
+                target.setDescription(source.getDescription());
+            }
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+            target.setHeaders(mergeMaps(target.getHeaders(), source.getHeaders()));
+            target.setLinks(mergeMaps(target.getLinks(), source.getLinks()));
+            if (source.getRef() != null) {
+                target.setRef(source.getRef());
+            }
+        });
+        register(APIResponsesImpl.class, (target, source) -> {
+            target.setAPIResponses(mergeMaps(target.getAPIResponses(), source.getAPIResponses()));
+            if (target.getDefaultValue() != null || source.getDefaultValue() != null) {
+                target.setDefaultValue(MergeUtil.mergeObjects(target.getDefaultValue(), source.getDefaultValue()));
+            }
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+        });
+        register(OAuthFlowImpl.class, (target, source) -> {
+            if (source.getAuthorizationUrl() != null) {
+                target.setAuthorizationUrl(source.getAuthorizationUrl());
+            }
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+            if (source.getRefreshUrl() != null) {
+                target.setRefreshUrl(source.getRefreshUrl());
+            }
+            target.setScopes(mergeMaps(target.getScopes(), source.getScopes()));
+            if (source.getTokenUrl() != null) {
+                target.setTokenUrl(source.getTokenUrl());
+            }
+        });
+        register(OAuthFlowsImpl.class, (target, source) -> {
+            if (target.getAuthorizationCode() != null || source.getAuthorizationCode() != null) {
+                target.setAuthorizationCode(MergeUtil.mergeObjects(target.getAuthorizationCode(), source.getAuthorizationCode()));
+            }
+            if (target.getClientCredentials() != null || source.getClientCredentials() != null) {
+                target.setClientCredentials(MergeUtil.mergeObjects(target.getClientCredentials(), source.getClientCredentials()));
+            }
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+            if (target.getImplicit() != null || source.getImplicit() != null) {
+                target.setImplicit(MergeUtil.mergeObjects(target.getImplicit(), source.getImplicit()));
+            }
+            if (target.getPassword() != null || source.getPassword() != null) {
+                target.setPassword(MergeUtil.mergeObjects(target.getPassword(), source.getPassword()));
+            }
+        });
+        register(ScopesImpl.class, (target, source) -> {
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+            target.setScopes(mergeMaps(target.getScopes(), source.getScopes()));
+        });
+        register(SecurityRequirementImpl.class, (target, source) -> {
+            target.setSchemes(mergeMaps(target.getSchemes(), source.getSchemes()));
+        });
+        register(SecuritySchemeImpl.class, (target, source) -> {
+            if (source.getBearerFormat() != null) {
+                target.setBearerFormat(source.getBearerFormat());
+            }
+            if (source.getDescription() != null) {
+                target.setDescription(source.getDescription());
+            }
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+            if (target.getFlows() != null || source.getFlows() != null) {
+                target.setFlows(MergeUtil.mergeObjects(target.getFlows(), source.getFlows()));
+            }
+            if (source.getIn() != null) {
+                target.setIn(source.getIn());
+            }
+            if (source.getName() != null) {
+                target.setName(source.getName());
+            }
+            if (source.getOpenIdConnectUrl() != null) {
+                target.setOpenIdConnectUrl(source.getOpenIdConnectUrl());
+            }
+            if (source.getRef() != null) {
+                target.setRef(source.getRef());
+            }
+            if (source.getScheme() != null) {
+                target.setScheme(source.getScheme());
+            }
+            if (source.getType() != null) {
+                target.setType(source.getType());
+            }
+        });
+        register(ServerImpl.class, (target, source) -> {
+            if (source.getDescription() != null) {
+                target.setDescription(source.getDescription());
+            }
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+            if (source.getUrl() != null) {
+                target.setUrl(source.getUrl());
+            }
+            target.setVariables(mergeMaps(target.getVariables(), source.getVariables()));
+        });
+        register(ServerVariableImpl.class, (target, source) -> {
+            if (source.getDefaultValue() != null) {
+                target.setDefaultValue(source.getDefaultValue());
+            }
+            if (source.getDescription() != null) {
+                target.setDescription(source.getDescription());
+            }
+            target.setEnumeration(mergeLists(target.getEnumeration(), source.getEnumeration()));
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+        });
+        register(ServerVariablesImpl.class, (target, source) -> {
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+            target.setServerVariables(mergeMaps(target.getServerVariables(), source.getServerVariables()));
+        });
+        register(TagImpl.class, (target, source) -> {
+            if (source.getDescription() != null) {
+                target.setDescription(source.getDescription());
+            }
+            target.setExtensions(mergeMaps(target.getExtensions(), source.getExtensions()));
+            if (target.getExternalDocs() != null || source.getExternalDocs() != null) {
+                target.setExternalDocs(MergeUtil.mergeObjects(target.getExternalDocs(), source.getExternalDocs()));
+            }
+            if (source.getName() != null) {
+                target.setName(source.getName());
+            }
+        });
+    }
+
+    private ModelMergers() {
+    }
+
+    private static <T> void register(Class<T> modelClass, Merger<T> merger) {
+        MERGERS.put(modelClass, merger);
+    }
+
+    /**
+     * @param modelClass class of the objects to merge
+     * @return the merger of the class, or null if it is not one of the model classes
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Merger<T> get(Class<?> modelClass) {
+        return (Merger<T>) MERGERS.get(modelClass);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <M extends Map<?, ?>> M mergeMaps(M values1, M values2) {
+        return (M) MergeUtil.mergeMaps(values1, values2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <L extends List<?>> L mergeLists(L values1, L values2) {
+        return (L) MergeUtil.mergeLists(values1, values2);
+    }
+}
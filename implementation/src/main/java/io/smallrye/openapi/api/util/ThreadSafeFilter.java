@@ -0,0 +1,28 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.smallrye.openapi.api.util;
+
+import org.eclipse.microprofile.openapi.OASFilter;
+
+/**
+ * An {@link OASFilter} whose methods may be called concurrently by several threads, each
+ * with a different model element. {@link FilterUtil#applyFilter(OASFilter, org.eclipse.microprofile.openapi.models.OpenAPI)}
+ * filters the entries of the paths and of the components of a model in parallel when the
+ * filter implements this interface.
+ */
+public interface ThreadSafeFilter extends OASFilter {
+}
@@ -17,6 +17,7 @@
 package io.smallrye.openapi.runtime;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 import org.eclipse.microprofile.openapi.OASFilter;
 import org.eclipse.microprofile.openapi.OASModelReader;
@@ -24,8 +25,10 @@ import org.eclipse.microprofile.openapi.models.OpenAPI;
 import org.jboss.jandex.IndexView;
 
 import io.smallrye.openapi.api.OpenApiConfig;
+import io.smallrye.openapi.api.OpenApiConstants;
 import io.smallrye.openapi.api.models.OpenAPIImpl;
-import io.smallrye.openapi.runtime.io.OpenApiParser;
+import io.smallrye.openapi.runtime.io.OpenApiSerializer.Format;
+import io.smallrye.openapi.runtime.io.OpenApiStreamingParser;
 import io.smallrye.openapi.runtime.scanner.OpenApiAnnotationScanner;
 
 /**
@@ -48,12 +51,34 @@ public class OpenApiProcessor {
             return null;
         }
         try {
-            return OpenApiParser.parse(staticFile.getContent(), staticFile.getFormat());
+            return OpenApiStreamingParser.parse(staticFile.getContent(), staticFile.getFormat());
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Finds the final OpenAPI document generated at build time (by the SmallRye OpenAPI Maven
+     * plugin) and, if it exists, returns it as an {@link OpenApiStaticFile}. If not found, returns
+     * null. When the generated document is present, the reader, static file, annotations and
+     * filter have already been applied, so the deployment does not need to be indexed or scanned.
+     * The caller is responsible for closing the stream of the returned file.
+     * 
+     * @param loader ClassLoader
+     * @return OpenApiStaticFile containing the generated document
+     */
+    public static OpenApiStaticFile generatedFile(ClassLoader loader) {
+        InputStream content = loader.getResourceAsStream(OpenApiConstants.GENERATED_DOCUMENT_JSON);
+        if (content != null) {
+            return new OpenApiStaticFile(content, Format.JSON);
+        }
+        content = loader.getResourceAsStream(OpenApiConstants.GENERATED_DOCUMENT_YAML);
+        if (content != null) {
+            return new OpenApiStaticFile(content, Format.YAML);
+        }
+        return null;
+    }
+
     /**
      * Create an {@link OpenAPI} model by scanning the deployment for relevant JAX-RS and
      * OpenAPI annotations. If scanning is disabled, this method returns null. If scanning
@@ -190,7 +190,7 @@ public final class JsonUtil {
         }
     }
 
-    private static boolean isIntegerValue(BigDecimal bd) {
+    static boolean isIntegerValue(BigDecimal bd) {
         return bd.signum() == 0 || bd.scale() <= 0 || bd.stripTrailingZeros().scale() <= 0;
     }
 }
@@ -0,0 +1,1611 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.smallrye.openapi.runtime.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.microprofile.openapi.models.Extensible;
+import org.eclipse.microprofile.openapi.models.ExternalDocumentation;
+import org.eclipse.microprofile.openapi.models.Operation;
+import org.eclipse.microprofile.openapi.models.PathItem;
+import org.eclipse.microprofile.openapi.models.Paths;
+import org.eclipse.microprofile.openapi.models.callbacks.Callback;
+import org.eclipse.microprofile.openapi.models.examples.Example;
+import org.eclipse.microprofile.openapi.models.headers.Header;
+import org.eclipse.microprofile.openapi.models.info.Contact;
+import org.eclipse.microprofile.openapi.models.info.Info;
+import org.eclipse.microprofile.openapi.models.info.License;
+import org.eclipse.microprofile.openapi.models.links.Link;
+import org.eclipse.microprofile.openapi.models.media.Content;
+import org.eclipse.microprofile.openapi.models.media.Discriminator;
+import org.eclipse.microprofile.openapi.models.media.Encoding;
+import org.eclipse.microprofile.openapi.models.media.Encoding.Style;
+import org.eclipse.microprofile.openapi.models.media.MediaType;
+import org.eclipse.microprofile.openapi.models.media.Schema;
+import org.eclipse.microprofile.openapi.models.media.Schema.SchemaType;
+import org.eclipse.microprofile.openapi.models.media.XML;
+import org.eclipse.microprofile.openapi.models.parameters.Parameter;
+import org.eclipse.microprofile.openapi.models.parameters.RequestBody;
+import org.eclipse.microprofile.openapi.models.responses.APIResponse;
+import org.eclipse.microprofile.openapi.models.responses.APIResponses;
+import org.eclipse.microprofile.openapi.models.security.OAuthFlow;
+import org.eclipse.microprofile.openapi.models.security.OAuthFlows;
+import org.eclipse.microprofile.openapi.models.security.Scopes;
+import org.eclipse.microprofile.openapi.models.security.SecurityRequirement;
+import org.eclipse.microprofile.openapi.models.security.SecurityScheme;
+import org.eclipse.microprofile.openapi.models.security.SecurityScheme.In;
+import org.eclipse.microprofile.openapi.models.security.SecurityScheme.Type;
+import org.eclipse.microprofile.openapi.models.servers.Server;
+import org.eclipse.microprofile.openapi.models.servers.ServerVariable;
+import org.eclipse.microprofile.openapi.models.servers.ServerVariables;
+import org.eclipse.microprofile.openapi.models.tags.Tag;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import io.smallrye.openapi.api.OpenApiConstants;
+import io.smallrye.openapi.api.models.ComponentsImpl;
+import io.smallrye.openapi.api.models.ExternalDocumentationImpl;
+import io.smallrye.openapi.api.models.OpenAPIImpl;
+import io.smallrye.openapi.api.models.OperationImpl;
+import io.smallrye.openapi.api.models.PathItemImpl;
+import io.smallrye.openapi.api.models.PathsImpl;
+import io.smallrye.openapi.api.models.callbacks.CallbackImpl;
+import io.smallrye.openapi.api.models.examples.ExampleImpl;
+import io.smallrye.openapi.api.models.headers.HeaderImpl;
+import io.smallrye.openapi.api.models.info.ContactImpl;
+import io.smallrye.openapi.api.models.info.InfoImpl;
+import io.smallrye.openapi.api.models.info.LicenseImpl;
+import io.smallrye.openapi.api.models.links.LinkImpl;
+import io.smallrye.openapi.api.models.media.ContentImpl;
+import io.smallrye.openapi.api.models.media.DiscriminatorImpl;
+import io.smallrye.openapi.api.models.media.EncodingImpl;
+import io.smallrye.openapi.api.models.media.MediaTypeImpl;
+import io.smallrye.openapi.api.models.media.SchemaImpl;
+import io.smallrye.openapi.api.models.media.XMLImpl;
+import io.smallrye.openapi.api.models.parameters.ParameterImpl;
+import io.smallrye.openapi.api.models.parameters.RequestBodyImpl;
+import io.smallrye.openapi.api.models.responses.APIResponseImpl;
+import io.smallrye.openapi.api.models.responses.APIResponsesImpl;
+import io.smallrye.openapi.api.models.security.OAuthFlowImpl;
+import io.smallrye.openapi.api.models.security.OAuthFlowsImpl;
+import io.smallrye.openapi.api.models.security.ScopesImpl;
+import io.smallrye.openapi.api.models.security.SecurityRequirementImpl;
+import io.smallrye.openapi.api.models.security.SecuritySchemeImpl;
+import io.smallrye.openapi.api.models.servers.ServerImpl;
+import io.smallrye.openapi.api.models.servers.ServerVariableImpl;
+import io.smallrye.openapi.api.models.servers.ServerVariablesImpl;
+import io.smallrye.openapi.api.models.tags.TagImpl;
+import io.smallrye.openapi.runtime.io.OpenApiSerializer.Format;
+
+/**
+ * Parses an OpenAPI document (either YAML or JSON) into a Microprofile OpenAPI model
+ * directly from the token stream of a {@link JsonParser}, without first building an
+ * intermediate {@link JsonNode} tree of the whole document. Peak memory use is therefore
+ * bounded by the size of the resulting model rather than the model plus the tree.
+ *
+ * Every property is interpreted the same way whether the tokens come from a document or
+ * from an existing tree (e.g. scalar coercion, handling of values of an unexpected type,
+ * and detection of extensions).
+ */
+public class OpenApiStreamingParser {
+
+    private static final JsonNodeFactory factory = JsonNodeFactory.instance;
+
+    private static final Map<String, Style> ENCODING_STYLE_LOOKUP = new LinkedHashMap<>();
+    private static final Map<String, org.eclipse.microprofile.openapi.models.parameters.Parameter.Style> PARAMETER_STYLE_LOOKUP = new LinkedHashMap<>();
+    private static final Map<String, org.eclipse.microprofile.openapi.models.headers.Header.Style> HEADER_STYLE_LOOKUP = new LinkedHashMap<>();
+    private static final Map<String, Type> SECURITY_SCHEME_TYPE_LOOKUP = new LinkedHashMap<>();
+    private static final Map<String, In> SECURITY_SCHEME_IN_LOOKUP = new LinkedHashMap<>();
+    private static final Map<String, org.eclipse.microprofile.openapi.models.parameters.Parameter.In> PARAMETER_IN_LOOKUP = new LinkedHashMap<>();
+
+    static {
+        Style[] encodingStyleValues = Style.values();
+        for (Style style : encodingStyleValues) {
+            ENCODING_STYLE_LOOKUP.put(style.toString(), style);
+        }
+
+        org.eclipse.microprofile.openapi.models.parameters.Parameter.Style[] parameterStyleValues = org.eclipse.microprofile.openapi.models.parameters.Parameter.Style
+                .values();
+        for (org.eclipse.microprofile.openapi.models.parameters.Parameter.Style style : parameterStyleValues) {
+            PARAMETER_STYLE_LOOKUP.put(style.toString(), style);
+        }
+
+        org.eclipse.microprofile.openapi.models.headers.Header.Style[] headerStyleValues = org.eclipse.microprofile.openapi.models.headers.Header.Style
+                .values();
+        for (org.eclipse.microprofile.openapi.models.headers.Header.Style style : headerStyleValues) {
+            HEADER_STYLE_LOOKUP.put(style.toString(), style);
+        }
+
+        Type[] securitySchemeTypes = Type.values();
+        for (Type type : securitySchemeTypes) {
+            SECURITY_SCHEME_TYPE_LOOKUP.put(type.toString(), type);
+        }
+
+        In[] securitySchemeIns = In.values();
+        for (In type : securitySchemeIns) {
+            SECURITY_SCHEME_IN_LOOKUP.put(type.toString(), type);
+        }
+
+        org.eclipse.microprofile.openapi.models.parameters.Parameter.In[] parameterIns = org.eclipse.microprofile.openapi.models.parameters.Parameter.In
+                .values();
+        for (org.eclipse.microprofile.openapi.models.parameters.Parameter.In type : parameterIns) {
+            PARAMETER_IN_LOOKUP.put(type.toString(), type);
+        }
+    }
+
+    /**
+     * Parses the resource found at the given stream. The format of the stream must
+     * be specified.
+     *
+     * @param stream InputStream containing an OpenAPI document
+     * @param format Format of the stream
+     * @return OpenAPIImpl parsed from the stream
+     * @throws IOException Errors in reading the stream
+     */
+    public static final OpenAPIImpl parse(InputStream stream, Format format) throws IOException {
+        try (JsonParser parser = factory(format).createParser(stream)) {
+            return new OpenApiStreamingParser(parser).parse();
+        }
+    }
+
+    private static JsonFactory factory(Format format) {
+        return format == Format.JSON ? ParserFactories.JSON : ParserFactories.YAML;
+    }
+
+    /**
+     * Parser factories configured the same way as the default JSON and YAML mappers.
+     * Factories are thread-safe and are shared by all streaming parsers.
+     */
+    private static final class ParserFactories {
+        static final ObjectMapper MAPPER = new ObjectMapper();
+        static final JsonFactory JSON = MAPPER.getFactory();
+        static final JsonFactory YAML = new ObjectMapper(new YAMLFactory()).getFactory();
+
+        private ParserFactories() {
+        }
+    }
+
+    /**
+     * Reads the value of the current token.
+     */
+    @FunctionalInterface
+    private interface ValueReader<T> {
+        T read() throws IOException;
+    }
+
+    /**
+     * Reads the value of the named property. The parser is positioned at the first
+     * token of the value.
+     */
+    @FunctionalInterface
+    private interface PropertyReader {
+        void read(String name) throws IOException;
+    }
+
+    private JsonParser parser;
+
+    /**
+     * Constructor.
+     *
+     * @param parser JsonParser, either not yet started or positioned at the start of the document
+     */
+    public OpenApiStreamingParser(JsonParser parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * Parses the token stream into an OpenAPI data model.
+     *
+     * @return OpenAPIImpl parsed from the token stream
+     * @throws IOException Errors in reading the token stream
+     */
+    public OpenAPIImpl parse() throws IOException {
+        OpenAPIImpl oai = new OpenAPIImpl();
+        if (parser.currentToken() != null || parser.nextToken() != null) {
+            readOpenAPI(oai);
+        }
+        return oai;
+    }
+
+    /**
+     * Reads the root OpenAPI node.
+     *
+     * @param model
+     */
+    private void readOpenAPI(OpenAPIImpl model) throws IOException {
+        readProperties(name -> {
+            switch (name) {
+                case OpenApiConstants.PROP_OPENAPI:
+                    model.setOpenapi(readString());
+                    break;
+                case OpenApiConstants.PROP_INFO:
+                    model.setInfo(readInfo());
+                    break;
+                case OpenApiConstants.PROP_EXTERNAL_DOCS:
+                    model.setExternalDocs(readExternalDocs());
+                    break;
+                case OpenApiConstants.PROP_SERVERS:
+                    model.setServers(readList(this::readServerItem));
+                    break;
+                case OpenApiConstants.PROP_SECURITY:
+                    model.setSecurity(readList(this::readSecurityRequirement));
+                    break;
+                case OpenApiConstants.PROP_TAGS:
+                    model.setTags(readList(this::readTag));
+                    break;
+                case OpenApiConstants.PROP_PATHS:
+                    model.setPaths(readPaths());
+                    break;
+                case OpenApiConstants.PROP_COMPONENTS:
+                    model.setComponents(readComponents());
+                    break;
+                default:
+                    readExtension(name, model);
+            }
+        });
+    }
+
+    /**
+     * Reads an {@link Info} OpenAPI node.
+     */
+    private Info readInfo() throws IOException {
+        InfoImpl model = new InfoImpl();
+        readProperties(name -> {
+            switch (name) {
+                case OpenApiConstants.PROP_TITLE:
+                    model.setTitle(readString());
+                    break;
+                case OpenApiConstants.PROP_DESCRIPTION:
+                    model.setDescription(readString());
+                    break;
+                case OpenApiConstants.PROP_TERMS_OF_SERVICE:
+                    model.setTermsOfService(readString());
+                    break;
+                case OpenApiConstants.PROP_CONTACT:
+                    model.setContact(readContact());
+                    break;
+                case OpenApiConstants.PROP_LICENSE:
+                    model.setLicense(readLicense());
+                    break;
+                case OpenApiConstants.PROP_VERSION:
+                    model.setVersion(readString());
+                    break;
+                default:
+                    readExtension(name, model);
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads an {@link Contact} OpenAPI node.
+     */
+    private Contact readContact() throws IOException {
+        ContactImpl model = new ContactImpl();
+        readProperties(name -> {
+            switch (name) {
+                case OpenApiConstants.PROP_NAME:
+                    model.setName(readString());
+                    break;
+                case OpenApiConstants.PROP_URL:
+                    model.setUrl(readString());
+                    break;
+                case OpenApiConstants.PROP_EMAIL:
+                    model.setEmail(readString());
+                    break;
+                default:
+                    readExtension(name, model);
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads an {@link License} OpenAPI node.
+     */
+    private License readLicense() throws IOException {
+        LicenseImpl model = new LicenseImpl();
+        readProperties(name -> {
+            switch (name) {
+                case OpenApiConstants.PROP_NAME:
+                    model.setName(readString());
+                    break;
+                case OpenApiConstants.PROP_URL:
+                    model.setUrl(readString());
+                    break;
+                default:
+                    readExtension(name, model);
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads an {@link ExternalDocumentation} OpenAPI node.
+     */
+    private ExternalDocumentation readExternalDocs() throws IOException {
+        ExternalDocumentationImpl model = new ExternalDocumentationImpl();
+        readProperties(name -> {
+            switch (name) {
+                case OpenApiConstants.PROP_DESCRIPTION:
+                    model.setDescription(readString());
+                    break;
+                case OpenApiConstants.PROP_URL:
+                    model.setUrl(readString());
+                    break;
+                default:
+                    readExtension(name, model);
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads a {@link Tag} OpenAPI node, an item of the document's tags list.
+     */
+    private Tag readTag() throws IOException {
+        TagImpl model = new TagImpl();
+        readProperties(name -> {
+            switch (name) {
+                case OpenApiConstants.PROP_NAME:
+                    model.setName(readString());
+                    break;
+                case OpenApiConstants.PROP_DESCRIPTION:
+                    model.setDescription(readString());
+                    break;
+                case OpenApiConstants.PROP_EXTERNAL_DOCS:
+                    model.setExternalDocs(readExternalDocs());
+                    break;
+                default:
+                    readExtension(name, model);
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads a {@link Server} OpenAPI node, an item of a servers list.
+     */
+    private Server readServerItem() throws IOException {
+        ServerImpl model = new ServerImpl();
+        readServerProperties(model);
+        return model;
+    }
+
+    /**
+     * Reads the {@link Server} OpenAPI node of a link.
+     */
+    private Server readServer() throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        ServerImpl model = new ServerImpl();
+        readServerProperties(model);
+        return model;
+    }
+
+    private void readServerProperties(ServerImpl model) throws IOException {
+        readProperties(name -> {
+            switch (name) {
+                case OpenApiConstants.PROP_URL:
+                    model.setUrl(readString());
+                    break;
+                case OpenApiConstants.PROP_DESCRIPTION:
+                    model.setDescription(readString());
+                    break;
+                case OpenApiConstants.PROP_VARIABLES:
+                    model.setVariables(readServerVariables());
+                    break;
+                default:
+                    readExtension(name, model);
+            }
+        });
+    }
+
+    /**
+     * Reads the {@link ServerVariables} OpenAPI node.
+     */
+    private ServerVariables readServerVariables() throws IOException {
+        ServerVariablesImpl model = new ServerVariablesImpl();
+        readProperties(name -> {
+            if (isExtension(name)) {
+                model.addExtension(name, readObject());
+            } else {
+                model.put(name, readServerVariable());
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads a {@link ServerVariable} OpenAPI node.
+     */
+    private ServerVariable readServerVariable() throws IOException {
+        ServerVariableImpl model = new ServerVariableImpl();
+        readProperties(name -> {
+            switch (name) {
+                case OpenApiConstants.PROP_ENUM:
+                    List<String> enums = readStringArray();
+                    if (enums != null) {
+                        model.setEnumeration(enums);
+                    }
+                    break;
+                case OpenApiConstants.PROP_DEFAULT:
+                    model.setDefaultValue(readString());
+                    break;
+                case OpenApiConstants.PROP_DESCRIPTION:
+                    model.setDescription(readString());
+                    break;
+                default:
+                    readExtension(name, model);
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads the {@link Paths} OpenAPI nodes.
+     */
+    private Paths readPaths() throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        PathsImpl model = new PathsImpl();
+        readProperties(name -> {
+            if (name.startsWith(OpenApiConstants.EXTENSION_PROPERTY_PREFIX)) {
+                model.addExtension(name, readObject());
+            } else if (isExtension(name)) {
+                // e.g. "X-Path": read as both a path item and an extension
+                JsonNode value = readTree();
+                model.addPathItem(name, readFromTree(value, this::readPathItem));
+                model.addExtension(name, readObject(value));
+            } else {
+                model.addPathItem(name, readPathItem());
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads the {@link Components} OpenAPI node.
+     */
+    private ComponentsImpl readComponents() throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        ComponentsImpl model = new ComponentsImpl();
+        readProperties(name -> {
+            switch (name) {
+                case OpenApiConstants.PROP_SCHEMAS:
+                    model.setSchemas(readMap(this::readSchema));
+                    break;
+                case OpenApiConstants.PROP_RESPONSES:
+                    model.setResponses(readMap(this::readAPIResponse));
+                    break;
+                case OpenApiConstants.PROP_PARAMETERS:
+                    model.setParameters(readMap(this::readParameter));
+                    break;
+                case OpenApiConstants.PROP_EXAMPLES:
+                    model.setExamples(readMap(this::readExample));
+                    break;
+                case OpenApiConstants.PROP_REQUEST_BODIES:
+                    model.setRequestBodies(readMap(this::readRequestBody));
+                    break;
+                case OpenApiConstants.PROP_HEADERS:
+                    model.setHeaders(readMap(this::readHeader));
+                    break;
+                case OpenApiConstants.PROP_SECURITY_SCHEMES:
+                    model.setSecuritySchemes(readMap(this::readSecurityScheme));
+                    break;
+                case OpenApiConstants.PROP_LINKS:
+                    model.setLinks(readMap(this::readLink));
+                    break;
+                case OpenApiConstants.PROP_CALLBACKS:
+                    model.setCallbacks(readMap(this::readCallback));
+                    break;
+                default:
+                    readExtension(name, model);
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads a {@link Schema} OpenAPI node.
+     */
+    private Schema readSchema() throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        SchemaImpl model = new SchemaImpl();
+        readProperties(name -> {
+            switch (name) {
+                case OpenApiConstants.PROP_$REF:
+                    model.setRef(readString());
+                    break;
+                case OpenApiConstants.PROP_FORMAT:
+                    model.setFormat(readString());
+                    break;
+                case OpenApiConstants.PROP_TITLE:
+                    model.setTitle(readString());
+                    break;
+                case OpenApiConstants.PROP_DESCRIPTION:
+                    model.setDescription(readString());
+                    break;
+                case OpenApiConstants.PROP_DEFAULT:
+                    model.setDefaultValue(readObject());
+                    break;
+                case OpenApiConstants.PROP_MULTIPLE_OF:
+                    model.setMultipleOf(readBigDecimal());
+                    break;
+                case OpenApiConstants.PROP_MAXIMUM:
+                    model.setMaximum(readBigDecimal());
+                    break;
+                case OpenApiConstants.PROP_EXCLUSIVE_MAXIMUM:
+                    model.setExclusiveMaximum(readBoolean());
+                    break;
+                case OpenApiConstants.PROP_MINIMUM:
+                    model.setMinimum(readBigDecimal());
+                    break;
+                case OpenApiConstants.PROP_EXCLUSIVE_MINIMUM:
+                    model.setExclusiveMinimum(readBoolean());
+                    break;
+                case OpenApiConstants.PROP_MAX_LENGTH:
+                    model.setMaxLength(readInteger());
+                    break;
+                case OpenApiConstants.PROP_MIN_LENGTH:
+                    model.setMinLength(readInteger());
+                    break;
+                case OpenApiConstants.PROP_PATTERN:
+                    model.setPattern(readString());
+                    break;
+                case OpenApiConstants.PROP_MAX_ITEMS:
+                    model.setMaxItems(readInteger());
+                    break;
+                case OpenApiConstants.PROP_MIN_ITEMS:
+                    model.setMinItems(readInteger());
+                    break;
+                case OpenApiConstants.PROP_UNIQUE_ITEMS:
+                    model.setUniqueItems(readBoolean());
+                    break;
+                case OpenApiConstants.PROP_MAX_PROPERTIES:
+                    model.setMaxProperties(readInteger());
+                    break;
+                case OpenApiConstants.PROP_MIN_PROPERTIES:
+                    model.setMinProperties(readInteger());
+                    break;
+                case OpenApiConstants.PROP_REQUIRED:
+                    model.setRequired(readStringArray());
+                    break;
+                case OpenApiConstants.PROP_ENUM:
+                    model.setEnumeration(readList(this::readObject));
+                    break;
+                case OpenApiConstants.PROP_TYPE:
+                    model.setType(readSchemaType());
+                    break;
+                case OpenApiConstants.PROP_ITEMS:
+                    model.setItems(readSchema());
+                    break;
+                case OpenApiConstants.PROP_NOT:
+                    model.setNot(readSchema());
+                    break;
+                case OpenApiConstants.PROP_ALL_OF:
+                    model.setAllOf(readList(this::readSchema));
+                    break;
+                case OpenApiConstants.PROP_PROPERTIES:
+                    model.setProperties(readMap(this::readSchema));
+                    break;
+                case OpenApiConstants.PROP_ADDITIONAL_PROPERTIES:
+                    if (parser.isExpectedStartObjectToken()) {
+                        model.setAdditionalPropertiesSchema(readSchema());
+                    } else {
+                        model.setAdditionalPropertiesBoolean(readBoolean());
+                    }
+                    break;
+                case OpenApiConstants.PROP_READ_ONLY:
+                    model.setReadOnly(readBoolean());
+                    break;
+                case OpenApiConstants.PROP_XML:
+                    model.setXml(readXML());
+                    break;
+                case OpenApiConstants.PROP_EXTERNAL_DOCS:
+                    model.setExternalDocs(readExternalDocs());
+                    break;
+                case OpenApiConstants.PROP_EXAMPLE:
+                    model.setExample(readObject());
+                    break;
+                case OpenApiConstants.PROP_ONE_OF:
+                    model.setOneOf(readList(this::readSchema));
+                    break;
+                case OpenApiConstants.PROP_ANY_OF:
+                    model.setAnyOf(readList(this::readSchema));
+                    break;
+                case OpenApiConstants.PROP_DISCRIMINATOR:
+                    model.setDiscriminator(readDiscriminator());
+                    break;
+                case OpenApiConstants.PROP_NULLABLE:
+                    model.setNullable(readBoolean());
+                    break;
+                case OpenApiConstants.PROP_WRITE_ONLY:
+                    model.setWriteOnly(readBoolean());
+                    break;
+                case OpenApiConstants.PROP_DEPRECATED:
+                    model.setDeprecated(readBoolean());
+                    break;
+                default:
+                    readExtension(name, model);
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads a {@link XML} OpenAPI node.
+     */
+    private XML readXML() throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        XMLImpl model = new XMLImpl();
+        readProperties(name -> {
+            switch (name) {
+                case OpenApiConstants.PROP_NAME:
+                    model.setName(readString());
+                    break;
+                case OpenApiConstants.PROP_NAMESPACE:
+                    model.setNamespace(readString());
+                    break;
+                case OpenApiConstants.PROP_PREFIX:
+                    model.setPrefix(readString());
+                    break;
+                case OpenApiConstants.PROP_ATTRIBUTE:
+                    model.setAttribute(readBoolean());
+                    break;
+                case OpenApiConstants.PROP_WRAPPED:
+                    model.setWrapped(readBoolean());
+                    break;
+                default:
+                    readExtension(name, model);
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads a {@link Discriminator} OpenAPI node.
+     */
+    private Discriminator readDiscriminator() throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        DiscriminatorImpl model = new DiscriminatorImpl();
+        readProperties(name -> {
+            switch (name) {
+                case OpenApiConstants.PROP_PROPERTY_NAME:
+                    model.setPropertyName(readString());
+                    break;
+                case OpenApiConstants.PROP_MAPPING:
+                    model.setMapping(readMap(this::readString));
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads a {@link APIResponse} OpenAPI node.
+     */
+    private APIResponse readAPIResponse() throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        APIResponseImpl model = new APIResponseImpl();
+        readProperties(name -> {
+            switch (name) {
+                case OpenApiConstants.PROP_$REF:
+                    model.setRef(readString());
+                    break;
+                case OpenApiConstants.PROP_DESCRIPTION:
+                    model.setDescription(readString());
+                    break;
+                case OpenApiConstants.PROP_HEADERS:
+                    model.setHeaders(readMap(this::readHeader));
+                    break;
+                case OpenApiConstants.PROP_CONTENT:
+                    model.setContent(readContent());
+                    break;
+                case OpenApiConstants.PROP_LINKS:
+                    model.setLinks(readMap(this::readLink));
+                    break;
+                default:
+                    readExtension(name, model);
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads a {@link Content} OpenAPI node.
+     */
+    private Content readContent() throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        ContentImpl model = new ContentImpl();
+        readProperties(name -> model.addMediaType(name, readMediaType()));
+        return model;
+    }
+
+    /**
+     * Reads a {@link MediaType} OpenAPI node.
+     */
+    private MediaType readMediaType() throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        MediaTypeImpl model = new MediaTypeImpl();
+        readProperties(name -> {
+            switch (name) {
+                case OpenApiConstants.PROP_SCHEMA:
+                    model.setSchema(readSchema());
+                    break;
+                case OpenApiConstants.PROP_EXAMPLE:
+                    model.setExample(readObject());
+                    break;
+                case OpenApiConstants.PROP_EXAMPLES:
+                    model.setExamples(readMap(this::readExample));
+                    break;
+                case OpenApiConstants.PROP_ENCODING:
+                    model.setEncoding(readMap(this::readEncoding));
+                    break;
+                default:
+                    readExtension(name, model);
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads a {@link Encoding} OpenAPI node.
+     */
+    private Encoding readEncoding() throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        EncodingImpl model = new EncodingImpl();
+        readProperties(name -> {
+            switch (name) {
+                case OpenApiConstants.PROP_CONTENT_TYPE:
+                    model.setContentType(readString());
+                    break;
+                case OpenApiConstants.PROP_HEADERS:
+                    model.setHeaders(readMap(this::readHeader));
+                    break;
+                case OpenApiConstants.PROP_STYLE:
+                    model.setStyle(readEnum(ENCODING_STYLE_LOOKUP));
+                    break;
+                case OpenApiConstants.PROP_EXPLODE:
+                    model.setExplode(readBoolean());
+                    break;
+                case OpenApiConstants.PROP_ALLOW_RESERVED:
+                    model.setAllowReserved(readBoolean());
+                    break;
+                default:
+                    readExtension(name, model);
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads a {@link Parameter} OpenAPI node.
+     */
+    private Parameter readParameter() throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        ParameterImpl model = new ParameterImpl();
+        readProperties(name -> {
+            switch (name) {
+                case OpenApiConstants.PROP_$REF:
+                    model.setRef(readString());
+                    break;
+                case OpenApiConstants.PROP_NAME:
+                    model.setName(readString());
+                    break;
+                case OpenApiConstants.PROP_IN:
+                    model.setIn(readEnum(PARAMETER_IN_LOOKUP));
+                    break;
+                case OpenApiConstants.PROP_DESCRIPTION:
+                    model.setDescription(readString());
+                    break;
+                case OpenApiConstants.PROP_REQUIRED:
+                    model.setRequired(readBoolean());
+                    break;
+                case OpenApiConstants.PROP_SCHEMA:
+                    model.setSchema(readSchema());
+                    break;
+                case OpenApiConstants.PROP_ALLOW_EMPTY_VALUE:
+                    model.setAllowEmptyValue(readBoolean());
+                    break;
+                case OpenApiConstants.PROP_DEPRECATED:
+                    model.setDeprecated(readBoolean());
+                    break;
+                case OpenApiConstants.PROP_STYLE:
+                    model.setStyle(readEnum(PARAMETER_STYLE_LOOKUP));
+                    break;
+                case OpenApiConstants.PROP_EXPLODE:
+                    model.setExplode(readBoolean());
+                    break;
+                case OpenApiConstants.PROP_ALLOW_RESERVED:
+                    model.setAllowReserved(readBoolean());
+                    break;
+                case OpenApiConstants.PROP_EXAMPLE:
+                    model.setExample(readObject());
+                    break;
+                case OpenApiConstants.PROP_EXAMPLES:
+                    model.setExamples(readMap(this::readExample));
+                    break;
+                case OpenApiConstants.PROP_CONTENT:
+                    model.setContent(readContent());
+                    break;
+                default:
+                    readExtension(name, model);
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads a {@link Example} OpenAPI node.
+     */
+    private Example readExample() throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        ExampleImpl model = new ExampleImpl();
+        readProperties(name -> {
+            switch (name) {
+                case OpenApiConstants.PROP_$REF:
+                    model.setRef(readString());
+                    break;
+                case OpenApiConstants.PROP_SUMMARY:
+                    model.setSummary(readString());
+                    break;
+                case OpenApiConstants.PROP_DESCRIPTION:
+                    model.setDescription(readString());
+                    break;
+                case OpenApiConstants.PROP_VALUE:
+                    model.setValue(readObject());
+                    break;
+                case OpenApiConstants.PROP_EXTERNAL_VALUE:
+                    model.setExternalValue(readString());
+                    break;
+                default:
+                    readExtension(name, model);
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads a {@link RequestBody} OpenAPI node.
+     */
+    private RequestBody readRequestBody() throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        RequestBodyImpl model = new RequestBodyImpl();
+        readProperties(name -> {
+            switch (name) {
+                case OpenApiConstants.PROP_$REF:
+                    model.setRef(readString());
+                    break;
+                case OpenApiConstants.PROP_DESCRIPTION:
+                    model.setDescription(readString());
+                    break;
+                case OpenApiConstants.PROP_CONTENT:
+                    model.setContent(readContent());
+                    break;
+                case OpenApiConstants.PROP_REQUIRED:
+                    model.setRequired(readBoolean());
+                    break;
+                default:
+                    readExtension(name, model);
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads a {@link Header} OpenAPI node.
+     */
+    private Header readHeader() throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        HeaderImpl model = new HeaderImpl();
+        // The style is only set when present in the document, not defaulted
+        model.setStyle(null);
+        readProperties(name -> {
+            switch (name) {
+                case OpenApiConstants.PROP_$REF:
+                    model.setRef(readString());
+                    break;
+                case OpenApiConstants.PROP_DESCRIPTION:
+                    model.setDescription(readString());
+                    break;
+                case OpenApiConstants.PROP_REQUIRED:
+                    model.setRequired(readBoolean());
+                    break;
+                case OpenApiConstants.PROP_DEPRECATED:
+                    model.setDeprecated(readBoolean());
+                    break;
+                case OpenApiConstants.PROP_ALLOW_EMPTY_VALUE:
+                    model.setAllowEmptyValue(readBoolean());
+                    break;
+                case OpenApiConstants.PROP_STYLE:
+                    model.setStyle(readEnum(HEADER_STYLE_LOOKUP));
+                    break;
+                case OpenApiConstants.PROP_EXPLODE:
+                    model.setExplode(readBoolean());
+                    break;
+                case OpenApiConstants.PROP_SCHEMA:
+                    model.setSchema(readSchema());
+                    break;
+                case OpenApiConstants.PROP_EXAMPLE:
+                    model.setExample(readObject());
+                    break;
+                case OpenApiConstants.PROP_EXAMPLES:
+                    model.setExamples(readMap(this::readExample));
+                    break;
+                case OpenApiConstants.PROP_CONTENT:
+                    model.setContent(readContent());
+                    break;
+                default:
+                    readExtension(name, model);
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads a {@link SecurityScheme} OpenAPI node.
+     */
+    private SecurityScheme readSecurityScheme() throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        SecuritySchemeImpl model = new SecuritySchemeImpl();
+        readProperties(name -> {
+            switch (name) {
+                case OpenApiConstants.PROP_$REF:
+                    model.setRef(readString());
+                    break;
+                case OpenApiConstants.PROP_TYPE:
+                    model.setType(readEnum(SECURITY_SCHEME_TYPE_LOOKUP));
+                    break;
+                case OpenApiConstants.PROP_DESCRIPTION:
+                    model.setDescription(readString());
+                    break;
+                case OpenApiConstants.PROP_NAME:
+                    model.setName(readString());
+                    break;
+                case OpenApiConstants.PROP_IN:
+                    model.setIn(readEnum(SECURITY_SCHEME_IN_LOOKUP));
+                    break;
+                case OpenApiConstants.PROP_SCHEME:
+                    model.setScheme(readString());
+                    break;
+                case OpenApiConstants.PROP_BEARER_FORMAT:
+                    model.setBearerFormat(readString());
+                    break;
+                case OpenApiConstants.PROP_FLOWS:
+                    model.setFlows(readOAuthFlows());
+                    break;
+                case OpenApiConstants.PROP_OPEN_ID_CONNECT_URL:
+                    model.setOpenIdConnectUrl(readString());
+                    break;
+                default:
+                    readExtension(name, model);
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads an {@link OAuthFlows} OpenAPI node.
+     */
+    private OAuthFlows readOAuthFlows() throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        OAuthFlowsImpl model = new OAuthFlowsImpl();
+        readProperties(name -> {
+            switch (name) {
+                case OpenApiConstants.PROP_IMPLICIT:
+                    model.setImplicit(readOAuthFlow());
+                    break;
+                case OpenApiConstants.PROP_PASSWORD:
+                    model.setPassword(readOAuthFlow());
+                    break;
+                case OpenApiConstants.PROP_CLIENT_CREDENTIALS:
+                    model.setClientCredentials(readOAuthFlow());
+                    break;
+                case OpenApiConstants.PROP_AUTHORIZATION_CODE:
+                    model.setAuthorizationCode(readOAuthFlow());
+                    break;
+                default:
+                    readExtension(name, model);
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads an {@link OAuthFlow} OpenAPI node.
+     */
+    private OAuthFlow readOAuthFlow() throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        OAuthFlowImpl model = new OAuthFlowImpl();
+        readProperties(name -> {
+            switch (name) {
+                case OpenApiConstants.PROP_AUTHORIZATION_URL:
+                    model.setAuthorizationUrl(readString());
+                    break;
+                case OpenApiConstants.PROP_TOKEN_URL:
+                    model.setTokenUrl(readString());
+                    break;
+                case OpenApiConstants.PROP_REFRESH_URL:
+                    model.setRefreshUrl(readString());
+                    break;
+                case OpenApiConstants.PROP_SCOPES:
+                    model.setScopes(readScopes());
+                    break;
+                default:
+                    readExtension(name, model);
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads the {@link Scopes} OpenAPI node.
+     */
+    private Scopes readScopes() throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        ScopesImpl model = new ScopesImpl();
+        readProperties(name -> {
+            if (name.startsWith(OpenApiConstants.EXTENSION_PROPERTY_PREFIX)) {
+                model.addExtension(name, readObject());
+            } else if (isExtension(name)) {
+                // e.g. "X-Scope": read as both a scope and an extension
+                JsonNode value = readTree();
+                model.put(name, value.asText());
+                model.addExtension(name, readObject(value));
+            } else {
+                model.put(name, readString());
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads a {@link Link} OpenAPI node.
+     */
+    private Link readLink() throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        LinkImpl model = new LinkImpl();
+        readProperties(name -> {
+            switch (name) {
+                case OpenApiConstants.PROP_$REF:
+                    model.setRef(readString());
+                    break;
+                case OpenApiConstants.PROP_OPERATION_REF:
+                    model.setOperationRef(readString());
+                    break;
+                case OpenApiConstants.PROP_OPERATION_ID:
+                    model.setOperationId(readString());
+                    break;
+                case OpenApiConstants.PROP_PARAMETERS:
+                    model.setParameters(readMap(this::readObject));
+                    break;
+                case OpenApiConstants.PROP_REQUEST_BODY:
+                    model.setRequestBody(readObject());
+                    break;
+                case OpenApiConstants.PROP_DESCRIPTION:
+                    model.setDescription(readString());
+                    break;
+                case OpenApiConstants.PROP_SERVER:
+                    model.setServer(readServer());
+                    break;
+                default:
+                    readExtension(name, model);
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads a {@link Callback} OpenAPI node.
+     */
+    private Callback readCallback() throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        CallbackImpl model = new CallbackImpl();
+        readProperties(name -> {
+            if (name.equals(OpenApiConstants.PROP_$REF)) {
+                model.setRef(readString());
+            } else if (name.startsWith(OpenApiConstants.EXTENSION_PROPERTY_PREFIX)) {
+                model.addExtension(name, readObject());
+            } else if (isExtension(name)) {
+                // e.g. "X-Expression": read as both a path item and an extension
+                JsonNode value = readTree();
+                model.put(name, readFromTree(value, this::readPathItem));
+                model.addExtension(name, readObject(value));
+            } else {
+                model.put(name, readPathItem());
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads a {@link PathItem} OpenAPI node.
+     */
+    private PathItem readPathItem() throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        PathItemImpl model = new PathItemImpl();
+        readProperties(name -> {
+            switch (name) {
+                case OpenApiConstants.PROP_$REF:
+                    model.setRef(readString());
+                    break;
+                case OpenApiConstants.PROP_SUMMARY:
+                    model.setSummary(readString());
+                    break;
+                case OpenApiConstants.PROP_DESCRIPTION:
+                    model.setDescription(readString());
+                    break;
+                case OpenApiConstants.PROP_GET:
+                    model.setGET(readOperation());
+                    break;
+                case OpenApiConstants.PROP_PUT:
+                    model.setPUT(readOperation());
+                    break;
+                case OpenApiConstants.PROP_POST:
+                    model.setPOST(readOperation());
+                    break;
+                case OpenApiConstants.PROP_DELETE:
+                    model.setDELETE(readOperation());
+                    break;
+                case OpenApiConstants.PROP_OPTIONS:
+                    model.setOPTIONS(readOperation());
+                    break;
+                case OpenApiConstants.PROP_HEAD:
+                    model.setHEAD(readOperation());
+                    break;
+                case OpenApiConstants.PROP_PATCH:
+                    model.setPATCH(readOperation());
+                    break;
+                case OpenApiConstants.PROP_TRACE:
+                    model.setTRACE(readOperation());
+                    break;
+                case OpenApiConstants.PROP_PARAMETERS:
+                    model.setParameters(readList(this::readParameter));
+                    break;
+                case OpenApiConstants.PROP_SERVERS:
+                    model.setServers(readList(this::readServerItem));
+                    break;
+                default:
+                    readExtension(name, model);
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads a {@link Operation} OpenAPI node.
+     */
+    private Operation readOperation() throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        OperationImpl model = new OperationImpl();
+        readProperties(name -> {
+            switch (name) {
+                case OpenApiConstants.PROP_TAGS:
+                    model.setTags(readStringArray());
+                    break;
+                case OpenApiConstants.PROP_SUMMARY:
+                    model.setSummary(readString());
+                    break;
+                case OpenApiConstants.PROP_DESCRIPTION:
+                    model.setDescription(readString());
+                    break;
+                case OpenApiConstants.PROP_EXTERNAL_DOCS:
+                    model.setExternalDocs(readExternalDocs());
+                    break;
+                case OpenApiConstants.PROP_OPERATION_ID:
+                    model.setOperationId(readString());
+                    break;
+                case OpenApiConstants.PROP_PARAMETERS:
+                    model.setParameters(readList(this::readParameter));
+                    break;
+                case OpenApiConstants.PROP_REQUEST_BODY:
+                    model.setRequestBody(readRequestBody());
+                    break;
+                case OpenApiConstants.PROP_RESPONSES:
+                    model.setResponses(readAPIResponses());
+                    break;
+                case OpenApiConstants.PROP_CALLBACKS:
+                    model.setCallbacks(readMap(this::readCallback));
+                    break;
+                case OpenApiConstants.PROP_DEPRECATED:
+                    model.setDeprecated(readBoolean());
+                    break;
+                case OpenApiConstants.PROP_SECURITY:
+                    model.setSecurity(readList(this::readSecurityRequirement));
+                    break;
+                case OpenApiConstants.PROP_SERVERS:
+                    model.setServers(readList(this::readServerItem));
+                    break;
+                default:
+                    readExtension(name, model);
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads a {@link APIResponses} OpenAPI node. The default response, if any, is always
+     * the first entry of the model regardless of its position in the document.
+     */
+    private APIResponses readAPIResponses() throws IOException {
+        Map<String, APIResponse> responses = readMap(this::readAPIResponse);
+        if (responses == null) {
+            return null;
+        }
+        APIResponsesImpl model = new APIResponsesImpl();
+        model.setDefaultValue(responses.remove(OpenApiConstants.PROP_DEFAULT));
+        responses.forEach(model::addAPIResponse);
+        return model;
+    }
+
+    /**
+     * Reads a {@link SecurityRequirement} OpenAPI node.
+     */
+    private SecurityRequirement readSecurityRequirement() throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        SecurityRequirementImpl model = new SecurityRequirementImpl();
+        readProperties(name -> {
+            List<String> scopes = readStringArray();
+            if (scopes == null) {
+                model.addScheme(name);
+            } else {
+                model.addScheme(name, scopes);
+            }
+        });
+        return model;
+    }
+
+    /**
+     * Reads a schema type, which must be a string value.
+     */
+    private SchemaType readSchemaType() throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            parser.skipChildren();
+            return null;
+        }
+        return SchemaType.valueOf(parser.getText().toUpperCase());
+    }
+
+    /**
+     * Reads an enumerated value, which must be a string value.
+     */
+    private <E extends Enum<E>> E readEnum(Map<String, E> lookup) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            parser.skipChildren();
+            return null;
+        }
+        return lookup.get(parser.getText());
+    }
+
+    private List<String> readStringArray() throws IOException {
+        return readList(this::readString);
+    }
+
+    /**
+     * Reads an array, returning null (and skipping the value) for any other kind of value.
+     */
+    private <T> List<T> readList(ValueReader<T> reader) throws IOException {
+        if (!parser.isExpectedStartArrayToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        List<T> rval = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            rval.add(reader.read());
+        }
+        return rval;
+    }
+
+    /**
+     * Reads an object as a map, returning null (and skipping the value) for any other kind
+     * of value.
+     */
+    private <T> Map<String, T> readMap(ValueReader<T> reader) throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        Map<String, T> rval = new LinkedHashMap<>();
+        readProperties(name -> rval.put(name, reader.read()));
+        return rval;
+    }
+
+    /**
+     * Passes each property of the current object to the given reader, which must consume
+     * the property's value. Any other kind of value is skipped.
+     */
+    private void readProperties(PropertyReader reader) throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            reader.read(name);
+        }
+    }
+
+    private static boolean isExtension(String name) {
+        return name.toLowerCase().startsWith(OpenApiConstants.EXTENSION_PROPERTY_PREFIX);
+    }
+
+    private void readExtension(String name, Extensible<?> model) throws IOException {
+        if (isExtension(name)) {
+            model.addExtension(name, readObject());
+        } else {
+            parser.skipChildren();
+        }
+    }
+
+    private String readString() throws IOException {
+        return readScalar().asText();
+    }
+
+    private Boolean readBoolean() throws IOException {
+        return readScalar().asBoolean();
+    }
+
+    private Integer readInteger() throws IOException {
+        return readScalar().asInt();
+    }
+
+    private BigDecimal readBigDecimal() throws IOException {
+        return new BigDecimal(readScalar().asText());
+    }
+
+    /**
+     * Reads a value of any type as a plain Java object: a List for arrays, a Map for
+     * objects, and the corresponding boxed value or String for scalars.
+     */
+    private Object readObject() throws IOException {
+        if (parser.isExpectedStartArrayToken()) {
+            List<Object> items = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                items.add(readObject());
+            }
+            return items;
+        }
+        if (parser.isExpectedStartObjectToken()) {
+            Map<String, Object> items = new LinkedHashMap<>();
+            readProperties(name -> items.put(name, readObject()));
+            return items;
+        }
+        return readObject(readScalar());
+    }
+
+    /**
+     * Reads the node as a Java object. This is typically expected to be a literal of
+     * some sort, as in the case of default values and examples. The node may be anything
+     * from a string to a javascript object.
+     * 
+     * @param node
+     */
+    private static Object readObject(JsonNode node) {
+        if (node == null) {
+            return null;
+        }
+        if (node.isBigDecimal()) {
+            return new BigDecimal(node.asText());
+        }
+        if (node.isBigInteger()) {
+            return new BigInteger(node.asText());
+        }
+        if (node.isBoolean()) {
+            return node.asBoolean();
+        }
+        if (node.isDouble()) {
+            return node.asDouble();
+        }
+        if (node.isFloat()) {
+            return node.asDouble();
+        }
+        if (node.isInt()) {
+            return node.asInt();
+        }
+        if (node.isLong()) {
+            return node.asLong();
+        }
+        if (node.isTextual()) {
+            return node.asText();
+        }
+        if (node.isArray()) {
+            ArrayNode arrayNode = (ArrayNode) node;
+            List<Object> items = new ArrayList<>();
+            for (JsonNode itemNode : arrayNode) {
+                items.add(readObject(itemNode));
+            }
+            return items;
+        }
+        if (node.isObject()) {
+            Map<String, Object> items = new LinkedHashMap<>();
+            for (Iterator<Entry<String, JsonNode>> fields = node.fields(); fields.hasNext();) {
+                Entry<String, JsonNode> field = fields.next();
+                String fieldName = field.getKey();
+                Object fieldValue = readObject(field.getValue());
+                items.put(fieldName, fieldValue);
+            }
+            return items;
+        }
+        return null;
+    }
+
+    /**
+     * Reads the current value as a single {@link JsonNode}, created exactly as it would be
+     * when reading the whole tree. Nested values are skipped and represented by an empty
+     * container node, since only the scalar conversions of the node are used.
+     */
+    private JsonNode readScalar() throws IOException {
+        switch (parser.currentToken()) {
+            case START_OBJECT:
+                parser.skipChildren();
+                return factory.objectNode();
+            case START_ARRAY:
+                parser.skipChildren();
+                return factory.arrayNode();
+            case VALUE_STRING:
+                return factory.textNode(parser.getText());
+            case VALUE_NUMBER_INT:
+                switch (parser.getNumberType()) {
+                    case INT:
+                        return factory.numberNode(parser.getIntValue());
+                    case LONG:
+                        return factory.numberNode(parser.getLongValue());
+                    default:
+                        return factory.numberNode(parser.getBigIntegerValue());
+                }
+            case VALUE_NUMBER_FLOAT:
+                switch (parser.getNumberType()) {
+                    case BIG_DECIMAL:
+                        return factory.numberNode(parser.getDecimalValue());
+                    case FLOAT:
+                        return factory.numberNode(parser.getFloatValue());
+                    default:
+                        return factory.numberNode(parser.getDoubleValue());
+                }
+            case VALUE_TRUE:
+                return factory.booleanNode(true);
+            case VALUE_FALSE:
+                return factory.booleanNode(false);
+            case VALUE_EMBEDDED_OBJECT:
+                return embeddedNode(parser.getEmbeddedObject());
+            default:
+                return factory.nullNode();
+        }
+    }
+
+    private static JsonNode embeddedNode(Object value) {
+        if (value == null) {
+            return factory.nullNode();
+        }
+        if (value instanceof byte[]) {
+            return factory.binaryNode((byte[]) value);
+        }
+        if (value instanceof RawValue) {
+            return factory.rawValueNode((RawValue) value);
+        }
+        if (value instanceof JsonNode) {
+            return (JsonNode) value;
+        }
+        return factory.pojoNode(value);
+    }
+
+    /**
+     * Reads the current value as a tree, for the rare properties that are interpreted
+     * in two different ways.
+     */
+    private JsonNode readTree() throws IOException {
+        return ParserFactories.MAPPER.readTree(parser);
+    }
+
+    private <T> T readFromTree(JsonNode tree, ValueReader<T> reader) throws IOException {
+        JsonParser streamParser = this.parser;
+        try (JsonParser treeParser = tree.traverse()) {
+            treeParser.nextToken();
+            this.parser = treeParser;
+            return reader.read();
+        } finally {
+            this.parser = streamParser;
+        }
+    }
+}
@@ -0,0 +1,1217 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.smallrye.openapi.runtime.io;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.microprofile.openapi.models.Components;
+import org.eclipse.microprofile.openapi.models.Extensible;
+import org.eclipse.microprofile.openapi.models.ExternalDocumentation;
+import org.eclipse.microprofile.openapi.models.OpenAPI;
+import org.eclipse.microprofile.openapi.models.Operation;
+import org.eclipse.microprofile.openapi.models.PathItem;
+import org.eclipse.microprofile.openapi.models.Paths;
+import org.eclipse.microprofile.openapi.models.callbacks.Callback;
+import org.eclipse.microprofile.openapi.models.examples.Example;
+import org.eclipse.microprofile.openapi.models.headers.Header;
+import org.eclipse.microprofile.openapi.models.info.Contact;
+import org.eclipse.microprofile.openapi.models.info.Info;
+import org.eclipse.microprofile.openapi.models.info.License;
+import org.eclipse.microprofile.openapi.models.links.Link;
+import org.eclipse.microprofile.openapi.models.media.Content;
+import org.eclipse.microprofile.openapi.models.media.Discriminator;
+import org.eclipse.microprofile.openapi.models.media.Encoding;
+import org.eclipse.microprofile.openapi.models.media.MediaType;
+import org.eclipse.microprofile.openapi.models.media.Schema;
+import org.eclipse.microprofile.openapi.models.media.XML;
+import org.eclipse.microprofile.openapi.models.parameters.Parameter;
+import org.eclipse.microprofile.openapi.models.parameters.RequestBody;
+import org.eclipse.microprofile.openapi.models.responses.APIResponse;
+import org.eclipse.microprofile.openapi.models.responses.APIResponses;
+import org.eclipse.microprofile.openapi.models.security.OAuthFlow;
+import org.eclipse.microprofile.openapi.models.security.OAuthFlows;
+import org.eclipse.microprofile.openapi.models.security.SecurityRequirement;
+import org.eclipse.microprofile.openapi.models.security.SecurityScheme;
+import org.eclipse.microprofile.openapi.models.servers.Server;
+import org.eclipse.microprofile.openapi.models.servers.ServerVariable;
+import org.eclipse.microprofile.openapi.models.servers.ServerVariables;
+import org.eclipse.microprofile.openapi.models.tags.Tag;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.smallrye.openapi.api.OpenApiConstants;
+
+/**
+ * Serializes an OpenAPI model by emitting tokens directly to a Jackson {@link JsonGenerator}
+ * rather than first building a {@link JsonNode} tree, never holding more than the current nesting
+ * level in memory. All the serializations of {@link OpenApiSerializer} are written by this class,
+ * its tree being built from the tokens written to a buffer.
+ */
+public class OpenApiStreamingSerializer {
+
+    private final JsonGenerator generator;
+
+    /**
+     * Constructor.
+     *
+     * @param generator the generator receiving the tokens. The caller remains responsible for
+     *        flushing and closing it.
+     */
+    public OpenApiStreamingSerializer(JsonGenerator generator) {
+        this.generator = generator;
+    }
+
+    /**
+     * Writes the given model to the generator as a single root object.
+     *
+     * @param oai the OpenAPI model
+     * @throws IOException Errors writing to the generator
+     */
+    public void serialize(OpenAPI oai) throws IOException {
+        generator.writeStartObject();
+        writeOpenAPI(oai);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the given model.
+     *
+     * @param model
+     */
+    private void writeOpenAPI(OpenAPI model) throws IOException {
+        stringProperty(OpenApiConstants.PROP_OPENAPI, model.getOpenapi());
+        writeInfo(model.getInfo());
+        writeExternalDocumentation(model.getExternalDocs());
+        writeServers(model.getServers());
+        writeSecurity(model.getSecurity());
+        writeTags(model.getTags());
+        writePaths(model.getPaths());
+        writeComponents(model.getComponents());
+        writeExtensions(model);
+    }
+
+    /**
+     * Writes the {@link Info} model.
+     *
+     * @param model
+     */
+    private void writeInfo(Info model) throws IOException {
+        if (model == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(OpenApiConstants.PROP_INFO);
+        stringProperty(OpenApiConstants.PROP_TITLE, model.getTitle());
+        stringProperty(OpenApiConstants.PROP_DESCRIPTION, model.getDescription());
+        stringProperty(OpenApiConstants.PROP_TERMS_OF_SERVICE, model.getTermsOfService());
+        writeContact(model.getContact());
+        writeLicense(model.getLicense());
+        stringProperty(OpenApiConstants.PROP_VERSION, model.getVersion());
+        writeExtensions(model);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the {@link Contact} model.
+     *
+     * @param model
+     */
+    private void writeContact(Contact model) throws IOException {
+        if (model == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(OpenApiConstants.PROP_CONTACT);
+        stringProperty(OpenApiConstants.PROP_NAME, model.getName());
+        stringProperty(OpenApiConstants.PROP_URL, model.getUrl());
+        stringProperty(OpenApiConstants.PROP_EMAIL, model.getEmail());
+        writeExtensions(model);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the {@link License} model.
+     *
+     * @param model
+     */
+    private void writeLicense(License model) throws IOException {
+        if (model == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(OpenApiConstants.PROP_LICENSE);
+        stringProperty(OpenApiConstants.PROP_NAME, model.getName());
+        stringProperty(OpenApiConstants.PROP_URL, model.getUrl());
+        writeExtensions(model);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the {@link ExternalDocumentation} model.
+     *
+     * @param model
+     */
+    private void writeExternalDocumentation(ExternalDocumentation model) throws IOException {
+        if (model == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(OpenApiConstants.PROP_EXTERNAL_DOCS);
+        stringProperty(OpenApiConstants.PROP_DESCRIPTION, model.getDescription());
+        stringProperty(OpenApiConstants.PROP_URL, model.getUrl());
+        writeExtensions(model);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the {@link Tag} model array.
+     *
+     * @param tags
+     */
+    private void writeTags(List<Tag> tags) throws IOException {
+        if (tags == null) {
+            return;
+        }
+        generator.writeArrayFieldStart(OpenApiConstants.PROP_TAGS);
+        for (Tag tag : tags) {
+            generator.writeStartObject();
+            stringProperty(OpenApiConstants.PROP_NAME, tag.getName());
+            stringProperty(OpenApiConstants.PROP_DESCRIPTION, tag.getDescription());
+            writeExternalDocumentation(tag.getExternalDocs());
+            writeExtensions(tag);
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Writes the {@link Server} model array.
+     *
+     * @param servers
+     */
+    private void writeServers(List<Server> servers) throws IOException {
+        if (servers == null) {
+            return;
+        }
+        generator.writeArrayFieldStart(OpenApiConstants.PROP_SERVERS);
+        for (Server server : servers) {
+            generator.writeStartObject();
+            writeServerFields(server);
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Writes the properties of a {@link Server} model into the current object.
+     *
+     * @param model Server
+     */
+    private void writeServerFields(Server model) throws IOException {
+        stringProperty(OpenApiConstants.PROP_URL, model.getUrl());
+        stringProperty(OpenApiConstants.PROP_DESCRIPTION, model.getDescription());
+        writeServerVariables(model.getVariables());
+        writeExtensions(model);
+    }
+
+    /**
+     * Writes the {@link ServerVariables} model.
+     *
+     * @param variables
+     */
+    private void writeServerVariables(ServerVariables variables) throws IOException {
+        if (variables == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(OpenApiConstants.PROP_VARIABLES);
+        for (String varName : variables.keySet()) {
+            writeServerVariable(varName, variables.getServerVariable(varName));
+        }
+        writeExtensions(variables);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a {@link ServerVariable}.
+     *
+     * @param variableName
+     * @param model
+     */
+    private void writeServerVariable(String variableName, ServerVariable model) throws IOException {
+        if (model == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(variableName);
+        stringProperty(OpenApiConstants.PROP_DEFAULT, model.getDefaultValue());
+        stringProperty(OpenApiConstants.PROP_DESCRIPTION, model.getDescription());
+        List<String> enumeration = model.getEnumeration();
+        if (enumeration != null) {
+            generator.writeArrayFieldStart(OpenApiConstants.PROP_ENUM);
+            for (String enumValue : enumeration) {
+                generator.writeString(enumValue);
+            }
+            generator.writeEndArray();
+        }
+        writeExtensions(model);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the {@link SecurityRequirement} model array.
+     *
+     * @param security
+     */
+    private void writeSecurity(List<SecurityRequirement> security) throws IOException {
+        if (security == null) {
+            return;
+        }
+        generator.writeArrayFieldStart(OpenApiConstants.PROP_SECURITY);
+        for (SecurityRequirement securityRequirement : security) {
+            generator.writeStartObject();
+            for (String fieldName : securityRequirement.keySet()) {
+                List<String> values = securityRequirement.getScheme(fieldName);
+                generator.writeArrayFieldStart(fieldName);
+                if (values != null) {
+                    for (String value : values) {
+                        generator.writeString(value);
+                    }
+                }
+                generator.writeEndArray();
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Writes a {@link Paths}.
+     *
+     * @param paths
+     */
+    private void writePaths(Paths paths) throws IOException {
+        if (paths == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(OpenApiConstants.PROP_PATHS);
+        for (String pathName : paths.keySet()) {
+            writePathItem(paths.getPathItem(pathName), pathName);
+        }
+        writeExtensions(paths);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a {@link PathItem}.
+     *
+     * @param model
+     * @param pathName
+     */
+    private void writePathItem(PathItem model, String pathName) throws IOException {
+        if (model == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(pathName);
+        stringProperty(OpenApiConstants.PROP_$REF, model.getRef());
+        stringProperty(OpenApiConstants.PROP_SUMMARY, model.getSummary());
+        stringProperty(OpenApiConstants.PROP_DESCRIPTION, model.getDescription());
+        writeOperation(model.getGET(), OpenApiConstants.PROP_GET);
+        writeOperation(model.getPUT(), OpenApiConstants.PROP_PUT);
+        writeOperation(model.getPOST(), OpenApiConstants.PROP_POST);
+        writeOperation(model.getDELETE(), OpenApiConstants.PROP_DELETE);
+        writeOperation(model.getOPTIONS(), OpenApiConstants.PROP_OPTIONS);
+        writeOperation(model.getHEAD(), OpenApiConstants.PROP_HEAD);
+        writeOperation(model.getPATCH(), OpenApiConstants.PROP_PATCH);
+        writeOperation(model.getTRACE(), OpenApiConstants.PROP_TRACE);
+        writeParameterList(model.getParameters());
+        writeServers(model.getServers());
+        writeExtensions(model);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a {@link Operation}.
+     *
+     * @param model
+     * @param method
+     */
+    private void writeOperation(Operation model, String method) throws IOException {
+        if (model == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(method);
+        writeStringArray(model.getTags(), OpenApiConstants.PROP_TAGS);
+        stringProperty(OpenApiConstants.PROP_SUMMARY, model.getSummary());
+        stringProperty(OpenApiConstants.PROP_DESCRIPTION, model.getDescription());
+        writeExternalDocumentation(model.getExternalDocs());
+        stringProperty(OpenApiConstants.PROP_OPERATION_ID, model.getOperationId());
+        writeParameterList(model.getParameters());
+        writeRequestBody(model.getRequestBody(), OpenApiConstants.PROP_REQUEST_BODY);
+        writeAPIResponses(model.getResponses());
+        writeCallbacks(model.getCallbacks());
+        booleanProperty(OpenApiConstants.PROP_DEPRECATED, model.getDeprecated());
+        writeSecurityRequirements(model.getSecurity());
+        writeServers(model.getServers());
+        writeExtensions(model);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a {@link Content}.
+     *
+     * @param model
+     */
+    private void writeContent(Content model) throws IOException {
+        if (model == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(OpenApiConstants.PROP_CONTENT);
+        for (String name : model.keySet()) {
+            writeMediaType(model.getMediaType(name), name);
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a {@link MediaType}.
+     *
+     * @param model
+     * @param name
+     */
+    private void writeMediaType(MediaType model, String name) throws IOException {
+        if (model == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(name);
+        writeSchema(model.getSchema(), OpenApiConstants.PROP_SCHEMA);
+        writeObject(OpenApiConstants.PROP_EXAMPLE, model.getExample());
+        writeExamples(model.getExamples());
+        writeEncodings(model.getEncoding());
+        writeExtensions(model);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a {@link Schema} as a named property.
+     *
+     * @param model
+     * @param name
+     */
+    private void writeSchema(Schema model, String name) throws IOException {
+        if (model == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(name);
+        writeSchemaFields(model);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the properties of a {@link Schema} model into the current object.
+     *
+     * @param model
+     */
+    private void writeSchemaFields(Schema model) throws IOException {
+        stringProperty(OpenApiConstants.PROP_$REF, model.getRef());
+        stringProperty(OpenApiConstants.PROP_FORMAT, model.getFormat());
+        stringProperty(OpenApiConstants.PROP_TITLE, model.getTitle());
+        stringProperty(OpenApiConstants.PROP_DESCRIPTION, model.getDescription());
+        writeObject(OpenApiConstants.PROP_DEFAULT, model.getDefaultValue());
+        bigDecimalProperty(OpenApiConstants.PROP_MULTIPLE_OF, model.getMultipleOf());
+        bigDecimalProperty(OpenApiConstants.PROP_MAXIMUM, model.getMaximum());
+        booleanProperty(OpenApiConstants.PROP_EXCLUSIVE_MAXIMUM, model.getExclusiveMaximum());
+        bigDecimalProperty(OpenApiConstants.PROP_MINIMUM, model.getMinimum());
+        booleanProperty(OpenApiConstants.PROP_EXCLUSIVE_MINIMUM, model.getExclusiveMinimum());
+        intProperty(OpenApiConstants.PROP_MAX_LENGTH, model.getMaxLength());
+        intProperty(OpenApiConstants.PROP_MIN_LENGTH, model.getMinLength());
+        stringProperty(OpenApiConstants.PROP_PATTERN, model.getPattern());
+        intProperty(OpenApiConstants.PROP_MAX_ITEMS, model.getMaxItems());
+        intProperty(OpenApiConstants.PROP_MIN_ITEMS, model.getMinItems());
+        booleanProperty(OpenApiConstants.PROP_UNIQUE_ITEMS, model.getUniqueItems());
+        intProperty(OpenApiConstants.PROP_MAX_PROPERTIES, model.getMaxProperties());
+        intProperty(OpenApiConstants.PROP_MIN_PROPERTIES, model.getMinProperties());
+        writeStringArray(model.getRequired(), OpenApiConstants.PROP_REQUIRED);
+        writeObjectArray(model.getEnumeration(), OpenApiConstants.PROP_ENUM);
+        enumProperty(OpenApiConstants.PROP_TYPE, model.getType());
+        writeSchema(model.getItems(), OpenApiConstants.PROP_ITEMS);
+        writeSchemaList(model.getAllOf(), OpenApiConstants.PROP_ALL_OF);
+        writeSchemas(model.getProperties(), OpenApiConstants.PROP_PROPERTIES);
+        if (model.getAdditionalPropertiesBoolean() != null) {
+            booleanProperty(OpenApiConstants.PROP_ADDITIONAL_PROPERTIES, (Boolean) model.getAdditionalPropertiesBoolean());
+        } else {
+            writeSchema((Schema) model.getAdditionalPropertiesSchema(), OpenApiConstants.PROP_ADDITIONAL_PROPERTIES);
+        }
+        booleanProperty(OpenApiConstants.PROP_READ_ONLY, model.getReadOnly());
+        writeXML(model.getXml());
+        writeExternalDocumentation(model.getExternalDocs());
+        writeObject(OpenApiConstants.PROP_EXAMPLE, model.getExample());
+        writeSchemaList(model.getOneOf(), OpenApiConstants.PROP_ONE_OF);
+        writeSchemaList(model.getAnyOf(), OpenApiConstants.PROP_ANY_OF);
+        writeSchema(model.getNot(), OpenApiConstants.PROP_NOT);
+        writeDiscriminator(model.getDiscriminator());
+        booleanProperty(OpenApiConstants.PROP_NULLABLE, model.getNullable());
+        booleanProperty(OpenApiConstants.PROP_WRITE_ONLY, model.getWriteOnly());
+        booleanProperty(OpenApiConstants.PROP_DEPRECATED, model.getDeprecated());
+        writeExtensions(model);
+    }
+
+    /**
+     * Writes a {@link XML} object.
+     *
+     * @param model
+     */
+    private void writeXML(XML model) throws IOException {
+        if (model == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(OpenApiConstants.PROP_XML);
+        stringProperty(OpenApiConstants.PROP_NAME, model.getName());
+        stringProperty(OpenApiConstants.PROP_NAMESPACE, model.getNamespace());
+        stringProperty(OpenApiConstants.PROP_PREFIX, model.getPrefix());
+        booleanProperty(OpenApiConstants.PROP_ATTRIBUTE, model.getAttribute());
+        booleanProperty(OpenApiConstants.PROP_WRAPPED, model.getWrapped());
+        writeExtensions(model);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a {@link Discriminator} object.
+     *
+     * @param model
+     */
+    private void writeDiscriminator(Discriminator model) throws IOException {
+        if (model == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(OpenApiConstants.PROP_DISCRIMINATOR);
+        stringProperty(OpenApiConstants.PROP_PROPERTY_NAME, model.getPropertyName());
+        writeStringMap(model.getMapping(), OpenApiConstants.PROP_MAPPING);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a map of {@link Encoding} objects.
+     *
+     * @param models
+     */
+    private void writeEncodings(Map<String, Encoding> models) throws IOException {
+        if (models == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(OpenApiConstants.PROP_ENCODING);
+        for (Entry<String, Encoding> entry : models.entrySet()) {
+            writeEncoding(entry.getValue(), entry.getKey());
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a {@link Encoding} object.
+     *
+     * @param model
+     * @param name
+     */
+    private void writeEncoding(Encoding model, String name) throws IOException {
+        if (model == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(name);
+        stringProperty(OpenApiConstants.PROP_CONTENT_TYPE, model.getContentType());
+        writeHeaders(model.getHeaders());
+        enumProperty(OpenApiConstants.PROP_STYLE, model.getStyle());
+        booleanProperty(OpenApiConstants.PROP_EXPLODE, model.getExplode());
+        booleanProperty(OpenApiConstants.PROP_ALLOW_RESERVED, model.getAllowReserved());
+        writeExtensions(model);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a {@link APIResponses} map. The default response is written first, and not again
+     * when it is also found in the key set.
+     *
+     * @param model
+     */
+    private void writeAPIResponses(APIResponses model) throws IOException {
+        if (model == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(OpenApiConstants.PROP_RESPONSES);
+        APIResponse defaultValue = model.getDefaultValue();
+        writeAPIResponse(defaultValue, OpenApiConstants.PROP_DEFAULT);
+        for (String name : model.keySet()) {
+            if (defaultValue != null && OpenApiConstants.PROP_DEFAULT.equals(name)) {
+                continue;
+            }
+            writeAPIResponse(model.getAPIResponse(name), name);
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a {@link APIResponse} object.
+     *
+     * @param model
+     * @param name
+     */
+    private void writeAPIResponse(APIResponse model, String name) throws IOException {
+        if (model == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(name);
+        stringProperty(OpenApiConstants.PROP_$REF, model.getRef());
+        stringProperty(OpenApiConstants.PROP_DESCRIPTION, model.getDescription());
+        writeHeaders(model.getHeaders());
+        writeContent(model.getContent());
+        writeLinks(model.getLinks());
+        writeExtensions(model);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a list of {@link SecurityRequirement}.
+     *
+     * @param models
+     */
+    private void writeSecurityRequirements(List<SecurityRequirement> models) throws IOException {
+        if (models == null) {
+            return;
+        }
+        generator.writeArrayFieldStart(OpenApiConstants.PROP_SECURITY);
+        for (SecurityRequirement model : models) {
+            generator.writeStartObject();
+            if (model != null) {
+                for (String name : model.keySet()) {
+                    writeStringArray(model.getScheme(name), name);
+                }
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Writes a list of {@link Parameter}.
+     *
+     * @param models
+     */
+    private void writeParameterList(List<Parameter> models) throws IOException {
+        if (models == null) {
+            return;
+        }
+        generator.writeArrayFieldStart(OpenApiConstants.PROP_PARAMETERS);
+        for (Parameter model : models) {
+            generator.writeStartObject();
+            writeParameterFields(model);
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Writes the properties of a {@link Parameter} into the current object.
+     *
+     * @param model
+     */
+    private void writeParameterFields(Parameter model) throws IOException {
+        stringProperty(OpenApiConstants.PROP_$REF, model.getRef());
+        stringProperty(OpenApiConstants.PROP_NAME, model.getName());
+        enumProperty(OpenApiConstants.PROP_IN, model.getIn());
+        stringProperty(OpenApiConstants.PROP_DESCRIPTION, model.getDescription());
+        booleanProperty(OpenApiConstants.PROP_REQUIRED, model.getRequired());
+        writeSchema(model.getSchema(), OpenApiConstants.PROP_SCHEMA);
+        booleanProperty(OpenApiConstants.PROP_ALLOW_EMPTY_VALUE, model.getAllowEmptyValue());
+        booleanProperty(OpenApiConstants.PROP_DEPRECATED, model.getDeprecated());
+        enumProperty(OpenApiConstants.PROP_STYLE, model.getStyle());
+        booleanProperty(OpenApiConstants.PROP_EXPLODE, model.getExplode());
+        booleanProperty(OpenApiConstants.PROP_ALLOW_RESERVED, model.getAllowReserved());
+        writeObject(OpenApiConstants.PROP_EXAMPLE, model.getExample());
+        writeExamples(model.getExamples());
+        writeContent(model.getContent());
+        writeExtensions(model);
+    }
+
+    /**
+     * Writes the {@link Components}.
+     *
+     * @param components
+     */
+    private void writeComponents(Components components) throws IOException {
+        if (components == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(OpenApiConstants.PROP_COMPONENTS);
+        writeSchemas(components.getSchemas(), OpenApiConstants.PROP_SCHEMAS);
+        writeResponses(components.getResponses());
+        writeParameters(components.getParameters());
+        writeExamples(components.getExamples());
+        writeRequestBodies(components.getRequestBodies());
+        writeHeaders(components.getHeaders());
+        writeSecuritySchemes(components.getSecuritySchemes());
+        writeLinks(components.getLinks());
+        writeCallbacks(components.getCallbacks());
+        writeExtensions(components);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a map of {@link Schema}.
+     *
+     * @param schemas
+     * @param propertyName
+     */
+    private void writeSchemas(Map<String, Schema> schemas, String propertyName) throws IOException {
+        if (schemas == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(propertyName);
+        for (Entry<String, Schema> entry : schemas.entrySet()) {
+            writeSchema(entry.getValue(), entry.getKey());
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a list of {@link Schema}.
+     *
+     * @param models
+     * @param propertyName
+     */
+    private void writeSchemaList(List<Schema> models, String propertyName) throws IOException {
+        if (models == null) {
+            return;
+        }
+        generator.writeArrayFieldStart(propertyName);
+        for (Schema schema : models) {
+            generator.writeStartObject();
+            writeSchemaFields(schema);
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Writes a map of {@link APIResponse}.
+     *
+     * @param responses
+     */
+    private void writeResponses(Map<String, APIResponse> responses) throws IOException {
+        if (responses == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(OpenApiConstants.PROP_RESPONSES);
+        for (Entry<String, APIResponse> entry : responses.entrySet()) {
+            writeAPIResponse(entry.getValue(), entry.getKey());
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a map of {@link Parameter}.
+     *
+     * @param parameters
+     */
+    private void writeParameters(Map<String, Parameter> parameters) throws IOException {
+        if (parameters == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(OpenApiConstants.PROP_PARAMETERS);
+        for (Entry<String, Parameter> entry : parameters.entrySet()) {
+            Parameter model = entry.getValue();
+            if (model != null) {
+                generator.writeObjectFieldStart(entry.getKey());
+                writeParameterFields(model);
+                generator.writeEndObject();
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a map of {@link Example}.
+     *
+     * @param examples
+     */
+    private void writeExamples(Map<String, Example> examples) throws IOException {
+        if (examples == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(OpenApiConstants.PROP_EXAMPLES);
+        for (Entry<String, Example> entry : examples.entrySet()) {
+            writeExample(entry.getValue(), entry.getKey());
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a {@link Example} object.
+     *
+     * @param model
+     * @param name
+     */
+    private void writeExample(Example model, String name) throws IOException {
+        if (model == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(name);
+        stringProperty(OpenApiConstants.PROP_$REF, model.getRef());
+        stringProperty(OpenApiConstants.PROP_SUMMARY, model.getSummary());
+        stringProperty(OpenApiConstants.PROP_DESCRIPTION, model.getDescription());
+        writeObject(OpenApiConstants.PROP_VALUE, model.getValue());
+        stringProperty(OpenApiConstants.PROP_EXTERNAL_VALUE, model.getExternalValue());
+        writeExtensions(model);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a map of {@link RequestBody}.
+     *
+     * @param requestBodies
+     */
+    private void writeRequestBodies(Map<String, RequestBody> requestBodies) throws IOException {
+        if (requestBodies == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(OpenApiConstants.PROP_REQUEST_BODIES);
+        for (Entry<String, RequestBody> entry : requestBodies.entrySet()) {
+            writeRequestBody(entry.getValue(), entry.getKey());
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a {@link RequestBody} object.
+     *
+     * @param model
+     * @param name
+     */
+    private void writeRequestBody(RequestBody model, String name) throws IOException {
+        if (model == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(name);
+        stringProperty(OpenApiConstants.PROP_$REF, model.getRef());
+        stringProperty(OpenApiConstants.PROP_DESCRIPTION, model.getDescription());
+        writeContent(model.getContent());
+        booleanProperty(OpenApiConstants.PROP_REQUIRED, model.getRequired());
+        writeExtensions(model);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a map of {@link Header}.
+     *
+     * @param headers
+     */
+    private void writeHeaders(Map<String, Header> headers) throws IOException {
+        if (headers == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(OpenApiConstants.PROP_HEADERS);
+        for (Entry<String, Header> entry : headers.entrySet()) {
+            writeHeader(entry.getValue(), entry.getKey());
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a {@link Header} object.
+     *
+     * @param model
+     * @param name
+     */
+    private void writeHeader(Header model, String name) throws IOException {
+        if (model == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(name);
+        stringProperty(OpenApiConstants.PROP_$REF, model.getRef());
+        stringProperty(OpenApiConstants.PROP_DESCRIPTION, model.getDescription());
+        booleanProperty(OpenApiConstants.PROP_REQUIRED, model.getRequired());
+        booleanProperty(OpenApiConstants.PROP_DEPRECATED, model.getDeprecated());
+        booleanProperty(OpenApiConstants.PROP_ALLOW_EMPTY_VALUE, model.getAllowEmptyValue());
+        enumProperty(OpenApiConstants.PROP_STYLE, model.getStyle());
+        booleanProperty(OpenApiConstants.PROP_EXPLODE, model.getExplode());
+        writeSchema(model.getSchema(), OpenApiConstants.PROP_SCHEMA);
+        writeObject(OpenApiConstants.PROP_EXAMPLE, model.getExample());
+        writeExamples(model.getExamples());
+        writeContent(model.getContent());
+        writeExtensions(model);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a map of {@link SecurityScheme}.
+     *
+     * @param securitySchemes
+     */
+    private void writeSecuritySchemes(Map<String, SecurityScheme> securitySchemes) throws IOException {
+        if (securitySchemes == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(OpenApiConstants.PROP_SECURITY_SCHEMES);
+        for (Entry<String, SecurityScheme> entry : securitySchemes.entrySet()) {
+            writeSecurityScheme(entry.getValue(), entry.getKey());
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a {@link SecurityScheme} object.
+     *
+     * @param model
+     * @param name
+     */
+    private void writeSecurityScheme(SecurityScheme model, String name) throws IOException {
+        if (model == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(name);
+        stringProperty(OpenApiConstants.PROP_$REF, model.getRef());
+        enumProperty(OpenApiConstants.PROP_TYPE, model.getType());
+        stringProperty(OpenApiConstants.PROP_DESCRIPTION, model.getDescription());
+        stringProperty(OpenApiConstants.PROP_NAME, model.getName());
+        enumProperty(OpenApiConstants.PROP_IN, model.getIn());
+        stringProperty(OpenApiConstants.PROP_SCHEME, model.getScheme());
+        stringProperty(OpenApiConstants.PROP_BEARER_FORMAT, model.getBearerFormat());
+        writeOAuthFlows(model.getFlows());
+        stringProperty(OpenApiConstants.PROP_OPEN_ID_CONNECT_URL, model.getOpenIdConnectUrl());
+        writeExtensions(model);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a {@link OAuthFlows} object.
+     *
+     * @param model
+     */
+    private void writeOAuthFlows(OAuthFlows model) throws IOException {
+        if (model == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(OpenApiConstants.PROP_FLOWS);
+        writeOAuthFlow(model.getImplicit(), OpenApiConstants.PROP_IMPLICIT);
+        writeOAuthFlow(model.getPassword(), OpenApiConstants.PROP_PASSWORD);
+        writeOAuthFlow(model.getClientCredentials(), OpenApiConstants.PROP_CLIENT_CREDENTIALS);
+        writeOAuthFlow(model.getAuthorizationCode(), OpenApiConstants.PROP_AUTHORIZATION_CODE);
+        writeExtensions(model);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a {@link OAuthFlow} object.
+     *
+     * @param model
+     * @param name
+     */
+    private void writeOAuthFlow(OAuthFlow model, String name) throws IOException {
+        if (model == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(name);
+        stringProperty(OpenApiConstants.PROP_AUTHORIZATION_URL, model.getAuthorizationUrl());
+        stringProperty(OpenApiConstants.PROP_TOKEN_URL, model.getTokenUrl());
+        stringProperty(OpenApiConstants.PROP_REFRESH_URL, model.getRefreshUrl());
+        writeStringMap(model.getScopes(), OpenApiConstants.PROP_SCOPES);
+        writeExtensions(model);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a map of {@link Link}.
+     *
+     * @param links
+     */
+    private void writeLinks(Map<String, Link> links) throws IOException {
+        if (links == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(OpenApiConstants.PROP_LINKS);
+        for (Entry<String, Link> entry : links.entrySet()) {
+            writeLink(entry.getValue(), entry.getKey());
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a {@link Link} object.
+     *
+     * @param model
+     * @param name
+     */
+    private void writeLink(Link model, String name) throws IOException {
+        if (model == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(name);
+        stringProperty(OpenApiConstants.PROP_$REF, model.getRef());
+        stringProperty(OpenApiConstants.PROP_OPERATION_REF, model.getOperationRef());
+        stringProperty(OpenApiConstants.PROP_OPERATION_ID, model.getOperationId());
+        writeLinkParameters(model.getParameters());
+        writeObject(OpenApiConstants.PROP_REQUEST_BODY, model.getRequestBody());
+        stringProperty(OpenApiConstants.PROP_DESCRIPTION, model.getDescription());
+        writeServer(model.getServer());
+        writeExtensions(model);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the link parameters.
+     *
+     * @param parameters
+     */
+    private void writeLinkParameters(Map<String, Object> parameters) throws IOException {
+        if (parameters == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(OpenApiConstants.PROP_PARAMETERS);
+        for (Entry<String, Object> entry : parameters.entrySet()) {
+            writeObject(entry.getKey(), entry.getValue());
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a {@link Server} object.
+     *
+     * @param model
+     */
+    private void writeServer(Server model) throws IOException {
+        if (model == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(OpenApiConstants.PROP_SERVER);
+        writeServerFields(model);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a map of {@link Callback}.
+     *
+     * @param callbacks
+     */
+    private void writeCallbacks(Map<String, Callback> callbacks) throws IOException {
+        if (callbacks == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(OpenApiConstants.PROP_CALLBACKS);
+        for (Entry<String, Callback> entry : callbacks.entrySet()) {
+            writeCallback(entry.getValue(), entry.getKey());
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a {@link Callback} object.
+     *
+     * @param model
+     * @param name
+     */
+    private void writeCallback(Callback model, String name) throws IOException {
+        if (model == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(name);
+        stringProperty(OpenApiConstants.PROP_$REF, model.getRef());
+        for (String pathItemName : model.keySet()) {
+            writePathItem(model.getPathItem(pathItemName), pathItemName);
+        }
+        writeExtensions(model);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes extensions.
+     *
+     * @param model
+     */
+    private void writeExtensions(Extensible<?> model) throws IOException {
+        Map<String, Object> extensions = model.getExtensions();
+        if (extensions == null || extensions.isEmpty()) {
+            return;
+        }
+        for (Entry<String, Object> entry : extensions.entrySet()) {
+            writeObject(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Writes an array of strings.
+     *
+     * @param models
+     * @param propertyName
+     */
+    private void writeStringArray(List<String> models, String propertyName) throws IOException {
+        if (models == null) {
+            return;
+        }
+        generator.writeArrayFieldStart(propertyName);
+        for (String model : models) {
+            generator.writeString(model);
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Writes an array of objects.
+     *
+     * @param models
+     * @param propertyName
+     */
+    private void writeObjectArray(List<Object> models, String propertyName) throws IOException {
+        if (models == null) {
+            return;
+        }
+        generator.writeArrayFieldStart(propertyName);
+        for (Object model : models) {
+            writeValue(model);
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Writes a map of strings.
+     *
+     * @param models
+     * @param propertyName
+     */
+    private void writeStringMap(Map<String, String> models, String propertyName) throws IOException {
+        if (models == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(propertyName);
+        for (Entry<String, String> entry : models.entrySet()) {
+            generator.writeStringField(entry.getKey(), entry.getValue());
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a named value of arbitrary type, skipping null values.
+     *
+     * @param key String
+     * @param value Object
+     */
+    private void writeObject(String key, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        generator.writeFieldName(key);
+        writeValue(value);
+    }
+
+    /**
+     * Writes a value of arbitrary type. Numbers are normalized the same way a
+     * {@link com.fasterxml.jackson.databind.node.JsonNodeFactory JsonNodeFactory} normalizes
+     * them in a tree.
+     *
+     * @param value Object
+     */
+    @SuppressWarnings("unchecked")
+    private void writeValue(Object value) throws IOException {
+        if (value instanceof String) {
+            generator.writeString((String) value);
+        } else if (value instanceof JsonNode) {
+            generator.writeTree((JsonNode) value);
+        } else if (value instanceof BigDecimal) {
+            generator.writeNumber(normalize((BigDecimal) value));
+        } else if (value instanceof BigInteger) {
+            generator.writeNumber(normalize(new BigDecimal((BigInteger) value)));
+        } else if (value instanceof Boolean) {
+            generator.writeBoolean((Boolean) value);
+        } else if (value instanceof Double) {
+            generator.writeNumber((Double) value);
+        } else if (value instanceof Float) {
+            generator.writeNumber((Float) value);
+        } else if (value instanceof Integer) {
+            generator.writeNumber((Integer) value);
+        } else if (value instanceof Long) {
+            generator.writeNumber((Long) value);
+        } else if (value instanceof List) {
+            generator.writeStartArray();
+            for (Object valueItem : (List<Object>) value) {
+                writeValue(valueItem);
+            }
+            generator.writeEndArray();
+        } else if (value instanceof Map) {
+            generator.writeStartObject();
+            for (Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+                writeObject(entry.getKey(), entry.getValue());
+            }
+            generator.writeEndObject();
+        } else {
+            generator.writeNull();
+        }
+    }
+
+    private void stringProperty(String propertyName, String propertyValue) throws IOException {
+        if (propertyValue == null) {
+            return;
+        }
+        generator.writeStringField(propertyName, propertyValue);
+    }
+
+    private <E extends Enum<E>> void enumProperty(String propertyName, E propertyValue) throws IOException {
+        if (propertyValue == null) {
+            return;
+        }
+        generator.writeStringField(propertyName, propertyValue.toString());
+    }
+
+    private void booleanProperty(String propertyName, Boolean propertyValue) throws IOException {
+        if (propertyValue == null) {
+            return;
+        }
+        generator.writeBooleanField(propertyName, propertyValue);
+    }
+
+    private void intProperty(String propertyName, Integer propertyValue) throws IOException {
+        if (propertyValue == null) {
+            return;
+        }
+        generator.writeNumberField(propertyName, propertyValue);
+    }
+
+    /**
+     * Writes a BigDecimal property the same way as
+     * {@link JsonUtil#bigDecimalProperty(com.fasterxml.jackson.databind.node.ObjectNode, String, BigDecimal)}.
+     *
+     * @param propertyName Property to be set
+     * @param propertyValue BigDecimal value to be set
+     */
+    private void bigDecimalProperty(String propertyName, BigDecimal propertyValue) throws IOException {
+        if (propertyValue == null) {
+            return;
+        }
+        generator.writeFieldName(propertyName);
+        if (JsonUtil.isIntegerValue(propertyValue)) {
+            generator.writeNumber(propertyValue.toBigInteger());
+        } else {
+            generator.writeNumber(normalize(propertyValue));
+        }
+    }
+
+    /**
+     * Mirrors the normalization applied by the default
+     * {@link com.fasterxml.jackson.databind.node.JsonNodeFactory#numberNode(BigDecimal)}.
+     */
+    private static BigDecimal normalize(BigDecimal value) {
+        if (value.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+        return value.stripTrailingZeros();
+    }
+}
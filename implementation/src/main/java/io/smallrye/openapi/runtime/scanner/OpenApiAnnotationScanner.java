@@ -25,6 +25,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -32,6 +33,10 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -116,6 +121,10 @@ import io.smallrye.openapi.api.models.servers.ServerVariablesImpl;
 import io.smallrye.openapi.api.models.tags.TagImpl;
 import io.smallrye.openapi.api.util.MergeUtil;
 import io.smallrye.openapi.runtime.scanner.ParameterProcessor.ResourceParameters;
+import io.smallrye.openapi.runtime.scanner.dataobject.AugmentedIndexView;
+import io.smallrye.openapi.runtime.scanner.dataobject.SchemaCache;
+import io.smallrye.openapi.runtime.util.AnnotationPresenceIndex;
+import io.smallrye.openapi.runtime.util.AnnotationPresenceIndex.Family;
 import io.smallrye.openapi.runtime.util.JandexUtil;
 import io.smallrye.openapi.runtime.util.JandexUtil.RefType;
 import io.smallrye.openapi.runtime.util.ModelUtil;
@@ -138,14 +147,14 @@ public class OpenApiAnnotationScanner {
 
     private final OpenApiConfig config;
     private final IndexView index;
+    private final AnnotationPresenceIndex annotations;
 
-    private String currentAppPath = "";
-    private String[] currentConsumes;
-    private String[] currentProduces;
+    private final ResourceContext context;
+    private SchemaRegistry schemaRegistry;
+    private ModelUtil.TagIndex tagIndex;
 
     private String currentSecurityScheme;
     private List<OAuthFlow> currentFlows;
-    private String[] resourceRolesAllowed;
 
     private List<AnnotationScannerExtension> extensions;
 
@@ -169,31 +178,95 @@ public class OpenApiAnnotationScanner {
     public OpenApiAnnotationScanner(OpenApiConfig config, IndexView index, List<AnnotationScannerExtension> extensions) {
         this.config = config;
 
-        if (index instanceof FilteredIndexView) {
-            this.index = index;
-        } else {
-            this.index = new FilteredIndexView(index, config);
+        if (!(index instanceof FilteredIndexView)) {
+            index = new FilteredIndexView(index, config);
         }
 
+        // Shared by all the parts of the scan, see AugmentedIndexView#annotations
+        AugmentedIndexView augmentedIndex = new AugmentedIndexView(index);
+        this.index = augmentedIndex;
+        this.annotations = augmentedIndex.annotations();
+
         this.extensions = extensions;
+        this.context = new ResourceContext(null, false);
+    }
+
+    /**
+     * Constructor for a scanner that processes a single resource class on behalf
+     * of another scanner, using its own context.
+     * 
+     * @param parent the scanner performing the scan
+     * @param context the context of the resource class to be processed
+     * @param schemaRegistry the schema registry to be used for the resource class
+     * @param index the index to be used for the resource class
+     */
+    private OpenApiAnnotationScanner(OpenApiAnnotationScanner parent, ResourceContext context,
+            SchemaRegistry schemaRegistry, IndexView index) {
+        this.config = parent.config;
+        this.index = index;
+        this.annotations = parent.annotations;
+        this.extensions = parent.extensions;
+        this.currentSecurityScheme = parent.currentSecurityScheme;
+        this.currentFlows = parent.currentFlows;
+        this.context = context;
+        this.schemaRegistry = schemaRegistry;
     }
 
     /**
      * Scan the deployment for relevant annotations. Returns an OpenAPI data model that was
-     * built from those found annotations.
+     * built from those found annotations. JAX-RS resource classes are processed in parallel
+     * using the {@link ForkJoinPool#commonPool() common pool} when enabled by
+     * <code>mp.openapi.extensions.scan-parallel.enable</code>.
+     * 
+     * When a directory is configured by <code>mp.openapi.extensions.scan-cache.directory</code>,
+     * the parts of the model contributed by each JAX-RS resource class are stored in that
+     * directory, and later scans process again only the resource classes that depend on
+     * classes that have changed.
      * 
      * @return OpenAPIImpl generated from scanning annotations
      */
     public OpenAPIImpl scan() {
+        boolean parallel = config != null && config.scanParallelEnable();
+        return scan(parallel ? ForkJoinPool.commonPool() : null);
+    }
+
+    /**
+     * Scan the deployment for relevant annotations. Returns an OpenAPI data model that was
+     * built from those found annotations.
+     * 
+     * When an executor is given, the JAX-RS resource classes are processed concurrently by
+     * tasks submitted to it, and the results are merged in the same order used by a serial
+     * scan. The resulting model is identical to the model produced without an executor.
+     * Any {@link AnnotationScannerExtension}s must be safe for use by multiple threads
+     * when an executor is given.
+     * 
+     * @param executor executor used to process resource classes, or null to process them
+     *        on the calling thread
+     * @return OpenAPIImpl generated from scanning annotations
+     */
+    public OpenAPIImpl scan(Executor executor) {
         LOG.debug("Scanning deployment for OpenAPI and JAX-RS Annotations.");
 
         // Initialize a new OAI document.  Even if nothing is found, this will be returned.
         OpenAPIImpl oai = new OpenAPIImpl();
         oai.setOpenapi(OpenApiConstants.OPEN_API_VERSION);
 
-        // Creating a new instance of a registry which will be set on the thread context.
-        SchemaRegistry schemaRegistry = SchemaRegistry.newInstance(config, oai, index);
+        // Creating a new instance of a registry, used only for the duration of this scan.
+        this.schemaRegistry = SchemaRegistry.newInstance(config, oai, index);
+        this.tagIndex = new ModelUtil.TagIndex(oai);
+
+        try {
+            return scan(oai, executor);
+        } finally {
+            SchemaRegistry.clearCurrentInstance(this.schemaRegistry);
+            this.schemaRegistry = null;
+            this.tagIndex = null;
+            SchemaCache schemas = AugmentedIndexView.augment(index).schemas();
+            LOG.debugv("Data object schema cache: {0} hits, {1} misses", schemas.hits(), schemas.misses());
+        }
+    }
 
+    private OpenAPIImpl scan(OpenAPIImpl oai, Executor executor) {
         // Register custom schemas if available
         getCustomSchemaRegistry().registerCustomSchemas(schemaRegistry);
 
@@ -217,8 +290,15 @@ public class OpenApiAnnotationScanner {
 
         // Now find all jax-rs endpoints
         Collection<ClassInfo> resourceClasses = JandexUtil.getJaxRsResourceClasses(this.index);
-        for (ClassInfo resourceClass : resourceClasses) {
-            processJaxRsResourceClass(oai, resourceClass, null);
+        ScanCache cache = ScanCache.open(config, index);
+        if (cache != null) {
+            processJaxRsResourceClasses(oai, resourceClasses, executor, cache);
+        } else if (executor != null && resourceClasses.size() > 1) {
+            processJaxRsResourceClasses(oai, resourceClasses, executor);
+        } else {
+            for (ClassInfo resourceClass : resourceClasses) {
+                processJaxRsResourceClass(oai, resourceClass, null);
+            }
         }
 
         if (oai != null) {
@@ -331,9 +411,9 @@ public class OpenApiAnnotationScanner {
         }
         // TODO: Add support for Application selection when there are more than one
         if (appPathAnno != null) {
-            this.currentAppPath = appPathAnno.value().asString();
+            context.appPath = appPathAnno.value().asString();
         } else {
-            this.currentAppPath = "/";
+            context.appPath = "/";
         }
 
         // Get the @OpenAPIDefinition annotation and process it.
@@ -346,7 +426,7 @@ public class OpenApiAnnotationScanner {
 
         // Process @SecurityScheme annotations
         ////////////////////////////////////////
-        List<AnnotationInstance> securitySchemeAnnotations = JandexUtil.getRepeatableAnnotation(applicationClass,
+        List<AnnotationInstance> securitySchemeAnnotations = annotations.getRepeatableAnnotation(applicationClass,
                 OpenApiConstants.DOTNAME_SECURITY_SCHEME, OpenApiConstants.DOTNAME_SECURITY_SCHEMES);
         for (AnnotationInstance annotation : securitySchemeAnnotations) {
             String name = JandexUtil.stringValue(annotation, OpenApiConstants.PROP_SECURITY_SCHEME_NAME);
@@ -362,7 +442,7 @@ public class OpenApiAnnotationScanner {
 
         // Process @Server annotations
         ///////////////////////////////////
-        List<AnnotationInstance> serverAnnotations = JandexUtil.getRepeatableAnnotation(applicationClass,
+        List<AnnotationInstance> serverAnnotations = annotations.getRepeatableAnnotation(applicationClass,
                 OpenApiConstants.DOTNAME_SERVER, OpenApiConstants.DOTNAME_SERVERS);
         for (AnnotationInstance annotation : serverAnnotations) {
             Server server = readServer(annotation);
@@ -372,6 +452,192 @@ public class OpenApiAnnotationScanner {
         return oai;
     }
 
+    /**
+     * Processes the JAX-RS resource classes concurrently using the given executor. Each
+     * class is processed by a separate scanner with its own {@link ResourceContext} and
+     * a fork of the schema registry. Changes to the shared OpenAPI model are deferred
+     * and applied on the calling thread in the order of the resource classes, along with
+     * the schemas registered by each class. Should the schema names assigned by a fork
+     * differ from those the schema registry would assign at that point (or should the
+     * processing fail), the class is processed again on the calling thread, exactly as
+     * in a serial scan.
+     * 
+     * @param openApi the OpenAPI model being built
+     * @param resourceClasses the JAX-RS resource classes to process
+     * @param executor the executor that runs the tasks
+     */
+    private void processJaxRsResourceClasses(OpenAPIImpl openApi, Collection<ClassInfo> resourceClasses,
+            Executor executor) {
+        List<ResourceScan> scans = new ArrayList<>(resourceClasses.size());
+
+        for (ClassInfo resourceClass : resourceClasses) {
+            ResourceContext resourceContext = new ResourceContext(new ArrayList<>(), false);
+            resourceContext.appPath = context.appPath;
+            SchemaRegistry fork = schemaRegistry.fork();
+            OpenApiAnnotationScanner scanner = new OpenApiAnnotationScanner(this, resourceContext, fork, index);
+
+            CompletableFuture<Void> result = CompletableFuture
+                    .runAsync(() -> scanner.processJaxRsResourceClass(openApi, resourceClass, null), executor);
+
+            scans.add(new ResourceScan(resourceClass, resourceContext, fork, result, null, null));
+        }
+
+        for (ResourceScan scan : scans) {
+            if (scan.completed() && schemaRegistry.merge(scan.schemaRegistry)) {
+                scan.context.deferredUpdates.forEach(Runnable::run);
+            } else {
+                LOG.debugv("Repeating scan of JAX-RS resource class {0} on the calling thread", scan.resourceClass);
+                processJaxRsResourceClass(openApi, scan.resourceClass, null);
+            }
+        }
+    }
+
+    /**
+     * Processes the JAX-RS resource classes, reusing the parts of the model contributed by
+     * each class in an earlier scan when none of the classes it depends on have changed.
+     * Other classes are processed into a separate model for each class (concurrently when
+     * an executor is given) and stored in the cache. The models are added to the OpenAPI
+     * model in the order of the resource classes, as in a serial scan. Should the schema
+     * names used by a class differ from those the schema registry would assign at that
+     * point, the class is processed again.
+     * 
+     * @param openApi the OpenAPI model being built
+     * @param resourceClasses the JAX-RS resource classes to process
+     * @param executor the executor that runs the tasks, or null to process the classes
+     *        on the calling thread
+     * @param cache the cache of earlier scans
+     */
+    private void processJaxRsResourceClasses(OpenAPIImpl openApi, Collection<ClassInfo> resourceClasses,
+            Executor executor, ScanCache cache) {
+        String scanContext = scanContext();
+        List<ScanCache.Entry> entries = new ArrayList<>(resourceClasses.size());
+        List<ResourceScan> scans = new ArrayList<>(resourceClasses.size());
+
+        for (ClassInfo resourceClass : resourceClasses) {
+            ScanCache.Entry entry = cache.read(resourceClass, scanContext);
+            entries.add(entry);
+            scans.add(entry == null && executor != null ? scanJaxRsResourceClass(resourceClass, cache, executor) : null);
+        }
+
+        Iterator<ScanCache.Entry> cachedEntries = entries.iterator();
+        Iterator<ResourceScan> resourceScans = scans.iterator();
+
+        for (ClassInfo resourceClass : resourceClasses) {
+            ScanCache.Entry entry = cachedEntries.next();
+            ResourceScan scan = resourceScans.next();
+
+            if (entry != null && schemaRegistry.merge(entry.registrations, entry.lookups)) {
+                LOG.debugv("Using cached scan of JAX-RS resource class {0}", resourceClass);
+                addResourceModel(openApi, entry);
+                continue;
+            }
+
+            if (scan == null || !scan.completed() || !schemaRegistry.merge(scan.schemaRegistry)) {
+                // The fork is taken from the current registry, the merge will succeed
+                scan = scanJaxRsResourceClass(resourceClass, cache, null);
+                schemaRegistry.merge(scan.schemaRegistry);
+            }
+
+            entry = scan.entry();
+            cache.write(resourceClass, scanContext, entry, scan.index);
+            addResourceModel(openApi, entry);
+        }
+    }
+
+    /**
+     * Processes a single JAX-RS resource class into a separate model, recording the classes
+     * it depends on.
+     * 
+     * @param resourceClass the JAX-RS resource class to process
+     * @param cache the cache of earlier scans
+     * @param executor the executor that runs the task, or null to process the class
+     *        on the calling thread
+     * @return the scan of the resource class
+     */
+    private ResourceScan scanJaxRsResourceClass(ClassInfo resourceClass, ScanCache cache, Executor executor) {
+        ResourceContext resourceContext = new ResourceContext(null, true);
+        resourceContext.appPath = context.appPath;
+        SchemaRegistry fork = schemaRegistry.fork();
+        ScanCache.RecordingIndexView resourceIndex = cache.record();
+        OpenApiAnnotationScanner scanner = new OpenApiAnnotationScanner(this, resourceContext, fork, resourceIndex);
+        OpenAPIImpl resourceModel = new OpenAPIImpl();
+        Runnable task = () -> scanner.processJaxRsResourceClass(resourceModel, resourceClass, null);
+        CompletableFuture<Void> result;
+
+        if (executor != null) {
+            result = CompletableFuture.runAsync(task, executor);
+        } else {
+            task.run();
+            result = CompletableFuture.completedFuture(null);
+        }
+
+        return new ResourceScan(resourceClass, resourceContext, fork, result, resourceModel, resourceIndex);
+    }
+
+    /**
+     * Describes the state of the scan that affects the model contributed by a JAX-RS
+     * resource class, beyond the classes it depends on.
+     */
+    private String scanContext() {
+        StringBuilder scanContext = new StringBuilder();
+        scanContext.append("appPath=").append(context.appPath);
+        scanContext.append(";securityScheme=").append(currentSecurityScheme);
+        scanContext.append(";flows=").append(currentFlows != null);
+        scanContext.append(";schemaReferences=").append(schemaRegistry.schemaReferenceSupported());
+        if (config != null) {
+            scanContext.append(";schemaLimits=").append(config.schemaMaxDepth())
+                    .append(',').append(config.schemaMaxProperties())
+                    .append(',').append(config.schemaMaxNodes());
+        }
+        extensions.forEach(extension -> scanContext.append(";extension=").append(extension.getClass().getName()));
+        return scanContext.toString();
+    }
+
+    /**
+     * Adds the parts of the model contributed by a single JAX-RS resource class (other than
+     * the schemas, transferred by the schema registry) to the OpenAPI model, as if the class
+     * had been processed directly into it.
+     * 
+     * @param openApi the OpenAPI model being built
+     * @param entry the model contributed by the resource class
+     */
+    private void addResourceModel(OpenAPIImpl openApi, ScanCache.Entry entry) {
+        OpenAPIImpl resourceModel = entry.model;
+        Components components = resourceModel.getComponents();
+
+        if (components != null && components.getSecuritySchemes() != null) {
+            components.getSecuritySchemes()
+                    .forEach((name, scheme) -> ModelUtil.components(openApi).addSecurityScheme(name, scheme));
+        }
+
+        if (resourceModel.getTags() != null) {
+            resourceModel.getTags().forEach(tag -> addTag(openApi, tag));
+        }
+
+        if (entry.scopes != null && this.currentFlows != null) {
+            addScopesToFlows(entry.scopes);
+        }
+
+        if (resourceModel.getPaths() != null) {
+            resourceModel.getPaths().forEach((path, pathItem) -> addPathItem(openApi, path, pathItem));
+        }
+    }
+
+    /**
+     * Adds a tag to the OpenAPI model, see {@link ModelUtil#addTag(OpenAPI, Tag)}. Tags
+     * added to the model being built by the scan are looked up in the index of its tags.
+     * 
+     * @param openApi the OpenAPI model
+     * @param tag the tag to add
+     */
+    private void addTag(OpenAPI openApi, Tag tag) {
+        if (tagIndex != null && tagIndex.indexes(openApi)) {
+            tagIndex.addTag(tag);
+        } else {
+            ModelUtil.addTag(openApi, tag);
+        }
+    }
+
     /**
      * Processing a single JAX-RS resource class (annotated with @Path).
      * 
@@ -385,7 +651,7 @@ public class OpenApiAnnotationScanner {
 
         // Process @SecurityScheme annotations
         ////////////////////////////////////////
-        List<AnnotationInstance> securitySchemeAnnotations = JandexUtil.getRepeatableAnnotation(resourceClass,
+        List<AnnotationInstance> securitySchemeAnnotations = annotations.getRepeatableAnnotation(resourceClass,
                 OpenApiConstants.DOTNAME_SECURITY_SCHEME, OpenApiConstants.DOTNAME_SECURITY_SCHEMES);
         for (AnnotationInstance annotation : securitySchemeAnnotations) {
             String name = JandexUtil.stringValue(annotation, OpenApiConstants.PROP_SECURITY_SCHEME_NAME);
@@ -393,9 +659,12 @@ public class OpenApiAnnotationScanner {
                 name = JandexUtil.nameFromRef(annotation);
             }
             if (name != null) {
+                final String schemeName = name;
                 SecurityScheme securityScheme = readSecurityScheme(annotation);
-                Components components = ModelUtil.components(openApi);
-                components.addSecurityScheme(name, securityScheme);
+                updateModel(() -> {
+                    Components components = ModelUtil.components(openApi);
+                    components.addSecurityScheme(schemeName, securityScheme);
+                });
             }
         }
 
@@ -403,18 +672,22 @@ public class OpenApiAnnotationScanner {
         ////////////////////////////////////////
         Set<String> tagRefs = processTags(openApi, resourceClass, false);
 
-        addScopes(TypeUtil.getAnnotationValue(resourceClass, OpenApiConstants.DOTNAME_DECLARE_ROLES));
-        resourceRolesAllowed = TypeUtil.getAnnotationValue(resourceClass, OpenApiConstants.DOTNAME_ROLES_ALLOWED);
-        addScopes(resourceRolesAllowed);
+        addScopes(annotations.getAnnotationValue(resourceClass, OpenApiConstants.DOTNAME_DECLARE_ROLES));
+        context.rolesAllowed = annotations.getAnnotationValue(resourceClass, OpenApiConstants.DOTNAME_ROLES_ALLOWED);
+        addScopes(context.rolesAllowed);
 
         // Now find and process the operation methods
         ////////////////////////////////////////
         for (MethodInfo methodInfo : getResourceMethods(resourceClass)) {
+            if (!annotations.hasAnnotation(methodInfo, Family.JAXRS)) {
+                continue;
+            }
+
             final AtomicInteger resourceCount = new AtomicInteger(0);
 
             OpenApiConstants.DOTNAME_JAXRS_HTTP_METHODS
                     .stream()
-                    .filter(methodInfo::hasAnnotation)
+                    .filter(annotationName -> annotations.hasAnnotation(methodInfo, annotationName))
                     .map(DotName::withoutPackagePrefix)
                     .map(HttpMethod::valueOf)
                     .forEach(httpMethod -> {
@@ -422,7 +695,7 @@ public class OpenApiAnnotationScanner {
                         processJaxRsMethod(openApi, resourceClass, methodInfo, httpMethod, tagRefs, locatorPathParameters);
                     });
 
-            if (resourceCount.get() == 0 && methodInfo.hasAnnotation(OpenApiConstants.DOTNAME_PATH)) {
+            if (resourceCount.get() == 0 && annotations.hasAnnotation(methodInfo, OpenApiConstants.DOTNAME_PATH)) {
                 processJaxRsSubResource(openApi, locatorPathParameters, resourceClass, methodInfo);
             }
         }
@@ -442,14 +715,41 @@ public class OpenApiAnnotationScanner {
             return;
         }
 
+        if (context.captureScopes) {
+            if (context.scopes == null) {
+                context.scopes = new LinkedHashSet<>();
+            }
+            context.scopes.addAll(Arrays.asList(roles));
+        } else {
+            updateModel(() -> addScopesToFlows(Arrays.asList(roles)));
+        }
+    }
+
+    private void addScopesToFlows(Collection<String> roles) {
         this.currentFlows.forEach(flow -> {
             if (flow.getScopes() == null) {
                 flow.setScopes(new ScopesImpl());
             }
-            Arrays.stream(roles).forEach(role -> flow.getScopes().addScope(role, role + " role"));
+            roles.forEach(role -> flow.getScopes().addScope(role, role + " role"));
         });
     }
 
+    /**
+     * Applies a change to the shared parts of the OpenAPI model (paths, tags, components,
+     * and security scheme flows). The change is applied immediately unless the current
+     * resource context defers changes until the resource classes processed concurrently
+     * are merged.
+     * 
+     * @param update the change to apply
+     */
+    private void updateModel(Runnable update) {
+        if (context.deferredUpdates != null) {
+            context.deferredUpdates.add(update);
+        } else {
+            update.run();
+        }
+    }
+
     /**
      * Extracts all methods from the provided class and its ancestors that are known to the instance's index
      * 
@@ -458,7 +758,7 @@ public class OpenApiAnnotationScanner {
      */
     List<MethodInfo> getResourceMethods(ClassInfo resource) {
         Type resourceType = Type.create(resource.name(), Type.Kind.CLASS);
-        Map<ClassInfo, Type> chain = JandexUtil.inheritanceChain(index, resource, resourceType);
+        Map<ClassInfo, Type> chain = AugmentedIndexView.augment(index).hierarchy().inheritanceChain(resource, resourceType);
         List<MethodInfo> methods = new ArrayList<>();
 
         for (ClassInfo classInfo : chain.keySet()) {
@@ -497,11 +797,11 @@ public class OpenApiAnnotationScanner {
         ClassInfo subResourceClass = index.getClassByName(methodReturnType.name());
 
         if (subResourceClass != null) {
-            final String originalAppPath = this.currentAppPath;
-            ResourceParameters params = ParameterProcessor.process(index, resourceClass, method, this::readParameter,
-                    extensions);
+            final String originalAppPath = context.appPath;
+            ResourceParameters params = ParameterProcessor.process(index, schemaRegistry, resourceClass, method,
+                    this::readParameter, extensions);
 
-            this.currentAppPath = makePath(this.currentAppPath, params.getOperationPath());
+            context.appPath = makePath(context.appPath, params.getOperationPath());
 
             /*
              * Combine parameters passed previously with all of those from the current resource class and
@@ -513,7 +813,7 @@ public class OpenApiAnnotationScanner {
                             params.getPathItemParameters(),
                             params.getOperationParameters()));
 
-            this.currentAppPath = originalAppPath;
+            context.appPath = originalAppPath;
         }
     }
 
@@ -536,7 +836,7 @@ public class OpenApiAnnotationScanner {
 
         // Process any @Operation annotation
         /////////////////////////////////////////
-        if (method.hasAnnotation(OpenApiConstants.DOTNAME_OPERATION)) {
+        if (annotations.hasAnnotation(method, OpenApiConstants.DOTNAME_OPERATION)) {
             AnnotationInstance operationAnno = method.annotation(OpenApiConstants.DOTNAME_OPERATION);
             // If the operation is marked as hidden, just bail here because we don't want it as part of the model.
             if (operationAnno.value(OpenApiConstants.PROP_HIDDEN) != null
@@ -557,8 +857,8 @@ public class OpenApiAnnotationScanner {
         PathItem pathItem = new PathItemImpl();
 
         // Figure out the current @Produces and @Consumes (if any)
-        currentConsumes = getMediaTypes(method, OpenApiConstants.DOTNAME_CONSUMES);
-        currentProduces = getMediaTypes(method, OpenApiConstants.DOTNAME_PRODUCES);
+        context.consumes = getMediaTypes(method, OpenApiConstants.DOTNAME_CONSUMES);
+        context.produces = getMediaTypes(method, OpenApiConstants.DOTNAME_PRODUCES);
 
         // Process tags - @Tag and @Tags annotations combines with the resource tags we've already found (passed in)
         /////////////////////////////////////////
@@ -574,7 +874,8 @@ public class OpenApiAnnotationScanner {
 
         // Process @Parameter annotations
         /////////////////////////////////////////
-        ResourceParameters params = ParameterProcessor.process(index, resourceClass, method, this::readParameter, extensions);
+        ResourceParameters params = ParameterProcessor.process(index, schemaRegistry, resourceClass, method,
+                this::readParameter, extensions);
 
         operation.setParameters(params.getOperationParameters());
         pathItem.setParameters(mergeNullableLists(locatorPathParameters, params.getPathItemParameters()));
@@ -584,7 +885,7 @@ public class OpenApiAnnotationScanner {
         // note: the @RequestBody annotation can be found on a method argument *or* on the method
         RequestBody requestBody = null;
 
-        List<AnnotationInstance> requestBodyAnnotations = JandexUtil.getRepeatableAnnotation(method,
+        List<AnnotationInstance> requestBodyAnnotations = annotations.getRepeatableAnnotation(method,
                 OpenApiConstants.DOTNAME_REQUEST_BODY, null);
         for (AnnotationInstance annotation : requestBodyAnnotations) {
             requestBody = readRequestBody(annotation);
@@ -607,9 +908,9 @@ public class OpenApiAnnotationScanner {
                     requestBodyType = JandexUtil.getRequestBodyParameterClassType(method, extensions);
                 }
                 if (requestBodyType != null) {
-                    Schema schema = SchemaFactory.typeToSchema(index, requestBodyType, extensions);
+                    Schema schema = SchemaFactory.typeToSchema(index, schemaRegistry, requestBodyType, extensions);
                     if (schema != null) {
-                        ModelUtil.setRequestBodySchema(requestBody, schema, currentConsumes);
+                        ModelUtil.setRequestBodySchema(requestBody, schema, context.consumes);
                     }
                 }
             }
@@ -618,13 +919,13 @@ public class OpenApiAnnotationScanner {
         // If the request body is null, figure it out from the parameters.  Only if the
         // method declares that it @Consumes data
         if ((requestBody == null || (requestBody.getContent() == null && requestBody.getRef() == null))
-                && currentConsumes != null) {
+                && context.consumes != null) {
             if (params.getFormBodySchema() != null) {
                 if (requestBody == null) {
                     requestBody = new RequestBodyImpl();
                 }
                 Schema schema = params.getFormBodySchema();
-                ModelUtil.setRequestBodySchema(requestBody, schema, currentConsumes);
+                ModelUtil.setRequestBodySchema(requestBody, schema, context.consumes);
             } else {
                 Type requestBodyType = JandexUtil.getRequestBodyParameterClassType(method, extensions);
 
@@ -635,7 +936,7 @@ public class OpenApiAnnotationScanner {
                         schema = new SchemaImpl();
                         schema.setType(SchemaType.OBJECT);
                     } else {
-                        schema = SchemaFactory.typeToSchema(index, requestBodyType, extensions);
+                        schema = SchemaFactory.typeToSchema(index, schemaRegistry, requestBodyType, extensions);
                     }
 
                     if (requestBody == null) {
@@ -643,7 +944,7 @@ public class OpenApiAnnotationScanner {
                     }
 
                     if (schema != null) {
-                        ModelUtil.setRequestBodySchema(requestBody, schema, currentConsumes);
+                        ModelUtil.setRequestBodySchema(requestBody, schema, context.consumes);
                     }
                 }
             }
@@ -656,7 +957,7 @@ public class OpenApiAnnotationScanner {
         // Process @APIResponse annotations
         /////////////////////////////////////////
         APIResponses responses = null;
-        List<AnnotationInstance> apiResponseAnnotations = JandexUtil.getRepeatableAnnotation(method,
+        List<AnnotationInstance> apiResponseAnnotations = annotations.getRepeatableAnnotation(method,
                 OpenApiConstants.DOTNAME_API_RESPONSE, OpenApiConstants.DOTNAME_API_RESPONSES);
         for (AnnotationInstance annotation : apiResponseAnnotations) {
             String responseCode = JandexUtil.stringValue(annotation, OpenApiConstants.PROP_RESPONSE_CODE);
@@ -680,10 +981,10 @@ public class OpenApiAnnotationScanner {
 
         // Process @SecurityRequirement annotations
         ///////////////////////////////////////////
-        List<AnnotationInstance> securityRequirementAnnotations = JandexUtil.getRepeatableAnnotation(method,
+        List<AnnotationInstance> securityRequirementAnnotations = annotations.getRepeatableAnnotation(method,
                 OpenApiConstants.DOTNAME_SECURITY_REQUIREMENT, OpenApiConstants.DOTNAME_SECURITY_REQUIREMENTS);
         securityRequirementAnnotations.addAll(
-                JandexUtil.getRepeatableAnnotation(resourceClass, OpenApiConstants.DOTNAME_SECURITY_REQUIREMENT,
+                annotations.getRepeatableAnnotation(resourceClass, OpenApiConstants.DOTNAME_SECURITY_REQUIREMENT,
                         OpenApiConstants.DOTNAME_SECURITY_REQUIREMENTS));
         for (AnnotationInstance annotation : securityRequirementAnnotations) {
             SecurityRequirement requirement = readSecurityRequirement(annotation);
@@ -694,7 +995,7 @@ public class OpenApiAnnotationScanner {
 
         // Process @Callback annotations
         /////////////////////////////////////////
-        List<AnnotationInstance> callbackAnnotations = JandexUtil.getRepeatableAnnotation(method,
+        List<AnnotationInstance> callbackAnnotations = annotations.getRepeatableAnnotation(method,
                 OpenApiConstants.DOTNAME_CALLBACK, OpenApiConstants.DOTNAME_CALLBACKS);
         Map<String, Callback> callbacks = new LinkedHashMap<>();
         for (AnnotationInstance annotation : callbackAnnotations) {
@@ -713,10 +1014,10 @@ public class OpenApiAnnotationScanner {
 
         // Process @Server annotations
         ///////////////////////////////////
-        List<AnnotationInstance> serverAnnotations = JandexUtil.getRepeatableAnnotation(method,
+        List<AnnotationInstance> serverAnnotations = annotations.getRepeatableAnnotation(method,
                 OpenApiConstants.DOTNAME_SERVER, OpenApiConstants.DOTNAME_SERVERS);
         if (serverAnnotations.isEmpty()) {
-            serverAnnotations.addAll(JandexUtil.getRepeatableAnnotation(method.declaringClass(),
+            serverAnnotations.addAll(annotations.getRepeatableAnnotation(method.declaringClass(),
                     OpenApiConstants.DOTNAME_SERVER, OpenApiConstants.DOTNAME_SERVERS));
         }
         for (AnnotationInstance annotation : serverAnnotations) {
@@ -726,10 +1027,10 @@ public class OpenApiAnnotationScanner {
 
         // Process @Extension annotations
         ///////////////////////////////////
-        List<AnnotationInstance> extensionAnnotations = JandexUtil.getRepeatableAnnotation(method,
+        List<AnnotationInstance> extensionAnnotations = annotations.getRepeatableAnnotation(method,
                 OpenApiConstants.DOTNAME_EXTENSION, OpenApiConstants.DOTNAME_EXTENSIONS);
         if (extensionAnnotations.isEmpty()) {
-            extensionAnnotations.addAll(JandexUtil.getRepeatableAnnotation(method.declaringClass(),
+            extensionAnnotations.addAll(annotations.getRepeatableAnnotation(method.declaringClass(),
                     OpenApiConstants.DOTNAME_EXTENSION, OpenApiConstants.DOTNAME_EXTENSIONS));
         }
         for (AnnotationInstance annotation : extensionAnnotations) {
@@ -777,9 +1078,13 @@ public class OpenApiAnnotationScanner {
         }
 
         // Figure out the path for the operation.  This is a combination of the App, Resource, and Method @Path annotations
-        String path = makePath(this.currentAppPath, params.getOperationPath());
+        String path = makePath(context.appPath, params.getOperationPath());
 
         // Get or create a PathItem to hold the operation
+        updateModel(() -> addPathItem(openApi, path, pathItem));
+    }
+
+    private static void addPathItem(OpenAPIImpl openApi, String path, PathItem pathItem) {
         PathItem existingPath = ModelUtil.paths(openApi).getPathItem(path);
 
         if (existingPath == null) {
@@ -802,13 +1107,13 @@ public class OpenApiAnnotationScanner {
      * @return the set of tag names found
      */
     Set<String> processTags(OpenAPIImpl openApi, AnnotationTarget target, boolean nullWhenMissing) {
-        if (!TypeUtil.hasAnnotation(target, OpenApiConstants.DOTNAME_TAG) &&
-                !TypeUtil.hasAnnotation(target, OpenApiConstants.DOTNAME_TAGS)) {
+        if (!annotations.hasAnnotation(target, OpenApiConstants.DOTNAME_TAG) &&
+                !annotations.hasAnnotation(target, OpenApiConstants.DOTNAME_TAGS)) {
             return nullWhenMissing ? null : Collections.emptySet();
         }
 
         Set<String> tags = new LinkedHashSet<>();
-        List<AnnotationInstance> tagAnnos = JandexUtil.getRepeatableAnnotation(target,
+        List<AnnotationInstance> tagAnnos = annotations.getRepeatableAnnotation(target,
                 OpenApiConstants.DOTNAME_TAG,
                 OpenApiConstants.DOTNAME_TAGS);
 
@@ -819,13 +1124,13 @@ public class OpenApiAnnotationScanner {
                 Tag tag = readTag(ta);
 
                 if (tag.getName() != null) {
-                    ModelUtil.addTag(openApi, tag);
+                    updateModel(() -> addTag(openApi, tag));
                     tags.add(tag.getName());
                 }
             }
         }
 
-        String[] refs = TypeUtil.getAnnotationValue(target, OpenApiConstants.DOTNAME_TAGS, OpenApiConstants.PROP_REFS);
+        String[] refs = annotations.getAnnotationValue(target, OpenApiConstants.DOTNAME_TAGS, OpenApiConstants.PROP_REFS);
 
         if (refs != null) {
             Arrays.stream(refs).forEach(tags::add);
@@ -883,7 +1188,7 @@ public class OpenApiAnnotationScanner {
                     .map(Type::name)
                     .anyMatch(OpenApiConstants.DOTNAME_ASYNC_RESPONSE::equals);
 
-            if (method.hasAnnotation(OpenApiConstants.DOTNAME_POST)) {
+            if (annotations.hasAnnotation(method, OpenApiConstants.DOTNAME_POST)) {
                 code = "201";
                 description = "Created";
             } else if (!asyncResponse) {
@@ -911,11 +1216,11 @@ public class OpenApiAnnotationScanner {
                     schema = new SchemaImpl();
                     schema.setType(SchemaType.OBJECT);
                 } else {
-                    schema = SchemaFactory.typeToSchema(index, returnType, extensions);
+                    schema = SchemaFactory.typeToSchema(index, schemaRegistry, returnType, extensions);
                 }
 
                 ContentImpl content = new ContentImpl();
-                String[] produces = this.currentProduces;
+                String[] produces = context.produces;
 
                 if (produces == null || produces.length == 0) {
                     produces = OpenApiConstants.DEFAULT_MEDIA_TYPES.get();
@@ -978,19 +1283,19 @@ public class OpenApiAnnotationScanner {
      */
     void processSecurityRoles(MethodInfo method, Operation operation) {
         if (this.currentSecurityScheme != null) {
-            String[] rolesAllowed = TypeUtil.getAnnotationValue(method, OpenApiConstants.DOTNAME_ROLES_ALLOWED);
+            String[] rolesAllowed = annotations.getAnnotationValue(method, OpenApiConstants.DOTNAME_ROLES_ALLOWED);
 
             if (rolesAllowed != null) {
                 addScopes(rolesAllowed);
                 addRolesAllowed(operation, rolesAllowed);
-            } else if (this.resourceRolesAllowed != null) {
-                boolean denyAll = TypeUtil.getAnnotation(method, OpenApiConstants.DOTNAME_DENY_ALL) != null;
-                boolean permitAll = TypeUtil.getAnnotation(method, OpenApiConstants.DOTNAME_PERMIT_ALL) != null;
+            } else if (context.rolesAllowed != null) {
+                boolean denyAll = annotations.getAnnotation(method, OpenApiConstants.DOTNAME_DENY_ALL) != null;
+                boolean permitAll = annotations.getAnnotation(method, OpenApiConstants.DOTNAME_PERMIT_ALL) != null;
 
                 if (denyAll) {
                     addRolesAllowed(operation, new String[0]);
                 } else if (!permitAll) {
-                    addRolesAllowed(operation, this.resourceRolesAllowed);
+                    addRolesAllowed(operation, context.rolesAllowed);
                 }
             }
         }
@@ -1555,7 +1860,7 @@ public class OpenApiAnnotationScanner {
         LOG.debug("Processing a single @Header annotation.");
         Header header = new HeaderImpl();
         header.setDescription(JandexUtil.stringValue(annotation, OpenApiConstants.PROP_DESCRIPTION));
-        header.setSchema(SchemaFactory.readSchema(index, annotation.value(OpenApiConstants.PROP_SCHEMA)));
+        header.setSchema(SchemaFactory.readSchema(index, schemaRegistry, annotation.value(OpenApiConstants.PROP_SCHEMA)));
         header.setRequired(JandexUtil.booleanValue(annotation, OpenApiConstants.PROP_REQUIRED));
         header.setDeprecated(JandexUtil.booleanValue(annotation, OpenApiConstants.PROP_DEPRECATED));
         header.setAllowEmptyValue(JandexUtil.booleanValue(annotation, OpenApiConstants.PROP_ALLOW_EMPTY_VALUE));
@@ -1689,7 +1994,7 @@ public class OpenApiAnnotationScanner {
         parameter.setExplode(readExplode(JandexUtil.enumValue(annotation, OpenApiConstants.PROP_EXPLODE,
                 org.eclipse.microprofile.openapi.annotations.enums.Explode.class)));
         parameter.setAllowReserved(JandexUtil.booleanValue(annotation, OpenApiConstants.PROP_ALLOW_RESERVED));
-        parameter.setSchema(SchemaFactory.readSchema(index, annotation.value(OpenApiConstants.PROP_SCHEMA)));
+        parameter.setSchema(SchemaFactory.readSchema(index, schemaRegistry, annotation.value(OpenApiConstants.PROP_SCHEMA)));
         parameter.setContent(readContent(annotation.value(OpenApiConstants.PROP_CONTENT), ContentDirection.Parameter));
         parameter.setExamples(readExamples(annotation.value(OpenApiConstants.PROP_EXAMPLES)));
         parameter.setExample(JandexUtil.stringValue(annotation, OpenApiConstants.PROP_EXAMPLE));
@@ -1732,11 +2037,11 @@ public class OpenApiAnnotationScanner {
                 // If the content type is not provided in the @Content annotation, then
                 // we assume it applies to all the jax-rs method's @Consumes or @Produces
                 String[] mimeTypes = {};
-                if (direction == ContentDirection.Input && currentConsumes != null) {
-                    mimeTypes = currentConsumes;
+                if (direction == ContentDirection.Input && context.consumes != null) {
+                    mimeTypes = context.consumes;
                 }
-                if (direction == ContentDirection.Output && currentProduces != null) {
-                    mimeTypes = currentProduces;
+                if (direction == ContentDirection.Output && context.produces != null) {
+                    mimeTypes = context.produces;
                 }
                 if (direction == ContentDirection.Parameter) {
                     mimeTypes = OpenApiConstants.DEFAULT_MEDIA_TYPES.get();
@@ -1764,7 +2069,7 @@ public class OpenApiAnnotationScanner {
         MediaType mediaType = new MediaTypeImpl();
         mediaType.setExamples(readExamples(annotation.value(OpenApiConstants.PROP_EXAMPLES)));
         mediaType.setExample(JandexUtil.stringValue(annotation, OpenApiConstants.PROP_EXAMPLE));
-        mediaType.setSchema(SchemaFactory.readSchema(index, annotation.value(OpenApiConstants.PROP_SCHEMA)));
+        mediaType.setSchema(SchemaFactory.readSchema(index, schemaRegistry, annotation.value(OpenApiConstants.PROP_SCHEMA)));
         mediaType.setEncoding(readEncodings(annotation.value(OpenApiConstants.PROP_ENCODING)));
         return mediaType;
     }
@@ -1931,12 +2236,12 @@ public class OpenApiAnnotationScanner {
              * {@link org.eclipse.microprofile.openapi.annotations.Components}.
              */
             if (name != null) {
-                map.put(name, SchemaFactory.readSchema(index, nested));
+                map.put(name, SchemaFactory.readSchema(index, schemaRegistry, nested));
             } /*-
               //For consideration - be more lenient and attempt to use the name from the implementation's @Schema?
               else {
                 if (JandexUtil.isSimpleClassSchema(nested)) {
-                    Schema schema = SchemaFactory.readClassSchema(index, nested.value(OpenApiConstants.PROP_IMPLEMENTATION), false);
+                    Schema schema = SchemaFactory.readClassSchema(index, schemaRegistry, nested.value(OpenApiConstants.PROP_IMPLEMENTATION), false);
               
                     if (schema instanceof SchemaImpl) {
                         name = ((SchemaImpl) schema).getName();
@@ -2168,8 +2473,87 @@ public class OpenApiAnnotationScanner {
         Parameter
     }
 
+    /**
+     * State of the scan that is specific to the JAX-RS resource class (and method) being
+     * processed.
+     */
+    private static class ResourceContext {
+        String appPath = "";
+        String[] consumes;
+        String[] produces;
+        String[] rolesAllowed;
+
+        /**
+         * Changes to the shared parts of the model that are to be applied once the resource
+         * class is merged, or null when changes are applied immediately.
+         */
+        final List<Runnable> deferredUpdates;
+
+        /**
+         * Whether roles are collected in {@link #scopes} rather than added to the OAuth2
+         * flows, for a resource class processed into a separate model.
+         */
+        final boolean captureScopes;
+        Set<String> scopes;
+
+        ResourceContext(List<Runnable> deferredUpdates, boolean captureScopes) {
+            this.deferredUpdates = deferredUpdates;
+            this.captureScopes = captureScopes;
+        }
+    }
+
+    /**
+     * A JAX-RS resource class being processed concurrently with others, or into a
+     * separate model.
+     */
+    private static class ResourceScan {
+        final ClassInfo resourceClass;
+        final ResourceContext context;
+        final SchemaRegistry schemaRegistry;
+        final CompletableFuture<Void> result;
+        /**
+         * The separate model of the resource class, or null when it is processed into the
+         * OpenAPI model being built.
+         */
+        final OpenAPIImpl model;
+        final ScanCache.RecordingIndexView index;
+
+        ResourceScan(ClassInfo resourceClass, ResourceContext context, SchemaRegistry schemaRegistry,
+                CompletableFuture<Void> result, OpenAPIImpl model, ScanCache.RecordingIndexView index) {
+            this.resourceClass = resourceClass;
+            this.context = context;
+            this.schemaRegistry = schemaRegistry;
+            this.result = result;
+            this.model = model;
+            this.index = index;
+        }
+
+        /**
+         * @return the parts of the model contributed by the resource class
+         */
+        ScanCache.Entry entry() {
+            return new ScanCache.Entry(model, schemaRegistry.registrations(), schemaRegistry.lookups(),
+                    context.scopes);
+        }
+
+        /**
+         * Wait for the processing of the resource class to end.
+         * 
+         * @return true if the resource class was processed without error
+         */
+        boolean completed() {
+            try {
+                result.join();
+                return true;
+            } catch (CompletionException e) {
+                LOG.debugv(e.getCause(), "Error processing JAX-RS resource class {0}", resourceClass);
+                return false;
+            }
+        }
+    }
+
     public void setCurrentAppPath(String path) {
-        this.currentAppPath = path;
+        context.appPath = path;
     }
 
     /**
@@ -21,6 +21,7 @@ import java.io.UncheckedIOException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
 
 import org.eclipse.microprofile.openapi.models.media.Schema;
 import org.jboss.jandex.AnnotationInstance;
@@ -34,11 +35,14 @@ import org.jboss.jandex.PrimitiveType;
 import org.jboss.jandex.Type;
 import org.jboss.logging.Logger;
 
+import io.smallrye.openapi.api.OpenApiConfig;
+import io.smallrye.openapi.api.OpenApiConstants;
 import io.smallrye.openapi.api.models.media.SchemaImpl;
 import io.smallrye.openapi.runtime.scanner.dataobject.AnnotationTargetProcessor;
 import io.smallrye.openapi.runtime.scanner.dataobject.AugmentedIndexView;
 import io.smallrye.openapi.runtime.scanner.dataobject.DataObjectDeque;
 import io.smallrye.openapi.runtime.scanner.dataobject.IgnoreResolver;
+import io.smallrye.openapi.runtime.scanner.dataobject.SchemaCache;
 import io.smallrye.openapi.runtime.scanner.dataobject.TypeResolver;
 import io.smallrye.openapi.runtime.util.SchemaFactory;
 import io.smallrye.openapi.runtime.util.TypeUtil;
@@ -57,6 +61,16 @@ import io.smallrye.openapi.runtime.util.TypeUtil;
  * </ol>
  *
  * <p>
+ * The size of the graph explored from a root may be limited by configuration: the depth of
+ * the nested data objects (<tt>mp.openapi.extensions.schema-limits.max-depth</tt>), the
+ * number of properties of each of them (<tt>max-properties</tt>) and the total number of
+ * data objects (<tt>max-nodes</tt>). A nested data object beyond the maximum depth whose
+ * schema is registered with the {@link SchemaRegistry} is scanned as a new root, since
+ * it is only included by reference. Otherwise, the schema of a data object that is not
+ * fully scanned carries the {@value OpenApiConstants#EXTENSION_SCHEMA_TRUNCATED} extension,
+ * naming the limit that was reached.
+ *
+ * <p>
  * Well-known types, such as Collection, Map, Date, etc, are handled in a custom manner.
  * Jandex-indexed objects from the user's deployment are traversed until a terminal type is
  * met (such as a primitive, boxed primitive, date, etc), or an entity is encountered that is not
@@ -94,6 +108,10 @@ public class OpenApiDataObjectScanner {
     // Array type
     public static final Type ARRAY_TYPE_OBJECT = Type.create(DotName.createSimple("[Ljava.lang.Object;"), Type.Kind.ARRAY);
 
+    private static final String MAX_DEPTH = "max-depth";
+    private static final String MAX_PROPERTIES = "max-properties";
+    private static final String MAX_NODES = "max-nodes";
+
     private static ClassInfo collectionStandin;
     private static ClassInfo mapStandin;
 
@@ -123,11 +141,18 @@ public class OpenApiDataObjectScanner {
     private final Type rootClassType;
     private final ClassInfo rootClassInfo;
     private final AugmentedIndexView index;
+    private final SchemaRegistry schemaRegistry;
     private final DataObjectDeque objectStack;
     private final IgnoreResolver ignoreResolver;
+    private final int maxDepth;
+    private final int maxProperties;
+    private final int maxNodes;
+    private int nodes;
+    private boolean truncated;
 
     /**
-     * Constructor for data object scanner.
+     * Constructor for data object scanner that does not register the schemas of
+     * nested types.
      * <p>
      * Call {@link #process()} to build and return the {@link Schema}.
      *
@@ -135,33 +160,96 @@ public class OpenApiDataObjectScanner {
      * @param classType root to begin scan
      */
     public OpenApiDataObjectScanner(IndexView index, Type classType) {
+        this(index, (SchemaRegistry) null, classType);
+    }
+
+    /**
+     * Constructor for data object scanner.
+     * <p>
+     * Call {@link #process()} to build and return the {@link Schema}.
+     *
+     * @param index index of types to scan
+     * @param schemaRegistry registry of the current scan, used to register nested types, may be null
+     * @param classType root to begin scan
+     */
+    public OpenApiDataObjectScanner(IndexView index, SchemaRegistry schemaRegistry, Type classType) {
         this.index = new AugmentedIndexView(index);
+        this.schemaRegistry = schemaRegistry;
         this.objectStack = new DataObjectDeque(this.index);
         this.ignoreResolver = new IgnoreResolver(this.index);
         this.rootClassType = classType;
         this.rootSchema = new SchemaImpl();
         this.rootClassInfo = initialType(classType);
+
+        OpenApiConfig config = schemaRegistry != null ? schemaRegistry.config() : null;
+        this.maxDepth = config != null ? config.schemaMaxDepth() : Integer.MAX_VALUE;
+        this.maxProperties = config != null ? config.schemaMaxProperties() : Integer.MAX_VALUE;
+        this.maxNodes = config != null ? config.schemaMaxNodes() : Integer.MAX_VALUE;
     }
 
     OpenApiDataObjectScanner(IndexView index, AnnotationTarget annotationTarget, Type classType) {
         this.index = new AugmentedIndexView(index);
+        this.schemaRegistry = null;
         this.objectStack = new DataObjectDeque(this.index);
         this.ignoreResolver = new IgnoreResolver(this.index);
         this.rootClassType = classType;
         this.rootSchema = new SchemaImpl();
         this.rootClassInfo = initialType(classType);
         this.rootAnnotationTarget = annotationTarget;
+        this.maxDepth = Integer.MAX_VALUE;
+        this.maxProperties = Integer.MAX_VALUE;
+        this.maxNodes = Integer.MAX_VALUE;
     }
 
     /**
-     * Build a Schema with ClassType as root.
+     * Build a Schema with ClassType as root, registering nested types with the
+     * registry of the current thread.
      *
      * @param index index of types to scan
      * @param type root to begin scan
      * @return the OAI schema
+     * @deprecated use {@link #process(IndexView, SchemaRegistry, Type)}
      */
+    @Deprecated
     public static Schema process(IndexView index, Type type) {
-        return new OpenApiDataObjectScanner(index, type).process();
+        return process(index, SchemaRegistry.currentInstance(), type);
+    }
+
+    /**
+     * Build a Schema with ClassType as root.
+     * <p>
+     * When schema references are disabled, the schema of each type is computed once per
+     * scan and copies of it are returned by later calls, see {@link AugmentedIndexView#schemas()}.
+     *
+     * @param index index of types to scan
+     * @param schemaRegistry registry of the current scan, used to register nested types, may be null
+     * @param type root to begin scan
+     * @return the OAI schema
+     */
+    public static Schema process(IndexView index, SchemaRegistry schemaRegistry, Type type) {
+        AugmentedIndexView augmentedIndex = AugmentedIndexView.augment(index);
+
+        if (schemaRegistry != null && schemaRegistry.schemaReferenceSupported()) {
+            return new OpenApiDataObjectScanner(augmentedIndex, schemaRegistry, type).process();
+        }
+
+        SchemaCache cache = augmentedIndex.schemas();
+        Optional<Schema> cached = cache.get(type);
+
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+
+        long registryUsages = schemaRegistry != null ? schemaRegistry.usages() : 0;
+        OpenApiDataObjectScanner scanner = new OpenApiDataObjectScanner(augmentedIndex, schemaRegistry, type);
+        Schema schema = scanner.process();
+
+        // Schemas referring to types registered with the registry, or cut short by the limits, can not be reused
+        if (!scanner.truncated && (schemaRegistry == null || schemaRegistry.usages() == registryUsages)) {
+            cache.put(type, schema);
+        }
+
+        return schema;
     }
 
     /**
@@ -226,6 +314,17 @@ public class OpenApiDataObjectScanner {
             Schema currentSchema = currentPathEntry.getSchema();
             Type currentType = currentPathEntry.getClazzType();
 
+            if (currentPathEntry.getDepth() > maxDepth) {
+                if (!scanAsRoot(currentPathEntry)) {
+                    truncate(currentPathEntry, MAX_DEPTH);
+                }
+                continue;
+            }
+            if (++nodes > maxNodes) {
+                truncate(currentPathEntry, MAX_NODES);
+                continue;
+            }
+
             // First, handle class annotations.
             currentPathEntry.setSchema(readKlass(currentClass, currentSchema));
 
@@ -239,23 +338,59 @@ public class OpenApiDataObjectScanner {
             // Get all fields *including* inherited.
             Map<String, TypeResolver> properties = TypeResolver.getAllFields(index, currentType, currentClass);
 
+            int propertyCount = 0;
+
             // Handle fields
             for (Map.Entry<String, TypeResolver> entry : properties.entrySet()) {
                 TypeResolver resolver = entry.getValue();
                 // Ignore static fields and fields annotated with ignore.
                 if (!ignoreResolver.isIgnore(resolver.getAnnotationTarget(), currentPathEntry)) {
-                    AnnotationTargetProcessor.process(index, objectStack, resolver, currentPathEntry);
+                    if (propertyCount++ == maxProperties) {
+                        truncate(currentPathEntry, MAX_PROPERTIES);
+                        break;
+                    }
+                    AnnotationTargetProcessor.process(index, schemaRegistry, objectStack, resolver, currentPathEntry);
                 }
             }
         }
     }
 
+    /**
+     * Restart the depth count at a nested data object whose schema is registered, and
+     * therefore included in the schema of its parent by reference only.
+     *
+     * @return true if the entry was pushed as a new root
+     */
+    private boolean scanAsRoot(DataObjectDeque.PathEntry entry) {
+        if (schemaRegistry == null || !schemaRegistry.schemaReferenceSupported()
+                || !schemaRegistry.isRegisteredSchema(entry.getClazzType(), entry.getSchema())) {
+            return false;
+        }
+
+        LOG.debugv("Maximum depth reached, scanning registered type {0} as a new root", entry.getClazzType());
+        objectStack.push(objectStack.rootNode(entry.getAnnotationTarget(), entry.getClazz(), entry.getClazzType(),
+                entry.getSchema()));
+        return true;
+    }
+
+    private void truncate(DataObjectDeque.PathEntry entry, String limit) {
+        LOG.debugv("Schema limit {0} reached, truncating the schema of {1}", limit, entry.getClazzType());
+        Schema schema = entry.getSchema();
+
+        if (schema.getType() == null) {
+            schema.setType(Schema.SchemaType.OBJECT);
+        }
+
+        schema.addExtension(OpenApiConstants.EXTENSION_SCHEMA_TRUNCATED, limit);
+        truncated = true;
+    }
+
     private Schema readKlass(ClassInfo currentClass,
             Schema currentSchema) {
-        AnnotationInstance annotation = TypeUtil.getSchemaAnnotation(currentClass);
+        AnnotationInstance annotation = index.annotations().getAnnotation(currentClass, OpenApiConstants.DOTNAME_SCHEMA);
         if (annotation != null) {
             // Because of implementation= field, *may* return a new schema rather than modify.
-            return SchemaFactory.readSchema(index, currentSchema, annotation, Collections.emptyMap());
+            return SchemaFactory.readSchema(index, schemaRegistry, currentSchema, annotation, Collections.emptyMap());
         }
         return currentSchema;
     }
@@ -266,11 +401,11 @@ public class OpenApiDataObjectScanner {
     }
 
     private Schema preProcessSpecial(Type type, TypeResolver typeResolver, DataObjectDeque.PathEntry currentPathEntry) {
-        return AnnotationTargetProcessor.process(index, objectStack, typeResolver, currentPathEntry, type);
+        return AnnotationTargetProcessor.process(index, schemaRegistry, objectStack, typeResolver, currentPathEntry, type);
     }
 
     private boolean isA(Type testSubject, Type test) {
-        return TypeUtil.isA(index, testSubject, test);
+        return index.hierarchy().isA(testSubject, test);
     }
 
     // Is Map, Collection, etc.
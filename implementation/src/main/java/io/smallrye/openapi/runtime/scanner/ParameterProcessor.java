@@ -74,7 +74,9 @@ import io.smallrye.openapi.api.models.media.MediaTypeImpl;
 import io.smallrye.openapi.api.models.media.SchemaImpl;
 import io.smallrye.openapi.api.models.parameters.ParameterImpl;
 import io.smallrye.openapi.api.util.MergeUtil;
+import io.smallrye.openapi.runtime.scanner.dataobject.AugmentedIndexView;
 import io.smallrye.openapi.runtime.scanner.dataobject.BeanValidationScanner;
+import io.smallrye.openapi.runtime.util.AnnotationPresenceIndex;
 import io.smallrye.openapi.runtime.util.ModelUtil;
 import io.smallrye.openapi.runtime.util.SchemaFactory;
 import io.smallrye.openapi.runtime.util.TypeUtil;
@@ -101,6 +103,8 @@ public class ParameterProcessor {
             DOTNAME_PARAMETERS));
 
     private final IndexView index;
+    private final AnnotationPresenceIndex annotations;
+    private final SchemaRegistry schemaRegistry;
     private final Function<AnnotationInstance, ParameterImpl> reader;
     private final List<AnnotationScannerExtension> extensions;
 
@@ -316,9 +320,12 @@ public class ParameterProcessor {
     }
 
     private ParameterProcessor(IndexView index,
+            SchemaRegistry schemaRegistry,
             Function<AnnotationInstance, ParameterImpl> reader,
             List<AnnotationScannerExtension> extensions) {
         this.index = index;
+        this.annotations = AugmentedIndexView.augment(index).annotations();
+        this.schemaRegistry = schemaRegistry;
         this.reader = reader;
         this.extensions = extensions;
     }
@@ -330,6 +337,7 @@ public class ParameterProcessor {
      * are only applicable to the method-level in this component.
      *
      * @param index index of classes to be used for further introspection, if necessary
+     * @param schemaRegistry registry of the current scan
      * @param resourceMethod the JAX-RS resource method, annotated with one of the
      *        JAX-RS HTTP annotations
      * @param reader callback method for a function producing {@link ParameterImpl} from a
@@ -339,13 +347,14 @@ public class ParameterProcessor {
      *         object
      */
     public static ResourceParameters process(IndexView index,
+            SchemaRegistry schemaRegistry,
             ClassInfo resourceClass,
             MethodInfo resourceMethod,
             Function<AnnotationInstance, ParameterImpl> reader,
             List<AnnotationScannerExtension> extensions) {
 
         ResourceParameters parameters = new ResourceParameters();
-        ParameterProcessor processor = new ParameterProcessor(index, reader, extensions);
+        ParameterProcessor processor = new ParameterProcessor(index, schemaRegistry, reader, extensions);
 
         ClassInfo resourceMethodClass = resourceMethod.declaringClass();
 
@@ -539,19 +548,19 @@ public class ParameterProcessor {
             }
 
             if (!ModelUtil.parameterHasSchema(param) && context.targetType != null) {
-                Schema schema = SchemaFactory.typeToSchema(index, context.targetType, extensions);
+                Schema schema = SchemaFactory.typeToSchema(index, schemaRegistry, context.targetType, extensions);
                 ModelUtil.setParameterSchema(param, schema);
             }
 
             if (param.getDeprecated() == null) {
-                if (TypeUtil.getAnnotation(context.target, DOTNAME_DEPRECATED) != null) {
+                if (annotations.hasAnnotation(context.target, DOTNAME_DEPRECATED)) {
                     param.setDeprecated(Boolean.TRUE);
                 }
             }
 
             if (param.getSchema() != null) {
                 //TODO: Test BV annotations on all target types
-                BeanValidationScanner.applyConstraints(context.target,
+                BeanValidationScanner.applyConstraints(annotations, context.target,
                         param.getSchema(),
                         param.getName(),
                         (target, name) -> {
@@ -629,14 +638,14 @@ public class ParameterProcessor {
             AnnotationTarget paramTarget = param.getValue().target();
             addEncoding(encodings, paramName, paramTarget);
             Type paramType = getType(paramTarget);
-            Schema paramSchema = SchemaFactory.typeToSchema(index, paramType, extensions);
+            Schema paramSchema = SchemaFactory.typeToSchema(index, schemaRegistry, paramType, extensions);
             Object defaultValue = getDefaultValue(paramTarget);
 
             if (paramSchema.getDefaultValue() == null) {
                 paramSchema.setDefaultValue(defaultValue);
             }
 
-            BeanValidationScanner.applyConstraints(paramTarget,
+            BeanValidationScanner.applyConstraints(annotations, paramTarget,
                     paramSchema,
                     paramName,
                     (target, name) -> {
@@ -1258,10 +1267,9 @@ public class ParameterProcessor {
      */
     boolean isSubResourceLocator(MethodInfo method) {
         return method.returnType().kind() == Type.Kind.CLASS &&
-                method.hasAnnotation(DOTNAME_PATH) &&
-                method.annotations().stream()
-                        .map(AnnotationInstance::name)
-                        .noneMatch(DOTNAME_JAXRS_HTTP_METHODS::contains);
+                annotations.hasAnnotation(method, DOTNAME_PATH) &&
+                DOTNAME_JAXRS_HTTP_METHODS.stream()
+                        .noneMatch(httpMethod -> annotations.hasAnnotation(method, httpMethod));
     }
 
     /**
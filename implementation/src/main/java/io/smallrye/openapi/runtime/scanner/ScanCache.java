@@ -0,0 +1,624 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.smallrye.openapi.runtime.scanner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.microprofile.openapi.models.media.Schema;
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.AnnotationTarget;
+import org.jboss.jandex.ArrayType;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.FieldInfo;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.MethodInfo;
+import org.jboss.jandex.ParameterizedType;
+import org.jboss.jandex.Type;
+import org.jboss.jandex.WildcardType;
+import org.jboss.logging.Logger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.smallrye.openapi.api.OpenApiConfig;
+import io.smallrye.openapi.api.models.ComponentsImpl;
+import io.smallrye.openapi.api.models.OpenAPIImpl;
+import io.smallrye.openapi.runtime.io.OpenApiParser;
+import io.smallrye.openapi.runtime.io.OpenApiSerializer;
+import io.smallrye.openapi.runtime.scanner.SchemaRegistry.GeneratedSchemaInfo;
+import io.smallrye.openapi.runtime.scanner.SchemaRegistry.Registration;
+import io.smallrye.openapi.runtime.scanner.SchemaRegistry.TypeKey;
+import io.smallrye.openapi.runtime.scanner.dataobject.AugmentedIndexView;
+
+/**
+ * A cache, kept in a local directory, of the parts of the OpenAPI model contributed by each
+ * JAX-RS resource class during earlier scans: the paths, tags, security schemes and scopes,
+ * and the schemas registered in the {@link SchemaRegistry}. Each entry records a digest of
+ * every class (and index query) consulted while the resource class was processed, so that
+ * a later scan may reuse the entry as long as none of them has changed.
+ *
+ * Jandex does not retain the bytes of the indexed classes, so the digest of a class is
+ * computed from its indexed information (members, signatures and annotations). A cache
+ * instance is used for a single scan.
+ */
+class ScanCache {
+
+    private static final Logger LOG = Logger.getLogger(ScanCache.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Version of the format of the entries, changed whenever entries written by earlier
+     * versions may no longer be used.
+     */
+    private static final String FORMAT_VERSION = "1";
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final String ABSENT = "-";
+
+    private static final String CLASS = "class:";
+    private static final String DIRECT_SUBCLASSES = "direct-subclasses:";
+    private static final String ALL_SUBCLASSES = "all-subclasses:";
+    private static final String DIRECT_IMPLEMENTORS = "direct-implementors:";
+    private static final String ALL_IMPLEMENTORS = "all-implementors:";
+    private static final String ANNOTATIONS = "annotations:";
+    private static final String KNOWN_CLASSES = "known-classes:";
+
+    private static final String PROP_CONTEXT = "context";
+    private static final String PROP_DEPENDENCIES = "dependencies";
+    private static final String PROP_REGISTRATIONS = "registrations";
+    private static final String PROP_LOOKUPS = "lookups";
+    private static final String PROP_SCOPES = "scopes";
+    private static final String PROP_MODEL = "model";
+    private static final String PROP_SCHEMAS = "schemas";
+    private static final String PROP_TYPE = "type";
+    private static final String PROP_NAME = "name";
+    private static final String PROP_NAME_BASE = "nameBase";
+    private static final String PROP_REPLACEMENT = "replacement";
+    private static final String PROP_KIND = "kind";
+    private static final String PROP_COMPONENT = "component";
+    private static final String PROP_DIMENSIONS = "dimensions";
+    private static final String PROP_ARGUMENTS = "arguments";
+    private static final String PROP_OWNER = "owner";
+    private static final String PROP_BOUND = "bound";
+    private static final String PROP_EXTENDS = "extends";
+
+    /**
+     * The parts of the model contributed by a single JAX-RS resource class.
+     */
+    static class Entry {
+        final OpenAPIImpl model;
+        final Collection<Registration> registrations;
+        final Map<TypeKey, String> lookups;
+        /**
+         * Roles to add as scopes to the OAuth2 flows of the scan, or null when none were
+         * declared.
+         */
+        final Set<String> scopes;
+
+        Entry(OpenAPIImpl model, Collection<Registration> registrations, Map<TypeKey, String> lookups,
+                Set<String> scopes) {
+            this.model = model;
+            this.registrations = registrations;
+            this.lookups = lookups;
+            this.scopes = scopes;
+        }
+    }
+
+    /**
+     * Wraps an {@link IndexView} and records each class and query used, to be stored
+     * as the dependencies of an entry.
+     */
+    static class RecordingIndexView extends AugmentedIndexView {
+        private final IndexView delegate;
+        private final Set<String> dependencies = new HashSet<>();
+
+        RecordingIndexView(IndexView delegate) {
+            super(delegate, false);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Collection<ClassInfo> getKnownClasses() {
+            dependencies.add(KNOWN_CLASSES);
+            return delegate.getKnownClasses();
+        }
+
+        @Override
+        public ClassInfo getClassByName(DotName className) {
+            dependencies.add(CLASS + className);
+            return delegate.getClassByName(className);
+        }
+
+        @Override
+        public Collection<ClassInfo> getKnownDirectSubclasses(DotName className) {
+            dependencies.add(DIRECT_SUBCLASSES + className);
+            return delegate.getKnownDirectSubclasses(className);
+        }
+
+        @Override
+        public Collection<ClassInfo> getAllKnownSubclasses(DotName className) {
+            dependencies.add(ALL_SUBCLASSES + className);
+            return delegate.getAllKnownSubclasses(className);
+        }
+
+        @Override
+        public Collection<ClassInfo> getKnownDirectImplementors(DotName className) {
+            dependencies.add(DIRECT_IMPLEMENTORS + className);
+            return delegate.getKnownDirectImplementors(className);
+        }
+
+        @Override
+        public Collection<ClassInfo> getAllKnownImplementors(DotName interfaceName) {
+            dependencies.add(ALL_IMPLEMENTORS + interfaceName);
+            return delegate.getAllKnownImplementors(interfaceName);
+        }
+
+        @Override
+        public Collection<AnnotationInstance> getAnnotations(DotName annotationName) {
+            dependencies.add(ANNOTATIONS + annotationName);
+            return delegate.getAnnotations(annotationName);
+        }
+    }
+
+    private final Path directory;
+    private final IndexView index;
+    private final Map<String, String> digests = new ConcurrentHashMap<>();
+    private final Map<DotName, String> classDigests = new ConcurrentHashMap<>();
+
+    /**
+     * Create a cache for a scan of the given index.
+     *
+     * @param directory the directory holding the entries
+     * @param index the index being scanned
+     */
+    ScanCache(Path directory, IndexView index) {
+        this.directory = directory;
+        this.index = index;
+    }
+
+    /**
+     * Create a cache for a scan of the given index, if a directory is configured by
+     * <code>mp.openapi.extensions.scan-cache.directory</code>.
+     *
+     * @param config current configuration, may be null
+     * @param index the index being scanned
+     * @return the cache, or null when no directory is configured
+     */
+    static ScanCache open(OpenApiConfig config, IndexView index) {
+        String cacheDirectory = config != null ? config.scanCacheDirectory() : null;
+        return cacheDirectory != null ? new ScanCache(Paths.get(cacheDirectory), index) : null;
+    }
+
+    /**
+     * @return a view of the index that records the dependencies of a resource class
+     */
+    RecordingIndexView record() {
+        return new RecordingIndexView(index);
+    }
+
+    /**
+     * Read the entry of a resource class, if it was stored for the same scan context
+     * and none of its dependencies have changed since.
+     *
+     * @param resourceClass the JAX-RS resource class
+     * @param scanContext description of the state of the scan that affects the entry
+     * @return the entry, or null if there is no valid entry
+     */
+    Entry read(ClassInfo resourceClass, String scanContext) {
+        Path file = entryFile(resourceClass);
+
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (InputStream stream = Files.newInputStream(file)) {
+            JsonNode node = MAPPER.readTree(stream);
+
+            if (!(FORMAT_VERSION + scanContext).equals(node.path(PROP_CONTEXT).asText())) {
+                LOG.debugv("Scan context of cached JAX-RS resource class {0} has changed", resourceClass.name());
+                return null;
+            }
+
+            Iterator<Map.Entry<String, JsonNode>> dependencies = node.path(PROP_DEPENDENCIES).fields();
+
+            while (dependencies.hasNext()) {
+                Map.Entry<String, JsonNode> dependency = dependencies.next();
+
+                if (!dependency.getValue().asText().equals(digest(dependency.getKey()))) {
+                    LOG.debugv("Dependency {0} of cached JAX-RS resource class {1} has changed", dependency.getKey(),
+                            resourceClass.name());
+                    return null;
+                }
+            }
+
+            OpenAPIImpl schemaModel = readModel(node.get(PROP_SCHEMAS));
+            Map<String, Schema> schemas = schemaModel.getComponents() != null
+                    ? schemaModel.getComponents().getSchemas()
+                    : null;
+            List<Registration> registrations = new ArrayList<>();
+
+            for (JsonNode registration : node.path(PROP_REGISTRATIONS)) {
+                String name = registration.get(PROP_NAME).asText();
+                registrations.add(new Registration(new TypeKey(readType(registration.get(PROP_TYPE))),
+                        registration.get(PROP_NAME_BASE).asText(),
+                        new GeneratedSchemaInfo(name, schemas.get(name)),
+                        registration.get(PROP_REPLACEMENT).asBoolean()));
+            }
+
+            Map<TypeKey, String> lookups = new LinkedHashMap<>();
+
+            for (JsonNode lookup : node.path(PROP_LOOKUPS)) {
+                lookups.put(new TypeKey(readType(lookup.get(PROP_TYPE))), lookup.get(PROP_NAME).asText());
+            }
+
+            Set<String> scopes = null;
+
+            if (node.has(PROP_SCOPES)) {
+                scopes = new LinkedHashSet<>();
+                for (JsonNode scope : node.get(PROP_SCOPES)) {
+                    scopes.add(scope.asText());
+                }
+            }
+
+            return new Entry(readModel(node.get(PROP_MODEL)), registrations, lookups, scopes);
+        } catch (IOException | RuntimeException e) {
+            LOG.debugv(e, "Unable to read cached scan of JAX-RS resource class {0}", resourceClass.name());
+            return null;
+        }
+    }
+
+    /**
+     * Store the entry of a resource class. Failures are logged and otherwise ignored,
+     * as are entries holding types that cannot be stored (type variables and types with
+     * annotated components).
+     *
+     * @param resourceClass the JAX-RS resource class
+     * @param scanContext description of the state of the scan that affects the entry
+     * @param entry the parts of the model contributed by the resource class
+     * @param resourceIndex the index used to process the resource class
+     */
+    void write(ClassInfo resourceClass, String scanContext, Entry entry, RecordingIndexView resourceIndex) {
+        try {
+            ObjectNode node = MAPPER.createObjectNode();
+            node.put(PROP_CONTEXT, FORMAT_VERSION + scanContext);
+
+            Set<String> dependencies = new TreeSet<>(resourceIndex.dependencies);
+            dependencies.add(CLASS + resourceClass.name());
+
+            ArrayNode registrations = node.putArray(PROP_REGISTRATIONS);
+            Map<String, Schema> schemas = new LinkedHashMap<>();
+
+            for (Registration registration : entry.registrations) {
+                ObjectNode type = writeType(registration.key.type(), false);
+
+                if (type == null || schemas.put(registration.info.name, registration.info.schema) != null) {
+                    LOG.debugv("Scan of JAX-RS resource class {0} cannot be cached", resourceClass.name());
+                    return;
+                }
+
+                // The registry reads the schema name from the class, using an index that is not recorded
+                dependencies.add(CLASS + registration.key.type().name());
+
+                registrations.addObject()
+                        .put(PROP_NAME, registration.info.name)
+                        .put(PROP_NAME_BASE, registration.nameBase)
+                        .put(PROP_REPLACEMENT, registration.replacement)
+                        .set(PROP_TYPE, type);
+            }
+
+            ArrayNode lookups = node.putArray(PROP_LOOKUPS);
+
+            for (Map.Entry<TypeKey, String> lookup : entry.lookups.entrySet()) {
+                ObjectNode type = writeType(lookup.getKey().type(), false);
+
+                if (type == null) {
+                    LOG.debugv("Scan of JAX-RS resource class {0} cannot be cached", resourceClass.name());
+                    return;
+                }
+
+                lookups.addObject().put(PROP_NAME, lookup.getValue()).set(PROP_TYPE, type);
+            }
+
+            if (entry.scopes != null) {
+                ArrayNode scopes = node.putArray(PROP_SCOPES);
+                entry.scopes.forEach(scopes::add);
+            }
+
+            ObjectNode digestNode = node.putObject(PROP_DEPENDENCIES);
+            dependencies.forEach(dependency -> digestNode.put(dependency, digest(dependency)));
+
+            OpenAPIImpl schemaModel = new OpenAPIImpl();
+            ComponentsImpl components = new ComponentsImpl();
+            components.setSchemas(schemas);
+            schemaModel.setComponents(components);
+
+            node.set(PROP_MODEL, new OpenApiSerializer(entry.model).serialize());
+            node.set(PROP_SCHEMAS, new OpenApiSerializer(schemaModel).serialize());
+
+            Files.createDirectories(directory);
+            Path file = entryFile(resourceClass);
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+
+            try {
+                try (OutputStream stream = Files.newOutputStream(temp)) {
+                    MAPPER.writeValue(stream, node);
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.debugv(e, "Unable to cache scan of JAX-RS resource class {0}", resourceClass.name());
+        }
+    }
+
+    private Path entryFile(ClassInfo resourceClass) {
+        return directory.resolve(resourceClass.name().toString() + ".json");
+    }
+
+    private static OpenAPIImpl readModel(JsonNode node) {
+        return new OpenApiParser(node).parse();
+    }
+
+    /**
+     * Write a type handled by the {@link SchemaRegistry}. Returns null for types that
+     * cannot be created again when read: type variables, and types whose components are
+     * annotated (the annotations of components are significant to the registry).
+     */
+    private static ObjectNode writeType(Type type, boolean component) {
+        if (component && !type.annotations().isEmpty()) {
+            return null;
+        }
+
+        ObjectNode node = MAPPER.createObjectNode();
+        node.put(PROP_KIND, type.kind().name());
+
+        switch (type.kind()) {
+            case CLASS:
+            case PRIMITIVE:
+            case VOID:
+                node.put(PROP_NAME, type.name().toString());
+                return node;
+            case ARRAY: {
+                ObjectNode componentNode = writeType(type.asArrayType().component(), true);
+                if (componentNode == null) {
+                    return null;
+                }
+                node.set(PROP_COMPONENT, componentNode);
+                node.put(PROP_DIMENSIONS, type.asArrayType().dimensions());
+                return node;
+            }
+            case PARAMETERIZED_TYPE: {
+                ParameterizedType parameterized = type.asParameterizedType();
+                node.put(PROP_NAME, parameterized.name().toString());
+                ArrayNode arguments = node.putArray(PROP_ARGUMENTS);
+                for (Type argument : parameterized.arguments()) {
+                    ObjectNode argumentNode = writeType(argument, true);
+                    if (argumentNode == null) {
+                        return null;
+                    }
+                    arguments.add(argumentNode);
+                }
+                if (parameterized.owner() != null) {
+                    ObjectNode ownerNode = writeType(parameterized.owner(), true);
+                    if (ownerNode == null) {
+                        return null;
+                    }
+                    node.set(PROP_OWNER, ownerNode);
+                }
+                return node;
+            }
+            case WILDCARD_TYPE: {
+                WildcardType wildcard = type.asWildcardType();
+                boolean isExtends = wildcard.superBound() == null;
+                ObjectNode boundNode = writeType(isExtends ? wildcard.extendsBound() : wildcard.superBound(), true);
+                if (boundNode == null) {
+                    return null;
+                }
+                node.set(PROP_BOUND, boundNode);
+                node.put(PROP_EXTENDS, isExtends);
+                return node;
+            }
+            default:
+                return null;
+        }
+    }
+
+    private static Type readType(JsonNode node) {
+        Type.Kind kind = Type.Kind.valueOf(node.get(PROP_KIND).asText());
+
+        switch (kind) {
+            case ARRAY:
+                return ArrayType.create(readType(node.get(PROP_COMPONENT)), node.get(PROP_DIMENSIONS).asInt());
+            case PARAMETERIZED_TYPE: {
+                List<Type> arguments = new ArrayList<>();
+                node.get(PROP_ARGUMENTS).forEach(argument -> arguments.add(readType(argument)));
+                Type owner = node.has(PROP_OWNER) ? readType(node.get(PROP_OWNER)) : null;
+                return ParameterizedType.create(DotName.createSimple(node.get(PROP_NAME).asText()),
+                        arguments.toArray(new Type[arguments.size()]), owner);
+            }
+            case WILDCARD_TYPE:
+                return WildcardType.create(readType(node.get(PROP_BOUND)), node.get(PROP_EXTENDS).asBoolean());
+            default:
+                return Type.create(DotName.createSimple(node.get(PROP_NAME).asText()), kind);
+        }
+    }
+
+    /**
+     * Compute the digest of a dependency in the index being scanned. The digests are
+     * kept for the remainder of the scan.
+     */
+    private String digest(String dependency) {
+        String digest = digests.get(dependency);
+
+        if (digest == null) {
+            digest = computeDigest(dependency);
+
+            if (digest != null) {
+                digests.put(dependency, digest);
+            }
+        }
+
+        return digest;
+    }
+
+    private String computeDigest(String dependency) {
+        int separator = dependency.indexOf(':') + 1;
+        String kind = dependency.substring(0, separator);
+        DotName name = DotName.createSimple(dependency.substring(separator));
+
+        switch (kind) {
+            case CLASS:
+                return classDigest(index.getClassByName(name));
+            case DIRECT_SUBCLASSES:
+                return classesDigest(index.getKnownDirectSubclasses(name));
+            case ALL_SUBCLASSES:
+                return classesDigest(index.getAllKnownSubclasses(name));
+            case DIRECT_IMPLEMENTORS:
+                return classesDigest(index.getKnownDirectImplementors(name));
+            case ALL_IMPLEMENTORS:
+                return classesDigest(index.getAllKnownImplementors(name));
+            case ANNOTATIONS:
+                return annotationsDigest(index.getAnnotations(name));
+            case KNOWN_CLASSES:
+                return classesDigest(index.getKnownClasses());
+            default:
+                // Unknown dependency of an entry, never valid
+                return null;
+        }
+    }
+
+    private String classesDigest(Collection<ClassInfo> classes) {
+        Set<String> digests = new TreeSet<>();
+
+        for (ClassInfo clazz : classes) {
+            digests.add(clazz.name() + "=" + classDigest(clazz));
+        }
+
+        return hash(String.join("\n", digests));
+    }
+
+    private static String annotationsDigest(Collection<AnnotationInstance> annotations) {
+        Set<String> descriptions = new TreeSet<>();
+
+        for (AnnotationInstance annotation : annotations) {
+            descriptions.add(describe(annotation.target()) + " " + annotation);
+        }
+
+        return hash(String.join("\n", descriptions));
+    }
+
+    private String classDigest(ClassInfo clazz) {
+        if (clazz == null) {
+            return ABSENT;
+        }
+
+        return classDigests.computeIfAbsent(clazz.name(), name -> hash(describe(clazz)));
+    }
+
+    /**
+     * Describe the indexed information of a class that may affect the model generated
+     * from it.
+     */
+    private static String describe(ClassInfo clazz) {
+        StringBuilder text = new StringBuilder();
+        text.append(clazz.flags()).append(' ').append(clazz.name()).append(' ').append(clazz.typeParameters());
+        text.append(" extends ").append(clazz.superClassType());
+        text.append(" implements ").append(clazz.interfaceTypes()).append('\n');
+
+        for (FieldInfo field : clazz.fields()) {
+            text.append(field.flags()).append(' ').append(field.type()).append(' ').append(field.name()).append('\n');
+        }
+
+        for (MethodInfo method : clazz.methods()) {
+            text.append(method.flags()).append(' ').append(method.typeParameters()).append(' ');
+            text.append(method.returnType()).append(' ').append(method.name()).append('(');
+            for (int i = 0; i < method.parameters().size(); i++) {
+                text.append(method.parameters().get(i)).append(' ').append(method.parameterName(i)).append(',');
+            }
+            text.append(") ").append(method.exceptions()).append(' ').append(method.defaultValue()).append('\n');
+        }
+
+        Set<String> annotations = new TreeSet<>();
+
+        for (List<AnnotationInstance> instances : clazz.annotations().values()) {
+            for (AnnotationInstance annotation : instances) {
+                annotations.add(describe(annotation.target()) + " " + annotation);
+            }
+        }
+
+        annotations.forEach(annotation -> text.append(annotation).append('\n'));
+
+        return text.toString();
+    }
+
+    private static String describe(AnnotationTarget target) {
+        if (target == null) {
+            return "";
+        }
+
+        switch (target.kind()) {
+            case CLASS:
+                return target.asClass().name().toString();
+            case FIELD:
+                return target.asField().declaringClass().name() + "#" + target.asField().name();
+            case METHOD:
+                return target.asMethod().declaringClass().name() + "#" + target.asMethod().name()
+                        + target.asMethod().parameters();
+            case METHOD_PARAMETER:
+                return describe(target.asMethodParameter().method()) + "[" + target.asMethodParameter().position() + "]";
+            case TYPE:
+                return describe(target.asType().enclosingTarget()) + " " + target.asType().usage() + " "
+                        + target.asType().target();
+            default:
+                return target.kind().name();
+        }
+    }
+
+    private static String hash(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            byte[] hash = digest.digest(text.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
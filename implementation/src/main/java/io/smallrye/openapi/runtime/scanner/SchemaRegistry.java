@@ -2,12 +2,18 @@ package io.smallrye.openapi.runtime.scanner;
 
 import static io.smallrye.openapi.runtime.util.TypeUtil.getSchemaAnnotation;
 
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.microprofile.openapi.models.Components;
 import org.eclipse.microprofile.openapi.models.OpenAPI;
@@ -23,6 +29,7 @@ import org.jboss.jandex.WildcardType;
 
 import io.smallrye.openapi.api.OpenApiConfig;
 import io.smallrye.openapi.api.OpenApiConstants;
+import io.smallrye.openapi.api.models.OpenAPIImpl;
 import io.smallrye.openapi.api.models.media.SchemaImpl;
 import io.smallrye.openapi.runtime.scanner.dataobject.TypeResolver;
 import io.smallrye.openapi.runtime.util.JandexUtil;
@@ -30,20 +37,37 @@ import io.smallrye.openapi.runtime.util.ModelUtil;
 
 /**
  * A simple registry used to track schemas that have been generated and inserted
- * into the #/components section of the
+ * into the #/components section of the OpenAPI document being built.
+ *
+ * A registry is created for a single scan by
+ * {@link #newInstance(OpenApiConfig, OpenAPI, IndexView) newInstance} and is
+ * passed explicitly to the components that generate schemas. It is not bound to
+ * any thread and is not retained once the scan no longer references it.
+ *
+ * The registry may be used by multiple threads. Lookups and the assignment of
+ * names do not lock; only the insertion of a new schema into the document's
+ * components (which are not thread-safe) is serialized. Names are assigned in
+ * the order in which registrations occur, so threads registering distinct
+ * types with the same name concurrently must each use a {@link #fork() fork}
+ * of the registry and {@link #merge(SchemaRegistry) merge} them in a
+ * predetermined order to obtain the same names in every scan.
  *
  * @author eric.wittmann@gmail.com
  */
 public class SchemaRegistry {
 
-    // Initial value is null
+    /**
+     * Registry most recently created on each thread, kept only for callers of
+     * the deprecated {@link #currentInstance()}.
+     */
     private static ThreadLocal<SchemaRegistry> current = new ThreadLocal<>();
 
     /**
-     * Create a new instance of a {@link SchemaRegistry} on this thread. The
-     * registry returned by this method may also be obtained by subsequent calls
-     * to {@link #currentInstance()}. Additional calls of this method will
-     * replace the registry in the current thread context with a new instance.
+     * Create a new instance of a {@link SchemaRegistry} for a scan that adds
+     * generated schemas to the given OpenAPI model. Until
+     * {@link #clearCurrentInstance(SchemaRegistry) cleared}, the registry may
+     * also be obtained on the calling thread by the deprecated
+     * {@link #currentInstance()}.
      *
      * @param config
      *        current runtime configuration
@@ -60,21 +84,71 @@ public class SchemaRegistry {
     }
 
     /**
-     * Retrieve the {@link SchemaRegistry} previously created by
+     * Retrieve the {@link SchemaRegistry} most recently created by
      * {@link SchemaRegistry#newInstance(OpenApiConfig, OpenAPI, IndexView)
-     * newInstance} for the current thread, or <code>null</code> if none has yet
-     * been created.
+     * newInstance} on the current thread, or <code>null</code> if none has yet
+     * been created or it has been cleared.
      *
      * @return a {@link SchemaRegistry} instance or null
+     * @deprecated pass the registry of the scan explicitly instead
      */
+    @Deprecated
     public static SchemaRegistry currentInstance() {
         return current.get();
     }
 
+    /**
+     * Remove the registry of the current thread.
+     *
+     * @deprecated registries are no longer bound to a thread once their scan ends
+     */
+    @Deprecated
     public static void remove() {
         current.remove();
     }
 
+    /**
+     * Remove the given registry from the current thread, if it is still the
+     * current instance of the thread. Called when the scan that created the
+     * registry ends, so that the registry is not retained by the thread.
+     *
+     * @param registry
+     *        the registry of the scan that ended
+     */
+    static void clearCurrentInstance(SchemaRegistry registry) {
+        if (current.get() == registry) {
+            current.remove();
+        }
+    }
+
+    /**
+     * Check if the entityType is eligible for registration with the registry of
+     * the current thread.
+     *
+     * @param type
+     *        the {@link Type} the {@link Schema} applies to
+     * @param resolver
+     *        a {@link TypeResolver} that will be used to resolve
+     *        parameterized and wildcard types
+     * @param schema
+     *        {@link Schema} to add to the registry
+     * @return the same schema if not eligible for registration or there is no
+     *         current registry, or a reference to the schema registered for the
+     *         given Type
+     * @deprecated use {@link #registerIfEligible(Type, TypeResolver, Schema)}
+     *             of the registry of the scan
+     */
+    @Deprecated
+    public static Schema checkRegistration(Type type, TypeResolver resolver, Schema schema) {
+        SchemaRegistry registry = currentInstance();
+
+        if (registry == null) {
+            return schema;
+        }
+
+        return registry.registerIfEligible(type, resolver, schema);
+    }
+
     /**
      * Check if the entityType is eligible for registration using the
      * typeResolver. The eligible kinds of types are
@@ -105,7 +179,7 @@ public class SchemaRegistry {
      * @return the same schema if not eligible for registration, or a reference
      *         to the schema registered for the given Type
      */
-    public static Schema checkRegistration(Type type, TypeResolver resolver, Schema schema) {
+    public Schema registerIfEligible(Type type, TypeResolver resolver, Schema schema) {
         Type resolvedType = resolver.getResolvedType(type);
 
         switch (resolvedType.kind()) {
@@ -118,20 +192,21 @@ public class SchemaRegistry {
                 return schema;
         }
 
-        SchemaRegistry registry = currentInstance();
-
-        if (registry == null || !registry.schemaReferenceSupported()) {
+        if (!schemaReferenceSupported()) {
             return schema;
         }
 
+        usages.incrementAndGet();
         TypeKey key = new TypeKey(resolvedType);
+        GeneratedSchemaInfo info = registry.get(key);
 
-        if (registry.has(key)) {
-            schema = registry.lookupRef(key);
-        } else if (registry.index.getClassByName(resolvedType.name()) == null) {
+        if (info != null) {
+            recordLookup(key, info);
+            schema = info.schemaRef;
+        } else if (index.getClassByName(resolvedType.name()) == null) {
             return schema;
         } else {
-            schema = registry.register(key, schema);
+            schema = register(key, schema, false);
         }
 
         return schema;
@@ -152,19 +227,56 @@ public class SchemaRegistry {
             this.schema = schema;
             this.schemaRef = schemaRef;
         }
+
+        GeneratedSchemaInfo(String name, Schema schema) {
+            this(name, schema, new SchemaImpl().ref(OpenApiConstants.REF_PREFIX_SCHEMA + name));
+        }
+    }
+
+    /**
+     * A schema registered with a forked registry, along with the information
+     * needed to repeat the registration in the registry it was forked from.
+     */
+    static class Registration {
+        final TypeKey key;
+        final String nameBase;
+        final GeneratedSchemaInfo info;
+        final boolean replacement;
+
+        Registration(TypeKey key, String nameBase, GeneratedSchemaInfo info, boolean replacement) {
+            this.key = key;
+            this.nameBase = nameBase;
+            this.info = info;
+            this.replacement = replacement;
+        }
     }
 
     private final OpenApiConfig config;
     private final OpenAPI oai;
     private final IndexView index;
 
-    private final Map<TypeKey, GeneratedSchemaInfo> registry = new LinkedHashMap<>();
-    private final Set<String> names = new LinkedHashSet<>();
+    private final ConcurrentMap<TypeKey, GeneratedSchemaInfo> registry = new ConcurrentHashMap<>();
+    private final Set<String> names = ConcurrentHashMap.newKeySet();
+    private final AtomicLong usages = new AtomicLong();
+
+    /**
+     * Registrations made since this registry was forked, in order. Always null
+     * for a registry that was not created by {@link #fork()}.
+     */
+    private final Queue<Registration> registrations;
+
+    /**
+     * Names of the schemas looked up since this registry was forked. Always null
+     * for a registry that was not created by {@link #fork()}.
+     */
+    private final Map<TypeKey, String> lookups;
 
     private SchemaRegistry(OpenApiConfig config, OpenAPI oai, IndexView index) {
         this.config = config;
         this.oai = oai;
         this.index = index;
+        this.registrations = null;
+        this.lookups = null;
 
         /*
          * If anything has been added in the component scan, add the names here
@@ -180,6 +292,110 @@ public class SchemaRegistry {
         }
     }
 
+    private SchemaRegistry(SchemaRegistry parent) {
+        this.config = parent.config;
+        this.oai = new OpenAPIImpl();
+        this.index = parent.index;
+        this.registry.putAll(parent.registry);
+        this.names.addAll(parent.names);
+        this.registrations = new ConcurrentLinkedQueue<>();
+        this.lookups = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Create a copy of this registry that may be used by another thread while
+     * this registry is not being modified. Schemas registered with the copy are
+     * not added to the OpenAPI document of this registry, but are recorded so
+     * that they may later be transferred using {@link #merge(SchemaRegistry)}.
+     *
+     * @return a new registry holding the registrations currently present in
+     *         this registry
+     */
+    SchemaRegistry fork() {
+        return new SchemaRegistry(this);
+    }
+
+    /**
+     * Transfer the schemas registered with a registry previously created by
+     * {@link #fork()} into this registry and its OpenAPI document, in the order
+     * they were registered. The schemas are transferred only if each of them
+     * is assigned the same name the forked registry gave it (and thus the
+     * references created by the forked registry are valid in this registry).
+     * Otherwise, this registry is left unchanged.
+     *
+     * Registrations of types that have been registered here since the fork
+     * was created keep the existing schema, just as a lookup would have done.
+     * The schemas looked up in the forked registry must likewise still be known
+     * by the same names.
+     *
+     * @param fork
+     *        a registry created by {@link #fork()} of this registry
+     * @return true if the registrations were transferred, false if any of the
+     *         names conflict with those assigned in this registry
+     */
+    boolean merge(SchemaRegistry fork) {
+        return merge(fork.registrations, fork.lookups);
+    }
+
+    /**
+     * Transfer the given registrations, made by a fork of this registry (possibly
+     * during an earlier scan), into this registry. See {@link #merge(SchemaRegistry)}.
+     *
+     * @param registrations
+     *        the registrations made by the fork, in order
+     * @param lookups
+     *        the names of the schemas looked up by the fork
+     * @return true if the registrations were transferred, false if any of the
+     *         names conflict with those assigned in this registry
+     */
+    boolean merge(Collection<Registration> registrations, Map<TypeKey, String> lookups) {
+        Map<TypeKey, String> knownNames = new HashMap<>(this.registry.size() + registrations.size());
+        this.registry.forEach((key, info) -> knownNames.put(key, info.name));
+        Set<String> usedNames = new HashSet<>(this.names);
+
+        for (Registration registration : registrations) {
+            String knownName = knownNames.get(registration.key);
+
+            if (knownName != null) {
+                if (!registration.replacement) {
+                    if (!knownName.equals(registration.info.name)) {
+                        return false;
+                    }
+                    continue;
+                }
+                knownNames.remove(registration.key);
+                usedNames.remove(knownName);
+            }
+
+            String name = nextName(registration.nameBase, usedNames);
+
+            if (!name.equals(registration.info.name)) {
+                return false;
+            }
+
+            knownNames.put(registration.key, name);
+            usedNames.add(name);
+        }
+
+        for (Map.Entry<TypeKey, String> lookup : lookups.entrySet()) {
+            if (!lookup.getValue().equals(knownNames.get(lookup.getKey()))) {
+                return false;
+            }
+        }
+
+        for (Registration registration : registrations) {
+            if (has(registration.key)) {
+                if (!registration.replacement) {
+                    continue;
+                }
+                remove(registration.key);
+            }
+            add(registration.key, registration.info);
+        }
+
+        return true;
+    }
+
     /**
      * Register the provided {@link Schema} for the provided {@link Type}. If an
      * existing schema has already been registered for the type, it will be
@@ -194,12 +410,10 @@ public class SchemaRegistry {
     public Schema register(Type entityType, Schema schema) {
         TypeKey key = new TypeKey(entityType);
 
-        if (has(key)) {
-            // This is a replacement registration
-            remove(key);
-        }
+        // This may be a replacement registration
+        remove(key);
 
-        return register(key, schema);
+        return register(key, schema, true);
     }
 
     /**
@@ -208,6 +422,10 @@ public class SchemaRegistry {
      * registered using a name that already exists in the registry, a sequential
      * number will be appended to the schemas display name prior to adding.
      *
+     * If another thread registers the same type concurrently (other than as a
+     * replacement), the first registration is kept and a reference to it is
+     * returned to both callers.
+     *
      * Note, this method does NOT merge schemas found during the scanning of the
      * {@link org.eclipse.microprofile.openapi.annotations.Components}
      * annotation with those found during the model scan.
@@ -218,7 +436,9 @@ public class SchemaRegistry {
      *        {@link Schema} to add to the registry
      * @return a reference to the newly registered {@link Schema}
      */
-    private Schema register(TypeKey key, Schema schema) {
+    private Schema register(TypeKey key, Schema schema, boolean replacement) {
+        usages.incrementAndGet();
+
         /*
          * We cannot use the 'name' on the SchemaImpl because it may be a
          * property name rather then a schema name.
@@ -232,23 +452,67 @@ public class SchemaRegistry {
         }
 
         String nameBase = schemaName != null ? schemaName : key.defaultName();
-        String name = nameBase;
-        int idx = 1;
-        while (this.names.contains(name)) {
-            name = nameBase + idx++;
-        }
+        String name = claimName(nameBase);
 
         Schema schemaRef = new SchemaImpl();
         schemaRef.setRef(OpenApiConstants.REF_PREFIX_SCHEMA + name);
 
-        registry.put(key, new GeneratedSchemaInfo(name, schema, schemaRef));
-        names.add(name);
+        GeneratedSchemaInfo info = new GeneratedSchemaInfo(name, schema, schemaRef);
+
+        if (replacement) {
+            registry.put(key, info);
+        } else {
+            GeneratedSchemaInfo existing = registry.putIfAbsent(key, info);
 
-        ModelUtil.components(oai).addSchema(name, schema);
+            if (existing != null) {
+                // Registered concurrently by another thread, release the name
+                names.remove(name);
+                return existing.schemaRef;
+            }
+        }
+
+        addSchema(info);
+
+        if (registrations != null) {
+            registrations.add(new Registration(key, nameBase, info, replacement));
+        }
 
         return schemaRef;
     }
 
+    /**
+     * Reserve the first available name derived from the given base name.
+     */
+    private String claimName(String nameBase) {
+        String name = nameBase;
+        int idx = 1;
+        while (!names.add(name)) {
+            name = nameBase + idx++;
+        }
+        return name;
+    }
+
+    private static String nextName(String nameBase, Set<String> usedNames) {
+        String name = nameBase;
+        int idx = 1;
+        while (usedNames.contains(name)) {
+            name = nameBase + idx++;
+        }
+        return name;
+    }
+
+    private void add(TypeKey key, GeneratedSchemaInfo info) {
+        registry.put(key, info);
+        names.add(info.name);
+        addSchema(info);
+    }
+
+    private void addSchema(GeneratedSchemaInfo info) {
+        synchronized (oai) {
+            ModelUtil.components(oai).addSchema(info.name, info.schema);
+        }
+    }
+
     public Schema lookupRef(Type instanceType) {
         return lookupRef(new TypeKey(instanceType));
     }
@@ -257,27 +521,81 @@ public class SchemaRegistry {
         return has(new TypeKey(instanceType));
     }
 
+    /**
+     * Counts the lookups and registrations of schemas made with this registry. A
+     * computation that leaves the count unchanged did not depend on the registry.
+     *
+     * @return the number of uses of this registry
+     */
+    public long usages() {
+        return usages.get();
+    }
+
     public boolean schemaReferenceSupported() {
         return config != null && config.schemaReferencesEnable();
     }
 
+    OpenApiConfig config() {
+        return config;
+    }
+
+    /**
+     * Test whether the schema is the one registered for the type, rather than a
+     * schema generated for a type that had already been registered.
+     *
+     * @param type the type the schema was generated for
+     * @param schema the generated schema
+     * @return true if a reference to the type refers to the schema
+     */
+    boolean isRegisteredSchema(Type type, Schema schema) {
+        usages.incrementAndGet();
+        GeneratedSchemaInfo info = registry.get(new TypeKey(type));
+        return info != null && info.schema == schema;
+    }
+
     private Schema lookupRef(TypeKey key) {
+        usages.incrementAndGet();
         GeneratedSchemaInfo info = registry.get(key);
 
         if (info == null) {
             throw new NoSuchElementException("Class schema not registered: " + key.type.name());
         }
 
+        recordLookup(key, info);
         return info.schemaRef;
     }
 
+    private void recordLookup(TypeKey key, GeneratedSchemaInfo info) {
+        if (lookups != null) {
+            lookups.putIfAbsent(key, info.name);
+        }
+    }
+
+    /**
+     * @return the registrations made since this registry was forked, in order
+     */
+    Collection<Registration> registrations() {
+        return registrations;
+    }
+
+    /**
+     * @return the names of the schemas looked up since this registry was forked
+     */
+    Map<TypeKey, String> lookups() {
+        return lookups;
+    }
+
     private boolean has(TypeKey key) {
+        usages.incrementAndGet();
         return registry.containsKey(key);
     }
 
     private void remove(TypeKey key) {
         GeneratedSchemaInfo info = this.registry.remove(key);
-        this.names.remove(info.name);
+
+        if (info != null) {
+            this.names.remove(info.name);
+        }
     }
 
     /************************************************************************/
@@ -300,6 +618,10 @@ public class SchemaRegistry {
             this.type = type;
         }
 
+        Type type() {
+            return type;
+        }
+
         public String defaultName() {
             StringBuilder name = new StringBuilder(type.name().local());
 
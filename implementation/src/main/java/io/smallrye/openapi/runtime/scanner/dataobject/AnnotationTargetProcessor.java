@@ -15,8 +15,6 @@
  */
 package io.smallrye.openapi.runtime.scanner.dataobject;
 
-import static io.smallrye.openapi.runtime.util.TypeUtil.getSchemaAnnotation;
-
 import java.util.List;
 import java.util.Map;
 
@@ -44,6 +42,7 @@ public class AnnotationTargetProcessor implements RequirementHandler {
     private static final Logger LOG = Logger.getLogger(AnnotationTargetProcessor.class);
 
     private final AugmentedIndexView index;
+    private final SchemaRegistry schemaRegistry;
     private final DataObjectDeque objectStack;
     private final DataObjectDeque.PathEntry parentPathEntry;
     private final TypeResolver typeResolver;
@@ -55,12 +54,14 @@ public class AnnotationTargetProcessor implements RequirementHandler {
     private AnnotationTarget annotationTarget;
 
     public AnnotationTargetProcessor(AugmentedIndexView index,
+            SchemaRegistry schemaRegistry,
             DataObjectDeque objectStack,
             DataObjectDeque.PathEntry parentPathEntry,
             TypeResolver typeResolver,
             AnnotationTarget annotationTarget,
             Type entityType) {
         this.index = index;
+        this.schemaRegistry = schemaRegistry;
         this.objectStack = objectStack;
         this.parentPathEntry = parentPathEntry;
         this.typeResolver = typeResolver;
@@ -70,37 +71,43 @@ public class AnnotationTargetProcessor implements RequirementHandler {
     }
 
     public AnnotationTargetProcessor(AugmentedIndexView index,
+            SchemaRegistry schemaRegistry,
             DataObjectDeque objectStack,
             TypeResolver typeResolver,
             DataObjectDeque.PathEntry parentPathEntry) {
 
-        this(index, objectStack, parentPathEntry, typeResolver, typeResolver.getAnnotationTarget(),
+        this(index, schemaRegistry, objectStack, parentPathEntry, typeResolver, typeResolver.getAnnotationTarget(),
                 typeResolver.getUnresolvedType());
     }
 
     public AnnotationTargetProcessor(AugmentedIndexView index,
+            SchemaRegistry schemaRegistry,
             DataObjectDeque objectStack,
             TypeResolver typeResolver,
             DataObjectDeque.PathEntry parentPathEntry,
             Type type) {
-        this(index, objectStack, parentPathEntry, typeResolver, index.getClass(type), type);
+        this(index, schemaRegistry, objectStack, parentPathEntry, typeResolver, index.getClass(type), type);
     }
 
     public static Schema process(AugmentedIndexView index,
+            SchemaRegistry schemaRegistry,
             DataObjectDeque objectStack,
             TypeResolver typeResolver,
             DataObjectDeque.PathEntry parentPathEntry) {
 
-        AnnotationTargetProcessor fp = new AnnotationTargetProcessor(index, objectStack, typeResolver, parentPathEntry);
+        AnnotationTargetProcessor fp = new AnnotationTargetProcessor(index, schemaRegistry, objectStack, typeResolver,
+                parentPathEntry);
         return fp.processField();
     }
 
     public static Schema process(AugmentedIndexView index,
+            SchemaRegistry schemaRegistry,
             DataObjectDeque objectStack,
             TypeResolver typeResolver,
             DataObjectDeque.PathEntry parentPathEntry,
             Type type) {
-        AnnotationTargetProcessor fp = new AnnotationTargetProcessor(index, objectStack, typeResolver, parentPathEntry, type);
+        AnnotationTargetProcessor fp = new AnnotationTargetProcessor(index, schemaRegistry, objectStack, typeResolver,
+                parentPathEntry, type);
         return fp.processField();
     }
 
@@ -109,7 +116,7 @@ public class AnnotationTargetProcessor implements RequirementHandler {
         List<String> requiredProperties = parentPathEntry.getSchema().getRequired();
 
         if (requiredProperties == null || !requiredProperties.contains(propertyKey)) {
-            AnnotationInstance schemaAnnotation = getSchemaAnnotation(target);
+            AnnotationInstance schemaAnnotation = index.annotations().getAnnotation(target, OpenApiConstants.DOTNAME_SCHEMA);
 
             if (schemaAnnotation == null ||
                     schemaAnnotation.value(OpenApiConstants.PROP_REQUIRED) == null) {
@@ -123,7 +130,8 @@ public class AnnotationTargetProcessor implements RequirementHandler {
     }
 
     Schema processField() {
-        AnnotationInstance schemaAnnotation = TypeUtil.getSchemaAnnotation(annotationTarget);
+        AnnotationInstance schemaAnnotation = index.annotations().getAnnotation(annotationTarget,
+                OpenApiConstants.DOTNAME_SCHEMA);
 
         final String propertyKey = typeResolver.getPropertyName();
 
@@ -137,8 +145,10 @@ public class AnnotationTargetProcessor implements RequirementHandler {
             readSchemaAnnotatedField(propertyKey, schemaAnnotation);
         }
 
-        BeanValidationScanner.applyConstraints(annotationTarget, fieldSchema, propertyKey, this);
-        fieldSchema = SchemaRegistry.checkRegistration(entityType, typeResolver, fieldSchema);
+        BeanValidationScanner.applyConstraints(index.annotations(), annotationTarget, fieldSchema, propertyKey, this);
+        if (schemaRegistry != null) {
+            fieldSchema = schemaRegistry.registerIfEligible(entityType, typeResolver, fieldSchema);
+        }
         parentPathEntry.getSchema().addProperty(propertyKey, fieldSchema);
         return fieldSchema;
     }
@@ -157,7 +167,7 @@ public class AnnotationTargetProcessor implements RequirementHandler {
         }
 
         // Type could be replaced (e.g. generics).
-        TypeProcessor typeProcessor = new TypeProcessor(index, objectStack, parentPathEntry, typeResolver, entityType,
+        TypeProcessor typeProcessor = new TypeProcessor(index, schemaRegistry, objectStack, parentPathEntry, typeResolver, entityType,
                 fieldSchema, annotationTarget);
 
         Type postProcessedField = typeProcessor.processType();
@@ -167,13 +177,13 @@ public class AnnotationTargetProcessor implements RequirementHandler {
         // Provide inferred type and format if relevant.
         Map<String, Object> defaults = TypeUtil.getTypeAttributes(postProcessedField);
         // readSchema *may* replace the existing schema, so we must assign.
-        this.fieldSchema = SchemaFactory.readSchema(index, fieldSchema, annotation, defaults);
+        this.fieldSchema = SchemaFactory.readSchema(index, schemaRegistry, fieldSchema, annotation, defaults);
     }
 
     private void readUnannotatedField() {
         LOG.debugv("Processing unannotated field {0}", entityType);
 
-        TypeProcessor typeProcessor = new TypeProcessor(index, objectStack, parentPathEntry, typeResolver, entityType,
+        TypeProcessor typeProcessor = new TypeProcessor(index, schemaRegistry, objectStack, parentPathEntry, typeResolver, entityType,
                 fieldSchema, annotationTarget);
 
         Type postProcessedField = typeProcessor.processType();
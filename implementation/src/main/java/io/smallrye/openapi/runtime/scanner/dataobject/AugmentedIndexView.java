@@ -25,6 +25,8 @@ import org.jboss.jandex.DotName;
 import org.jboss.jandex.IndexView;
 import org.jboss.jandex.Type;
 
+import io.smallrye.openapi.runtime.util.AnnotationPresenceIndex;
+import io.smallrye.openapi.runtime.util.TypeHierarchy;
 import io.smallrye.openapi.runtime.util.TypeUtil;
 
 /**
@@ -36,13 +38,82 @@ import io.smallrye.openapi.runtime.util.TypeUtil;
 public class AugmentedIndexView implements IndexView {
 
     private final IndexView index;
-
+    private final AnnotationPresenceIndex annotations;
+    private final TypeHierarchy hierarchy;
+    private final SchemaCache schemas;
+
+    /**
+     * Wraps the index. When the index is itself augmented, the new view shares its
+     * {@link #annotations() annotation presence index}, {@link #hierarchy() type hierarchy}
+     * and {@link #schemas() schema cache}.
+     *
+     * @param index the index to wrap
+     */
     public AugmentedIndexView(@NotNull IndexView index) {
+        this(index, true);
+    }
+
+    /**
+     * Wraps the index. Views overriding the lookups of classes pass false for
+     * shareLookups, so that the classes used by the type hierarchy and the cached
+     * schemas are looked up through them.
+     *
+     * @param index the index to wrap
+     * @param shareLookups whether to share the type hierarchy and schema cache of an
+     *        augmented index
+     */
+    protected AugmentedIndexView(@NotNull IndexView index, boolean shareLookups) {
         this.index = index;
+        if (index instanceof AugmentedIndexView) {
+            this.annotations = ((AugmentedIndexView) index).annotations;
+        } else {
+            this.annotations = new AnnotationPresenceIndex();
+        }
+        if (shareLookups && index instanceof AugmentedIndexView) {
+            this.hierarchy = ((AugmentedIndexView) index).hierarchy;
+            this.schemas = ((AugmentedIndexView) index).schemas;
+        } else {
+            this.hierarchy = new TypeHierarchy(this);
+            this.schemas = new SchemaCache();
+        }
+    }
+
+    /**
+     * Returns the index if it is already augmented, otherwise wraps it.
+     *
+     * @param index the index to augment
+     * @return augmented view of the index
+     */
+    public static AugmentedIndexView augment(@NotNull IndexView index) {
+        if (index instanceof AugmentedIndexView) {
+            return (AugmentedIndexView) index;
+        }
+        return new AugmentedIndexView(index);
+    }
+
+    /**
+     * @return the annotations of the targets visited through this view
+     */
+    public AnnotationPresenceIndex annotations() {
+        return annotations;
+    }
+
+    /**
+     * @return the hierarchy of the classes found through this view
+     */
+    public TypeHierarchy hierarchy() {
+        return hierarchy;
+    }
+
+    /**
+     * @return the schemas of the data objects scanned through this view
+     */
+    public SchemaCache schemas() {
+        return schemas;
     }
 
     public ClassInfo getClass(@NotNull Type type) {
-        return index.getClassByName(TypeUtil.getName(type));
+        return getClassByName(TypeUtil.getName(type));
     }
 
     public boolean containsClass(@NotNull Type type) {
@@ -50,7 +121,7 @@ public class AugmentedIndexView implements IndexView {
     }
 
     public ClassInfo getClass(@NotNull Class<?> klazz) {
-        return index.getClassByName(DotName.createSimple(klazz.getName()));
+        return getClassByName(DotName.createSimple(klazz.getName()));
     }
 
     @Override
@@ -75,7 +146,7 @@ public class AugmentedIndexView implements IndexView {
 
     @Override
     public Collection<ClassInfo> getKnownDirectImplementors(@NotNull DotName className) {
-        return index.getKnownDirectSubclasses(className);
+        return index.getKnownDirectImplementors(className);
     }
 
     @Override
@@ -19,6 +19,9 @@ import org.jboss.jandex.DotName;
 import org.jboss.jandex.Type;
 import org.jboss.logging.Logger;
 
+import io.smallrye.openapi.runtime.util.AnnotationPresenceIndex;
+import io.smallrye.openapi.runtime.util.AnnotationPresenceIndex.Family;
+
 /**
  * @author Michael Edgar {@literal <michael@xlate.io>}
  */
@@ -101,6 +104,37 @@ public class BeanValidationScanner {
             Schema schema,
             String propertyKey,
             RequirementHandler handler) {
+        applyConstraints(null, target, schema, propertyKey, handler);
+    }
+
+    /**
+     * Same as {@link #applyConstraints(AnnotationTarget, Schema, String, RequirementHandler)},
+     * skipping targets that the annotation presence index reports to have no
+     * constraint annotations at all.
+     *
+     * @param annotations
+     *        annotations of the current scan, may be null
+     * @param target
+     *        the object from which to retrieve the constraint annotations
+     * @param schema
+     *        the schema to which the constraints will be applied
+     * @param propertyKey
+     *        the name of the property in parentSchema that refers to the
+     *        schema
+     * @param handler
+     *        the handler to be called when a
+     *        {@link javax.validation.constraints.NotNull @NotNull}
+     *        constraint is encountered.
+     */
+    public static void applyConstraints(AnnotationPresenceIndex annotations,
+            AnnotationTarget target,
+            Schema schema,
+            String propertyKey,
+            RequirementHandler handler) {
+
+        if (annotations != null && !annotations.hasAnnotation(target, Family.BEAN_VALIDATION)) {
+            return;
+        }
 
         SchemaType schemaType = schema.getType();
 
@@ -17,7 +17,10 @@ package io.smallrye.openapi.runtime.scanner.dataobject;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 import javax.validation.constraints.NotNull;
 
@@ -151,10 +154,25 @@ public class DataObjectDeque {
      * An entry on the object stack.
      */
     public static final class PathEntry {
+        /**
+         * Depth from which the keys of the enclosing entries are kept in a set, walking up
+         * shorter paths being cheaper than building and looking up the set.
+         */
+        static final int ANCESTOR_SET_DEPTH = 32;
+
         private final PathEntry enclosing;
         private final AnnotationTarget annotationTarget;
         private final Type clazzType;
         private final ClassInfo clazz;
+        private final int depth;
+
+        /**
+         * Keys of this entry and of all the entries enclosing it, see {@link #hasParent(PathEntry)}.
+         * Built on the first lookup, from a copy of the set of the enclosing entry when it has
+         * one, so only the entries whose children were looked up hold a set. Always null for
+         * the entries less than {@link #ANCESTOR_SET_DEPTH} deep.
+         */
+        private Set<AncestorKey> ancestors;
 
         // May be changed
         private Schema schema;
@@ -169,17 +187,66 @@ public class DataObjectDeque {
             this.clazz = clazz;
             this.clazzType = clazzType;
             this.schema = schema;
+            this.depth = enclosing != null ? enclosing.depth + 1 : 0;
         }
 
+        /**
+         * Tests whether this entry, or any entry enclosing it, is {@link #equals(Object) equal}
+         * to the candidate. On paths at least {@link #ANCESTOR_SET_DEPTH} deep, instead of
+         * comparing the candidate with each of the entries, the keys of the entries are looked
+         * up in the set of keys accumulated along the path, so the test takes constant time
+         * regardless of the depth of the path.
+         *
+         * @param candidate the entry to look for
+         * @return true if the candidate is equal to this entry or one of its enclosing entries
+         */
         public boolean hasParent(PathEntry candidate) {
-            PathEntry test = this;
-            while (test != null) {
-                if (candidate.equals(test)) {
-                    return true;
+            if (depth < ANCESTOR_SET_DEPTH) {
+                for (PathEntry test = this; test != null; test = test.enclosing) {
+                    if (candidate.equals(test)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            Set<AncestorKey> ancestors = ancestors();
+            if (candidate.clazzType.kind() == Type.Kind.PARAMETERIZED_TYPE) {
+                // Equal to entries of the same class with the same arguments or without arguments
+                return ancestors.contains(candidate.typeKey())
+                        || ancestors.contains(new AncestorKey(candidate.clazz, AncestorKey.RAW));
+            }
+            // Equal to any entry of the same class
+            return ancestors.contains(candidate.classKey());
+        }
+
+        private Set<AncestorKey> ancestors() {
+            if (ancestors == null) {
+                Set<AncestorKey> keys;
+                if (enclosing.ancestors != null) {
+                    keys = new HashSet<>(enclosing.ancestors);
+                } else {
+                    keys = new HashSet<>();
+                    for (PathEntry entry = enclosing; entry != null; entry = entry.enclosing) {
+                        keys.add(entry.classKey());
+                        keys.add(entry.typeKey());
+                    }
                 }
-                test = test.enclosing;
+                keys.add(classKey());
+                keys.add(typeKey());
+                ancestors = keys;
             }
-            return false;
+            return ancestors;
+        }
+
+        private AncestorKey classKey() {
+            return new AncestorKey(clazz, null);
+        }
+
+        private AncestorKey typeKey() {
+            if (clazzType.kind() == Type.Kind.PARAMETERIZED_TYPE) {
+                return new AncestorKey(clazz, clazzType.asParameterizedType().arguments());
+            }
+            return new AncestorKey(clazz, AncestorKey.RAW);
         }
 
         public AnnotationTarget getAnnotationTarget() {
@@ -202,6 +269,13 @@ public class DataObjectDeque {
             return schema;
         }
 
+        /**
+         * @return number of entries enclosing this one, zero for a root node
+         */
+        public int getDepth() {
+            return depth;
+        }
+
         public void setSchema(Schema schema) {
             this.schema = schema;
         }
@@ -259,4 +333,41 @@ public class DataObjectDeque {
         }
 
     }
+
+    /**
+     * Identifies the entries of a path for {@link PathEntry#hasParent(PathEntry)}. Each entry
+     * is recorded under its class with null arguments (matching any entry of the class), and
+     * under its class with either its type arguments or {@link #RAW} when the type is not
+     * parameterized.
+     */
+    static final class AncestorKey {
+        static final Object RAW = new Object();
+
+        private final ClassInfo clazz;
+        private final Object arguments;
+        private final int hash;
+
+        AncestorKey(ClassInfo clazz, Object arguments) {
+            this.clazz = clazz;
+            this.arguments = arguments;
+            this.hash = 31 * System.identityHashCode(clazz) + (arguments != null ? arguments.hashCode() : 0);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof AncestorKey)) {
+                return false;
+            }
+            AncestorKey other = (AncestorKey) o;
+            return clazz == other.clazz && hash == other.hash && Objects.equals(arguments, other.arguments);
+        }
+    }
 }
@@ -84,7 +84,7 @@ public class IgnoreResolver {
     private final class SchemaHiddenHandler implements IgnoreAnnotationHandler {
         @Override
         public boolean shouldIgnore(AnnotationTarget target, PathEntry parentPathEntry) {
-            AnnotationInstance annotationInstance = TypeUtil.getAnnotation(target, getName());
+            AnnotationInstance annotationInstance = index.annotations().getAnnotation(target, getName());
 
             if (annotationInstance != null) {
                 Boolean isHidden = JandexUtil.booleanValue(annotationInstance,
@@ -110,7 +110,7 @@ public class IgnoreResolver {
     private final class JsonbTransientHandler implements IgnoreAnnotationHandler {
         @Override
         public boolean shouldIgnore(AnnotationTarget target, DataObjectDeque.PathEntry parentPathEntry) {
-            return TypeUtil.hasAnnotation(target, getName());
+            return index.annotations().hasAnnotation(target, getName());
         }
 
         @Override
@@ -149,7 +149,7 @@ public class IgnoreResolver {
          * @return
          */
         private boolean declaringClassIgnore(AnnotationTarget target) {
-            AnnotationInstance declaringClassJIP = TypeUtil.getAnnotation(TypeUtil.getDeclaringClass(target), getName());
+            AnnotationInstance declaringClassJIP = index.annotations().getAnnotation(TypeUtil.getDeclaringClass(target), getName());
             return shouldIgnoreTarget(declaringClassJIP, propertyName(target));
         }
 
@@ -178,7 +178,7 @@ public class IgnoreResolver {
             if (nesting == null) {
                 return false;
             }
-            AnnotationInstance nestedTypeJIP = TypeUtil.getAnnotation(nesting, getName());
+            AnnotationInstance nestedTypeJIP = index.annotations().getAnnotation(nesting, getName());
             return shouldIgnoreTarget(nestedTypeJIP, propertyName);
         }
 
@@ -212,7 +212,7 @@ public class IgnoreResolver {
 
         @Override
         public boolean shouldIgnore(AnnotationTarget target, DataObjectDeque.PathEntry parentPathEntry) {
-            AnnotationInstance annotationInstance = TypeUtil.getAnnotation(target, getName());
+            AnnotationInstance annotationInstance = index.annotations().getAnnotation(target, getName());
             if (annotationInstance != null) {
                 return valueAsBooleanOrTrue(annotationInstance);
             }
@@ -270,7 +270,7 @@ public class IgnoreResolver {
                 return true;
             }
 
-            AnnotationInstance annotationInstance = TypeUtil.getAnnotation(classInfo, getName());
+            AnnotationInstance annotationInstance = index.annotations().getAnnotation(classInfo, getName());
             if (annotationInstance != null && valueAsBooleanOrTrue(annotationInstance)) {
                 // Add the ignored field or class name
                 LOG.debugv("Ignoring type and adding to ignore set: {0}", classInfo.name());
@@ -295,7 +295,7 @@ public class IgnoreResolver {
                 // If field has transient modifier, e.g. `transient String foo;`, then hide it.
                 if (Modifier.isTransient(field.flags())) {
                     // Unless field is annotated with @Schema to explicitly un-hide it.
-                    AnnotationInstance schemaAnnotation = TypeUtil.getSchemaAnnotation(target);
+                    AnnotationInstance schemaAnnotation = index.annotations().getAnnotation(target, OpenApiConstants.DOTNAME_SCHEMA);
                     if (schemaAnnotation != null) {
                         Boolean boolVal = JandexUtil.booleanValue(schemaAnnotation, OpenApiConstants.PROP_HIDDEN);
                         if (boolVal == null) {
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.smallrye.openapi.runtime.scanner.dataobject;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.microprofile.openapi.models.media.Schema;
+import org.jboss.jandex.Type;
+
+import io.smallrye.openapi.api.models.media.SchemaImpl;
+import io.smallrye.openapi.api.util.FreezeUtil;
+
+/**
+ * Schemas of the data objects scanned by {@link io.smallrye.openapi.runtime.scanner.OpenApiDataObjectScanner},
+ * keyed by the resolved type they were generated for. Only schemas whose generation
+ * did not depend on the schema registry are kept, so that a cached schema is identical
+ * to the one a new scan of the type would produce.
+ * <p>
+ * Callers are free to modify the schemas they obtain: the cache keeps its own copy of
+ * each schema and hands out copies of it. Instances are thread-safe.
+ */
+public class SchemaCache {
+
+    private final ConcurrentMap<Type, Optional<Schema>> schemas = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Retrieves a copy of the schema generated for the type.
+     *
+     * @param type the resolved type
+     * @return a copy of the schema (empty if the scan of the type produced no schema),
+     *         or null if the type has not been cached
+     */
+    public Optional<Schema> get(Type type) {
+        Optional<Schema> schema = schemas.get(type);
+
+        if (schema == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        hits.incrementAndGet();
+        return schema.map(SchemaCache::copy);
+    }
+
+    /**
+     * Stores a copy of the schema generated for the type.
+     *
+     * @param type the resolved type
+     * @param schema the schema, may be null
+     */
+    public void put(Type type, Schema schema) {
+        schemas.putIfAbsent(type, Optional.ofNullable(schema).map(SchemaCache::copy));
+    }
+
+    /**
+     * @return number of lookups answered from the cache
+     */
+    public long hits() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of lookups of types not found in the cache
+     */
+    public long misses() {
+        return misses.get();
+    }
+
+    /**
+     * Deep copy of the schema, including the {@link SchemaImpl#getName() name} of the
+     * schemas. Schemas referenced more than once are copied once, so the copy has the same
+     * structure as the source.
+     */
+    static Schema copy(Schema schema) {
+        return FreezeUtil.mutableCopy(schema);
+    }
+}
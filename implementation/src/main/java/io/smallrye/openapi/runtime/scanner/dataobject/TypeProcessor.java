@@ -46,6 +46,7 @@ public class TypeProcessor {
 
     private final Schema schema;
     private final AugmentedIndexView index;
+    private final SchemaRegistry schemaRegistry;
     private final AnnotationTarget annotationTarget;
     private final DataObjectDeque objectStack;
     private final TypeResolver typeResolver;
@@ -55,6 +56,7 @@ public class TypeProcessor {
     private Type type;
 
     public TypeProcessor(AugmentedIndexView index,
+            SchemaRegistry schemaRegistry,
             DataObjectDeque objectStack,
             DataObjectDeque.PathEntry parentPathEntry, TypeResolver typeResolver,
             Type type,
@@ -66,6 +68,7 @@ public class TypeProcessor {
         this.type = type;
         this.schema = schema;
         this.index = index;
+        this.schemaRegistry = schemaRegistry;
         this.annotationTarget = annotationTarget;
     }
 
@@ -99,7 +102,7 @@ public class TypeProcessor {
                 pushToStack(type, arrSchema);
             }
 
-            arrSchema = SchemaRegistry.checkRegistration(arrayType.component(), typeResolver, arrSchema);
+            arrSchema = checkRegistration(arrayType.component(), arrSchema);
 
             while (arrayType.dimensions() > 1) {
                 Schema parentArrSchema = new SchemaImpl();
@@ -206,7 +209,7 @@ public class TypeProcessor {
             Type resolved = resolveTypeVariable(propsSchema, valueType);
             if (index.containsClass(resolved)) {
                 propsSchema.type(Schema.SchemaType.OBJECT);
-                propsSchema = SchemaRegistry.checkRegistration(valueType, typeResolver, propsSchema);
+                propsSchema = checkRegistration(valueType, propsSchema);
             }
         } else if (index.containsClass(valueType)) {
             if (isA(valueType, ENUM_TYPE)) {
@@ -217,7 +220,7 @@ public class TypeProcessor {
                 pushToStack(valueType, propsSchema);
             }
 
-            propsSchema = SchemaRegistry.checkRegistration(valueType, typeResolver, propsSchema);
+            propsSchema = checkRegistration(valueType, propsSchema);
         }
 
         return propsSchema;
@@ -243,6 +246,13 @@ public class TypeProcessor {
         return resolvedType;
     }
 
+    private Schema checkRegistration(Type type, Schema schema) {
+        if (schemaRegistry == null) {
+            return schema;
+        }
+        return schemaRegistry.registerIfEligible(type, typeResolver, schema);
+    }
+
     private void pushToStack(Type fieldType) {
         objectStack.push(annotationTarget, parentPathEntry, fieldType, schema);
     }
@@ -252,6 +262,6 @@ public class TypeProcessor {
     }
 
     private boolean isA(Type testSubject, Type test) {
-        return TypeUtil.isA(index, testSubject, test);
+        return index.hierarchy().isA(testSubject, test);
     }
 }
@@ -45,7 +45,7 @@ import org.jboss.jandex.TypeVariable;
 import org.jboss.logging.Logger;
 
 import io.smallrye.openapi.api.OpenApiConstants;
-import io.smallrye.openapi.runtime.util.JandexUtil;
+import io.smallrye.openapi.runtime.util.AnnotationPresenceIndex;
 import io.smallrye.openapi.runtime.util.TypeUtil;
 
 /**
@@ -78,48 +78,52 @@ public class TypeResolver {
      * </ol>
      *
      */
-    private static Comparator<AnnotationTarget> targetComparator = (t1, t2) -> {
-        int result;
+    private static Comparator<AnnotationTarget> targetComparator(AnnotationPresenceIndex annotations) {
+        return (t1, t2) -> {
+            int result;
 
-        // Annotated elements sort to the top of the priority queue
-        if ((result = compareAnnotation(t1, t2, OpenApiConstants.DOTNAME_SCHEMA)) != 0) {
-            return result;
-        }
-        if ((result = compareAnnotation(t1, t2, OpenApiConstants.DOTNAME_JSONB_PROPERTY)) != 0) {
-            return result;
-        }
-        if ((result = compareAnnotation(t1, t2, OpenApiConstants.DOTNAME_JACKSON_PROPERTY)) != 0) {
-            return result;
-        }
-        if ((result = compareAnnotation(t1, t2, OpenApiConstants.DOTNAME_JAXB_XML_ELEMENT)) != 0) {
-            return result;
-        }
-        if ((result = compareAnnotation(t1, t2, OpenApiConstants.DOTNAME_JAXB_XML_ATTRIBUTE)) != 0) {
-            return result;
-        }
-        if (t1.kind() == Kind.FIELD) {
-            return -1;
-        }
-        if (t2.kind() == Kind.FIELD) {
-            return +1;
-        }
-        if (t1.asMethod().name().startsWith("get") && !t2.asMethod().name().startsWith("get")) {
-            return -1;
-        }
+            // Annotated elements sort to the top of the priority queue
+            if ((result = compareAnnotation(annotations, t1, t2, OpenApiConstants.DOTNAME_SCHEMA)) != 0) {
+                return result;
+            }
+            if ((result = compareAnnotation(annotations, t1, t2, OpenApiConstants.DOTNAME_JSONB_PROPERTY)) != 0) {
+                return result;
+            }
+            if ((result = compareAnnotation(annotations, t1, t2, OpenApiConstants.DOTNAME_JACKSON_PROPERTY)) != 0) {
+                return result;
+            }
+            if ((result = compareAnnotation(annotations, t1, t2, OpenApiConstants.DOTNAME_JAXB_XML_ELEMENT)) != 0) {
+                return result;
+            }
+            if ((result = compareAnnotation(annotations, t1, t2, OpenApiConstants.DOTNAME_JAXB_XML_ATTRIBUTE)) != 0) {
+                return result;
+            }
+            if (t1.kind() == Kind.FIELD) {
+                return -1;
+            }
+            if (t2.kind() == Kind.FIELD) {
+                return +1;
+            }
+            if (t1.asMethod().name().startsWith("get") && !t2.asMethod().name().startsWith("get")) {
+                return -1;
+            }
 
-        return 0;
-    };
+            return 0;
+        };
+    }
 
     /**
      * Queue of this resolvers field, write method, and read method. The highest priority "best"
      * target is in the first position, using the order determined by
      * {@link TypeResolver#targetComparator targetComparator}.
      */
-    private Queue<AnnotationTarget> targets = new PriorityQueue<>(targetComparator);
+    private final Queue<AnnotationTarget> targets;
+    private final AnnotationPresenceIndex annotations;
 
-    private static int compareAnnotation(AnnotationTarget t1, AnnotationTarget t2, DotName annotationName) {
-        boolean hasAnno1 = TypeUtil.hasAnnotation(t1, annotationName);
-        boolean hasAnno2 = TypeUtil.hasAnnotation(t2, annotationName);
+    private static int compareAnnotation(AnnotationPresenceIndex annotations, AnnotationTarget t1, AnnotationTarget t2,
+            DotName annotationName) {
+        boolean hasAnno1 = annotations.hasAnnotation(t1, annotationName);
+        boolean hasAnno2 = annotations.hasAnnotation(t2, annotationName);
 
         // Element with @Schema is top priority
         if (hasAnno1) {
@@ -135,7 +139,10 @@ public class TypeResolver {
         return 0;
     }
 
-    private TypeResolver(String propertyName, FieldInfo field, Deque<Map<String, Type>> resolutionStack) {
+    private TypeResolver(AnnotationPresenceIndex annotations, String propertyName, FieldInfo field,
+            Deque<Map<String, Type>> resolutionStack) {
+        this.annotations = annotations;
+        this.targets = new PriorityQueue<>(targetComparator(annotations));
         this.propertyName = propertyName;
         this.field = field;
         this.resolutionStack = resolutionStack;
@@ -192,31 +199,31 @@ public class TypeResolver {
         AnnotationTarget target = getAnnotationTarget();
         String name;
 
-        if ((name = TypeUtil.getAnnotationValue(target,
+        if ((name = annotations.getAnnotationValue(target,
                 OpenApiConstants.DOTNAME_SCHEMA,
                 OpenApiConstants.PROP_NAME)) != null) {
             return name;
         }
 
-        if ((name = TypeUtil.getAnnotationValue(target,
+        if ((name = annotations.getAnnotationValue(target,
                 OpenApiConstants.DOTNAME_JSONB_PROPERTY,
                 OpenApiConstants.PROP_VALUE)) != null) {
             return name;
         }
 
-        if ((name = TypeUtil.getAnnotationValue(target,
+        if ((name = annotations.getAnnotationValue(target,
                 OpenApiConstants.DOTNAME_JACKSON_PROPERTY,
                 OpenApiConstants.PROP_VALUE)) != null) {
             return name;
         }
 
-        if ((name = TypeUtil.getAnnotationValue(target,
+        if ((name = annotations.getAnnotationValue(target,
                 OpenApiConstants.DOTNAME_JAXB_XML_ELEMENT,
                 OpenApiConstants.PROP_NAME)) != null) {
             return name;
         }
 
-        if ((name = TypeUtil.getAnnotationValue(target,
+        if ((name = annotations.getAnnotationValue(target,
                 OpenApiConstants.DOTNAME_JAXB_XML_ATTRIBUTE,
                 OpenApiConstants.PROP_NAME)) != null) {
             return name;
@@ -330,9 +337,10 @@ public class TypeResolver {
     }
 
     public static Map<String, TypeResolver> getAllFields(AugmentedIndexView index, Type leaf, ClassInfo leafKlazz) {
-        Map<ClassInfo, Type> chain = JandexUtil.inheritanceChain(index, leafKlazz, leaf);
+        Map<ClassInfo, Type> chain = index.hierarchy().inheritanceChain(leafKlazz, leaf);
         Map<String, TypeResolver> properties = new LinkedHashMap<>();
         Deque<Map<String, Type>> stack = new ArrayDeque<>();
+        AnnotationPresenceIndex annotations = index.annotations();
 
         for (Map.Entry<ClassInfo, Type> entry : chain.entrySet()) {
             ClassInfo currentClass = entry.getKey();
@@ -347,19 +355,19 @@ public class TypeResolver {
             currentClass.fields()
                     .stream()
                     .filter(field -> acceptField(field))
-                    .forEach(field -> scanField(properties, field, stack));
+                    .forEach(field -> scanField(annotations, properties, field, stack));
 
             currentClass.methods()
                     .stream()
                     .filter(method -> acceptMethod(method))
-                    .forEach(method -> scanMethod(properties, method, stack));
+                    .forEach(method -> scanMethod(annotations, properties, method, stack));
 
             currentClass.interfaceTypes()
                     .stream()
                     .map(index::getClass)
                     .filter(Objects::nonNull)
                     .flatMap(clazz -> clazz.methods().stream())
-                    .forEach(method -> scanMethod(properties, method, stack));
+                    .forEach(method -> scanMethod(annotations, properties, method, stack));
         }
 
         return sorted(properties, chain.keySet());
@@ -380,11 +388,13 @@ public class TypeResolver {
      * protected and it is assumed that the getter/setter methods scanned lower in the inheritance chain
      * operate on the field which is in a super class.
      *
+     * @param annotations annotations of the current scan
      * @param properties current map of properties discovered
      * @param field the field to scan
      * @param stack type resolution stack for parameterized types
      */
-    private static void scanField(Map<String, TypeResolver> properties, FieldInfo field, Deque<Map<String, Type>> stack) {
+    private static void scanField(AnnotationPresenceIndex annotations, Map<String, TypeResolver> properties, FieldInfo field,
+            Deque<Map<String, Type>> stack) {
         String propertyName = field.name();
 
         // Consider only using fields that are public?
@@ -399,7 +409,7 @@ public class TypeResolver {
                 resolver.setField(field);
             }
         } else {
-            TypeResolver resolver = new TypeResolver(propertyName, field, new ArrayDeque<>(stack));
+            TypeResolver resolver = new TypeResolver(annotations, propertyName, field, new ArrayDeque<>(stack));
             properties.put(propertyName, resolver);
         }
     }
@@ -408,11 +418,13 @@ public class TypeResolver {
      * Determines if a method is a bean property method. The method must conform to the Java bean
      * conventions for getter or setter methods.
      *
+     * @param annotations annotations of the current scan
      * @param properties current map of properties discovered
      * @param field the method to scan
      * @param stack type resolution stack for parameterized types
      */
-    private static void scanMethod(Map<String, TypeResolver> properties, MethodInfo method, Deque<Map<String, Type>> stack) {
+    private static void scanMethod(AnnotationPresenceIndex annotations, Map<String, TypeResolver> properties, MethodInfo method,
+            Deque<Map<String, Type>> stack) {
         Type returnType = method.returnType();
         Type propertyType = null;
 
@@ -423,7 +435,7 @@ public class TypeResolver {
         }
 
         if (propertyType != null) {
-            updateTypeResolvers(properties, stack, method, propertyType);
+            updateTypeResolvers(annotations, properties, stack, method, propertyType);
         }
     }
 
@@ -433,12 +445,14 @@ public class TypeResolver {
      * type as an existing property having the same name and the new method has a
      * higher priority than the current method of the same type (getter or setter).
      *
+     * @param annotations annotations of the current scan
      * @param properties current map of properties discovered
      * @param stack type resolution stack for parameterized types
      * @param method the method to add/update in properties
      * @param propertyType the type of the property associated with the method
      */
-    private static void updateTypeResolvers(Map<String, TypeResolver> properties,
+    private static void updateTypeResolvers(AnnotationPresenceIndex annotations,
+            Map<String, TypeResolver> properties,
             Deque<Map<String, Type>> stack,
             MethodInfo method,
             Type propertyType) {
@@ -464,16 +478,16 @@ public class TypeResolver {
                 return;
             }
         } else {
-            resolver = new TypeResolver(propertyName, null, new ArrayDeque<>(stack));
+            resolver = new TypeResolver(annotations, propertyName, null, new ArrayDeque<>(stack));
             properties.put(propertyName, resolver);
         }
 
         if (isWriteMethod) {
-            if (isHigherPriority(method, resolver.getWriteMethod())) {
+            if (isHigherPriority(annotations, method, resolver.getWriteMethod())) {
                 resolver.setWriteMethod(method);
             }
         } else {
-            if (isHigherPriority(method, resolver.getReadMethod())) {
+            if (isHigherPriority(annotations, method, resolver.getReadMethod())) {
                 resolver.setReadMethod(method);
             }
         }
@@ -520,13 +534,13 @@ public class TypeResolver {
         return method.name().startsWith("set");
     }
 
-    private static boolean isHigherPriority(MethodInfo newMethod, MethodInfo oldMethod) {
+    private static boolean isHigherPriority(AnnotationPresenceIndex annotations, MethodInfo newMethod, MethodInfo oldMethod) {
         if (oldMethod == null) {
             return true;
         }
 
         if (Modifier.isInterface(newMethod.declaringClass().flags())) {
-            return targetComparator.compare(newMethod, oldMethod) < 0;
+            return targetComparator(annotations).compare(newMethod, oldMethod) < 0;
         }
 
         return false;
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.smallrye.openapi.runtime.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.AnnotationTarget;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.MethodInfo;
+
+import io.smallrye.openapi.api.OpenApiConstants;
+
+/**
+ * Index of the annotations present on each {@link AnnotationTarget} visited during a scan.
+ * The annotations of a target are read from Jandex once, the first time the target is
+ * queried. Later checks for a single annotation, or for any annotation of a
+ * {@link Family family}, are then answered without searching the target's annotations.
+ * <p>
+ * The lookups behave like those of {@link TypeUtil}: when a target carries several
+ * annotations with the same name (e.g. a method and its parameters), the first one is
+ * returned. Instances are thread-safe and are meant to be shared by everything taking
+ * part in the same scan.
+ */
+public class AnnotationPresenceIndex {
+
+    /**
+     * Groups of annotations, identified by the package of the annotation.
+     */
+    public enum Family {
+        OPENAPI("org.eclipse.microprofile.openapi.annotations."),
+        JAXRS("javax.ws.rs."),
+        JSONB("javax.json.bind.annotation."),
+        JACKSON("com.fasterxml.jackson.annotation."),
+        JAXB("javax.xml.bind.annotation."),
+        BEAN_VALIDATION("javax.validation.constraints.");
+
+        private final String packagePrefix;
+
+        Family(String packagePrefix) {
+            this.packagePrefix = packagePrefix;
+        }
+
+        int mask() {
+            return 1 << ordinal();
+        }
+    }
+
+    private static final TargetAnnotations NONE = new TargetAnnotations(0, Collections.emptyMap());
+
+    private final ConcurrentMap<Object, TargetAnnotations> targets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<DotName, Integer> families = new ConcurrentHashMap<>();
+
+    /**
+     * @param target the annotated target, may be null
+     * @param annotationName name of the annotation
+     * @return true if the target carries the annotation
+     */
+    public boolean hasAnnotation(AnnotationTarget target, DotName annotationName) {
+        return getAnnotation(target, annotationName) != null;
+    }
+
+    /**
+     * @param target the annotated target, may be null
+     * @param family family of annotations
+     * @return true if the target carries any annotation of the family
+     */
+    public boolean hasAnnotation(AnnotationTarget target, Family family) {
+        return (annotations(target).families & family.mask()) != 0;
+    }
+
+    /**
+     * Finds the annotation with the given name on the target.
+     *
+     * @param target the annotated target, may be null
+     * @param annotationName name of the annotation
+     * @return the first annotation with the name, or null
+     */
+    public AnnotationInstance getAnnotation(AnnotationTarget target, DotName annotationName) {
+        return annotations(target).instances.get(annotationName);
+    }
+
+    /**
+     * Convenience method to retrieve the "value" parameter from an annotation bound to the target,
+     * see {@link TypeUtil#getAnnotationValue(AnnotationTarget, DotName)}.
+     *
+     * @param <T> the type of the parameter being retrieved
+     * @param target the target object annotated with the annotation named by annotationName
+     * @param annotationName name of the annotation from which to retrieve the value
+     * @return an unwrapped annotation parameter value
+     */
+    public <T> T getAnnotationValue(AnnotationTarget target, DotName annotationName) {
+        return getAnnotationValue(target, annotationName, OpenApiConstants.PROP_VALUE, null);
+    }
+
+    /**
+     * Convenience method to retrieve the named parameter from an annotation bound to the target,
+     * see {@link TypeUtil#getAnnotationValue(AnnotationTarget, DotName, String)}.
+     *
+     * @param <T> the type of the parameter being retrieved
+     * @param target the target object annotated with the annotation named by annotationName
+     * @param annotationName name of the annotation from which to retrieve the value
+     * @param propertyName the name of the parameter/property in the annotation
+     * @return an unwrapped annotation parameter value
+     */
+    public <T> T getAnnotationValue(AnnotationTarget target, DotName annotationName, String propertyName) {
+        return getAnnotationValue(target, annotationName, propertyName, null);
+    }
+
+    /**
+     * Convenience method to retrieve the named parameter from an annotation bound to the target,
+     * see {@link TypeUtil#getAnnotationValue(AnnotationTarget, DotName, String, Object)}.
+     *
+     * @param <T> the type of the parameter being retrieved
+     * @param target the target object annotated with the annotation named by annotationName
+     * @param annotationName name of the annotation from which to retrieve the value
+     * @param propertyName the name of the parameter/property in the annotation
+     * @param defaultValue a default value to return if either the annotation or the value are missing
+     * @return an unwrapped annotation parameter value
+     */
+    public <T> T getAnnotationValue(AnnotationTarget target, DotName annotationName, String propertyName,
+            T defaultValue) {
+        AnnotationInstance annotation = getAnnotation(target, annotationName);
+
+        if (annotation != null) {
+            return JandexUtil.value(annotation, propertyName);
+        }
+
+        return defaultValue;
+    }
+
+    /**
+     * Finds the annotations of a repeatable annotation, declared either directly or using
+     * its container, see {@link JandexUtil#getRepeatableAnnotation(AnnotationTarget, DotName, DotName)}.
+     *
+     * @param target the annotated target
+     * @param singleAnnotationName name of the annotation
+     * @param repeatableAnnotationName name of the containing annotation, may be null
+     * @return the annotations found
+     */
+    public List<AnnotationInstance> getRepeatableAnnotation(AnnotationTarget target,
+            DotName singleAnnotationName,
+            DotName repeatableAnnotationName) {
+
+        List<AnnotationInstance> annotations = new ArrayList<>();
+        TargetAnnotations found = annotations(target);
+        AnnotationInstance annotation = found.instances.get(singleAnnotationName);
+
+        if (annotation != null) {
+            annotations.add(annotation);
+        }
+
+        if (repeatableAnnotationName != null) {
+            AnnotationInstance container = found.instances.get(repeatableAnnotationName);
+
+            if (container != null) {
+                AnnotationInstance[] nestedArray = JandexUtil.value(container, OpenApiConstants.PROP_VALUE);
+
+                if (nestedArray != null) {
+                    annotations.addAll(Arrays.asList(nestedArray));
+                }
+            }
+        }
+
+        return annotations;
+    }
+
+    private TargetAnnotations annotations(AnnotationTarget target) {
+        if (target == null) {
+            return NONE;
+        }
+
+        Object key;
+
+        switch (target.kind()) {
+            case CLASS:
+                key = target;
+                break;
+            case FIELD:
+                key = MemberKey.of(target.asField().annotations(), -1);
+                break;
+            case METHOD:
+                key = MemberKey.of(target.asMethod().annotations(), -1);
+                break;
+            case METHOD_PARAMETER:
+                key = MemberKey.of(target.asMethodParameter().method().annotations(),
+                        target.asMethodParameter().position());
+                break;
+            default:
+                key = null;
+                break;
+        }
+
+        if (key == null) {
+            return NONE;
+        }
+
+        TargetAnnotations found = targets.get(key);
+
+        if (found == null) {
+            found = targets.computeIfAbsent(key, k -> index(target));
+        }
+
+        return found;
+    }
+
+    private TargetAnnotations index(AnnotationTarget target) {
+        Collection<AnnotationInstance> annotations = TypeUtil.getAnnotations(target);
+
+        if (annotations.isEmpty()) {
+            return NONE;
+        }
+
+        Map<DotName, AnnotationInstance> instances = new HashMap<>(annotations.size() * 4 / 3 + 1);
+        int presentFamilies = 0;
+
+        for (AnnotationInstance annotation : annotations) {
+            if (instances.putIfAbsent(annotation.name(), annotation) == null) {
+                presentFamilies |= families.computeIfAbsent(annotation.name(), AnnotationPresenceIndex::familiesOf);
+            }
+        }
+
+        return new TargetAnnotations(presentFamilies, instances);
+    }
+
+    private static int familiesOf(DotName annotationName) {
+        String name = annotationName.toString();
+        int mask = 0;
+
+        for (Family family : Family.values()) {
+            if (name.startsWith(family.packagePrefix)) {
+                mask |= family.mask();
+            }
+        }
+
+        return mask;
+    }
+
+    /**
+     * The annotations found on a single target.
+     */
+    private static final class TargetAnnotations {
+        final int families;
+        final Map<DotName, AnnotationInstance> instances;
+
+        TargetAnnotations(int families, Map<DotName, AnnotationInstance> instances) {
+            this.families = families;
+            this.instances = instances;
+        }
+    }
+
+    /**
+     * Jandex creates new {@link org.jboss.jandex.FieldInfo}, {@link MethodInfo} and
+     * {@link org.jboss.jandex.MethodParameterInfo} instances each time one is requested,
+     * and computing the hash code of a {@link MethodInfo} walks its complete signature.
+     * Members are instead identified by the first of their annotations, which are shared by
+     * all the instances of the same member, and parameters by the position in their method.
+     */
+    private static final class MemberKey {
+        final AnnotationInstance annotation;
+        final int position;
+
+        private MemberKey(AnnotationInstance annotation, int position) {
+            this.annotation = annotation;
+            this.position = position;
+        }
+
+        static MemberKey of(List<AnnotationInstance> annotations, int position) {
+            return annotations.isEmpty() ? null : new MemberKey(annotations.get(0), position);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(annotation) + position;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof MemberKey)) {
+                return false;
+            }
+            MemberKey other = (MemberKey) obj;
+            return annotation == other.annotation && position == other.position;
+        }
+    }
+}
@@ -20,7 +20,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.microprofile.openapi.models.Components;
 import org.eclipse.microprofile.openapi.models.OpenAPI;
@@ -73,14 +75,89 @@ public class ModelUtil {
             return;
         }
 
-        Tag current = tags.stream().filter(t -> t.getName().equals(tag.getName())).findFirst().orElse(null);
-        int currentIndex = tags.indexOf(current);
+        for (int i = 0, m = tags.size(); i < m; i++) {
+            if (tag.getName() != null && tag.getName().equals(tags.get(i).getName())) {
+                tags.set(i, MergeUtil.mergeObjects(tags.get(i), tag));
+                return;
+            }
+        }
 
-        if (current != null) {
-            Tag replacement = MergeUtil.mergeObjects(current, tag);
-            tags.set(currentIndex, replacement);
-        } else {
-            openApi.addTag(tag);
+        tags.add(tag);
+    }
+
+    /**
+     * Adds many {@link Tag}s to the same {@link OpenAPI} model, one at a time, with the
+     * same result as {@link ModelUtil#addTag(OpenAPI, Tag)}. The tags of the model are
+     * indexed by name, so that the time taken to add a tag does not depend on the number
+     * of tags already present. The index is rebuilt whenever the list of tags of the model
+     * is replaced, or its size is changed by other means than this index.
+     */
+    public static class TagIndex {
+        private final OpenAPI openApi;
+        private final Map<String, Integer> positions = new HashMap<>();
+        private List<Tag> tags;
+        private int size;
+
+        /**
+         * Constructor.
+         * 
+         * @param openApi the OpenAPI model to which tags are added
+         */
+        public TagIndex(OpenAPI openApi) {
+            this.openApi = openApi;
+        }
+
+        /**
+         * @param openApi an OpenAPI model
+         * @return true if this index adds tags to the given model
+         */
+        public boolean indexes(OpenAPI openApi) {
+            return this.openApi == openApi;
+        }
+
+        /**
+         * Adds a {@link Tag} to the model, see {@link ModelUtil#addTag(OpenAPI, Tag)}.
+         * 
+         * @param tag a new {@link Tag} to add
+         */
+        public void addTag(Tag tag) {
+            List<Tag> current = openApi.getTags();
+
+            if (current == null || current.isEmpty()) {
+                openApi.addTag(tag);
+                current = openApi.getTags();
+                rebuild(current);
+                return;
+            }
+
+            if (current != tags || current.size() != size) {
+                rebuild(current);
+            }
+
+            Integer position = tag.getName() != null ? positions.get(tag.getName()) : null;
+
+            if (position != null) {
+                current.set(position, MergeUtil.mergeObjects(current.get(position), tag));
+            } else {
+                current.add(tag);
+                if (tag.getName() != null) {
+                    positions.put(tag.getName(), size);
+                }
+                size++;
+            }
+        }
+
+        private void rebuild(List<Tag> current) {
+            positions.clear();
+            tags = current;
+            size = current != null ? current.size() : 0;
+
+            for (int i = 0; i < size; i++) {
+                String name = current.get(i).getName();
+                if (name != null) {
+                    positions.putIfAbsent(name, i);
+                }
+            }
         }
     }
 
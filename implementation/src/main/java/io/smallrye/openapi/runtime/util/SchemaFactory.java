@@ -43,25 +43,71 @@ public class SchemaFactory {
     }
 
     /**
-     * Reads a Schema annotation into a model.
+     * Reads a Schema annotation into a model, registering nested types with the
+     * registry of the current thread.
      *
      * @param index
      * @param value
+     * @deprecated use {@link #readSchema(IndexView, SchemaRegistry, AnnotationValue)}
      */
+    @Deprecated
     public static Schema readSchema(IndexView index, AnnotationValue value) {
+        return readSchema(index, SchemaRegistry.currentInstance(), value);
+    }
+
+    /**
+     * Reads a Schema annotation into a model, registering nested types with the
+     * registry of the current thread.
+     *
+     * @param index
+     * @param annotation
+     * @deprecated use {@link #readSchema(IndexView, SchemaRegistry, AnnotationInstance)}
+     */
+    @Deprecated
+    public static Schema readSchema(IndexView index, AnnotationInstance annotation) {
+        return readSchema(index, SchemaRegistry.currentInstance(), annotation);
+    }
+
+    /**
+     * Reads a Schema annotation into the given model, registering nested types
+     * with the registry of the current thread.
+     *
+     * @param index
+     * @param schema
+     * @param annotation
+     * @param defaults
+     * @deprecated use {@link #readSchema(IndexView, SchemaRegistry, Schema, AnnotationInstance, Map)}
+     */
+    @Deprecated
+    public static Schema readSchema(IndexView index,
+            Schema schema,
+            AnnotationInstance annotation,
+            Map<String, Object> defaults) {
+        return readSchema(index, SchemaRegistry.currentInstance(), schema, annotation, defaults);
+    }
+
+    /**
+     * Reads a Schema annotation into a model.
+     *
+     * @param index
+     * @param schemaRegistry
+     * @param value
+     */
+    public static Schema readSchema(IndexView index, SchemaRegistry schemaRegistry, AnnotationValue value) {
         if (value == null) {
             return null;
         }
-        return readSchema(index, value.asNested());
+        return readSchema(index, schemaRegistry, value.asNested());
     }
 
     /**
      * Reads a Schema annotation into a model.
      *
      * @param index
+     * @param schemaRegistry
      * @param annotation
      */
-    public static Schema readSchema(IndexView index, AnnotationInstance annotation) {
+    public static Schema readSchema(IndexView index, SchemaRegistry schemaRegistry, AnnotationInstance annotation) {
         if (annotation == null) {
             return null;
         }
@@ -74,10 +120,11 @@ public class SchemaFactory {
             return null;
         }
 
-        return readSchema(index, new SchemaImpl(), annotation, Collections.emptyMap());
+        return readSchema(index, schemaRegistry, new SchemaImpl(), annotation, Collections.emptyMap());
     }
 
     public static Schema readSchema(IndexView index,
+            SchemaRegistry schemaRegistry,
             Schema schema,
             AnnotationInstance annotation,
             Map<String, Object> defaults) {
@@ -93,13 +140,13 @@ public class SchemaFactory {
         }
 
         schema.setNot(SchemaFactory.<Type, Schema> readAttr(annotation, OpenApiConstants.PROP_NOT,
-                type -> readClassSchema(index, type, true), defaults));
+                type -> readClassSchema(index, schemaRegistry, type, true), defaults));
         schema.setOneOf(SchemaFactory.<Type[], List<Schema>> readAttr(annotation, OpenApiConstants.PROP_ONE_OF,
-                type -> readClassSchemas(index, type), defaults));
+                type -> readClassSchemas(index, schemaRegistry, type), defaults));
         schema.setAnyOf(SchemaFactory.<Type[], List<Schema>> readAttr(annotation, OpenApiConstants.PROP_ANY_OF,
-                type -> readClassSchemas(index, type), defaults));
+                type -> readClassSchemas(index, schemaRegistry, type), defaults));
         schema.setAllOf(SchemaFactory.<Type[], List<Schema>> readAttr(annotation, OpenApiConstants.PROP_ALL_OF,
-                type -> readClassSchemas(index, type), defaults));
+                type -> readClassSchemas(index, schemaRegistry, type), defaults));
         schema.setTitle(readAttr(annotation, OpenApiConstants.PROP_TITLE, defaults));
         schema.setMultipleOf(SchemaFactory.<Double, BigDecimal> readAttr(annotation, OpenApiConstants.PROP_MULTIPLE_OF,
                 BigDecimal::valueOf, defaults));
@@ -128,7 +175,7 @@ public class SchemaFactory {
                 value -> JandexUtil.enumValue(value, Schema.SchemaType.class), defaults));
         schema.setDefaultValue(readAttr(annotation, OpenApiConstants.PROP_DEFAULT_VALUE, defaults));
         schema.setDiscriminator(
-                readDiscriminator(index,
+                readDiscriminator(index, schemaRegistry,
                         JandexUtil.value(annotation, OpenApiConstants.PROP_DISCRIMINATOR_PROPERTY),
                         JandexUtil.value(annotation, OpenApiConstants.PROP_DISCRIMINATOR_MAPPING)));
         schema.setMaxItems(readAttr(annotation, OpenApiConstants.PROP_MAX_ITEMS, defaults));
@@ -146,18 +193,18 @@ public class SchemaFactory {
         }
 
         if (JandexUtil.isSimpleClassSchema(annotation)) {
-            Schema implSchema = readClassSchema(index, JandexUtil.value(annotation, OpenApiConstants.PROP_IMPLEMENTATION),
-                    true);
+            Schema implSchema = readClassSchema(index, schemaRegistry,
+                    JandexUtil.value(annotation, OpenApiConstants.PROP_IMPLEMENTATION), true);
             schema = MergeUtil.mergeObjects(implSchema, schema);
         } else if (JandexUtil.isSimpleArraySchema(annotation)) {
-            Schema implSchema = readClassSchema(index, JandexUtil.value(annotation, OpenApiConstants.PROP_IMPLEMENTATION),
-                    true);
+            Schema implSchema = readClassSchema(index, schemaRegistry,
+                    JandexUtil.value(annotation, OpenApiConstants.PROP_IMPLEMENTATION), true);
             // If the @Schema annotation indicates an array type, then use the Schema
             // generated from the implementation Class as the "items" for the array.
             schema.setItems(implSchema);
         } else {
-            Schema implSchema = readClassSchema(index, JandexUtil.value(annotation, OpenApiConstants.PROP_IMPLEMENTATION),
-                    false);
+            Schema implSchema = readClassSchema(index, schemaRegistry,
+                    JandexUtil.value(annotation, OpenApiConstants.PROP_IMPLEMENTATION), false);
 
             if (schema.getType() == Schema.SchemaType.ARRAY && implSchema != null) {
                 // If the @Schema annotation indicates an array type, then use the Schema
@@ -231,10 +278,12 @@ public class SchemaFactory {
      * whether this class type should be turned into a reference.
      *
      * @param index the index of classes being scanned
+     * @param schemaRegistry registry of the current scan, may be null
      * @param type the implementation type of the item to scan
      * @param schemaReferenceSupported
      */
-    static Schema readClassSchema(IndexView index, Type type, boolean schemaReferenceSupported) {
+    static Schema readClassSchema(IndexView index, SchemaRegistry schemaRegistry, Type type,
+            boolean schemaReferenceSupported) {
         if (type == null) {
             return null;
         }
@@ -247,27 +296,44 @@ public class SchemaFactory {
 
             if (dimensions > 1) {
                 // Recurse using a new array type with dimensions decremented
-                schema.items(readClassSchema(index, ArrayType.create(componentType, dimensions - 1), schemaReferenceSupported));
+                schema.items(readClassSchema(index, schemaRegistry, ArrayType.create(componentType, dimensions - 1),
+                        schemaReferenceSupported));
             } else {
                 // Recurse using the type of the array elements
-                schema.items(readClassSchema(index, componentType, schemaReferenceSupported));
+                schema.items(readClassSchema(index, schemaRegistry, componentType, schemaReferenceSupported));
             }
         } else if (type.kind() == Type.Kind.PRIMITIVE) {
             schema = OpenApiDataObjectScanner.process(type.asPrimitiveType());
         } else {
-            schema = introspectClassToSchema(index, type.asClassType(), schemaReferenceSupported);
+            schema = introspectClassToSchema(index, schemaRegistry, type.asClassType(), schemaReferenceSupported);
         }
         return schema;
     }
 
     /**
-     * Converts a Jandex type to a {@link Schema} model.
+     * Converts a Jandex type to a {@link Schema} model, registering types with
+     * the registry of the current thread.
      * 
      * @param index the index of classes being scanned
      * @param type the implementation type of the item to scan
      * @param extensions
+     * @deprecated use {@link #typeToSchema(IndexView, SchemaRegistry, Type, List)}
      */
+    @Deprecated
     public static Schema typeToSchema(IndexView index, Type type, List<AnnotationScannerExtension> extensions) {
+        return typeToSchema(index, SchemaRegistry.currentInstance(), type, extensions);
+    }
+
+    /**
+     * Converts a Jandex type to a {@link Schema} model.
+     * 
+     * @param index the index of classes being scanned
+     * @param schemaRegistry registry of the current scan, may be null
+     * @param type the implementation type of the item to scan
+     * @param extensions
+     */
+    public static Schema typeToSchema(IndexView index, SchemaRegistry schemaRegistry, Type type,
+            List<AnnotationScannerExtension> extensions) {
         Schema schema = null;
         if (type.kind() == Type.Kind.ARRAY) {
             schema = new SchemaImpl().type(SchemaType.ARRAY);
@@ -277,21 +343,21 @@ public class SchemaFactory {
 
             if (dimensions > 1) {
                 // Recurse using a new array type with dimensions decremented
-                schema.items(typeToSchema(index, ArrayType.create(componentType, dimensions - 1), extensions));
+                schema.items(typeToSchema(index, schemaRegistry, ArrayType.create(componentType, dimensions - 1),
+                        extensions));
             } else {
                 // Recurse using the type of the array elements
-                schema.items(typeToSchema(index, componentType, extensions));
+                schema.items(typeToSchema(index, schemaRegistry, componentType, extensions));
             }
         } else if (type.kind() == Type.Kind.CLASS) {
-            schema = introspectClassToSchema(index, type.asClassType(), true);
+            schema = introspectClassToSchema(index, schemaRegistry, type.asClassType(), true);
         } else if (type.kind() == Type.Kind.PRIMITIVE) {
             schema = OpenApiDataObjectScanner.process(type.asPrimitiveType());
         } else {
             Type asyncType = resolveAsyncType(type, extensions);
-            schema = OpenApiDataObjectScanner.process(index, asyncType);
+            schema = OpenApiDataObjectScanner.process(index, schemaRegistry, asyncType);
 
-            if (schema != null && TypeUtil.allowRegistration(index, asyncType)) {
-                SchemaRegistry schemaRegistry = SchemaRegistry.currentInstance();
+            if (schema != null && schemaRegistry != null && TypeUtil.allowRegistration(index, asyncType)) {
                 schema = schemaRegistry.register(asyncType, schema);
             }
         }
@@ -333,21 +399,23 @@ public class SchemaFactory {
      * whether this class type should be turned into a reference.
      *
      * @param index the index of classes being scanned
+     * @param schemaRegistry registry of the current scan, may be null
      * @param ctype
      * @param schemaReferenceSupported
      */
-    private static Schema introspectClassToSchema(IndexView index, ClassType ctype, boolean schemaReferenceSupported) {
+    private static Schema introspectClassToSchema(IndexView index, SchemaRegistry schemaRegistry, ClassType ctype,
+            boolean schemaReferenceSupported) {
         if (ctype.name().equals(OpenApiConstants.DOTNAME_RESPONSE)) {
             return null;
         }
 
-        SchemaRegistry schemaRegistry = SchemaRegistry.currentInstance();
+        boolean useRegistry = schemaReferenceSupported && schemaRegistry != null;
 
-        if (schemaReferenceSupported && schemaRegistry.has(ctype)) {
+        if (useRegistry && schemaRegistry.has(ctype)) {
             return schemaRegistry.lookupRef(ctype);
         } else {
-            Schema schema = OpenApiDataObjectScanner.process(index, ctype);
-            if (schemaReferenceSupported && schema != null && TypeUtil.allowRegistration(index, ctype)) {
+            Schema schema = OpenApiDataObjectScanner.process(index, schemaRegistry, ctype);
+            if (useRegistry && schema != null && TypeUtil.allowRegistration(index, ctype)) {
                 return schemaRegistry.register(ctype, schema);
             } else {
                 return schema;
@@ -359,13 +427,14 @@ public class SchemaFactory {
      * Reads an array of Class annotations to produce a list of {@link Schema} models.
      * 
      * @param index the index of classes being scanned
+     * @param schemaRegistry registry of the current scan, may be null
      * @param types the implementation types of the items to scan, never null
      */
-    private static List<Schema> readClassSchemas(IndexView index, Type[] types) {
+    private static List<Schema> readClassSchemas(IndexView index, SchemaRegistry schemaRegistry, Type[] types) {
         LOG.debug("Processing a list of schema Class annotations.");
 
         return Arrays.stream(types)
-                .map(type -> readClassSchema(index, type, true))
+                .map(type -> readClassSchema(index, schemaRegistry, type, true))
                 .collect(Collectors.toList());
     }
 
@@ -390,6 +459,7 @@ public class SchemaFactory {
      * annotations into a {@link Discriminator} model.
      *
      * @param index set of scanned classes to be used for further introspection
+     * @param schemaRegistry registry of the current scan, may be null
      * @param propertyName the OAS required value specified by the
      *        {@link org.eclipse.microprofile.openapi.annotations.media.Schema#discriminatorProperty() discriminatorProperty}
      *        attribute.
@@ -399,6 +469,7 @@ public class SchemaFactory {
      *        discriminatorMapping}
      */
     private static Discriminator readDiscriminator(IndexView index,
+            SchemaRegistry schemaRegistry,
             String propertyName,
             AnnotationInstance[] annotation) {
 
@@ -428,7 +499,7 @@ public class SchemaFactory {
 
                 if (schemaValue != null) {
                     ClassType schemaType = schemaValue.asClass().asClassType();
-                    Schema schema = introspectClassToSchema(index, schemaType, true);
+                    Schema schema = introspectClassToSchema(index, schemaRegistry, schemaType, true);
                     schemaRef = schema != null ? schema.getRef() : null;
                 } else {
                     schemaRef = null;
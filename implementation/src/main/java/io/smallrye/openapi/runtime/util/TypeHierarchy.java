@@ -0,0 +1,214 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.smallrye.openapi.runtime.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.Indexer;
+import org.jboss.jandex.Type;
+
+/**
+ * Memoized view of the class hierarchy of the types found in an index. The superclass
+ * chain of each class and the complete set of its supertypes (superclasses and all the
+ * interfaces they implement, directly or through other interfaces) are computed once,
+ * so that {@link #isA(Type, Type)} is answered with a single set lookup.
+ * <p>
+ * Classes missing from the index are looked up in the small index of JDK classes kept
+ * by {@link TypeUtil}, then read from the class file found using the context
+ * ClassLoader. Classes are never loaded to answer these questions. Instances are
+ * thread-safe.
+ */
+public class TypeHierarchy {
+
+    /**
+     * Classes of the JDK missing from the index of {@link TypeUtil}, shared by all instances.
+     */
+    private static final ConcurrentMap<DotName, Optional<ClassInfo>> jdkClasses = new ConcurrentHashMap<>();
+
+    private final IndexView index;
+    private final ConcurrentMap<DotName, Optional<ClassInfo>> externalClasses = new ConcurrentHashMap<>();
+    private final ConcurrentMap<DotName, List<Ancestor>> ancestors = new ConcurrentHashMap<>();
+    private final ConcurrentMap<DotName, Set<DotName>> supertypes = new ConcurrentHashMap<>();
+
+    /**
+     * @param index the index holding the classes of the application. All the lookups of
+     *        application classes go through this index.
+     */
+    public TypeHierarchy(IndexView index) {
+        this.index = index;
+    }
+
+    /**
+     * Test whether testSubject is an instanceof type test, see
+     * {@link TypeUtil#isA(IndexView, Type, Type)}.
+     *
+     * @param testSubject type to test
+     * @param testObject type to test against
+     * @return true if is of type
+     */
+    public boolean isA(Type testSubject, Type testObject) {
+        DotName subjectName = TypeUtil.getName(testSubject);
+        DotName objectName = TypeUtil.getName(testObject);
+
+        // The types may be the same -- short circuit looking in the index
+        if (subjectName.equals(objectName)) {
+            return true;
+        }
+        if (testSubject.kind() == Type.Kind.PRIMITIVE && testObject.kind() != Type.Kind.PRIMITIVE) {
+            return false;
+        }
+
+        return supertypes(subjectName).contains(objectName);
+    }
+
+    /**
+     * Builds an insertion-order map of a class's inheritance chain, starting with the
+     * klazz argument, see {@link JandexUtil#inheritanceChain(IndexView, ClassInfo, Type)}.
+     * Only the superclasses present in the index are included.
+     *
+     * @param klazz the class to retrieve inheritance
+     * @param type type of the klazz
+     * @return map of a class's inheritance chain/ancestry
+     */
+    public Map<ClassInfo, Type> inheritanceChain(ClassInfo klazz, Type type) {
+        List<Ancestor> superclasses = ancestors(klazz);
+        Map<ClassInfo, Type> chain = new LinkedHashMap<>(superclasses.size() * 4 / 3 + 2);
+
+        chain.put(klazz, type);
+
+        for (Ancestor ancestor : superclasses) {
+            chain.put(ancestor.klazz, ancestor.type);
+        }
+
+        return chain;
+    }
+
+    /**
+     * Finds the class in the index, then in the JDK classes, then using the context
+     * ClassLoader.
+     *
+     * @param name name of the class
+     * @return the class, or null if it could not be found
+     */
+    public ClassInfo getClassInfo(DotName name) {
+        ClassInfo klazz = index.getClassByName(name);
+
+        if (klazz == null) {
+            klazz = TypeUtil.getJdkClassInfo(name);
+        }
+        if (klazz == null) {
+            if (name.toString().startsWith("java.")) {
+                klazz = jdkClasses.computeIfAbsent(name, n -> readClass(n, ClassLoader.getSystemClassLoader()))
+                        .orElse(null);
+            } else {
+                klazz = externalClasses.computeIfAbsent(name,
+                        n -> readClass(n, Thread.currentThread().getContextClassLoader())).orElse(null);
+            }
+        }
+
+        return klazz;
+    }
+
+    private List<Ancestor> ancestors(ClassInfo klazz) {
+        List<Ancestor> result = ancestors.get(klazz.name());
+
+        if (result == null) {
+            result = new ArrayList<>();
+            Type type = klazz.superClassType();
+            ClassInfo superKlazz;
+
+            while (type != null && (superKlazz = index.getClassByName(TypeUtil.getName(type))) != null) {
+                result.add(new Ancestor(superKlazz, type));
+                type = superKlazz.superClassType();
+            }
+
+            ancestors.putIfAbsent(klazz.name(), result);
+        }
+
+        return result;
+    }
+
+    private Set<DotName> supertypes(DotName name) {
+        Set<DotName> result = supertypes.get(name);
+
+        // Not using computeIfAbsent, the map is updated recursively
+        if (result == null) {
+            ClassInfo klazz = getClassInfo(name);
+
+            if (klazz == null) {
+                result = Collections.emptySet();
+            } else {
+                result = new HashSet<>();
+
+                if (klazz.superName() != null) {
+                    result.add(klazz.superName());
+                    result.addAll(supertypes(klazz.superName()));
+                }
+                for (DotName interfaceName : klazz.interfaceNames()) {
+                    result.add(interfaceName);
+                    result.addAll(supertypes(interfaceName));
+                }
+            }
+
+            supertypes.putIfAbsent(name, result);
+        }
+
+        return result;
+    }
+
+    private static Optional<ClassInfo> readClass(DotName name, ClassLoader loader) {
+        if (loader == null) {
+            return Optional.empty();
+        }
+
+        try (InputStream stream = loader.getResourceAsStream(name.toString().replace('.', '/') + ".class")) {
+            if (stream != null) {
+                return Optional.of(new Indexer().index(stream));
+            }
+        } catch (IOException | RuntimeException e) {
+            // Not a readable class file, handled like a missing class
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * A superclass and the type by which it is extended.
+     */
+    private static final class Ancestor {
+        final ClassInfo klazz;
+        final Type type;
+
+        Ancestor(ClassInfo klazz, Type type) {
+            this.klazz = klazz;
+            this.type = type;
+        }
+    }
+}
@@ -18,6 +18,7 @@ package io.smallrye.openapi.runtime.util;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.lang.ref.SoftReference;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Collection;
@@ -26,6 +27,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.stream.Collectors;
 
 import javax.validation.constraints.NotNull;
@@ -47,6 +49,7 @@ import org.jboss.jandex.Type;
 import org.jboss.jandex.WildcardType;
 
 import io.smallrye.openapi.api.OpenApiConstants;
+import io.smallrye.openapi.runtime.scanner.dataobject.AugmentedIndexView;
 
 /**
  * @author Marc Savy {@literal <marc@rhymewithgravy.com>}
@@ -79,6 +82,13 @@ public class TypeUtil {
     private static final Map<DotName, TypeWithFormat> TYPE_MAP = new LinkedHashMap<>();
     private static final IndexView jdkIndex;
 
+    /**
+     * Hierarchies of the plain indexes given to {@link #isA(IndexView, Type, Type)}. The
+     * hierarchies refer to their index, so they are held softly: the entries of the indexes
+     * no longer used are removed once memory runs short.
+     */
+    private static final Map<IndexView, SoftReference<TypeHierarchy>> hierarchies = new WeakHashMap<>();
+
     // https://github.com/OAI/OpenAPI-Specification/blob/master/versions/3.0.0.md#dataTypeFormat
     static {
         // String
@@ -291,27 +301,8 @@ public class TypeUtil {
         return OBJECT_FORMAT;
     }
 
-    static Class<?> getClass(DotName name) throws ClassNotFoundException {
-        return Class.forName(name.toString(), true, Thread.currentThread().getContextClassLoader());
-    }
-
-    static boolean isAssignableFrom(DotName subject, DotName object) {
-        try {
-            Class<?> subjectKlazz = TypeUtil.getClass(subject);
-            Class<?> objectKlazz = TypeUtil.getClass(object);
-            return objectKlazz.isAssignableFrom(subjectKlazz);
-        } catch (ClassNotFoundException nfe) {
-            return false;
-        }
-    }
-
-    static ClassInfo getClassInfo(IndexView appIndex, Type type) {
-        DotName className = getName(type);
-        ClassInfo clazz = appIndex.getClassByName(className);
-        if (clazz == null) {
-            clazz = jdkIndex.getClassByName(className);
-        }
-        return clazz;
+    static ClassInfo getJdkClassInfo(DotName className) {
+        return jdkIndex.getClassByName(className);
     }
 
     /**
@@ -319,7 +310,9 @@ public class TypeUtil {
      * <p>
      * For example, test whether List is a Collection.
      * <p>
-     * Attempts to work with both Jandex and using standard class.
+     * The hierarchy of the subject is read from the index, the common JDK classes or
+     * the class files of the context ClassLoader, without loading any class. The
+     * hierarchy is memoized once per index, see {@link #hierarchy(IndexView)}.
      *
      * @param index Jandex index
      * @param testSubject type to test
@@ -327,48 +320,29 @@ public class TypeUtil {
      * @return true if is of type
      */
     public static boolean isA(IndexView index, Type testSubject, Type testObject) {
-        // The types may be the same -- short circuit looking in the index
-        if (getName(testSubject).equals(getName(testObject))) {
-            return true;
-        }
-        if (testSubject.kind() == Type.Kind.PRIMITIVE && testObject.kind() != Type.Kind.PRIMITIVE) {
-            return false;
-        }
-
-        // First, look in Jandex, as target might not be in our classloader
-        ClassInfo subJandexKlazz = getClassInfo(index, testSubject);
-
-        if (subJandexKlazz != null) {
-            return subJandexKlazz.interfaceNames().contains(getName(testObject)) || hasSuper(index, subJandexKlazz, testObject);
-        }
-
-        return isAssignableFrom(testSubject.name(), testObject.name());
+        return hierarchy(index).isA(testSubject, testObject);
     }
 
-    private static boolean hasSuper(IndexView index, ClassInfo testSubject, Type testObject) {
-        Type superKlazzType = testSubject.superClassType();
-
-        while (superKlazzType != null) {
-            if (getName(superKlazzType).equals(getName(testObject))) {
-                return true;
-            }
-            if (DOTNAME_OBJECT.equals(getName(superKlazzType))) {
-                return false;
-            }
-
-            ClassInfo superKlazz = getClassInfo(index, superKlazzType);
-
-            if (superKlazz != null) {
-                if (superKlazz.interfaceNames().contains(getName(testObject))) {
-                    return true;
-                }
-            } else {
-                return isAssignableFrom(testSubject.name(), testObject.name());
+    /**
+     * Returns the memoized hierarchy of the given index: the hierarchy of an
+     * {@link AugmentedIndexView}, or the hierarchy kept for a plain index by this class.
+     *
+     * @param index Jandex index
+     * @return the hierarchy of the classes found through the index
+     */
+    static TypeHierarchy hierarchy(IndexView index) {
+        if (index instanceof AugmentedIndexView) {
+            return ((AugmentedIndexView) index).hierarchy();
+        }
+        synchronized (hierarchies) {
+            SoftReference<TypeHierarchy> reference = hierarchies.get(index);
+            TypeHierarchy hierarchy = reference != null ? reference.get() : null;
+            if (hierarchy == null) {
+                hierarchy = new TypeHierarchy(index);
+                hierarchies.put(index, new SoftReference<>(hierarchy));
             }
-
-            superKlazzType = superKlazz.superClassType();
+            return hierarchy;
         }
-        return false;
     }
 
     public static boolean isTerminalType(Type type) {
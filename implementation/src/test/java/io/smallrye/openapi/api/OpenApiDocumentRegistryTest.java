@@ -0,0 +1,92 @@
+package io.smallrye.openapi.api;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.openapi.OASFilter;
+import org.eclipse.microprofile.openapi.models.OpenAPI;
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.smallrye.openapi.api.models.OpenAPIImpl;
+import io.smallrye.openapi.api.models.info.InfoImpl;
+import io.smallrye.openapi.runtime.io.OpenApiSerializer.Format;
+import io.smallrye.openapi.runtime.scanner.IndexScannerTestBase;
+
+public class OpenApiDocumentRegistryTest {
+
+    private static OpenAPIImpl model(String title) {
+        OpenAPIImpl model = new OpenAPIImpl();
+        model.setOpenapi(OpenApiConstants.OPEN_API_VERSION);
+        model.setInfo(new InfoImpl());
+        model.getInfo().setTitle(title);
+        return model;
+    }
+
+    @Test
+    public void testDocumentsInitializedConcurrently() {
+        OpenApiDocumentRegistry registry = new OpenApiDocumentRegistry();
+        List<String> deployments = Arrays.asList("a", "b", "c", "d");
+        // Each filter waits for all the deployments to be filtering at once
+        CountDownLatch filtering = new CountDownLatch(deployments.size());
+        List<CompletableFuture<Void>> initializations = new ArrayList<>();
+
+        for (String deployment : deployments) {
+            OpenApiDocument document = registry.document(deployment);
+            document.config(IndexScannerTestBase.emptyConfig());
+            document.modelFromStaticFile(model(deployment));
+            document.filter(new OASFilter() {
+                @Override
+                public void filterOpenAPI(OpenAPI openAPI) {
+                    filtering.countDown();
+                    try {
+                        Assert.assertTrue("Initializations serialized", filtering.await(10, TimeUnit.SECONDS));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    openAPI.getInfo().setDescription("Filtered " + deployment);
+                }
+            });
+            initializations.add(CompletableFuture.runAsync(document::initialize, r -> new Thread(r).start()));
+        }
+        CompletableFuture.allOf(initializations.toArray(new CompletableFuture[0])).join();
+
+        Assert.assertEquals(new HashSet<>(deployments), registry.deployments());
+        for (String deployment : deployments) {
+            OpenApiDocument document = registry.find(deployment);
+            Assert.assertEquals(deployment, document.get().getInfo().getTitle());
+            Assert.assertEquals("Filtered " + deployment, document.get().getInfo().getDescription());
+            Assert.assertNotSame(OpenApiDocument.INSTANCE, document);
+        }
+    }
+
+    @Test
+    public void testIndependentLifecycles() {
+        OpenApiDocumentRegistry registry = new OpenApiDocumentRegistry();
+        registry.document("a").set(model("A"));
+        registry.document("b").set(model("B"));
+
+        Assert.assertTrue(registry.remove("a"));
+        Assert.assertFalse(registry.remove("a"));
+        Assert.assertNull(registry.find("a"));
+        Assert.assertFalse(registry.document("a").isSet());
+        Assert.assertTrue(registry.find("b").getSerialized(Format.JSON).toString().contains("\"B\""));
+    }
+
+    @Test
+    public void testConfigShared() {
+        OpenApiDocumentRegistry registry = new OpenApiDocumentRegistry();
+        Config config = ((OpenApiConfigImpl) IndexScannerTestBase.emptyConfig()).getConfig();
+
+        OpenApiConfig shared = registry.config(config);
+
+        Assert.assertSame(shared, registry.config(config));
+        Assert.assertNotSame(shared, new OpenApiDocumentRegistry().config(config));
+    }
+}
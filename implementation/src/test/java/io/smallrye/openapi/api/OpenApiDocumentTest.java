@@ -0,0 +1,441 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.smallrye.openapi.api;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.microprofile.openapi.OASFilter;
+import org.eclipse.microprofile.openapi.models.OpenAPI;
+import org.eclipse.microprofile.openapi.models.PathItem;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.smallrye.openapi.api.models.OpenAPIImpl;
+import io.smallrye.openapi.api.models.OperationImpl;
+import io.smallrye.openapi.api.models.PathItemImpl;
+import io.smallrye.openapi.api.models.PathsImpl;
+import io.smallrye.openapi.api.models.info.InfoImpl;
+import io.smallrye.openapi.runtime.OpenApiProcessor;
+import io.smallrye.openapi.runtime.OpenApiStaticFile;
+import io.smallrye.openapi.runtime.io.OpenApiSerializer;
+import io.smallrye.openapi.runtime.io.OpenApiSerializer.Format;
+import io.smallrye.openapi.runtime.scanner.IndexScannerTestBase;
+
+public class OpenApiDocumentTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void resetDocument() {
+        OpenApiDocument.INSTANCE.reset();
+    }
+
+    private static OpenAPIImpl model(String title) {
+        OpenAPIImpl model = new OpenAPIImpl();
+        model.setOpenapi(OpenApiConstants.OPEN_API_VERSION);
+        model.setInfo(new InfoImpl());
+        model.getInfo().setTitle(title);
+        return model;
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSerializedRequiresInitialization() {
+        OpenApiDocument.INSTANCE.getSerialized(Format.JSON);
+    }
+
+    @Test
+    public void testSerializedMatchesSerializer() throws IOException {
+        OpenApiDocument.INSTANCE.config(IndexScannerTestBase.emptyConfig());
+        OpenApiDocument.INSTANCE.modelFromStaticFile(model("Cached"));
+        OpenApiDocument.INSTANCE.initialize();
+
+        for (Format format : Format.values()) {
+            SerializedDocument document = OpenApiDocument.INSTANCE.getSerialized(format);
+            String expected = OpenApiSerializer.serialize(OpenApiDocument.INSTANCE.get(), format);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.writeTo(out);
+
+            Assert.assertEquals(expected, new String(out.toByteArray(), StandardCharsets.UTF_8));
+            Assert.assertEquals(out.size(), document.getLength());
+            Assert.assertEquals(format.getMimeType(), document.getMimeType());
+            Assert.assertSame(document, OpenApiDocument.INSTANCE.getSerialized(format));
+        }
+    }
+
+    @Test
+    public void testEntityTag() throws IOException {
+        SerializedDocument json1 = SerializedDocument.of(model("One"), Format.JSON);
+        SerializedDocument json2 = SerializedDocument.of(model("One"), Format.JSON);
+        SerializedDocument yaml = SerializedDocument.of(model("One"), Format.YAML);
+        SerializedDocument other = SerializedDocument.of(model("Two"), Format.JSON);
+
+        Assert.assertTrue(json1.getEntityTag().startsWith("\""));
+        Assert.assertTrue(json1.getEntityTag().endsWith("\""));
+        Assert.assertEquals(json1.getEntityTag(), json2.getEntityTag());
+        Assert.assertNotEquals(json1.getEntityTag(), yaml.getEntityTag());
+        Assert.assertNotEquals(json1.getEntityTag(), other.getEntityTag());
+
+        Assert.assertTrue(json1.matches(json2.getEntityTag()));
+        Assert.assertTrue(json1.matches(other.getEntityTag() + ", " + json1.getEntityTag()));
+        Assert.assertTrue(json1.matches("*"));
+        Assert.assertFalse(json1.matches(other.getEntityTag()));
+        Assert.assertFalse(json1.matches(null));
+    }
+
+    @Test
+    public void testWeakEntityTagMatches() throws IOException {
+        SerializedDocument json = SerializedDocument.of(model("One"), Format.JSON);
+        SerializedDocument other = SerializedDocument.of(model("Two"), Format.JSON);
+
+        Assert.assertTrue(json.matches("W/" + json.getEntityTag()));
+        Assert.assertTrue(json.matches("W/" + other.getEntityTag() + ", W/" + json.getEntityTag()));
+        Assert.assertFalse(json.matches("W/" + other.getEntityTag()));
+    }
+
+    @Test
+    public void testSetReplacesSerialized() {
+        OpenApiDocument.INSTANCE.set(model("First"));
+        String first = OpenApiDocument.INSTANCE.getSerialized(Format.JSON).getEntityTag();
+        OpenApiDocument.INSTANCE.set(model("Second"));
+        String second = OpenApiDocument.INSTANCE.getSerialized(Format.JSON).getEntityTag();
+
+        Assert.assertNotEquals(first, second);
+        Assert.assertTrue(OpenApiDocument.INSTANCE.getSerialized(Format.YAML).toString().contains("Second"));
+    }
+
+    @Test
+    public void testGeneratedFileSkipsOtherModels() throws IOException {
+        Path root = folder.getRoot().toPath();
+        Path generated = root.resolve(OpenApiConstants.GENERATED_DOCUMENT_JSON);
+        Files.createDirectories(generated.getParent());
+        Files.write(generated, OpenApiSerializer.serialize(model("Generated"), Format.JSON)
+                .getBytes(StandardCharsets.UTF_8));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { root.toUri().toURL() }, null);
+                OpenApiStaticFile file = OpenApiProcessor.generatedFile(loader)) {
+            Assert.assertNotNull(file);
+            Assert.assertEquals(Format.JSON, file.getFormat());
+
+            OpenApiDocument.INSTANCE.config(IndexScannerTestBase.emptyConfig());
+            OpenApiDocument.INSTANCE.modelFromGeneratedFile(OpenApiProcessor.modelFromStaticFile(file));
+            OpenApiDocument.INSTANCE.modelFromAnnotations(model("Annotations"));
+            OpenApiDocument.INSTANCE.filter(new OASFilter() {
+                @Override
+                public void filterOpenAPI(OpenAPI openAPI) {
+                    openAPI.getInfo().setTitle("Filtered");
+                }
+            });
+            OpenApiDocument.INSTANCE.initialize();
+        }
+
+        Assert.assertEquals("Generated", OpenApiDocument.INSTANCE.get().getInfo().getTitle());
+        Assert.assertNotNull(OpenApiDocument.INSTANCE.get().getPaths());
+    }
+
+    @Test
+    public void testGeneratedFileAbsent() throws IOException {
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { folder.getRoot().toURI().toURL() }, null)) {
+            Assert.assertNull(OpenApiProcessor.generatedFile(loader));
+        }
+    }
+
+    @Test
+    public void testVariantFilteredFromCopy() {
+        OpenAPIImpl model = model("Variants");
+        model.setPaths(new PathsImpl()
+                .addPathItem("/public", new PathItemImpl().GET(new OperationImpl()))
+                .addPathItem("/internal", new PathItemImpl().GET(new OperationImpl().operationId("internal"))));
+        OpenApiDocument.INSTANCE.variant("partner", new OASFilter() {
+            @Override
+            public PathItem filterPathItem(PathItem pathItem) {
+                return "internal".equals(pathItem.getGET().getOperationId()) ? null : pathItem;
+            }
+        });
+        OpenApiDocument.INSTANCE.config(IndexScannerTestBase.emptyConfig());
+        OpenApiDocument.INSTANCE.modelFromStaticFile(model);
+        OpenApiDocument.INSTANCE.initialize();
+
+        SerializedDocument partner = OpenApiDocument.INSTANCE.getSerialized(Format.JSON, "partner");
+        SerializedDocument base = OpenApiDocument.INSTANCE.getSerialized(Format.JSON, null);
+
+        Assert.assertFalse(partner.toString().contains("/internal"));
+        Assert.assertTrue(partner.toString().contains("/public"));
+        Assert.assertTrue(base.toString().contains("/internal"));
+        Assert.assertSame(base, OpenApiDocument.INSTANCE.getSerialized(Format.JSON));
+        Assert.assertSame(partner, OpenApiDocument.INSTANCE.getSerialized(Format.JSON, "partner"));
+        Assert.assertNotEquals(base.getEntityTag(), partner.getEntityTag());
+        Assert.assertEquals(2, OpenApiDocument.INSTANCE.get().getPaths().getPathItems().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownVariant() {
+        OpenApiDocument.INSTANCE.set(model("Variants"));
+        OpenApiDocument.INSTANCE.getSerialized(Format.JSON, "unknown");
+    }
+
+    @Test
+    public void testVariantsCacheEvictsLeastRecentlyUsed() {
+        AtomicInteger filtered = new AtomicInteger();
+        for (String variant : new String[] { "a", "b", "c" }) {
+            OpenApiDocument.INSTANCE.variant(variant, new OASFilter() {
+                @Override
+                public void filterOpenAPI(OpenAPI openAPI) {
+                    filtered.incrementAndGet();
+                    openAPI.getInfo().setTitle(variant);
+                }
+            });
+        }
+        OpenApiDocument.INSTANCE.config(IndexScannerTestBase.dynamicConfig(
+                Collections.singletonMap(OpenApiConstants.VARIANTS_CACHE_SIZE, 2)));
+        OpenApiDocument.INSTANCE.modelFromStaticFile(model("Variants"));
+        OpenApiDocument.INSTANCE.initialize();
+
+        SerializedDocument a = OpenApiDocument.INSTANCE.getSerialized(Format.YAML, "a");
+        OpenApiDocument.INSTANCE.getSerialized(Format.YAML, "b");
+        Assert.assertSame(a, OpenApiDocument.INSTANCE.getSerialized(Format.YAML, "a"));
+        Assert.assertEquals(2, filtered.get());
+
+        // "b" is the least recently used variant, evicted by "c"
+        OpenApiDocument.INSTANCE.getSerialized(Format.YAML, "c");
+        Assert.assertSame(a, OpenApiDocument.INSTANCE.getSerialized(Format.YAML, "a"));
+        Assert.assertTrue(OpenApiDocument.INSTANCE.getSerialized(Format.YAML, "b").toString().contains("title: b"));
+        Assert.assertEquals(4, filtered.get());
+        Assert.assertEquals("Variants", OpenApiDocument.INSTANCE.get().getInfo().getTitle());
+    }
+
+    @Test
+    public void testModelReadOnly() {
+        OpenApiDocument.INSTANCE.set(model("ReadOnly"));
+
+        try {
+            OpenApiDocument.INSTANCE.get().getInfo().setTitle("Modified");
+            Assert.fail("Modification of the final model");
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
+
+        OpenAPI copy = OpenApiDocument.INSTANCE.getMutableCopy();
+        copy.getInfo().setTitle("Modified");
+
+        Assert.assertEquals("ReadOnly", OpenApiDocument.INSTANCE.get().getInfo().getTitle());
+        Assert.assertTrue(OpenApiDocument.INSTANCE.getSerialized(Format.JSON).toString().contains("ReadOnly"));
+    }
+
+    @Test
+    public void testSetReadOnlyModel() {
+        OpenApiDocument.INSTANCE.set(model("ReadOnly"));
+        OpenAPI frozen = OpenApiDocument.INSTANCE.get();
+        OpenApiDocument.INSTANCE.reset();
+        OpenApiDocument.INSTANCE.variant("variant", new OASFilter() {
+            @Override
+            public void filterOpenAPI(OpenAPI openAPI) {
+                openAPI.getInfo().setTitle("Variant");
+            }
+        });
+
+        OpenApiDocument.INSTANCE.set(frozen);
+
+        Assert.assertTrue(OpenApiDocument.INSTANCE.getSerialized(Format.JSON, "variant").toString().contains("Variant"));
+        Assert.assertEquals("ReadOnly", OpenApiDocument.INSTANCE.get().getInfo().getTitle());
+    }
+
+    @Test
+    public void testPublishedModelCopied() {
+        OpenAPIImpl set = model("Set");
+        OpenApiDocument.INSTANCE.set(set);
+        set.getInfo().setTitle("Modified");
+
+        Assert.assertEquals("Set", OpenApiDocument.INSTANCE.get().getInfo().getTitle());
+        Assert.assertTrue(OpenApiDocument.INSTANCE.getSerialized(Format.JSON).toString().contains("Set"));
+
+        // A single source is not copied by the merge
+        OpenApiDocument.INSTANCE.reset();
+        OpenAPIImpl read = model("Reader");
+        OpenApiDocument.INSTANCE.config(IndexScannerTestBase.emptyConfig());
+        OpenApiDocument.INSTANCE.modelFromReader(read);
+        OpenApiDocument.INSTANCE.initialize();
+        read.getInfo().setTitle("Modified");
+
+        Assert.assertEquals("Reader", OpenApiDocument.INSTANCE.get().getInfo().getTitle());
+    }
+
+    @Test
+    public void testViewReturnedOnce() {
+        OpenApiDocument.INSTANCE.set(model("Views"));
+        OpenAPI view = OpenApiDocument.INSTANCE.get();
+        OpenAPI copy = OpenApiDocument.INSTANCE.getMutableCopy();
+
+        Assert.assertSame(view, OpenApiDocument.INSTANCE.get());
+        Assert.assertSame(view.getInfo(), OpenApiDocument.INSTANCE.get().getInfo());
+        Assert.assertSame(view.getPaths(), OpenApiDocument.INSTANCE.get().getPaths());
+        Assert.assertFalse(view.getInfo().equals(copy.getInfo()));
+        Assert.assertFalse(copy.getInfo().equals(view.getInfo()));
+    }
+
+    @Test
+    public void testInitializedInBackground() throws Exception {
+        CountDownLatch scanning = new CountDownLatch(1);
+        AtomicReference<String> thread = new AtomicReference<>();
+        OpenApiDocument.INSTANCE.config(IndexScannerTestBase.emptyConfig());
+        OpenApiDocument.INSTANCE.modelFromAnnotations(() -> {
+            try {
+                Assert.assertTrue(scanning.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread.set(Thread.currentThread().getName());
+            return model("Background");
+        });
+
+        // Returns while the model is being produced
+        OpenApiDocument.INSTANCE.initializeInBackground();
+        Assert.assertTrue(OpenApiDocument.INSTANCE.isSet());
+        Assert.assertTrue(OpenApiDocument.INSTANCE.getTimings().isEmpty());
+        scanning.countDown();
+
+        // Waits for the model
+        Assert.assertEquals("Background", OpenApiDocument.INSTANCE.get().getInfo().getTitle());
+        Assert.assertNotEquals(Thread.currentThread().getName(), thread.get());
+        Assert.assertTrue(OpenApiDocument.INSTANCE.getSerialized(Format.JSON).toString().contains("Background"));
+    }
+
+    @Test
+    public void testInitializedOnFirstAccess() {
+        AtomicInteger scans = new AtomicInteger();
+        OpenApiDocument.INSTANCE.config(IndexScannerTestBase.dynamicConfig(Collections.singletonMap(
+                OpenApiConstants.INITIALIZATION_MODE, OpenApiConstants.INITIALIZATION_MODE_FIRST_ACCESS)));
+        OpenApiDocument.INSTANCE.modelFromAnnotations(() -> {
+            scans.incrementAndGet();
+            return model("FirstAccess");
+        });
+
+        OpenApiDocument.INSTANCE.initialize();
+        Assert.assertEquals(0, scans.get());
+
+        Assert.assertTrue(OpenApiDocument.INSTANCE.getSerialized(Format.YAML).toString().contains("FirstAccess"));
+        Assert.assertEquals("FirstAccess", OpenApiDocument.INSTANCE.get().getInfo().getTitle());
+        Assert.assertEquals(1, scans.get());
+    }
+
+    @Test
+    public void testFailedInitializationRethrown() {
+        OpenApiDocument.INSTANCE.config(IndexScannerTestBase.emptyConfig());
+        OpenApiDocument.INSTANCE.modelFromReader(() -> {
+            throw new IllegalArgumentException("Invalid reader");
+        });
+        OpenApiDocument.INSTANCE.initializeOnFirstAccess();
+
+        try {
+            OpenApiDocument.INSTANCE.get();
+            Assert.fail("Initialization failure not rethrown");
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("Invalid reader", e.getMessage());
+        }
+
+        // May be initialized again
+        Assert.assertFalse(OpenApiDocument.INSTANCE.isSet());
+        OpenApiDocument.INSTANCE.config(IndexScannerTestBase.emptyConfig());
+        OpenApiDocument.INSTANCE.modelFromReader(model("Retried"));
+        OpenApiDocument.INSTANCE.initialize();
+        Assert.assertEquals("Retried", OpenApiDocument.INSTANCE.get().getInfo().getTitle());
+    }
+
+    @Test
+    public void testInitializedByExecutor() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2, task -> new Thread(task, "host-executor"));
+        ClassLoader loader = new URLClassLoader(new URL[0]);
+        ClassLoader previous = Thread.currentThread().getContextClassLoader();
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        AtomicReference<ClassLoader> contextLoader = new AtomicReference<>();
+        try {
+            OpenApiDocument.INSTANCE.config(IndexScannerTestBase.emptyConfig());
+            OpenApiDocument.INSTANCE.executor(executor);
+            OpenApiDocument.INSTANCE.stage("thread", model -> {
+                thread.set(Thread.currentThread());
+                contextLoader.set(Thread.currentThread().getContextClassLoader());
+                return model;
+            });
+            Thread.currentThread().setContextClassLoader(loader);
+            OpenApiDocument.INSTANCE.initializeInBackground();
+            Thread.currentThread().setContextClassLoader(previous);
+
+            Assert.assertNotNull(OpenApiDocument.INSTANCE.get());
+            Assert.assertEquals("host-executor", thread.get().getName());
+            Assert.assertSame(loader, contextLoader.get());
+        } finally {
+            Thread.currentThread().setContextClassLoader(previous);
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testFailedBackgroundInitializationCleared() throws Exception {
+        CountDownLatch failing = new CountDownLatch(1);
+        OpenApiDocument.INSTANCE.config(IndexScannerTestBase.emptyConfig());
+        OpenApiDocument.INSTANCE.modelFromReader(() -> {
+            try {
+                Assert.assertTrue(failing.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalArgumentException("Invalid reader");
+        });
+        OpenApiDocument.INSTANCE.initializeInBackground();
+        failing.countDown();
+
+        // The reader waiting for the model receives the failure
+        try {
+            OpenApiDocument.INSTANCE.get();
+            Assert.fail("Initialization failure not rethrown");
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("Invalid reader", e.getMessage());
+        }
+
+        // Cleared once the failure is published
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (OpenApiDocument.INSTANCE.isSet() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertFalse(OpenApiDocument.INSTANCE.isSet());
+        OpenApiDocument.INSTANCE.set(model("Set"));
+        Assert.assertEquals("Set", OpenApiDocument.INSTANCE.get().getInfo().getTitle());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownInitializationMode() {
+        OpenApiDocument.INSTANCE.config(IndexScannerTestBase.dynamicConfig(Collections.singletonMap(
+                OpenApiConstants.INITIALIZATION_MODE, "never")));
+        OpenApiDocument.INSTANCE.initialize();
+    }
+}
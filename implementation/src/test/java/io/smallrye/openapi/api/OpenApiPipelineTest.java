@@ -0,0 +1,176 @@
+package io.smallrye.openapi.api;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.eclipse.microprofile.openapi.models.OpenAPI;
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.smallrye.openapi.api.models.OpenAPIImpl;
+import io.smallrye.openapi.api.models.info.InfoImpl;
+import io.smallrye.openapi.api.models.tags.TagImpl;
+import io.smallrye.openapi.runtime.io.OpenApiSerializer;
+import io.smallrye.openapi.runtime.io.OpenApiSerializer.Format;
+import io.smallrye.openapi.runtime.scanner.IndexScannerTestBase;
+
+public class OpenApiPipelineTest {
+
+    private static OpenAPI model(String tag) {
+        OpenAPIImpl model = new OpenAPIImpl();
+        model.addTag(new TagImpl().name(tag));
+        return model;
+    }
+
+    private static List<String> tags(OpenAPI model) {
+        List<String> tags = new ArrayList<>();
+        model.getTags().forEach(tag -> tags.add(tag.getName()));
+        return tags;
+    }
+
+    @Test
+    public void testSourcesProducedConcurrently() {
+        // Each source waits for all the sources to be produced at once
+        CountDownLatch producing = new CountDownLatch(3);
+        Supplier<Supplier<OpenAPI>> source = () -> () -> {
+            producing.countDown();
+            try {
+                Assert.assertTrue("Sources produced serially", producing.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return model(Thread.currentThread().getName());
+        };
+        OpenApiPipeline pipeline = new OpenApiPipeline()
+                .source(OpenApiPipeline.READER, source.get())
+                .source(OpenApiPipeline.STATIC_FILE, source.get())
+                .source(OpenApiPipeline.ANNOTATIONS, source.get());
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Assert.assertEquals(3, pipeline.run(executor).getTags().size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSourcesAndStagesOrdered() {
+        List<String> stages = new ArrayList<>();
+        OpenApiPipeline pipeline = new OpenApiPipeline()
+                .source("host", () -> model("host"))
+                .source(OpenApiPipeline.ANNOTATIONS, () -> model("annotations"))
+                .source(OpenApiPipeline.READER, () -> model("reader"))
+                .stage(OpenApiPipeline.SERVERS, model -> {
+                    stages.add(OpenApiPipeline.SERVERS);
+                    return model;
+                })
+                .stage("host", model -> {
+                    stages.add("host");
+                    return model;
+                })
+                .stage(OpenApiPipeline.FILTER, model -> {
+                    stages.add(OpenApiPipeline.FILTER);
+                    return model;
+                });
+
+        OpenAPI model = pipeline.run(Runnable::run);
+
+        Assert.assertEquals(Arrays.asList("reader", "annotations", "host"), tags(model));
+        Assert.assertEquals(Arrays.asList(OpenApiPipeline.FILTER, "host", OpenApiPipeline.SERVERS), stages);
+        Assert.assertTrue(pipeline.getTimings().keySet().containsAll(
+                Arrays.asList(OpenApiPipeline.READER, OpenApiPipeline.ANNOTATIONS, OpenApiPipeline.MERGE, "host")));
+    }
+
+    @Test
+    public void testCachedSourceReused() {
+        AtomicInteger scans = new AtomicInteger();
+        OpenApiPipeline pipeline = new OpenApiPipeline()
+                .source(OpenApiPipeline.STATIC_FILE, () -> model("static"))
+                .source(OpenApiPipeline.ANNOTATIONS, () -> model("scan" + scans.incrementAndGet()))
+                .cache(OpenApiPipeline.ANNOTATIONS);
+
+        Assert.assertEquals(Arrays.asList("static", "scan1"), tags(pipeline.run(Runnable::run)));
+
+        // Merging into the static file model must not have modified the cached model
+        pipeline.source(OpenApiPipeline.STATIC_FILE, () -> model("modified"));
+        Assert.assertEquals(Arrays.asList("modified", "scan1"), tags(pipeline.run(Runnable::run)));
+        Assert.assertFalse(pipeline.getTimings().containsKey(OpenApiPipeline.ANNOTATIONS));
+
+        pipeline.invalidate(OpenApiPipeline.ANNOTATIONS);
+        Assert.assertEquals(Arrays.asList("modified", "scan2"), tags(pipeline.run(Runnable::run)));
+    }
+
+    @Test
+    public void testSingleSourceCopied() {
+        OpenAPI source = model("source");
+        OpenAPI model = new OpenApiPipeline()
+                .source(OpenApiPipeline.READER, () -> source)
+                .stage("host", produced -> produced.info(new InfoImpl().title("Host")))
+                .run(Runnable::run);
+
+        Assert.assertNotSame(source, model);
+        Assert.assertEquals("Host", model.getInfo().getTitle());
+        Assert.assertNull(source.getInfo());
+    }
+
+    @Test
+    public void testCachedStageReused() {
+        AtomicInteger filters = new AtomicInteger();
+        AtomicInteger sources = new AtomicInteger();
+        OpenApiPipeline pipeline = new OpenApiPipeline()
+                .source(OpenApiPipeline.ANNOTATIONS, () -> model("scan" + sources.incrementAndGet()))
+                .stage(OpenApiPipeline.FILTER, model -> {
+                    filters.incrementAndGet();
+                    return model;
+                })
+                .stage("host", model -> model.info(new InfoImpl().title("Host")))
+                .cache(OpenApiPipeline.FILTER);
+
+        pipeline.run(Runnable::run);
+        OpenAPI model = pipeline.run(Runnable::run);
+
+        Assert.assertEquals(1, sources.get());
+        Assert.assertEquals(1, filters.get());
+        Assert.assertEquals("Host", model.getInfo().getTitle());
+
+        pipeline.invalidate(OpenApiPipeline.ANNOTATIONS);
+        Assert.assertEquals(Arrays.asList("scan2"), tags(pipeline.run(Runnable::run)));
+        Assert.assertEquals(2, filters.get());
+    }
+
+    @Test
+    public void testDocumentInitializedWithSuppliers() throws Exception {
+        OpenApiDocument document = new OpenApiDocument();
+        document.config(IndexScannerTestBase.emptyConfig());
+        document.archiveName("app");
+        document.modelFromAnnotations(() -> model("annotations"));
+        document.modelFromReader(() -> model("reader"));
+        document.source("host", () -> model("host"));
+        document.stage("host", model -> model.addTag(new TagImpl().name("stage")));
+        document.initialize();
+
+        Assert.assertEquals(Arrays.asList("reader", "annotations", "host", "stage"), tags(document.get()));
+        Assert.assertEquals("app API", document.get().getInfo().getTitle());
+        Assert.assertTrue(document.getTimings().containsKey(OpenApiPipeline.SERVERS));
+
+        // Same result as the models set directly
+        OpenApiDocument expected = new OpenApiDocument();
+        expected.config(IndexScannerTestBase.emptyConfig());
+        expected.archiveName("app");
+        expected.modelFromReader(model("reader"));
+        expected.modelFromAnnotations(model("annotations"));
+        expected.source("host", () -> model("host"));
+        expected.stage("host", model -> model.addTag(new TagImpl().name("stage")));
+        expected.initialize();
+        Assert.assertEquals(OpenApiSerializer.serialize(expected.get(), Format.JSON),
+                OpenApiSerializer.serialize(document.get(), Format.JSON));
+    }
+}
@@ -0,0 +1,267 @@
+package io.smallrye.openapi.api.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.ws.rs.GET;
+
+import org.eclipse.microprofile.openapi.OASConfig;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.IndexWriter;
+import org.jboss.jandex.Indexer;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.smallrye.openapi.api.OpenApiConfig;
+import io.smallrye.openapi.api.OpenApiConstants;
+import io.smallrye.openapi.api.OpenApiDocumentTest;
+import io.smallrye.openapi.api.OpenApiPipelineTest;
+import io.smallrye.openapi.runtime.scanner.IndexScannerTestBase;
+import test.io.smallrye.openapi.runtime.scanner.resources.HiddenOperationResource;
+
+public class ArchiveUtilTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static WebArchive archive() {
+        JavaArchive nested = ShrinkWrap.create(JavaArchive.class, "nested.jar").addClass(OpenApiPipelineTest.class);
+        JavaArchive library = ShrinkWrap.create(JavaArchive.class, "library.jar")
+                .addClass(FreezeUtilTest.class)
+                .add(nested, "/", ZipExporter.class);
+        JavaArchive other = ShrinkWrap.create(JavaArchive.class, "other.jar").addClass(FilterUtilTest.class);
+        return ShrinkWrap.create(WebArchive.class, "app.war")
+                .addClass(OpenApiDocumentTest.class)
+                .addAsLibraries(library, other);
+    }
+
+    private static ByteArrayAsset jandexIndex(Class<?>... classes) throws IOException {
+        Indexer indexer = new Indexer();
+        for (Class<?> type : classes) {
+            try (InputStream stream = type.getResourceAsStream(type.getSimpleName() + ".class")) {
+                indexer.index(stream);
+            }
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new IndexWriter(bytes).write(indexer.complete());
+        return new ByteArrayAsset(bytes.toByteArray());
+    }
+
+    private static List<Path> cachedIndexes(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".idx")).collect(Collectors.toList());
+        }
+    }
+
+    private static DotName name(Class<?> type) {
+        return DotName.createSimple(type.getName());
+    }
+
+    @Test
+    public void testNestedJarsIndexed() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            IndexView index = ArchiveUtil.archiveToIndex(IndexScannerTestBase.emptyConfig(), archive(), executor);
+
+            assertNotNull(index.getClassByName(name(OpenApiDocumentTest.class)));
+            assertNotNull(index.getClassByName(name(FreezeUtilTest.class)));
+            assertNotNull(index.getClassByName(name(OpenApiPipelineTest.class)));
+            assertNotNull(index.getClassByName(name(FilterUtilTest.class)));
+            assertEquals(ArchiveUtil.archiveToIndex(IndexScannerTestBase.emptyConfig(), archive(), null).getKnownClasses()
+                    .size(), index.getKnownClasses().size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testNestedJarClassesFiltered() {
+        IndexView index = ArchiveUtil.archiveToIndex(IndexScannerTestBase.dynamicConfig(
+                Collections.singletonMap(OASConfig.SCAN_EXCLUDE_PACKAGES, "io.smallrye.openapi.api.util")), archive());
+
+        assertNotNull(index.getClassByName(name(OpenApiDocumentTest.class)));
+        assertNotNull(index.getClassByName(name(OpenApiPipelineTest.class)));
+        assertNull(index.getClassByName(name(FreezeUtilTest.class)));
+        assertNull(index.getClassByName(name(FilterUtilTest.class)));
+    }
+
+    @Test
+    public void testJandexIndexReused() throws IOException {
+        // The index of the library lists a class it does not contain, and skips those it contains
+        JavaArchive library = ShrinkWrap.create(JavaArchive.class, "library.jar")
+                .addClass(FreezeUtilTest.class)
+                .add(jandexIndex(FilterUtilTest.class, MergeUtilTest.class), OpenApiConstants.JANDEX_INDEX);
+        WebArchive archive = ShrinkWrap.create(WebArchive.class, "app.war")
+                .addClass(OpenApiDocumentTest.class)
+                .addAsWebInfResource(jandexIndex(OpenApiPipelineTest.class), "classes/" + OpenApiConstants.JANDEX_INDEX)
+                .addAsLibraries(library);
+
+        IndexView index = ArchiveUtil.archiveToIndex(IndexScannerTestBase.dynamicConfig(
+                Collections.singletonMap(OASConfig.SCAN_EXCLUDE_CLASSES, MergeUtilTest.class.getName())), archive);
+
+        assertNotNull(index.getClassByName(name(FilterUtilTest.class)));
+        assertNotNull(index.getClassByName(name(OpenApiPipelineTest.class)));
+        assertNull(index.getClassByName(name(FreezeUtilTest.class)));
+        assertNull(index.getClassByName(name(OpenApiDocumentTest.class)));
+        assertNull(index.getClassByName(name(MergeUtilTest.class)));
+    }
+
+    @Test
+    public void testUnsupportedJandexIndexIgnored() {
+        // Magic number of jandex indexes, and an unknown version
+        byte[] unsupported = { (byte) 0xBA, (byte) 0xBE, 0x1F, 0x15, 99 };
+        JavaArchive library = ShrinkWrap.create(JavaArchive.class, "library.jar")
+                .add(new ByteArrayAsset(unsupported), OpenApiConstants.JANDEX_INDEX)
+                .addClass(FreezeUtilTest.class);
+        WebArchive archive = ShrinkWrap.create(WebArchive.class, "app.war").addAsLibraries(library);
+
+        IndexView index = ArchiveUtil.archiveToIndex(IndexScannerTestBase.emptyConfig(), archive);
+
+        assertNotNull(index.getClassByName(name(FreezeUtilTest.class)));
+    }
+
+    @Test
+    public void testJarIndexesCached() throws IOException {
+        Path directory = folder.getRoot().toPath().resolve("cache");
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(OpenApiConstants.INDEX_CACHE_DIRECTORY, directory.toString());
+        JavaArchive library = ShrinkWrap.create(JavaArchive.class, "library.jar").addClass(FreezeUtilTest.class);
+        WebArchive archive = ShrinkWrap.create(WebArchive.class, "app.war").addAsLibraries(library);
+
+        IndexView index = ArchiveUtil.archiveToIndex(IndexScannerTestBase.dynamicConfig(properties), archive, null);
+        assertNotNull(index.getClassByName(name(FreezeUtilTest.class)));
+        List<Path> cached = cachedIndexes(directory);
+        assertEquals(1, cached.size());
+
+        // The cached index is read instead of the unchanged library
+        Files.write(cached.get(0), jandexIndex(MergeUtilTest.class).getSource());
+        index = ArchiveUtil.archiveToIndex(IndexScannerTestBase.dynamicConfig(properties), archive, null);
+        assertNotNull(index.getClassByName(name(MergeUtilTest.class)));
+        assertNull(index.getClassByName(name(FreezeUtilTest.class)));
+
+        // A different configuration selects different classes: the library is indexed again
+        properties.put(OASConfig.SCAN_EXCLUDE_CLASSES, MergeUtilTest.class.getName());
+        index = ArchiveUtil.archiveToIndex(IndexScannerTestBase.dynamicConfig(properties), archive, null);
+        assertNotNull(index.getClassByName(name(FreezeUtilTest.class)));
+        assertEquals(2, cachedIndexes(directory).size());
+    }
+
+    @Test
+    public void testCachedIndexesEvicted() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(OpenApiConstants.INDEX_CACHE_DIRECTORY, directory.toString());
+        properties.put(OpenApiConstants.INDEX_CACHE_MAX_SIZE, 1L);
+
+        IndexView index = ArchiveUtil.archiveToIndex(IndexScannerTestBase.dynamicConfig(properties), archive(), null);
+
+        assertNotNull(index.getClassByName(name(FilterUtilTest.class)));
+        assertEquals(Collections.emptyList(), cachedIndexes(directory));
+    }
+
+    @Test
+    public void testUnannotatedJarsSkipped() {
+        OpenApiConfig config = IndexScannerTestBase.dynamicConfig(
+                Collections.singletonMap(OpenApiConstants.SCAN_DEPENDENCIES_SKIP_UNANNOTATED, Boolean.TRUE));
+        JavaArchive nested = ShrinkWrap.create(JavaArchive.class, "nested.jar").addClass(HiddenOperationResource.class);
+        JavaArchive resources = ShrinkWrap.create(JavaArchive.class, "resources.jar")
+                .addClass(FilterUtilTest.class)
+                .add(nested, "/", ZipExporter.class);
+        // Refers to none of the JAX-RS or OpenAPI types
+        JavaArchive library = ShrinkWrap.create(JavaArchive.class, "library.jar").addClass(IndexCache.class);
+        WebArchive archive = ShrinkWrap.create(WebArchive.class, "app.war")
+                .addClass(OpenApiDocumentTest.class)
+                .addAsLibraries(resources, library);
+
+        IndexView index = ArchiveUtil.archiveToIndex(config, archive, null);
+
+        assertNotNull(index.getClassByName(name(OpenApiDocumentTest.class)));
+        assertNotNull(index.getClassByName(name(FilterUtilTest.class)));
+        assertNotNull(index.getClassByName(name(HiddenOperationResource.class)));
+        assertNull(index.getClassByName(name(IndexCache.class)));
+
+        DependencySniffer sniffer = DependencySniffer.open(config);
+        sniffer.index("library.jar", () -> library.as(ZipExporter.class).exportAsInputStream(), () -> null);
+        assertEquals(Collections.singletonList("library.jar"), sniffer.getSkipped());
+    }
+
+    @Test
+    public void testJarsOfReferencedTypesKept() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(OpenApiConstants.SCAN_DEPENDENCIES_SKIP_UNANNOTATED, Boolean.TRUE);
+        properties.put(OpenApiConstants.INDEX_CACHE_DIRECTORY, folder.getRoot().toPath().resolve("cache").toString());
+        OpenApiConfig config = IndexScannerTestBase.dynamicConfig(properties);
+        // Refers to none of the JAX-RS or OpenAPI types, but returned by a resource of the app
+        JavaArchive model = ShrinkWrap.create(JavaArchive.class, "model.jar").addClass(Greeting.class);
+        JavaArchive library = ShrinkWrap.create(JavaArchive.class, "library.jar").addClass(IndexCache.class);
+
+        // Skipped when not referred to, which the cache does not keep
+        IndexView index = ArchiveUtil.archiveToIndex(config,
+                ShrinkWrap.create(WebArchive.class, "other.war").addAsLibraries(model, library), null);
+        assertNull(index.getClassByName(name(Greeting.class)));
+
+        WebArchive archive = ShrinkWrap.create(WebArchive.class, "app.war")
+                .addClass(GreetingResource.class)
+                .addAsLibraries(model, library);
+
+        index = ArchiveUtil.archiveToIndex(config, archive, null);
+
+        assertNotNull(index.getClassByName(name(GreetingResource.class)));
+        assertNotNull(index.getClassByName(name(Greeting.class)));
+        assertNull(index.getClassByName(name(IndexCache.class)));
+    }
+
+    @Test
+    public void testJarsOfTypesReferredToByKeptJarsKept() {
+        OpenApiConfig config = IndexScannerTestBase.dynamicConfig(
+                Collections.singletonMap(OpenApiConstants.SCAN_DEPENDENCIES_SKIP_UNANNOTATED, Boolean.TRUE));
+        // Kept, referring to JAX-RS types, and returning the type of the model
+        JavaArchive resources = ShrinkWrap.create(JavaArchive.class, "resources.jar").addClass(GreetingResource.class);
+        JavaArchive model = ShrinkWrap.create(JavaArchive.class, "model.jar").addClass(Greeting.class);
+        JavaArchive library = ShrinkWrap.create(JavaArchive.class, "library.jar").addClass(IndexCache.class);
+        WebArchive archive = ShrinkWrap.create(WebArchive.class, "app.war")
+                .addClass(OpenApiDocumentTest.class)
+                .addAsLibraries(resources, model, library);
+
+        IndexView index = ArchiveUtil.archiveToIndex(config, archive, null);
+
+        assertNotNull(index.getClassByName(name(GreetingResource.class)));
+        assertNotNull(index.getClassByName(name(Greeting.class)));
+        assertNull(index.getClassByName(name(IndexCache.class)));
+    }
+
+    static class Greeting {
+        String message;
+    }
+
+    // Qualified, java.nio.file.Path being imported
+    @javax.ws.rs.Path("/greeting")
+    static class GreetingResource {
+        @GET
+        public Greeting greet() {
+            return new Greeting();
+        }
+    }
+}
@@ -16,18 +16,43 @@
 
 package io.smallrye.openapi.api.util;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
 import java.io.IOException;
 import java.net.URL;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.io.IOUtils;
 import org.eclipse.microprofile.openapi.OASFilter;
 import org.eclipse.microprofile.openapi.models.OpenAPI;
+import org.eclipse.microprofile.openapi.models.Operation;
 import org.eclipse.microprofile.openapi.models.PathItem;
+import org.eclipse.microprofile.openapi.models.headers.Header;
+import org.eclipse.microprofile.openapi.models.media.Schema;
+import org.eclipse.microprofile.openapi.models.parameters.Parameter;
+import org.eclipse.microprofile.openapi.models.tags.Tag;
 import org.json.JSONException;
 import org.junit.Test;
 import org.skyscreamer.jsonassert.JSONAssert;
 
+import io.smallrye.openapi.api.models.ComponentsImpl;
 import io.smallrye.openapi.api.models.OpenAPIImpl;
+import io.smallrye.openapi.api.models.OperationImpl;
+import io.smallrye.openapi.api.models.PathItemImpl;
+import io.smallrye.openapi.api.models.PathsImpl;
+import io.smallrye.openapi.api.models.media.ContentImpl;
+import io.smallrye.openapi.api.models.media.MediaTypeImpl;
+import io.smallrye.openapi.api.models.media.SchemaImpl;
+import io.smallrye.openapi.api.models.parameters.RequestBodyImpl;
+import io.smallrye.openapi.api.models.tags.TagImpl;
 import io.smallrye.openapi.runtime.io.OpenApiParser;
 import io.smallrye.openapi.runtime.io.OpenApiSerializer;
 import io.smallrye.openapi.runtime.io.OpenApiSerializer.Format;
@@ -80,6 +105,198 @@ public class FilterUtilTest {
         assertJsonEquals(expected, actual);
     }
 
+    @Test
+    public void testSharedSchemaFilteredOnce() {
+        Schema shared = new SchemaImpl().addProperty("name", new SchemaImpl());
+        OpenAPI model = new OpenAPIImpl()
+                .components(new ComponentsImpl().addSchema("Shared", shared)
+                        .addSchema("Other", new SchemaImpl().addProperty("shared", shared)))
+                .paths(new PathsImpl().addPathItem("/a", new PathItemImpl().GET(new OperationImpl()
+                        .requestBody(new RequestBodyImpl().content(new ContentImpl()
+                                .addMediaType("application/json", new MediaTypeImpl().schema(shared)))))));
+        AtomicInteger calls = new AtomicInteger();
+
+        FilterUtil.applyFilter(new OASFilter() {
+            @Override
+            public Schema filterSchema(Schema schema) {
+                if (schema == shared) {
+                    calls.incrementAndGet();
+                    return null;
+                }
+                return schema;
+            }
+        }, model);
+
+        assertEquals(1, calls.get());
+        assertNull(model.getComponents().getSchemas().get("Shared"));
+        assertTrue(model.getComponents().getSchemas().get("Other").getProperties().isEmpty());
+        assertNull(model.getPaths().getPathItem("/a").getGET().getRequestBody().getContent()
+                .getMediaType("application/json").getSchema());
+    }
+
+    @Test
+    public void testUnaffectedModelNotVisited() {
+        AtomicInteger visits = new AtomicInteger();
+        OpenAPI model = new OpenAPIImpl()
+                .paths(new PathsImpl() {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    public Set<String> keySet() {
+                        visits.incrementAndGet();
+                        return super.keySet();
+                    }
+                }.addPathItem("/a", new PathItemImpl()))
+                .addTag(new TagImpl().name("a"))
+                .addTag(new TagImpl().name("b"));
+
+        FilterUtil.applyFilter(new OASFilter() {
+            @Override
+            public Tag filterTag(Tag tag) {
+                return "a".equals(tag.getName()) ? null : tag;
+            }
+        }, model);
+
+        assertEquals(0, visits.get());
+        assertEquals(1, model.getTags().size());
+        assertEquals("b", model.getTags().get(0).getName());
+    }
+
+    @Test
+    public void testParallelFilterEquivalentToSerial() throws Exception {
+        URL beforeUrl = FilterUtilTest.class.getResource("filter-before.json");
+        OpenAPIImpl serial = OpenApiParser.parse(beforeUrl);
+        OpenAPIImpl parallel = OpenApiParser.parse(beforeUrl);
+
+        FilterUtil.applyFilter(removingFilter(), serial, null);
+        FilterUtil.applyFilter(removingFilter(), parallel, ForkJoinPool.commonPool());
+
+        assertJsonEquals(OpenApiSerializer.serialize(serial, Format.JSON),
+                OpenApiSerializer.serialize(parallel, Format.JSON));
+    }
+
+    @Test(timeout = 30000)
+    public void testSchemaCyclesAcrossBatchesFiltered() {
+        // Each pair of schemas contains each other, the first half of the entries holding a
+        // schema of each pair and the second half the other one
+        int pairs = 2000;
+        ComponentsImpl components = new ComponentsImpl();
+        Schema[] first = new Schema[pairs];
+        for (int i = 0; i < pairs; i++) {
+            first[i] = new SchemaImpl().items(new SchemaImpl());
+            first[i].getItems().setItems(first[i]);
+            components.addSchema("A" + i, first[i]);
+        }
+        for (int i = 0; i < pairs; i++) {
+            components.addSchema("B" + i, first[i].getItems());
+        }
+        OpenAPI model = new OpenAPIImpl().components(components);
+        AtomicInteger calls = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            FilterUtil.applyFilter(new ThreadSafeFilter() {
+                @Override
+                public Schema filterSchema(Schema schema) {
+                    calls.incrementAndGet();
+                    return schema.description("filtered");
+                }
+            }, model, executor);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(2 * pairs, calls.get());
+        for (Schema schema : model.getComponents().getSchemas().values()) {
+            assertEquals("filtered", schema.getDescription());
+            assertSame(schema, schema.getItems().getItems());
+        }
+    }
+
+    @Test
+    public void testFilterToCopyEquivalentToFilter() throws Exception {
+        URL beforeUrl = FilterUtilTest.class.getResource("filter-before.json");
+        OpenAPIImpl model = OpenApiParser.parse(beforeUrl);
+        String before = OpenApiSerializer.serialize(model, Format.JSON);
+
+        for (OASFilter filter : new OASFilter[] { filter(), removingFilter(), operationFilter() }) {
+            OpenAPI expected = FilterUtil.applyFilter(filter, OpenApiParser.parse(beforeUrl));
+            OpenAPI copy = FilterUtil.applyFilterToCopy(filter, model);
+
+            assertJsonEquals(OpenApiSerializer.serialize(expected, Format.JSON),
+                    OpenApiSerializer.serialize(copy, Format.JSON));
+            assertJsonEquals(before, OpenApiSerializer.serialize(model, Format.JSON));
+        }
+    }
+
+    @Test
+    public void testFilterToCopySharesUnaffectedModel() {
+        Schema schema = new SchemaImpl().addProperty("name", new SchemaImpl());
+        PathItemImpl pathItem = new PathItemImpl();
+        OpenAPI model = new OpenAPIImpl()
+                .components(new ComponentsImpl().addSchema("Schema", schema))
+                .paths(new PathsImpl().addPathItem("/a", pathItem))
+                .addTag(new TagImpl().name("a"))
+                .addTag(new TagImpl().name("b"));
+
+        OpenAPI copy = FilterUtil.applyFilterToCopy(new OASFilter() {
+            @Override
+            public Tag filterTag(Tag tag) {
+                return "a".equals(tag.getName()) ? null : tag.description("filtered");
+            }
+        }, model);
+
+        assertSame(model.getPaths(), copy.getPaths());
+        assertSame(schema, copy.getComponents().getSchemas().get("Schema"));
+        assertNotSame(model.getTags().get(1), copy.getTags().get(0));
+        assertEquals(2, model.getTags().size());
+        assertNull(model.getTags().get(1).getDescription());
+        assertEquals(1, copy.getTags().size());
+        assertEquals("filtered", copy.getTags().get(0).getDescription());
+    }
+
+    /**
+     * Creates a filter modifying the operations of filter-before.json.
+     */
+    private OASFilter operationFilter() {
+        return new OASFilter() {
+            @Override
+            public Operation filterOperation(Operation operation) {
+                if (operation.getResponses() != null) {
+                    operation.getResponses().remove("default");
+                }
+                return operation.summary("filtered");
+            }
+        };
+    }
+
+    /**
+     * Creates a filter removing some of the elements of filter-before.json.
+     */
+    private ThreadSafeFilter removingFilter() {
+        return new ThreadSafeFilter() {
+            @Override
+            public PathItem filterPathItem(PathItem pathItem) {
+                return pathItem.getRef() != null ? null : pathItem;
+            }
+
+            @Override
+            public Parameter filterParameter(Parameter parameter) {
+                return parameter.getRef() != null ? null : parameter;
+            }
+
+            @Override
+            public Schema filterSchema(Schema schema) {
+                return schema.getRef() != null ? null : schema.description("filtered");
+            }
+
+            @Override
+            public Header filterHeader(Header header) {
+                return header.getRef() != null ? null : header;
+            }
+        };
+    }
+
     /**
      * Creates and returns the filter to use for the test.
      */
@@ -0,0 +1,110 @@
+package io.smallrye.openapi.api.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.net.URL;
+import java.util.Map;
+
+import org.eclipse.microprofile.openapi.models.OpenAPI;
+import org.eclipse.microprofile.openapi.models.PathItem;
+import org.eclipse.microprofile.openapi.models.media.Schema;
+import org.junit.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+
+import io.smallrye.openapi.api.models.OpenAPIImpl;
+import io.smallrye.openapi.api.models.media.SchemaImpl;
+import io.smallrye.openapi.runtime.io.OpenApiParser;
+import io.smallrye.openapi.runtime.io.OpenApiSerializer;
+import io.smallrye.openapi.runtime.io.OpenApiSerializer.Format;
+
+public class FreezeUtilTest {
+
+    private static void assertReadOnly(Runnable modification) {
+        try {
+            modification.run();
+            fail("Modification of a frozen model");
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
+    }
+
+    private static OpenAPIImpl parse() throws Exception {
+        URL url = FreezeUtilTest.class.getResource("filter-before.json");
+        return OpenApiParser.parse(url);
+    }
+
+    @Test
+    public void testFrozenModelSerializedAsModel() throws Exception {
+        OpenAPIImpl model = parse();
+        OpenAPI frozen = FreezeUtil.freeze(model);
+
+        assertTrue(FreezeUtil.isFrozen(frozen));
+        assertFalse(FreezeUtil.isFrozen(model));
+        JSONAssert.assertEquals(OpenApiSerializer.serialize(model, Format.JSON),
+                OpenApiSerializer.serialize(frozen, Format.JSON), true);
+    }
+
+    @Test
+    public void testFrozenModelReadOnly() throws Exception {
+        OpenAPI frozen = FreezeUtil.freeze(parse());
+        Map.Entry<String, PathItem> path = frozen.getPaths().entrySet().iterator().next();
+        Schema schema = frozen.getComponents().getSchemas().values().iterator().next();
+
+        assertReadOnly(() -> frozen.setOpenapi("3.0.0"));
+        assertReadOnly(() -> frozen.info(null));
+        assertReadOnly(() -> frozen.getInfo().setTitle("Title"));
+        assertReadOnly(() -> frozen.getPaths().remove(path.getKey()));
+        assertReadOnly(() -> frozen.getPaths().clear());
+        assertReadOnly(() -> frozen.getPaths().get(path.getKey()).setGET(null));
+        assertReadOnly(() -> path.getValue().setDescription("Description"));
+        assertReadOnly(() -> path.setValue(null));
+        assertReadOnly(() -> frozen.getComponents().getSchemas().put("Schema", new SchemaImpl()));
+        assertReadOnly(() -> schema.addProperty("property", new SchemaImpl()));
+        assertReadOnly(() -> frozen.getServers().add(null));
+        assertReadOnly(() -> frozen.getServers().get(0).setUrl("http://localhost"));
+        assertReadOnly(() -> frozen.getPaths().forEach((name, pathItem) -> pathItem.setRef("#/paths/a")));
+
+        assertTrue(FreezeUtil.isFrozen(frozen.getPaths().getPathItem(path.getKey())));
+        assertEquals(path.getValue(), frozen.getPaths().getPathItem(path.getKey()));
+    }
+
+    @Test
+    public void testSameViewReached() throws Exception {
+        OpenAPIImpl model = parse();
+        OpenAPI frozen = FreezeUtil.freeze(model);
+        String path = model.getPaths().keySet().iterator().next();
+
+        assertSame(frozen.getPaths(), frozen.getPaths());
+        assertSame(frozen.getPaths().getPathItem(path), frozen.getPaths().get(path));
+        assertSame(frozen.getServers(), frozen.getServers());
+        assertSame(frozen.getServers().get(0), frozen.getServers().iterator().next());
+
+        OpenAPI other = FreezeUtil.freeze((OpenAPI) model);
+        assertEquals(frozen.getInfo(), other.getInfo());
+        assertNotEquals(frozen.getInfo(), model.getInfo());
+        assertNotEquals(model.getInfo(), frozen.getInfo());
+    }
+
+    @Test
+    public void testMutableCopy() throws Exception {
+        OpenAPIImpl model = parse();
+        String expected = OpenApiSerializer.serialize(model, Format.JSON);
+        OpenAPI copy = FreezeUtil.mutableCopy(FreezeUtil.freeze(model));
+
+        assertFalse(FreezeUtil.isFrozen(copy));
+        JSONAssert.assertEquals(expected, OpenApiSerializer.serialize(copy, Format.JSON), true);
+
+        copy.getInfo().setTitle("Copy");
+        copy.getPaths().clear();
+        copy.getComponents().getSchemas().values().forEach(schema -> schema.setDescription("Copy"));
+
+        JSONAssert.assertEquals(expected, OpenApiSerializer.serialize(model, Format.JSON), true);
+        assertNull(FreezeUtil.freeze(null));
+    }
+}
@@ -0,0 +1,188 @@
+package io.smallrye.openapi.api.util;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.microprofile.openapi.OASConfig;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.IndexWriter;
+import org.jboss.jandex.Indexer;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.smallrye.openapi.api.OpenApiConstants;
+import io.smallrye.openapi.api.OpenApiDocumentTest;
+import io.smallrye.openapi.api.OpenApiPipelineTest;
+import io.smallrye.openapi.runtime.scanner.IndexScannerTestBase;
+
+public class IndexUtilTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static void copyClass(Class<?> type, Path classes) throws IOException {
+        String entry = type.getName().replace('.', '/') + OpenApiConstants.CLASS_SUFFIX;
+        Path file = classes.resolve(entry);
+        Files.createDirectories(file.getParent());
+        try (InputStream stream = type.getResourceAsStream("/" + entry)) {
+            Files.copy(stream, file);
+        }
+    }
+
+    private static Path export(JavaArchive jar, Path file) {
+        jar.as(ZipExporter.class).exportTo(file.toFile());
+        return file;
+    }
+
+    private static DotName name(Class<?> type) {
+        return DotName.createSimple(type.getName());
+    }
+
+    /**
+     * An exploded WAR, with a library.
+     */
+    private Path exploded() throws IOException {
+        Path war = folder.newFolder("app").toPath();
+        copyClass(OpenApiDocumentTest.class, war.resolve("WEB-INF/classes"));
+        Files.createDirectories(war.resolve("WEB-INF/lib"));
+        export(ShrinkWrap.create(JavaArchive.class, "library.jar").addClass(FreezeUtilTest.class),
+                war.resolve("WEB-INF/lib/library.jar"));
+        return war;
+    }
+
+    /**
+     * A fat JAR, with a nested library.
+     */
+    private Path fatJar() {
+        JavaArchive nested = ShrinkWrap.create(JavaArchive.class, "nested.jar").addClass(OpenApiPipelineTest.class);
+        JavaArchive jar = ShrinkWrap.create(JavaArchive.class, "fat.jar")
+                .addClass(FilterUtilTest.class)
+                .add(nested, "/lib", ZipExporter.class);
+        return export(jar, folder.getRoot().toPath().resolve("fat.jar"));
+    }
+
+    @Test
+    public void testDirectoriesAndJarsIndexed() throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            IndexView index = IndexUtil.pathsToIndex(IndexScannerTestBase.emptyConfig(), Arrays.asList(exploded(), fatJar()),
+                    executor);
+
+            assertNotNull(index.getClassByName(name(OpenApiDocumentTest.class)));
+            assertNotNull(index.getClassByName(name(FreezeUtilTest.class)));
+            assertNotNull(index.getClassByName(name(FilterUtilTest.class)));
+            assertNotNull(index.getClassByName(name(OpenApiPipelineTest.class)));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testClassesFiltered() throws IOException {
+        IndexView index = IndexUtil.pathsToIndex(IndexScannerTestBase.dynamicConfig(
+                Collections.singletonMap(OASConfig.SCAN_EXCLUDE_PACKAGES, "io.smallrye.openapi.api.util")),
+                Arrays.asList(exploded(), fatJar()));
+
+        assertNotNull(index.getClassByName(name(OpenApiDocumentTest.class)));
+        assertNotNull(index.getClassByName(name(OpenApiPipelineTest.class)));
+        assertNull(index.getClassByName(name(FreezeUtilTest.class)));
+        assertNull(index.getClassByName(name(FilterUtilTest.class)));
+    }
+
+    @Test
+    public void testJandexIndexReused() throws IOException {
+        // The index of the directory lists a class it does not contain
+        Path classes = folder.newFolder("classes").toPath();
+        copyClass(FreezeUtilTest.class, classes);
+        Indexer indexer = new Indexer();
+        try (InputStream stream = MergeUtilTest.class.getResourceAsStream("MergeUtilTest.class")) {
+            indexer.index(stream);
+        }
+        Path indexFile = classes.resolve(OpenApiConstants.JANDEX_INDEX);
+        Files.createDirectories(indexFile.getParent());
+        try (OutputStream stream = Files.newOutputStream(indexFile)) {
+            new IndexWriter(stream).write(indexer.complete());
+        }
+
+        IndexView index = IndexUtil.pathsToIndex(IndexScannerTestBase.emptyConfig(), Collections.singletonList(classes));
+
+        assertNotNull(index.getClassByName(name(MergeUtilTest.class)));
+        assertNull(index.getClassByName(name(FreezeUtilTest.class)));
+    }
+
+    @Test
+    public void testJarsOfReferencedTypesKept() throws IOException {
+        Path classes = folder.newFolder("classes").toPath();
+        copyClass(ArchiveUtilTest.GreetingResource.class, classes);
+        Path model = export(ShrinkWrap.create(JavaArchive.class).addClass(ArchiveUtilTest.Greeting.class),
+                folder.getRoot().toPath().resolve("model.jar"));
+        Path library = export(ShrinkWrap.create(JavaArchive.class).addClass(IndexCache.class),
+                folder.getRoot().toPath().resolve("library.jar"));
+
+        IndexView index = IndexUtil.pathsToIndex(IndexScannerTestBase.dynamicConfig(
+                Collections.singletonMap(OpenApiConstants.SCAN_DEPENDENCIES_SKIP_UNANNOTATED, Boolean.TRUE)),
+                Arrays.asList(classes, model, library));
+
+        assertNotNull(index.getClassByName(name(ArchiveUtilTest.GreetingResource.class)));
+        assertNotNull(index.getClassByName(name(ArchiveUtilTest.Greeting.class)));
+        assertNull(index.getClassByName(name(IndexCache.class)));
+    }
+
+    @Test
+    public void testClasspathIndexed() throws IOException {
+        Path classes = folder.newFolder("classes").toPath();
+        copyClass(OpenApiDocumentTest.class, classes);
+        Path jar = fatJar();
+        String classpath = System.getProperty("java.class.path");
+        System.setProperty("java.class.path", classes + File.pathSeparator + jar);
+        try {
+            IndexView index = IndexUtil.classpathToIndex(IndexScannerTestBase.dynamicConfig(
+                    Collections.singletonMap(OpenApiConstants.SCAN_DEPENDENCIES_DISABLE, Boolean.TRUE)));
+
+            assertNotNull(index.getClassByName(name(OpenApiDocumentTest.class)));
+            assertNull(index.getClassByName(name(FilterUtilTest.class)));
+
+            index = IndexUtil.classpathToIndex(IndexScannerTestBase.emptyConfig());
+            assertNotNull(index.getClassByName(name(FilterUtilTest.class)));
+        } finally {
+            System.setProperty("java.class.path", classpath);
+        }
+    }
+
+    @Test
+    public void testClasspathJarIndexedAsApplication() throws IOException {
+        // As launched with java -jar
+        Path jar = export(ShrinkWrap.create(JavaArchive.class).addClass(IndexCache.class),
+                folder.getRoot().toPath().resolve("app.jar"));
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(OpenApiConstants.SCAN_DEPENDENCIES_DISABLE, Boolean.TRUE);
+        properties.put(OpenApiConstants.SCAN_DEPENDENCIES_SKIP_UNANNOTATED, Boolean.TRUE);
+        String classpath = System.getProperty("java.class.path");
+        System.setProperty("java.class.path", jar.toString());
+        try {
+            IndexView index = IndexUtil.classpathToIndex(IndexScannerTestBase.dynamicConfig(properties));
+
+            assertNotNull(index.getClassByName(name(IndexCache.class)));
+        } finally {
+            System.setProperty("java.class.path", classpath);
+        }
+    }
+}
@@ -0,0 +1,501 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.smallrye.openapi.api.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.microprofile.openapi.OASFactory;
+import org.eclipse.microprofile.openapi.models.Constructible;
+import org.eclipse.microprofile.openapi.models.Extensible;
+import org.eclipse.microprofile.openapi.models.Reference;
+import org.eclipse.microprofile.openapi.models.parameters.Parameter;
+import org.eclipse.microprofile.openapi.models.responses.APIResponses;
+import org.eclipse.microprofile.openapi.models.security.SecurityRequirement;
+import org.eclipse.microprofile.openapi.models.servers.Server;
+import org.eclipse.microprofile.openapi.models.tags.Tag;
+import org.junit.Test;
+
+import io.smallrye.openapi.api.models.ComponentsImpl;
+import io.smallrye.openapi.api.models.ExternalDocumentationImpl;
+import io.smallrye.openapi.api.models.OpenAPIImpl;
+import io.smallrye.openapi.api.models.OperationImpl;
+import io.smallrye.openapi.api.models.PathItemImpl;
+import io.smallrye.openapi.api.models.PathsImpl;
+import io.smallrye.openapi.api.models.callbacks.CallbackImpl;
+import io.smallrye.openapi.api.models.examples.ExampleImpl;
+import io.smallrye.openapi.api.models.headers.HeaderImpl;
+import io.smallrye.openapi.api.models.info.ContactImpl;
+import io.smallrye.openapi.api.models.info.InfoImpl;
+import io.smallrye.openapi.api.models.info.LicenseImpl;
+import io.smallrye.openapi.api.models.links.LinkImpl;
+import io.smallrye.openapi.api.models.media.ContentImpl;
+import io.smallrye.openapi.api.models.media.DiscriminatorImpl;
+import io.smallrye.openapi.api.models.media.EncodingImpl;
+import io.smallrye.openapi.api.models.media.MediaTypeImpl;
+import io.smallrye.openapi.api.models.media.SchemaImpl;
+import io.smallrye.openapi.api.models.media.XMLImpl;
+import io.smallrye.openapi.api.models.parameters.ParameterImpl;
+import io.smallrye.openapi.api.models.parameters.RequestBodyImpl;
+import io.smallrye.openapi.api.models.responses.APIResponseImpl;
+import io.smallrye.openapi.api.models.responses.APIResponsesImpl;
+import io.smallrye.openapi.api.models.security.OAuthFlowImpl;
+import io.smallrye.openapi.api.models.security.OAuthFlowsImpl;
+import io.smallrye.openapi.api.models.security.ScopesImpl;
+import io.smallrye.openapi.api.models.security.SecurityRequirementImpl;
+import io.smallrye.openapi.api.models.security.SecuritySchemeImpl;
+import io.smallrye.openapi.api.models.servers.ServerImpl;
+import io.smallrye.openapi.api.models.servers.ServerVariableImpl;
+import io.smallrye.openapi.api.models.servers.ServerVariablesImpl;
+import io.smallrye.openapi.api.models.tags.TagImpl;
+
+/**
+ * Compares the merge of randomly populated models by {@link ModelMergers} with the merge by
+ * introspection that it replaced, kept here as {@link #referenceMergeObjects(Object, Object)}.
+ */
+public class ModelMergersTest {
+
+    private static final List<Class<?>> MODELS = Arrays.asList(ComponentsImpl.class, ExternalDocumentationImpl.class,
+            OpenAPIImpl.class, OperationImpl.class, PathItemImpl.class, PathsImpl.class, CallbackImpl.class,
+            ExampleImpl.class, HeaderImpl.class, ContactImpl.class, InfoImpl.class, LicenseImpl.class, LinkImpl.class,
+            ContentImpl.class, DiscriminatorImpl.class, EncodingImpl.class, MediaTypeImpl.class, SchemaImpl.class,
+            XMLImpl.class, ParameterImpl.class, RequestBodyImpl.class, APIResponseImpl.class, APIResponsesImpl.class,
+            OAuthFlowImpl.class, OAuthFlowsImpl.class, ScopesImpl.class, SecurityRequirementImpl.class,
+            SecuritySchemeImpl.class, ServerImpl.class, ServerVariableImpl.class, ServerVariablesImpl.class,
+            TagImpl.class);
+
+    private static final String[] VALUES = { "a", "b", "c" };
+    private static final String[] KEYS = { "k1", "k2", "k3" };
+    private static final int MAX_DEPTH = 3;
+    private static final int SEEDS = 200;
+
+    @Test
+    public void testEveryModelHasMerger() {
+        for (Class<?> model : MODELS) {
+            assertNotNull(model.getName(), ModelMergers.get(model));
+        }
+    }
+
+    @Test
+    public void testMergeEquivalentToIntrospection() throws Exception {
+        for (Class<?> model : MODELS) {
+            for (int seed = 0; seed < SEEDS; seed++) {
+                String expected = merge(model, seed, true);
+                String actual = merge(model, seed, false);
+                assertEquals(model.getSimpleName() + " seed " + seed, expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void testMergeListsEquivalentToLinearSearch() throws Exception {
+        for (Class<?> model : Arrays.asList(TagImpl.class, ServerImpl.class, ParameterImpl.class,
+                SecurityRequirementImpl.class)) {
+            for (int seed = 0; seed < SEEDS; seed++) {
+                String expected = mergeLists(model, seed, true);
+                String actual = mergeLists(model, seed, false);
+                assertEquals(model.getSimpleName() + " seed " + seed, expected, actual);
+            }
+        }
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static String mergeLists(Class<?> model, int seed, boolean reference) throws Exception {
+        Random random = new Random(seed);
+        List[] lists = new List[2];
+        // Short lists are searched, longer ones indexed
+        int length = seed % 2 == 0 ? 8 : MergeUtil.LIST_INDEX_THRESHOLD;
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = new ArrayList();
+            for (int j = random.nextInt(length); j >= 0; j--) {
+                lists[i].add(populate(model.newInstance(), random, MAX_DEPTH - 1));
+            }
+        }
+
+        try {
+            List result = reference ? referenceMergeLists(lists[0], lists[1]) : MergeUtil.mergeLists(lists[0], lists[1]);
+            return dump(result);
+        } catch (RuntimeException e) {
+            return "thrown " + e.getClass().getName();
+        }
+    }
+
+    private static String merge(Class<?> model, int seed, boolean reference) throws Exception {
+        Random random = new Random(seed);
+        Object object1 = populate(model.newInstance(), random, 0);
+        Object object2 = populate(model.newInstance(), random, 0);
+
+        try {
+            Object result = reference ? referenceMergeObjects(object1, object2) : MergeUtil.mergeObjects(object1, object2);
+            return dump(result);
+        } catch (RuntimeException e) {
+            // The introspection wraps the exceptions thrown by the accessors
+            Throwable cause = e;
+            while (cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            return "thrown " + cause.getClass().getName();
+        }
+    }
+
+    private static Object populate(Object bean, Random random, int depth) throws Exception {
+        for (PropertyDescriptor descriptor : Introspector.getBeanInfo(bean.getClass()).getPropertyDescriptors()) {
+            if (descriptor.getWriteMethod() != null && descriptor.getReadMethod() != null) {
+                Object value = value(descriptor.getPropertyType(), descriptor.getReadMethod().getGenericReturnType(),
+                        random, depth);
+                try {
+                    descriptor.getWriteMethod().invoke(bean, value);
+                } catch (InvocationTargetException e) {
+                    // Some setters do not accept null, e.g. PathsImpl#setPathItems
+                }
+            }
+        }
+        return bean;
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static Object value(Class<?> type, Type genericType, Random random, int depth) throws Exception {
+        if (type == boolean.class) {
+            return random.nextBoolean();
+        }
+        if (random.nextInt(10) < 3) {
+            return null;
+        }
+        if (type == String.class || type == Object.class) {
+            return VALUES[random.nextInt(VALUES.length)];
+        }
+        if (type == Boolean.class) {
+            return random.nextBoolean();
+        }
+        if (type == Integer.class) {
+            return random.nextInt(3);
+        }
+        if (type == BigDecimal.class) {
+            return BigDecimal.valueOf(random.nextInt(3));
+        }
+        if (type.isEnum()) {
+            Object[] constants = type.getEnumConstants();
+            return constants[random.nextInt(constants.length)];
+        }
+        if (depth >= MAX_DEPTH) {
+            return null;
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            Map map = Constructible.class.isAssignableFrom(type)
+                    ? (Map) populate(OASFactory.createObject((Class<Constructible>) type), random, depth + 1)
+                    : new LinkedHashMap();
+            Type valueType = typeArgument(genericType, Map.class, 1);
+            for (int i = random.nextInt(3); i >= 0; i--) {
+                map.put(KEYS[random.nextInt(KEYS.length)], value(rawType(valueType), valueType, random, depth + 1));
+            }
+            return map;
+        }
+        if (List.class.isAssignableFrom(type)) {
+            List list = new ArrayList();
+            Type elementType = typeArgument(genericType, List.class, 0);
+            for (int i = random.nextInt(2); i >= 0; i--) {
+                Object element = value(rawType(elementType), elementType, random, depth + 1);
+                list.add(element != null ? element : value(rawType(elementType), elementType, random, MAX_DEPTH));
+            }
+            return list.contains(null) ? null : list;
+        }
+        if (Constructible.class.isAssignableFrom(type)) {
+            return populate(OASFactory.createObject((Class<Constructible>) type), random, depth + 1);
+        }
+        throw new IllegalArgumentException(type.getName());
+    }
+
+    private static Type typeArgument(Type type, Class<?> generic, int index) {
+        if (type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() == generic) {
+            return ((ParameterizedType) type).getActualTypeArguments()[index];
+        }
+        for (Type superType : rawType(type).getGenericInterfaces()) {
+            Type argument = typeArgument(superType, generic, index);
+            if (argument != null) {
+                return argument;
+            }
+        }
+        return null;
+    }
+
+    private static Class<?> rawType(Type type) {
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        return type instanceof Class ? (Class<?>) type : Object.class;
+    }
+
+    private static String dump(Object object) throws Exception {
+        StringBuilder builder = new StringBuilder();
+        dump(object, builder, new IdentityHashMap<>());
+        return builder.toString();
+    }
+
+    private static void dump(Object object, StringBuilder builder, Map<Object, Object> path) throws Exception {
+        if (object == null || !(object instanceof Constructible || object instanceof Map || object instanceof List)) {
+            builder.append(object);
+            return;
+        }
+        if (path.put(object, object) != null) {
+            builder.append("<cycle>");
+            return;
+        }
+        builder.append(object.getClass().getSimpleName()).append('{');
+        if (object instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+                builder.append(entry.getKey()).append('=');
+                dump(entry.getValue(), builder, path);
+                builder.append(',');
+            }
+        } else if (object instanceof List) {
+            for (Object element : (List<?>) object) {
+                dump(element, builder, path);
+                builder.append(',');
+            }
+        }
+        if (object instanceof Constructible) {
+            for (PropertyDescriptor descriptor : Introspector.getBeanInfo(object.getClass()).getPropertyDescriptors()) {
+                if (descriptor.getReadMethod() != null && !"class".equals(descriptor.getName())) {
+                    builder.append(descriptor.getName()).append(':');
+                    dump(descriptor.getReadMethod().invoke(object), builder, path);
+                    builder.append(',');
+                }
+            }
+        }
+        builder.append('}');
+        path.remove(object);
+    }
+
+    /*
+     * The merge by introspection, as implemented before the introduction of ModelMergers.
+     */
+
+    @SuppressWarnings({ "rawtypes" })
+    static <T> T referenceMergeObjects(T object1, T object2) {
+        if (object1 == null && object2 != null) {
+            return object2;
+        }
+        if (object1 != null && object2 == null) {
+            return object1;
+        }
+        if (object1 == null && object2 == null) {
+            return null;
+        }
+        if (!object1.getClass().equals(object2.getClass())) {
+            return object2;
+        }
+
+        PropertyDescriptor[] descriptors = new PropertyDescriptor[0];
+        try {
+            descriptors = Introspector.getBeanInfo(object1.getClass()).getPropertyDescriptors();
+        } catch (IntrospectionException e) {
+            throw new RuntimeException(e);
+        }
+
+        for (PropertyDescriptor descriptor : descriptors) {
+            if ("class".equals(descriptor.getName())) {
+                continue;
+            }
+            Class ptype = descriptor.getPropertyType();
+            Method writeMethod = descriptor.getWriteMethod();
+            if (writeMethod != null) {
+                try {
+                    if (Map.class.isAssignableFrom(ptype)) {
+                        Map values1 = (Map) descriptor.getReadMethod().invoke(object1);
+                        Map values2 = (Map) descriptor.getReadMethod().invoke(object2);
+                        writeMethod.invoke(object1, referenceMergeMaps(values1, values2));
+                    } else if (List.class.isAssignableFrom(ptype)) {
+                        List values1 = (List) descriptor.getReadMethod().invoke(object1);
+                        List values2 = (List) descriptor.getReadMethod().invoke(object2);
+                        writeMethod.invoke(object1, referenceMergeLists(values1, values2));
+                    } else if (Constructible.class.isAssignableFrom(ptype)) {
+                        Object val1 = descriptor.getReadMethod().invoke(object1);
+                        Object val2 = descriptor.getReadMethod().invoke(object2);
+                        Object newValue = referenceMergeObjects(val1, val2);
+                        if (newValue != null) {
+                            writeMethod.invoke(object1, newValue);
+                        }
+                    } else {
+                        Object newValue = descriptor.getReadMethod().invoke(object2);
+                        if (newValue != null) {
+                            writeMethod.invoke(object1, newValue);
+                        }
+                    }
+                } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+        return object1;
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    static Map referenceMergeMaps(Map values1, Map values2) {
+        if (values1 == null && values2 == null) {
+            return null;
+        }
+        if (values1 != null && values2 == null) {
+            return values1;
+        }
+        if (values1 == null && values2 != null) {
+            return values2;
+        }
+
+        for (Object key : values2.keySet()) {
+            if (values1.containsKey(key)) {
+                Object pval1 = values1.get(key);
+                Object pval2 = values2.get(key);
+                if (pval1 instanceof Map) {
+                    values1.put(key, referenceMergeMaps((Map) pval1, (Map) pval2));
+                } else if (pval1 instanceof List) {
+                    values1.put(key, referenceMergeLists((List) pval1, (List) pval2));
+                } else if (pval1 instanceof Constructible) {
+                    values1.put(key, referenceMergeObjects(pval1, pval2));
+                } else {
+                    values1.put(key, pval2);
+                }
+            } else {
+                values1.put(key, values2.get(key));
+            }
+        }
+
+        if (values1 instanceof Constructible) {
+            if (values1 instanceof Reference) {
+                Reference ref1 = (Reference) values1;
+                Reference ref2 = (Reference) values2;
+                if (ref2.getRef() != null) {
+                    ref1.setRef(ref2.getRef());
+                }
+            }
+            if (values1 instanceof Extensible) {
+                Extensible extensible1 = (Extensible) values1;
+                Extensible extensible2 = (Extensible) values2;
+                extensible1.setExtensions(referenceMergeMaps(extensible1.getExtensions(), extensible2.getExtensions()));
+            }
+            if (values1 instanceof APIResponses) {
+                APIResponses responses1 = (APIResponses) values1;
+                APIResponses responses2 = (APIResponses) values2;
+                responses1.defaultValue(referenceMergeObjects(responses1.getDefaultValue(), responses2.getDefaultValue()));
+            }
+        }
+
+        return values1;
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    static List referenceMergeLists(List values1, List values2) {
+        if (values1 == null && values2 == null) {
+            return null;
+        }
+        if (values1 != null && values2 == null) {
+            return values1;
+        }
+        if (values1 == null && values2 != null) {
+            return values2;
+        }
+
+        if (values1.get(0) instanceof String) {
+            Set<String> set = new LinkedHashSet<>();
+            set.addAll(values1);
+            set.addAll(values2);
+            return new ArrayList<>(set);
+        }
+        if (values1.get(0) instanceof Tag) {
+            for (Tag value2 : (List<Tag>) values2) {
+                Tag match = null;
+                for (Tag value1 : (List<Tag>) values1) {
+                    if (value1.getName() != null && value1.getName().equals(value2.getName())) {
+                        match = value1;
+                        break;
+                    }
+                }
+                if (match == null) {
+                    values1.add(value2);
+                } else {
+                    referenceMergeObjects(match, value2);
+                }
+            }
+            return values1;
+        }
+        if (values1.get(0) instanceof Server) {
+            for (Server value2 : (List<Server>) values2) {
+                Server match = null;
+                for (Server value1 : (List<Server>) values1) {
+                    if (value1.getUrl() != null && value1.getUrl().equals(value2.getUrl())) {
+                        match = value1;
+                        break;
+                    }
+                }
+                if (match == null) {
+                    values1.add(value2);
+                } else {
+                    referenceMergeObjects(match, value2);
+                }
+            }
+            return values1;
+        }
+        if (values1.get(0) instanceof SecurityRequirement) {
+            for (Object value2 : values2) {
+                if (!values1.contains(value2)) {
+                    values1.add(value2);
+                }
+            }
+            return values1;
+        }
+        if (values1.get(0) instanceof Parameter) {
+            for (Parameter value2 : (List<Parameter>) values2) {
+                Parameter match = null;
+                for (Parameter value1 : (List<Parameter>) values1) {
+                    if (value1.getName() == null || !value1.getName().equals(value2.getName())) {
+                        continue;
+                    }
+                    if (value1.getIn() == null || !value1.getIn().equals(value2.getIn())) {
+                        continue;
+                    }
+                    match = value1;
+                    break;
+                }
+                if (match == null) {
+                    values1.add(value2);
+                } else {
+                    referenceMergeObjects(match, value2);
+                }
+            }
+            return values1;
+        }
+
+        values1.addAll(values2);
+        return values1;
+    }
+}
@@ -17,18 +17,39 @@
 package io.smallrye.openapi.runtime.io;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.apache.commons.io.IOUtils;
+import org.eclipse.microprofile.openapi.models.OpenAPI;
 import org.json.JSONException;
 import org.junit.Assert;
 import org.junit.Test;
 import org.skyscreamer.jsonassert.JSONAssert;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
 import io.smallrye.openapi.api.models.OpenAPIImpl;
+import io.smallrye.openapi.api.models.OperationImpl;
+import io.smallrye.openapi.api.models.PathItemImpl;
+import io.smallrye.openapi.api.models.PathsImpl;
+import io.smallrye.openapi.api.models.media.SchemaImpl;
+import io.smallrye.openapi.api.models.responses.APIResponseImpl;
+import io.smallrye.openapi.api.models.responses.APIResponsesImpl;
 import io.smallrye.openapi.runtime.io.OpenApiSerializer.Format;
 
 /**
@@ -87,6 +108,51 @@ public class OpenApiParserAndSerializerTest {
         }
     }
 
+    /**
+     * Verifies that serializing to a stream or a writer produces exactly the same bytes as
+     * serializing to a String in every format, and that the tree of the model is written as
+     * the same JSON.
+     * 
+     * @param model
+     * @throws IOException
+     */
+    private static void assertStreamingIdentical(OpenAPI model) throws IOException {
+        for (Format format : Format.values()) {
+            String string = OpenApiSerializer.serialize(model, format);
+
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            OpenApiSerializer.serialize(model, format, stream);
+            Assert.assertArrayEquals(string.getBytes(StandardCharsets.UTF_8), stream.toByteArray());
+
+            StringWriter writer = new StringWriter();
+            OpenApiSerializer.serialize(model, format, writer);
+            Assert.assertEquals(string, writer.toString());
+        }
+        Assert.assertEquals(OpenApiSerializer.serialize(model, Format.JSON),
+                new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(new OpenApiSerializer(model).serialize()));
+    }
+
+    /**
+     * Parses the document both from its bytes and from a {@link JsonNode} tree of it, and
+     * verifies that the models are the same by comparing their serialized forms.
+     * 
+     * @param content document to parse
+     * @param format
+     * @throws IOException
+     */
+    private static void assertParsersIdentical(byte[] content, Format format) throws IOException {
+        OpenAPIImpl streamed = OpenApiParser.parse(new ByteArrayInputStream(content), format);
+        ObjectMapper mapper = format == Format.JSON ? new ObjectMapper() : new ObjectMapper(new YAMLFactory());
+        OpenAPIImpl tree = new OpenApiParser(mapper.readTree(content)).parse();
+        for (Format f : Format.values()) {
+            Assert.assertEquals(OpenApiSerializer.serialize(streamed, f), OpenApiSerializer.serialize(tree, f));
+        }
+    }
+
+    private static void assertParsersIdentical(String content, Format format) throws IOException {
+        assertParsersIdentical(content.getBytes(StandardCharsets.UTF_8), format);
+    }
+
     /**
      * Performs a full round-trip parse+serialize test on a single resource.
      * 
@@ -101,6 +167,8 @@ public class OpenApiParserAndSerializerTest {
         String original = loadResource(testResource);
         OpenAPIImpl impl = OpenApiParser.parse(testResource);
         String roundTrip = OpenApiSerializer.serialize(impl, format);
+        assertStreamingIdentical(impl);
+        assertParsersIdentical(original.getBytes(StandardCharsets.UTF_8), format);
 
         try {
             if (format == Format.JSON) {
@@ -500,4 +568,104 @@ public class OpenApiParserAndSerializerTest {
         doTest("_everything.yaml", Format.YAML);
     }
 
+    /**
+     * Test method for {@link OpenApiSerializer#serialize(OpenAPI, Format, java.io.OutputStream)}
+     * with values that the serializer converts or de-duplicates.
+     */
+    @Test
+    public void testStreamingValueConversions() throws IOException {
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("decimal", new BigDecimal("1.500"));
+        nested.put("zero", new BigDecimal("0.00"));
+        nested.put("big", new BigInteger("12345678901234567890"));
+        nested.put("skipped", null);
+        nested.put("list", Arrays.asList("a", 1, 2L, 1.5d, 2.5f, true, null, new Object()));
+        nested.put("node", JsonNodeFactory.instance.objectNode().put("inner", 5));
+
+        SchemaImpl schema = new SchemaImpl();
+        schema.setMaximum(new BigDecimal("100.0"));
+        schema.setMinimum(new BigDecimal("0.250"));
+        schema.setMultipleOf(new BigDecimal("1E+1"));
+        schema.setDefaultValue(new BigInteger("100"));
+        schema.setEnumeration(Arrays.asList("one", new BigDecimal("2.0"), null));
+        schema.addExtension("x-nested", nested);
+
+        APIResponsesImpl responses = new APIResponsesImpl();
+        responses.addAPIResponse("200", new APIResponseImpl().description("OK"));
+        responses.setDefaultValue(new APIResponseImpl().description("Default"));
+        responses.addAPIResponse("404", new APIResponseImpl().description("Missing"));
+
+        OpenAPIImpl model = new OpenAPIImpl();
+        model.setOpenapi("3.0.1");
+        model.setPaths(new PathsImpl());
+        model.getPaths().addPathItem("/test", new PathItemImpl().GET(new OperationImpl().responses(responses)));
+        model.addExtension("x-schema-like", nested);
+        model.addExtension("x-text", "caf\u00e9 \ud83d\ude00");
+
+        assertStreamingIdentical(model);
+    }
+
+
+    /**
+     * Test method for {@link OpenApiParser#parse(java.io.InputStream, Format)}
+     * with values of unexpected types, mixed-case extensions and an out-of-order default
+     * response, all of which must be interpreted the same way when read from a tree.
+     */
+    @Test
+    public void testStreamingParserEdgeCases() throws IOException {
+        String json = "{"
+                + "\"openapi\": 3,"
+                + "\"info\": null,"
+                + "\"externalDocs\": \"text\","
+                + "\"servers\": [\"s\", null, {\"url\": [\"a\"], \"variables\": [\"x\"], \"x-Ext\": 1.50},"
+                + "  {\"variables\": {\"v\": \"scalar\", \"w\": {\"enum\": [1, true, null, {\"a\": 1}], \"default\": 2},"
+                + "   \"X-v\": 3}}],"
+                + "\"tags\": [{\"name\": \"t\", \"X-tag\": {\"a\": [1, 2.5, 10000000000, 123456789012345678901234567890]}}],"
+                + "\"security\": [{\"a\": \"notarray\", \"b\": [\"s1\", 2]}],"
+                + "\"paths\": {"
+                + "  \"/p\": {\"get\": {\"responses\": {\"200\": {\"description\": \"ok\"},"
+                + "    \"default\": {\"description\": \"d\"}, \"x-r\": 5, \"400\": \"bad\"},"
+                + "    \"tags\": \"nope\", \"deprecated\": \"true\"}},"
+                + "  \"X-Path\": {\"summary\": \"both\"},"
+                + "  \"x-path\": {\"summary\": \"extension\"},"
+                + "  \"/q\": \"scalar\"},"
+                + "\"components\": {"
+                + "  \"schemas\": {"
+                + "    \"S\": {\"type\": \"string\", \"maximum\": \"12.50\", \"minLength\": \"7\","
+                + "      \"additionalProperties\": true, \"required\": [1, \"b\", null, [2]],"
+                + "      \"enum\": [1, 1.0, \"a\", null, [1], {\"k\": false}], \"properties\": {\"a\": {}},"
+                + "      \"nullable\": \"yes\", \"description\": {\"nested\": true}},"
+                + "    \"T\": {\"additionalProperties\": {\"type\": \"integer\"}, \"not\": {\"type\": \"object\"},"
+                + "      \"discriminator\": {\"propertyName\": \"p\", \"mapping\": {\"a\": 1}, \"x-ignored\": 1}}},"
+                + "  \"headers\": {\"H\": {\"description\": \"no style\"}, \"H2\": {\"style\": \"simple\"},"
+                + "    \"H3\": {\"style\": 1}},"
+                + "  \"securitySchemes\": {\"o\": {\"type\": \"oauth2\", \"flows\": {\"implicit\": {"
+                + "    \"scopes\": {\"read\": \"r\", \"X-scope\": \"both\", \"x-ext\": \"e\"}}}}},"
+                + "  \"callbacks\": {\"c\": {\"$ref\": \"#/x\", \"{$request}\": {\"post\": {}},"
+                + "    \"X-cb\": {\"summary\": \"both\"}, \"x-cb\": 1}}},"
+                + "\"X-Root\": \"upper\","
+                + "\"x-root\": [\"lower\"]"
+                + "}";
+        assertParsersIdentical(json, Format.JSON);
+
+        String yaml = "openapi: 3.0.0\n"
+                + "paths:\n"
+                + "  /a:\n"
+                + "    get:\n"
+                + "      responses:\n"
+                + "        200:\n"
+                + "          description: ok\n"
+                + "        default: &response\n"
+                + "          description: d\n"
+                + "        404: *response\n"
+                + "components:\n"
+                + "  schemas:\n"
+                + "    S:\n"
+                + "      maximum: 1.0e3\n"
+                + "      minimum: 0.10\n"
+                + "      default: 0x1F\n"
+                + "      example: ~\n"
+                + "      enum: [yes, 'no', 2019-10-01, 1.5]\n";
+        assertParsersIdentical(yaml, Format.YAML);
+    }
 }
@@ -5,12 +5,16 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
 import java.net.URL;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
 
 import org.apache.commons.io.IOUtils;
 import org.eclipse.microprofile.config.Config;
@@ -22,7 +26,6 @@ import org.jboss.jandex.Index;
 import org.jboss.jandex.Indexer;
 import org.jboss.logging.Logger;
 import org.json.JSONException;
-import org.junit.After;
 import org.skyscreamer.jsonassert.JSONAssert;
 
 import io.smallrye.openapi.api.OpenApiConfig;
@@ -36,11 +39,6 @@ public class IndexScannerTestBase {
 
     private static final Logger LOG = Logger.getLogger(IndexScannerTestBase.class);
 
-    @After
-    public void removeSchemaRegistry() {
-        SchemaRegistry.remove();
-    }
-
     protected static String pathOf(Class<?> clazz) {
         return clazz.getName().replace('.', '/').concat(".class");
     }
@@ -54,6 +52,29 @@ public class IndexScannerTestBase {
                 .forEach(path -> index(indexer, path.toString()));
     }
 
+    /**
+     * Index the classes of the package of the given class, read from the jar holding it.
+     */
+    protected static Index indexPackage(Class<?> member) throws IOException {
+        String packagePath = member.getPackage().getName().replace('.', '/') + '/';
+        URL url = member.getClassLoader().getResource(pathOf(member));
+        Indexer indexer = new Indexer();
+
+        try (JarFile jar = ((JarURLConnection) url.openConnection()).getJarFile()) {
+            List<String> entries = jar.stream()
+                    .map(entry -> entry.getName())
+                    .filter(name -> name.startsWith(packagePath) && name.endsWith(".class"))
+                    .sorted()
+                    .collect(Collectors.toList());
+
+            for (String entry : entries) {
+                index(indexer, entry);
+            }
+        }
+
+        return indexer.complete();
+    }
+
     private static InputStream tcclGetResourceAsStream(String path) {
         return Thread.currentThread()
                 .getContextClassLoader()
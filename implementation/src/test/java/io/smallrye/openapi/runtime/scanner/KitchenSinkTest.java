@@ -72,9 +72,9 @@ public class KitchenSinkTest extends OpenApiDataObjectScannerTestBase {
     public void testKitchenSinkWithRefs() throws IOException, JSONException {
         DotName name = componentize(KitchenSink.class.getName());
         Type type = ClassType.create(name, Type.Kind.CLASS);
-        OpenApiDataObjectScanner scanner = new OpenApiDataObjectScanner(index, type);
         OpenAPIImpl oai = new OpenAPIImpl();
         SchemaRegistry registry = SchemaRegistry.newInstance(nestingSupportConfig(), oai, index);
+        OpenApiDataObjectScanner scanner = new OpenApiDataObjectScanner(index, registry, type);
 
         Schema result = scanner.process();
         registry.register(type, result);
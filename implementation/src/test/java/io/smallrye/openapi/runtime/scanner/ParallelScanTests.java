@@ -0,0 +1,120 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.smallrye.openapi.runtime.scanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+
+import org.eclipse.microprofile.openapi.apps.airlines.JAXRSApp;
+import org.eclipse.microprofile.openapi.apps.petstore.PetStoreApp;
+import org.eclipse.microprofile.openapi.models.OpenAPI;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexView;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.smallrye.openapi.api.OpenApiConfig;
+import io.smallrye.openapi.runtime.io.OpenApiSerializer;
+
+/**
+ * Verifies that scanning resource classes concurrently produces the same model as a
+ * serial scan.
+ */
+public class ParallelScanTests extends IndexScannerTestBase {
+
+    private ExecutorService executor;
+
+    @Before
+    public void createExecutor() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    private void assertParallelScanIdentical(OpenApiConfig config, IndexView index) throws IOException {
+        String serial = OpenApiSerializer.serialize(new OpenApiAnnotationScanner(config, index).scan(null),
+                OpenApiSerializer.Format.JSON);
+        String parallel = OpenApiSerializer.serialize(new OpenApiAnnotationScanner(config, index).scan(executor),
+                OpenApiSerializer.Format.JSON);
+        String direct = OpenApiSerializer.serialize(new OpenApiAnnotationScanner(config, index).scan(Runnable::run),
+                OpenApiSerializer.Format.JSON);
+
+        assertEquals(serial, parallel);
+        assertEquals(serial, direct);
+    }
+
+    @Test
+    public void testAirlinesApp() throws IOException {
+        Index index = indexPackage(JAXRSApp.class);
+        assertParallelScanIdentical(emptyConfig(), index);
+        assertParallelScanIdentical(nestingSupportConfig(), index);
+    }
+
+    @Test
+    public void testPetstoreApp() throws IOException {
+        Index index = indexPackage(PetStoreApp.class);
+        assertParallelScanIdentical(emptyConfig(), index);
+        assertParallelScanIdentical(nestingSupportConfig(), index);
+    }
+
+    @Test
+    public void testSchemaNameConflictsRepeatedSerially() throws IOException {
+        Index index = indexOf(ResourceA.class, ResourceA.Item.class, ResourceB.class, ResourceB.Item.class);
+        assertParallelScanIdentical(nestingSupportConfig(), index);
+
+        OpenAPI result = new OpenApiAnnotationScanner(nestingSupportConfig(), index).scan(executor);
+        assertEquals(2, result.getComponents().getSchemas().size());
+        assertNotNull(result.getComponents().getSchemas().get("Item"));
+        assertNotNull(result.getComponents().getSchemas().get("Item1"));
+    }
+
+    /***************** Test models and resources below. ***********************/
+
+    @Path("/a")
+    static class ResourceA {
+        static class Item {
+            public String name;
+        }
+
+        @GET
+        public Item get() {
+            return null;
+        }
+    }
+
+    @Path("/b")
+    static class ResourceB {
+        static class Item {
+            public int count;
+        }
+
+        @GET
+        public Item get() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.smallrye.openapi.runtime.scanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+
+import org.eclipse.microprofile.openapi.apps.airlines.JAXRSApp;
+import org.eclipse.microprofile.openapi.apps.petstore.PetStoreApp;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexView;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.smallrye.openapi.api.OpenApiConfig;
+import io.smallrye.openapi.api.OpenApiConstants;
+import io.smallrye.openapi.runtime.io.OpenApiSerializer;
+
+/**
+ * Verifies that scans using the results of earlier scans, kept in a cache directory,
+ * produce the same model as a scan without a cache.
+ */
+public class ScanCacheTests extends IndexScannerTestBase {
+
+    private static final FileTime UNMODIFIED = FileTime.fromMillis(0);
+
+    @Rule
+    public TemporaryFolder cacheFolder = new TemporaryFolder();
+
+    private static OpenApiConfig cacheConfig(File directory, boolean schemaReferences) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(OpenApiConstants.SCHEMA_REFERENCES_ENABLE, schemaReferences);
+        config.put(OpenApiConstants.SCAN_CACHE_DIRECTORY, directory.getAbsolutePath());
+        return dynamicConfig(config);
+    }
+
+    private static String scan(OpenApiConfig config, IndexView index) throws IOException {
+        return OpenApiSerializer.serialize(new OpenApiAnnotationScanner(config, index).scan(null),
+                OpenApiSerializer.Format.JSON);
+    }
+
+    private static Path entryFile(File directory, Class<?> resourceClass) {
+        return directory.toPath().resolve(resourceClass.getName() + ".json");
+    }
+
+    private void assertCachedScanIdentical(IndexView index, boolean schemaReferences) throws IOException {
+        File directory = cacheFolder.newFolder();
+        String expected = scan(schemaReferences ? nestingSupportConfig() : emptyConfig(), index);
+        OpenApiConfig config = cacheConfig(directory, schemaReferences);
+
+        // Populate the cache, then read each class from it
+        assertEquals(expected, scan(config, index));
+        File[] entries = directory.listFiles();
+        assertTrue(entries.length > 0);
+        for (File entry : entries) {
+            Files.setLastModifiedTime(entry.toPath(), UNMODIFIED);
+        }
+        assertEquals(expected, scan(config, index));
+        for (File entry : entries) {
+            assertEquals(entry.getName(), UNMODIFIED, Files.getLastModifiedTime(entry.toPath()));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            File parallelDirectory = cacheFolder.newFolder();
+            OpenApiConfig parallelConfig = cacheConfig(parallelDirectory, schemaReferences);
+            assertEquals(expected, OpenApiSerializer.serialize(
+                    new OpenApiAnnotationScanner(parallelConfig, index).scan(executor), OpenApiSerializer.Format.JSON));
+            assertEquals(expected, scan(parallelConfig, index));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testAirlinesApp() throws IOException {
+        Index index = indexPackage(JAXRSApp.class);
+        assertCachedScanIdentical(index, false);
+        assertCachedScanIdentical(index, true);
+    }
+
+    @Test
+    public void testPetstoreApp() throws IOException {
+        Index index = indexPackage(PetStoreApp.class);
+        assertCachedScanIdentical(index, false);
+        assertCachedScanIdentical(index, true);
+    }
+
+    @Test
+    public void testUnchangedResourceClassesNotScanned() throws IOException {
+        File directory = cacheFolder.newFolder();
+        Index index = indexOf(ParallelScanTests.ResourceA.class, ParallelScanTests.ResourceA.Item.class,
+                ParallelScanTests.ResourceB.class, ParallelScanTests.ResourceB.Item.class);
+        OpenApiConfig config = cacheConfig(directory, true);
+        String expected = scan(config, index);
+
+        Path entryA = entryFile(directory, ParallelScanTests.ResourceA.class);
+        Path entryB = entryFile(directory, ParallelScanTests.ResourceB.class);
+        Files.setLastModifiedTime(entryA, UNMODIFIED);
+        Files.setLastModifiedTime(entryB, UNMODIFIED);
+
+        assertEquals(expected, scan(config, index));
+        assertEquals(UNMODIFIED, Files.getLastModifiedTime(entryA));
+        assertEquals(UNMODIFIED, Files.getLastModifiedTime(entryB));
+    }
+
+    @Test
+    public void testChangedDependencyScanned() throws IOException {
+        File directory = cacheFolder.newFolder();
+        OpenApiConfig config = cacheConfig(directory, true);
+        scan(config, indexOf(ResourceC.class, ResourceC.Widget.class, ResourceD.class));
+
+        Path entryC = entryFile(directory, ResourceC.class);
+        Path entryD = entryFile(directory, ResourceD.class);
+        Files.setLastModifiedTime(entryC, UNMODIFIED);
+        Files.setLastModifiedTime(entryD, UNMODIFIED);
+
+        // The class of the response entity is no longer present
+        Index index = indexOf(ResourceC.class, ResourceD.class);
+        assertEquals(scan(nestingSupportConfig(), index), scan(config, index));
+        assertNotEquals(UNMODIFIED, Files.getLastModifiedTime(entryC));
+        assertEquals(UNMODIFIED, Files.getLastModifiedTime(entryD));
+    }
+
+    /***************** Test models and resources below. ***********************/
+
+    @javax.ws.rs.Path("/c")
+    static class ResourceC {
+        static class Widget {
+            public String name;
+        }
+
+        @GET
+        public Widget get() {
+            return null;
+        }
+    }
+
+    @javax.ws.rs.Path("/d")
+    static class ResourceD {
+        @POST
+        public String post(String value) {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package io.smallrye.openapi.runtime.scanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.microprofile.openapi.models.media.Schema;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.Type;
+import org.junit.Test;
+
+import io.smallrye.openapi.api.OpenApiConfig;
+import io.smallrye.openapi.api.OpenApiConstants;
+import io.smallrye.openapi.api.models.OpenAPIImpl;
+
+public class SchemaLimitsTests extends IndexScannerTestBase {
+
+    private static Type type(Class<?> klazz) {
+        return Type.create(DotName.createSimple(klazz.getName()), Type.Kind.CLASS);
+    }
+
+    private static OpenApiConfig limits(String property, int value, boolean schemaReferences) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(property, value);
+        properties.put(OpenApiConstants.SCHEMA_REFERENCES_ENABLE, schemaReferences);
+        return dynamicConfig(properties);
+    }
+
+    private static Object truncation(Schema schema) {
+        return schema.getExtensions() != null ? schema.getExtensions().get(OpenApiConstants.EXTENSION_SCHEMA_TRUNCATED)
+                : null;
+    }
+
+    @Test
+    public void testMaxDepth() {
+        Index index = indexOf(Level1.class, Level2.class, Level3.class, Level4.class);
+        SchemaRegistry registry = SchemaRegistry.newInstance(limits(OpenApiConstants.SCHEMA_MAX_DEPTH, 1, false),
+                new OpenAPIImpl(), index);
+
+        Schema level1 = OpenApiDataObjectScanner.process(index, registry, type(Level1.class));
+        Schema level2 = level1.getProperties().get("next");
+        Schema level3 = level2.getProperties().get("next");
+
+        assertNull(truncation(level1));
+        assertNull(truncation(level2));
+        assertEquals("max-depth", truncation(level3));
+        assertEquals(Schema.SchemaType.OBJECT, level3.getType());
+        assertNull(level3.getProperties());
+    }
+
+    @Test
+    public void testMaxProperties() {
+        Index index = indexOf(Wide.class);
+        SchemaRegistry registry = SchemaRegistry.newInstance(limits(OpenApiConstants.SCHEMA_MAX_PROPERTIES, 2, false),
+                new OpenAPIImpl(), index);
+
+        Schema wide = OpenApiDataObjectScanner.process(index, registry, type(Wide.class));
+
+        assertEquals(2, wide.getProperties().size());
+        assertEquals("max-properties", truncation(wide));
+    }
+
+    @Test
+    public void testMaxNodes() {
+        Index index = indexOf(Level1.class, Level2.class, Level3.class, Level4.class);
+        SchemaRegistry registry = SchemaRegistry.newInstance(limits(OpenApiConstants.SCHEMA_MAX_NODES, 2, false),
+                new OpenAPIImpl(), index);
+
+        Schema level1 = OpenApiDataObjectScanner.process(index, registry, type(Level1.class));
+        Schema level3 = level1.getProperties().get("next").getProperties().get("next");
+
+        assertEquals("max-nodes", truncation(level3));
+        assertNull(level3.getProperties());
+    }
+
+    @Test
+    public void testTruncatedSchemaNotCached() {
+        Index index = indexOf(Level1.class, Level2.class, Level3.class, Level4.class);
+        SchemaRegistry registry = SchemaRegistry.newInstance(limits(OpenApiConstants.SCHEMA_MAX_DEPTH, 1, false),
+                new OpenAPIImpl(), index);
+
+        OpenApiDataObjectScanner.process(index, registry, type(Level1.class));
+        Schema level1 = OpenApiDataObjectScanner.process(index, null, type(Level1.class));
+
+        assertNotNull(level1.getProperties().get("next").getProperties().get("next").getProperties().get("next"));
+    }
+
+    @Test
+    public void testMaxDepthWithSchemaReferences() {
+        Index index = indexOf(Level1.class, Level2.class, Level3.class, Level4.class);
+        OpenAPIImpl oai = new OpenAPIImpl();
+        SchemaRegistry registry = SchemaRegistry.newInstance(limits(OpenApiConstants.SCHEMA_MAX_DEPTH, 1, true),
+                oai, index);
+
+        Schema level1 = OpenApiDataObjectScanner.process(index, registry, type(Level1.class));
+        Map<String, Schema> schemas = oai.getComponents().getSchemas();
+
+        assertEquals("#/components/schemas/Level2", level1.getProperties().get("next").getRef());
+        assertEquals(Arrays.asList("Level2", "Level3", "Level4"), Arrays.asList(schemas.keySet().toArray()));
+
+        for (Schema schema : schemas.values()) {
+            assertNull(truncation(schema));
+            assertNotNull(schema.getProperties());
+        }
+    }
+
+    static class Level1 {
+        public String name;
+        public Level2 next;
+    }
+
+    static class Level2 {
+        public String name;
+        public Level3 next;
+    }
+
+    static class Level3 {
+        public String name;
+        public Level4 next;
+    }
+
+    static class Level4 {
+        public String name;
+    }
+
+    static class Wide {
+        public String a;
+        public String b;
+        public String c;
+        public String d;
+    }
+}
@@ -1,11 +1,24 @@
 package io.smallrye.openapi.runtime.scanner;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 import org.eclipse.microprofile.openapi.models.media.Schema;
 import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.ClassType;
 import org.jboss.jandex.DotName;
 import org.jboss.jandex.FieldInfo;
 import org.jboss.jandex.Index;
@@ -16,6 +29,8 @@ import org.junit.Test;
 
 import io.smallrye.openapi.api.models.OpenAPIImpl;
 import io.smallrye.openapi.api.models.media.SchemaImpl;
+import io.smallrye.openapi.runtime.scanner.dataobject.AugmentedIndexView;
+import io.smallrye.openapi.runtime.scanner.dataobject.TypeResolver;
 import io.smallrye.openapi.runtime.util.ModelUtil;
 
 /**
@@ -53,6 +68,79 @@ public class SchemaRegistryTests extends IndexScannerTestBase {
         assertEquals("#/components/schemas/NestableStringNestable2", s3.getRef());
     }
 
+    @Test
+    public void testConcurrentRegistrationsClaimDistinctNames() throws IOException, JSONException {
+        Indexer indexer = new Indexer();
+        index(indexer, "io/smallrye/openapi/runtime/scanner/SchemaRegistryTests$Container.class");
+        index(indexer, "io/smallrye/openapi/runtime/scanner/SchemaRegistryTests$Nestable.class");
+        Index index = indexer.complete();
+
+        OpenAPIImpl oai = new OpenAPIImpl();
+        SchemaRegistry registry = SchemaRegistry.newInstance(nestingSupportConfig(), oai, index);
+
+        DotName cName = componentize(Container.class.getName());
+        ClassInfo cInfo = index.getClassByName(cName);
+        Map<String, TypeResolver> fields = TypeResolver.getAllFields(new AugmentedIndexView(index),
+                ClassType.create(cName, Type.Kind.CLASS), cInfo);
+        List<TypeResolver> resolvers = new ArrayList<>();
+
+        for (int i = 0; i < 50; i++) {
+            resolvers.add(fields.get("n1"));
+            resolvers.add(fields.get("n2"));
+            resolvers.add(fields.get("n3"));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<CompletableFuture<Schema>> results = resolvers.stream()
+                    .map(resolver -> CompletableFuture.supplyAsync(() -> registry
+                            .registerIfEligible(resolver.getUnresolvedType(), resolver, new SchemaImpl()), executor))
+                    .collect(Collectors.toList());
+
+            Set<String> refs = new HashSet<>();
+            results.forEach(result -> refs.add(result.join().getRef()));
+
+            assertEquals(3, oai.getComponents().getSchemas().size());
+            assertEquals(3, refs.size());
+            assertTrue(refs.contains("#/components/schemas/NestableStringNestable"));
+            assertTrue(refs.contains("#/components/schemas/NestableStringNestable1"));
+            assertTrue(refs.contains("#/components/schemas/NestableStringNestable2"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testDeprecatedCurrentInstanceDelegates() throws IOException, JSONException {
+        Indexer indexer = new Indexer();
+        index(indexer, "io/smallrye/openapi/runtime/scanner/SchemaRegistryTests$Container.class");
+        index(indexer, "io/smallrye/openapi/runtime/scanner/SchemaRegistryTests$Nestable.class");
+        Index index = indexer.complete();
+
+        OpenAPIImpl oai = new OpenAPIImpl();
+        SchemaRegistry registry = SchemaRegistry.newInstance(nestingSupportConfig(), oai, index);
+
+        try {
+            assertSame(registry, SchemaRegistry.currentInstance());
+
+            DotName cName = componentize(Container.class.getName());
+            ClassInfo cInfo = index.getClassByName(cName);
+            TypeResolver n1 = TypeResolver.getAllFields(new AugmentedIndexView(index),
+                    ClassType.create(cName, Type.Kind.CLASS), cInfo).get("n1");
+            Schema ref = SchemaRegistry.checkRegistration(n1.getUnresolvedType(), n1, new SchemaImpl());
+
+            assertEquals("#/components/schemas/NestableStringNestable", ref.getRef());
+            assertTrue(registry.has(n1.getResolvedType(n1.getUnresolvedType())));
+
+            SchemaRegistry.clearCurrentInstance(registry);
+            assertNull(SchemaRegistry.currentInstance());
+        } finally {
+            SchemaRegistry.remove();
+        }
+    }
+
     @Test
     public void testWildcardLowerBoundName() throws IOException, JSONException {
         Indexer indexer = new Indexer();
@@ -123,7 +211,7 @@ public class SchemaRegistryTests extends IndexScannerTestBase {
         ClassInfo cInfo = index.getClassByName(cName);
 
         Type n6Type = cInfo.field("n6").type();
-        OpenApiDataObjectScanner scanner = new OpenApiDataObjectScanner(index, n6Type);
+        OpenApiDataObjectScanner scanner = new OpenApiDataObjectScanner(index, registry, n6Type);
 
         Schema result = scanner.process();
         registry.register(n6Type, result);
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.smallrye.openapi.runtime.scanner.dataobject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.ParameterizedType;
+import org.jboss.jandex.Type;
+import org.junit.Test;
+
+import io.smallrye.openapi.api.models.media.SchemaImpl;
+import io.smallrye.openapi.runtime.scanner.IndexScannerTestBase;
+import io.smallrye.openapi.runtime.scanner.dataobject.DataObjectDeque.PathEntry;
+
+public class DataObjectDequeTest extends IndexScannerTestBase {
+
+    private static final Type STRING = Type.create(DotName.createSimple(String.class.getName()), Type.Kind.CLASS);
+    private static final Type INTEGER = Type.create(DotName.createSimple(Integer.class.getName()), Type.Kind.CLASS);
+
+    private static Type type(Class<?> klazz, Type... arguments) {
+        DotName name = DotName.createSimple(klazz.getName());
+        if (arguments.length == 0) {
+            return Type.create(name, Type.Kind.CLASS);
+        }
+        return ParameterizedType.create(name, arguments, null);
+    }
+
+    @Test
+    public void testHasParent() {
+        DataObjectDeque deque = new DataObjectDeque(new AugmentedIndexView(indexOf(Holder.class, Node.class)));
+        PathEntry root = deque.rootNode(null, null, type(Node.class), new SchemaImpl());
+        PathEntry holder = deque.leafNode(root, null, type(Holder.class, STRING), new SchemaImpl());
+        PathEntry node = deque.leafNode(holder, null, type(Node.class), new SchemaImpl());
+
+        assertTrue(node.hasParent(deque.leafNode(node, null, type(Holder.class, STRING), new SchemaImpl())));
+        assertFalse(node.hasParent(deque.leafNode(node, null, type(Holder.class, INTEGER), new SchemaImpl())));
+        assertTrue(node.hasParent(deque.leafNode(node, null, type(Holder.class), new SchemaImpl())));
+        assertFalse(root.hasParent(deque.leafNode(node, null, type(Holder.class), new SchemaImpl())));
+    }
+
+    @Test
+    public void testHasParentMatchesEquals() {
+        DataObjectDeque deque = new DataObjectDeque(new AugmentedIndexView(indexOf(Holder.class, Node.class)));
+        Type[] types = { type(Node.class), type(Holder.class), type(Holder.class, STRING), type(Holder.class, INTEGER) };
+
+        // Walking up the path, and looking up the keys of the path
+        for (int depth : new int[] { 0, PathEntry.ANCESTOR_SET_DEPTH - 1, PathEntry.ANCESTOR_SET_DEPTH + 1 }) {
+            for (Type parentType : types) {
+                PathEntry parent = deque.rootNode(null, null, type(Node.class), new SchemaImpl());
+                while (parent.getDepth() < depth) {
+                    parent = deque.leafNode(parent, null, type(Node.class), new SchemaImpl());
+                }
+                parent = deque.leafNode(parent, null, parentType, new SchemaImpl());
+
+                for (Type candidateType : types) {
+                    PathEntry candidate = deque.leafNode(parent, null, candidateType, new SchemaImpl());
+                    boolean expected = false;
+                    for (PathEntry test = parent; test != null; test = test.getEnclosing()) {
+                        expected |= candidate.equals(test);
+                    }
+                    assertEquals(depth + " " + parentType + " " + candidateType, expected, parent.hasParent(candidate));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testHasParentAlongDeepPath() {
+        DataObjectDeque deque = new DataObjectDeque(new AugmentedIndexView(indexOf(Holder.class, Node.class)));
+        Type[] arguments = new Type[PathEntry.ANCESTOR_SET_DEPTH * 3];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = type(Holder.class, i % 2 == 0 ? STRING : INTEGER);
+            for (int j = 0; j < i / 2; j++) {
+                arguments[i] = type(Holder.class, arguments[i]);
+            }
+        }
+
+        // Each entry is looked up before its children are, as during a scan
+        PathEntry parent = deque.leafNode(null, null, type(Node.class), new SchemaImpl());
+        for (Type argument : arguments) {
+            PathEntry child = deque.leafNode(parent, null, argument, new SchemaImpl());
+            assertFalse(parent.hasParent(child));
+            assertTrue(parent.hasParent(deque.leafNode(parent, null, type(Node.class), new SchemaImpl())));
+            parent = child;
+        }
+        for (Type argument : arguments) {
+            assertTrue(parent.hasParent(deque.leafNode(parent, null, argument, new SchemaImpl())));
+        }
+        assertTrue(parent.hasParent(deque.leafNode(parent, null, type(Holder.class), new SchemaImpl())));
+        assertFalse(parent.hasParent(deque.leafNode(parent, null, type(Holder.class, type(Node.class)),
+                new SchemaImpl())));
+    }
+
+    static class Holder<T> {
+        List<T> values = Collections.emptyList();
+    }
+
+    static class Node {
+        Holder<String> holder;
+    }
+}
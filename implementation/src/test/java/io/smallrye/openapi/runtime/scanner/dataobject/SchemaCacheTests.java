@@ -0,0 +1,127 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.smallrye.openapi.runtime.scanner.dataobject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.eclipse.microprofile.openapi.models.media.Schema;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Type;
+import org.junit.Test;
+
+import io.smallrye.openapi.api.models.ComponentsImpl;
+import io.smallrye.openapi.api.models.OpenAPIImpl;
+import io.smallrye.openapi.api.models.media.SchemaImpl;
+import io.smallrye.openapi.runtime.io.OpenApiSerializer;
+import io.smallrye.openapi.runtime.scanner.IndexScannerTestBase;
+import io.smallrye.openapi.runtime.scanner.OpenApiDataObjectScanner;
+import io.smallrye.openapi.runtime.scanner.SchemaRegistry;
+
+public class SchemaCacheTests extends IndexScannerTestBase {
+
+    private static Type type(Class<?> klazz) {
+        return Type.create(DotName.createSimple(klazz.getName()), Type.Kind.CLASS);
+    }
+
+    private static String json(Schema schema) throws IOException {
+        return OpenApiSerializer.serialize(new OpenAPIImpl().components(
+                new ComponentsImpl().addSchema("s", schema)),
+                OpenApiSerializer.Format.JSON);
+    }
+
+    @Test
+    public void testSchemaComputedOnce() throws IOException {
+        AugmentedIndexView index = new AugmentedIndexView(indexOf(Page.class, Item.class));
+        SchemaRegistry registry = SchemaRegistry.newInstance(emptyConfig(), new OpenAPIImpl(), index);
+
+        Schema first = OpenApiDataObjectScanner.process(index, registry, type(Page.class));
+        first.getProperties().get("items").setDescription("Changed by the caller");
+        Schema second = OpenApiDataObjectScanner.process(index, registry, type(Page.class));
+        Schema third = OpenApiDataObjectScanner.process(new AugmentedIndexView(index), null, type(Page.class));
+
+        assertEquals(1, index.schemas().misses());
+        assertEquals(2, index.schemas().hits());
+        assertNotSame(second, third);
+        assertNull(second.getProperties().get("items").getDescription());
+        assertEquals(json(second), json(third));
+        // Computed again using an index without cached schemas
+        assertEquals(json(OpenApiDataObjectScanner.process(indexOf(Page.class, Item.class), null, type(Page.class))),
+                json(second));
+    }
+
+    @Test
+    public void testCyclicReferenceCopied() throws IOException {
+        AugmentedIndexView index = new AugmentedIndexView(indexOf(Node.class));
+        Schema original = OpenApiDataObjectScanner.process(index, null, type(Node.class));
+        Schema copy = OpenApiDataObjectScanner.process(index, null, type(Node.class));
+
+        assertEquals(1, index.schemas().hits());
+        assertNotSame(original.getProperties().get("parent"), copy.getProperties().get("parent"));
+        assertEquals(json(original), json(copy));
+    }
+
+    @Test
+    public void testNameCopied() {
+        SchemaCache cache = new SchemaCache();
+        SchemaImpl item = new SchemaImpl();
+        item.setName("Item");
+        SchemaImpl page = new SchemaImpl();
+        page.setName("Page");
+        page.addProperty("first", item);
+        page.addProperty("last", item);
+        cache.put(type(Page.class), page);
+
+        SchemaImpl copy = (SchemaImpl) cache.get(type(Page.class)).get();
+
+        assertNotSame(page, copy);
+        assertEquals("Page", copy.getName());
+        assertEquals("Item", ((SchemaImpl) copy.getProperties().get("first")).getName());
+        assertNotSame(item, copy.getProperties().get("first"));
+        assertSame(copy.getProperties().get("first"), copy.getProperties().get("last"));
+    }
+
+    @Test
+    public void testNotCachedWithSchemaReferences() {
+        AugmentedIndexView index = new AugmentedIndexView(indexOf(Page.class, Item.class));
+        SchemaRegistry registry = SchemaRegistry.newInstance(nestingSupportConfig(), new OpenAPIImpl(), index);
+
+        OpenApiDataObjectScanner.process(index, registry, type(Page.class));
+        OpenApiDataObjectScanner.process(index, registry, type(Page.class));
+
+        assertEquals(0, index.schemas().hits());
+        assertEquals(0, index.schemas().misses());
+    }
+
+    static class Item {
+        public String name;
+    }
+
+    static class Page {
+        public List<Item> items;
+        public int total;
+    }
+
+    static class Node {
+        public String name;
+        public Node parent;
+    }
+}
@@ -0,0 +1,98 @@
+package io.smallrye.openapi.runtime.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import javax.validation.constraints.NotNull;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.MethodInfo;
+import org.jboss.jandex.MethodParameterInfo;
+import org.jboss.jandex.Type;
+import org.junit.Test;
+
+import io.smallrye.openapi.api.OpenApiConstants;
+import io.smallrye.openapi.runtime.scanner.IndexScannerTestBase;
+import io.smallrye.openapi.runtime.util.AnnotationPresenceIndex.Family;
+
+public class AnnotationPresenceIndexTest {
+
+    private static final DotName DOTNAME_NOT_NULL = DotName.createSimple(NotNull.class.getName());
+    private static final Type STRING = Type.create(DotName.createSimple(String.class.getName()), Type.Kind.CLASS);
+
+    private final Index index = IndexScannerTestBase.indexOf(Resource.class);
+    private final ClassInfo clazz = index.getClassByName(DotName.createSimple(Resource.class.getName()));
+    private final AnnotationPresenceIndex annotations = new AnnotationPresenceIndex();
+
+    @Test
+    public void testClassAnnotations() {
+        assertTrue(annotations.hasAnnotation(clazz, Family.JAXRS));
+        assertTrue(annotations.hasAnnotation(clazz, Family.OPENAPI));
+        assertFalse(annotations.hasAnnotation(clazz, Family.BEAN_VALIDATION));
+        assertEquals("/items", annotations.getAnnotationValue(clazz, OpenApiConstants.DOTNAME_PATH));
+        assertSame(clazz.classAnnotation(OpenApiConstants.DOTNAME_SCHEMA),
+                annotations.getAnnotation(clazz, OpenApiConstants.DOTNAME_SCHEMA));
+    }
+
+    @Test
+    public void testFieldAnnotations() {
+        assertTrue(annotations.hasAnnotation(clazz.field("name"), Family.BEAN_VALIDATION));
+        assertTrue(annotations.hasAnnotation(clazz.field("name"), DOTNAME_NOT_NULL));
+        assertFalse(annotations.hasAnnotation(clazz.field("count"), Family.BEAN_VALIDATION));
+        assertNull(annotations.getAnnotation(clazz.field("count"), DOTNAME_NOT_NULL));
+    }
+
+    @Test
+    public void testMethodAndParameterAnnotations() {
+        MethodInfo method = clazz.method("get", STRING);
+        MethodParameterInfo parameter = MethodParameterInfo.create(method, (short) 0);
+
+        assertTrue(annotations.hasAnnotation(method, OpenApiConstants.DOTNAME_GET));
+        assertTrue(annotations.hasAnnotation(method, OpenApiConstants.DOTNAME_PARAMETER));
+        assertEquals("id", annotations.getAnnotationValue(parameter, OpenApiConstants.DOTNAME_PATH_PARAM));
+        assertEquals("The identifier", annotations.getAnnotationValue(parameter, OpenApiConstants.DOTNAME_PARAMETER,
+                OpenApiConstants.PROP_DESCRIPTION));
+        assertFalse(annotations.hasAnnotation(parameter, OpenApiConstants.DOTNAME_GET));
+
+        // New instances for the same members are answered from the index
+        MethodInfo sameMethod = clazz.method("get", STRING);
+        assertSame(annotations.getAnnotation(method, OpenApiConstants.DOTNAME_GET),
+                annotations.getAnnotation(sameMethod, OpenApiConstants.DOTNAME_GET));
+        assertFalse(annotations.hasAnnotation(clazz.method("unannotated"), Family.JAXRS));
+    }
+
+    @Test
+    public void testNullTarget() {
+        assertFalse(annotations.hasAnnotation(null, Family.OPENAPI));
+        assertNull(annotations.getAnnotation(null, OpenApiConstants.DOTNAME_SCHEMA));
+        assertEquals("default", annotations.getAnnotationValue(null, OpenApiConstants.DOTNAME_SCHEMA,
+                OpenApiConstants.PROP_NAME, "default"));
+    }
+
+    @Path("/items")
+    @Schema(name = "Items")
+    static class Resource {
+        @NotNull
+        String name;
+
+        int count;
+
+        @GET
+        public String get(@PathParam("id") @Parameter(description = "The identifier") String id) {
+            return id;
+        }
+
+        public void unannotated() {
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package io.smallrye.openapi.runtime.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.eclipse.microprofile.openapi.models.OpenAPI;
+import org.eclipse.microprofile.openapi.models.tags.Tag;
+import org.junit.Test;
+
+import io.smallrye.openapi.api.models.OpenAPIImpl;
+import io.smallrye.openapi.api.models.tags.TagImpl;
+
+public class ModelUtilTest {
+
+    private static final String[] NAMES = { "a", "b", "c", "d", "e" };
+
+    private static Tag tag(Random random) {
+        Tag tag = new TagImpl();
+        tag.setName(NAMES[random.nextInt(NAMES.length)]);
+        tag.setDescription(random.nextBoolean() ? Integer.toString(random.nextInt(100)) : null);
+        return tag;
+    }
+
+    private static String dump(OpenAPI openApi) {
+        StringBuilder builder = new StringBuilder();
+        if (openApi.getTags() != null) {
+            for (Tag tag : openApi.getTags()) {
+                builder.append(tag.getName()).append('=').append(tag.getDescription()).append(',');
+            }
+        }
+        return builder.toString();
+    }
+
+    @Test
+    public void testTagIndexEquivalentToAddTag() {
+        for (int seed = 0; seed < 100; seed++) {
+            OpenAPI expected = new OpenAPIImpl();
+            OpenAPI actual = new OpenAPIImpl();
+            ModelUtil.TagIndex index = new ModelUtil.TagIndex(actual);
+            Random random = new Random(seed);
+
+            for (int i = 0; i < 30; i++) {
+                Tag tag = tag(random);
+                Tag copy = new TagImpl().name(tag.getName()).description(tag.getDescription());
+
+                int operation = expected.getTags() != null ? random.nextInt(10) : 2;
+
+                switch (operation) {
+                    case 0:
+                        // Tags replaced without the index
+                        expected.setTags(new ArrayList<>());
+                        expected.getTags().add(tag);
+                        actual.setTags(new ArrayList<>());
+                        actual.getTags().add(copy);
+                        break;
+                    case 1:
+                        // Tags added without the index
+                        expected.getTags().add(0, tag);
+                        actual.getTags().add(0, copy);
+                        break;
+                    default:
+                        ModelUtil.addTag(expected, tag);
+                        index.addTag(copy);
+                        break;
+                }
+
+                assertEquals("seed " + seed, dump(expected), dump(actual));
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.smallrye.openapi.runtime.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.Type;
+import org.junit.Test;
+
+import io.smallrye.openapi.runtime.scanner.IndexScannerTestBase;
+import io.smallrye.openapi.runtime.scanner.OpenApiDataObjectScanner;
+import io.smallrye.openapi.runtime.scanner.dataobject.AugmentedIndexView;
+
+public class TypeHierarchyTest extends IndexScannerTestBase {
+
+    static boolean initialized;
+
+    private static Type type(Class<?> klazz) {
+        return Type.create(DotName.createSimple(klazz.getName()), Type.Kind.CLASS);
+    }
+
+    @Test
+    public void testIsAThroughSuperInterface() {
+        TypeHierarchy hierarchy = new TypeHierarchy(indexOf(Items.class, ItemList.class));
+        assertTrue(hierarchy.isA(type(ItemList.class), OpenApiDataObjectScanner.COLLECTION_TYPE));
+        assertTrue(hierarchy.isA(type(Items.class), OpenApiDataObjectScanner.COLLECTION_TYPE));
+        assertFalse(hierarchy.isA(type(ItemList.class), OpenApiDataObjectScanner.MAP_TYPE));
+    }
+
+    @Test
+    public void testHierarchyMemoizedPerIndex() {
+        Index index = indexOf(Items.class, ItemList.class);
+        TypeHierarchy hierarchy = TypeUtil.hierarchy(index);
+
+        assertTrue(TypeUtil.isA(index, type(ItemList.class), OpenApiDataObjectScanner.COLLECTION_TYPE));
+        assertSame(hierarchy, TypeUtil.hierarchy(index));
+        assertNotSame(hierarchy, TypeUtil.hierarchy(indexOf(Items.class, ItemList.class)));
+
+        AugmentedIndexView augmented = AugmentedIndexView.augment(index);
+        assertSame(augmented.hierarchy(), TypeUtil.hierarchy(augmented));
+    }
+
+    @Test
+    public void testJdkClassNotIndexed() {
+        TypeHierarchy hierarchy = new TypeHierarchy(indexOf());
+        assertTrue(hierarchy.isA(type(AtomicInteger.class), type(Number.class)));
+        assertFalse(hierarchy.isA(type(AtomicInteger.class), OpenApiDataObjectScanner.COLLECTION_TYPE));
+        assertNotNull(hierarchy.getClassInfo(DotName.createSimple(AtomicInteger.class.getName())));
+    }
+
+    @Test
+    public void testClassNotIndexedIsNotLoaded() {
+        TypeHierarchy hierarchy = new TypeHierarchy(indexOf());
+        assertTrue(hierarchy.isA(type(NotIndexed.class), OpenApiDataObjectScanner.COLLECTION_TYPE));
+        assertFalse(initialized);
+    }
+
+    @Test
+    public void testInheritanceChain() {
+        Index index = indexOf(Items.class, Base.class);
+        TypeHierarchy hierarchy = new TypeHierarchy(index);
+        ClassInfo klazz = index.getClassByName(DotName.createSimple(Items.class.getName()));
+        ClassInfo base = index.getClassByName(DotName.createSimple(Base.class.getName()));
+
+        // The second chain is built from the memoized ancestors
+        for (int i = 0; i < 2; i++) {
+            Map<ClassInfo, Type> chain = hierarchy.inheritanceChain(klazz, type(Items.class));
+            assertEquals(Arrays.asList(klazz, base), Arrays.asList(chain.keySet().toArray()));
+            assertEquals(Type.Kind.PARAMETERIZED_TYPE, chain.get(base).kind());
+        }
+    }
+
+    interface ItemList extends List<String> {
+    }
+
+    static class Base<T> {
+        T value;
+    }
+
+    static abstract class Items extends Base<String> implements ItemList {
+    }
+
+    static abstract class NotIndexed extends Items {
+        static {
+            initialized = true;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.acme;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+import org.eclipse.microprofile.openapi.annotations.Operation;
+
+@Path("/greetings")
+public class GreetingResource {
+
+    @GET
+    @Path("/{name}")
+    @Produces(MediaType.TEXT_PLAIN)
+    @Operation(summary = "Greets someone")
+    public String greet(@PathParam("name") String name) {
+        return "Hello " + name;
+    }
+}
@@ -0,0 +1,13 @@
+File json = new File(basedir, "target/classes/META-INF/openapi-generated.json")
+File yaml = new File(basedir, "target/classes/META-INF/openapi-generated.yaml")
+
+assert json.isFile()
+assert yaml.isFile()
+
+def document = new groovy.json.JsonSlurper().parse(json)
+assert document.openapi == "3.0.1"
+assert document.paths["/greetings/{name}"].get.summary == "Greets someone"
+assert document.paths["/greetings/{name}"].get.parameters[0].name == "name"
+
+assert yaml.text.contains("/greetings/{name}:")
+assert yaml.text.contains("summary: Greets someone")
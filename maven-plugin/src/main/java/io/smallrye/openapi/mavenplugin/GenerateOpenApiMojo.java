@@ -0,0 +1,194 @@
+/*
+ * Copyright 2020 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.smallrye.openapi.mavenplugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.spi.ConfigProviderResolver;
+import org.eclipse.microprofile.openapi.models.OpenAPI;
+import org.jboss.jandex.IndexView;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.importer.ExplodedImporter;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+
+import io.smallrye.openapi.api.OpenApiConfig;
+import io.smallrye.openapi.api.OpenApiConfigImpl;
+import io.smallrye.openapi.api.OpenApiConstants;
+import io.smallrye.openapi.api.OpenApiDocument;
+import io.smallrye.openapi.api.OpenApiDocumentRegistry;
+import io.smallrye.openapi.api.SerializedDocument;
+import io.smallrye.openapi.api.util.ArchiveUtil;
+import io.smallrye.openapi.runtime.OpenApiProcessor;
+import io.smallrye.openapi.runtime.OpenApiStaticFile;
+import io.smallrye.openapi.runtime.io.OpenApiSerializer.Format;
+
+/**
+ * Produces the final OpenAPI document of the project at build time: the compiled classes
+ * (and, unless disabled by the {@code mp.openapi.extensions.scan-dependencies.*} properties,
+ * the runtime dependencies) are indexed and scanned, then merged with the static file and
+ * the model reader and passed through the filter, exactly as {@link OpenApiDocument} does
+ * when the application starts.
+ * <p>
+ * The document is written to {@value OpenApiConstants#GENERATED_DOCUMENT_JSON} and
+ * {@value OpenApiConstants#GENERATED_DOCUMENT_YAML}. Runtimes that find it using
+ * {@link OpenApiProcessor#generatedFile(ClassLoader)} can skip indexing and scanning entirely.
+ */
+@Mojo(name = "generate", defaultPhase = LifecyclePhase.PROCESS_CLASSES, requiresDependencyResolution = ResolutionScope.RUNTIME, threadSafe = true)
+public class GenerateOpenApiMojo extends AbstractMojo {
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    /**
+     * Directory containing the compiled classes and resources of the application.
+     */
+    @Parameter(defaultValue = "${project.build.outputDirectory}", required = true)
+    private File classesDirectory;
+
+    /**
+     * Directory the generated document is written to, below {@code META-INF}.
+     */
+    @Parameter(defaultValue = "${project.build.outputDirectory}", required = true)
+    private File outputDirectory;
+
+    /**
+     * Skip the generation of the document.
+     */
+    @Parameter(property = "smallrye-open-api.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Skipping generation of the OpenAPI document");
+            return;
+        }
+        if (!classesDirectory.isDirectory()) {
+            getLog().info("No classes found in " + classesDirectory + ", skipping generation of the OpenAPI document");
+            return;
+        }
+
+        Thread thread = Thread.currentThread();
+        ClassLoader contextLoader = thread.getContextClassLoader();
+
+        try (URLClassLoader loader = new URLClassLoader(classpath(), getClass().getClassLoader())) {
+            thread.setContextClassLoader(loader);
+            OpenAPI model = generate(loader);
+            write(model, Format.JSON, OpenApiConstants.GENERATED_DOCUMENT_JSON);
+            write(model, Format.YAML, OpenApiConstants.GENERATED_DOCUMENT_YAML);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to generate the OpenAPI document", e);
+        } finally {
+            thread.setContextClassLoader(contextLoader);
+        }
+    }
+
+    /**
+     * Runs the same phases as the runtime against the project's archive.
+     *
+     * @param loader ClassLoader of the application
+     * @return the final document
+     */
+    private OpenAPI generate(ClassLoader loader) throws IOException {
+        WebArchive archive = archive();
+        ConfigProviderResolver resolver = ConfigProviderResolver.instance();
+        Config mpConfig = resolver.getConfig(loader);
+
+        // A document of its own, the executions of parallel builds sharing the plugin class loader
+        OpenApiDocumentRegistry registry = new OpenApiDocumentRegistry();
+        OpenApiDocument document = registry.document(project.getId());
+
+        try (OpenApiStaticFile staticFile = ArchiveUtil.archiveToStaticFile(archive)) {
+            OpenApiConfig config = new OpenApiConfigImpl(mpConfig);
+            IndexView index = ArchiveUtil.archiveToIndex(config, archive);
+
+            document.config(config);
+            document.archiveName(archive.getName());
+            // Produced concurrently during the initialization
+            document.modelFromStaticFile(() -> OpenApiProcessor.modelFromStaticFile(staticFile));
+            document.modelFromAnnotations(() -> OpenApiProcessor.modelFromAnnotations(config, index));
+            document.modelFromReader(() -> OpenApiProcessor.modelFromReader(config, loader));
+            document.filter(OpenApiProcessor.getFilter(config, loader));
+            document.initialize();
+            return document.get();
+        } finally {
+            registry.remove(project.getId());
+            resolver.releaseConfig(mpConfig);
+        }
+    }
+
+    /**
+     * Assembles the classes and runtime dependencies of the project the way they are laid
+     * out in a web archive.
+     */
+    private WebArchive archive() {
+        String name = project.getBuild().getFinalName() + "." + project.getPackaging();
+        WebArchive archive = ShrinkWrap.create(WebArchive.class, name);
+        archive.merge(ShrinkWrap.create(JavaArchive.class).as(ExplodedImporter.class)
+                .importDirectory(classesDirectory).as(JavaArchive.class), OpenApiConstants.WEB_ARCHIVE_CLASS_PREFIX);
+
+        for (Artifact artifact : project.getArtifacts()) {
+            File file = artifact.getFile();
+            if (artifact.getArtifactHandler().isAddedToClasspath() && file != null && file.isFile()
+                    && file.getName().endsWith(OpenApiConstants.JAR_SUFFIX)
+                    && (Artifact.SCOPE_COMPILE.equals(artifact.getScope())
+                            || Artifact.SCOPE_RUNTIME.equals(artifact.getScope()))) {
+                archive.addAsLibrary(file);
+            }
+        }
+        return archive;
+    }
+
+    private URL[] classpath() throws MojoExecutionException {
+        try {
+            List<URL> urls = new ArrayList<>();
+            for (String element : project.getRuntimeClasspathElements()) {
+                urls.add(new File(element).toURI().toURL());
+            }
+            return urls.toArray(new URL[0]);
+        } catch (DependencyResolutionRequiredException | MalformedURLException e) {
+            throw new MojoExecutionException("Unable to resolve the classpath of " + project.getId(), e);
+        }
+    }
+
+    private void write(OpenAPI model, Format format, String name) throws IOException {
+        Path file = outputDirectory.toPath().resolve(name);
+        Files.createDirectories(file.getParent());
+        try (OutputStream stream = Files.newOutputStream(file)) {
+            SerializedDocument.of(model, format).writeTo(stream);
+        }
+    }
+}
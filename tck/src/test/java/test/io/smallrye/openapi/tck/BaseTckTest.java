@@ -35,8 +35,7 @@ import com.sun.net.httpserver.HttpServer;
 
 import io.restassured.RestAssured;
 import io.restassured.response.ValidatableResponse;
-import io.smallrye.openapi.api.OpenApiDocument;
-import io.smallrye.openapi.runtime.io.OpenApiSerializer;
+import io.smallrye.openapi.api.SerializedDocument;
 import io.smallrye.openapi.runtime.io.OpenApiSerializer.Format;
 
 /**
@@ -83,9 +82,9 @@ public abstract class BaseTckTest<T extends Arquillian> {
     static class MyHandler implements HttpHandler {
         @Override
         public void handle(HttpExchange t) throws IOException {
-            String response = null;
+            SerializedDocument document = null;
             try {
-                response = OpenApiSerializer.serialize(OpenApiDocument.INSTANCE.get(), Format.JSON);
+                document = TckTestRunner.DOCUMENTS.document(TckTestRunner.currentDeployment).getSerialized(Format.JSON);
             } catch (Throwable e) {
                 e.printStackTrace();
                 t.getResponseHeaders().add("Content-Type", APPLICATION_JSON);
@@ -97,9 +96,10 @@ public abstract class BaseTckTest<T extends Arquillian> {
             }
 
             t.getResponseHeaders().add("Content-Type", APPLICATION_JSON);
-            t.sendResponseHeaders(200, response.length());
+            t.getResponseHeaders().add("ETag", document.getEntityTag());
+            t.sendResponseHeaders(200, document.getLength());
             OutputStream os = t.getResponseBody();
-            os.write(response.getBytes());
+            document.writeTo(os);
             os.close();
         }
     }
@@ -25,12 +25,9 @@ import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.apache.commons.io.IOUtils;
-import org.eclipse.microprofile.openapi.models.OpenAPI;
 import org.jboss.arquillian.container.test.api.Deployment;
 import org.jboss.arquillian.testng.Arquillian;
 import org.jboss.jandex.IndexView;
@@ -45,6 +42,7 @@ import org.junit.runners.model.Statement;
 
 import io.smallrye.openapi.api.OpenApiConfig;
 import io.smallrye.openapi.api.OpenApiDocument;
+import io.smallrye.openapi.api.OpenApiDocumentRegistry;
 import io.smallrye.openapi.api.util.ArchiveUtil;
 import io.smallrye.openapi.runtime.OpenApiProcessor;
 import io.smallrye.openapi.runtime.OpenApiStaticFile;
@@ -65,7 +63,15 @@ public class TckTestRunner extends ParentRunner<ProxiedTckTest> {
     private Class<?> testClass;
     private Class<? extends Arquillian> tckTestClass;
 
-    public static Map<Class, OpenAPI> OPEN_API_DOCS = new HashMap<>();
+    /**
+     * The documents of the tests, by test class name.
+     */
+    public static final OpenApiDocumentRegistry DOCUMENTS = new OpenApiDocumentRegistry();
+
+    /**
+     * The name of the test class being run, whose document is served by the test server.
+     */
+    static volatile String currentDeployment;
 
     /**
      * Constructor.
@@ -83,22 +89,30 @@ public class TckTestRunner extends ParentRunner<ProxiedTckTest> {
         // MPConfig
         OpenApiConfig config = ArchiveUtil.archiveToConfig(archive);
 
-        try {
-            IndexView index = ArchiveUtil.archiveToIndex(config, archive);
-            OpenApiStaticFile staticFile = ArchiveUtil.archiveToStaticFile(archive);
-
+        try (OpenApiStaticFile generatedFile = ArchiveUtil.archiveToGeneratedFile(archive)) {
             // Reset and then initialize the OpenApiDocument for this test.
-            OpenApiDocument.INSTANCE.reset();
-            OpenApiDocument.INSTANCE.config(config);
-            OpenApiDocument.INSTANCE.modelFromStaticFile(OpenApiProcessor.modelFromStaticFile(staticFile));
-            OpenApiDocument.INSTANCE.modelFromAnnotations(OpenApiProcessor.modelFromAnnotations(config, index));
-            OpenApiDocument.INSTANCE.modelFromReader(OpenApiProcessor.modelFromReader(config, getContextClassLoader()));
-            OpenApiDocument.INSTANCE.filter(OpenApiProcessor.getFilter(config, getContextClassLoader()));
-            OpenApiDocument.INSTANCE.initialize();
+            OpenApiDocument document = DOCUMENTS.document(testClass.getName());
+            document.reset();
+            document.config(config);
+
+            if (generatedFile != null) {
+                // Generated at build time, no need to index or scan the archive
+                document.modelFromGeneratedFile(OpenApiProcessor.modelFromStaticFile(generatedFile));
+            } else {
+                IndexView index = ArchiveUtil.archiveToIndex(config, archive);
+                OpenApiStaticFile staticFile = ArchiveUtil.archiveToStaticFile(archive);
 
-            Assert.assertNotNull("Generated OAI document must not be null.", OpenApiDocument.INSTANCE.get());
+                ClassLoader loader = getContextClassLoader();
+
+                // Produced concurrently during the initialization
+                document.modelFromStaticFile(() -> OpenApiProcessor.modelFromStaticFile(staticFile));
+                document.modelFromAnnotations(() -> OpenApiProcessor.modelFromAnnotations(config, index));
+                document.modelFromReader(() -> OpenApiProcessor.modelFromReader(config, loader));
+                document.filter(OpenApiProcessor.getFilter(config, loader));
+            }
+            document.initialize();
 
-            OPEN_API_DOCS.put(testClass, OpenApiDocument.INSTANCE.get());
+            Assert.assertNotNull("Generated OAI document must not be null.", document.get());
 
             // Output the /openapi content to a file for debugging purposes
             File parent = new File("target", "TckTestRunner");
@@ -106,7 +120,7 @@ public class TckTestRunner extends ParentRunner<ProxiedTckTest> {
                 parent.mkdir();
             }
             File file = new File(parent, testClass.getName() + ".json");
-            String content = OpenApiSerializer.serialize(OpenApiDocument.INSTANCE.get(), Format.JSON);
+            String content = OpenApiSerializer.serialize(document.get(), Format.JSON);
             try (FileWriter writer = new FileWriter(file)) {
                 IOUtils.write(content, writer);
             }
@@ -198,7 +212,7 @@ public class TckTestRunner extends ParentRunner<ProxiedTckTest> {
      */
     @Override
     protected void runChild(final ProxiedTckTest child, final RunNotifier notifier) {
-        OpenApiDocument.INSTANCE.set(TckTestRunner.OPEN_API_DOCS.get(child.getTest().getClass()));
+        currentDeployment = child.getTest().getClass().getName();
 
         Description description = describeChild(child);
         if (isIgnored(child)) {